@@ -3,7 +3,6 @@ package com.projectshowdown.configs;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
 
 import java.util.Properties;
@@ -21,12 +20,20 @@ public class EmailConfiguration {
     private String emailPassword;
 
     /**
-     * Configures and returns a JavaMailSender bean for sending emails.
+     * When true, Jakarta Mail prints every SMTP exchange to standard output.
+     */
+    @Value("${showdown.mail.debug:false}")
+    private boolean mailDebug;
+
+    /**
+     * Configures and returns a JavaMailSender bean for sending emails. The
+     * concrete type is exposed so that the SMTP transport pool can open
+     * connections with the same session and credentials.
      *
      * @return the configured JavaMailSender instance
      */
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost("smtp.gmail.com");
         mailSender.setPort(587);
@@ -37,7 +44,7 @@ public class EmailConfiguration {
         props.put("mail.transport.protocol", "smtp");
         props.put("mail.smtp.auth", "true");
         props.put("mail.smtp.starttls.enable", "true");
-        props.put("mail.debug", "true");
+        props.put("mail.debug", String.valueOf(mailDebug));
 
         return mailSender;
     }
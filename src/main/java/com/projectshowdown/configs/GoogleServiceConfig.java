@@ -1,6 +1,5 @@
 package com.projectshowdown.configs;
 
-import com.google.auth.oauth2.AccessToken;
 import com.google.auth.oauth2.GoogleCredentials;
 import com.google.firebase.FirebaseApp;
 import com.google.firebase.FirebaseOptions;
@@ -10,17 +9,15 @@ import org.springframework.context.annotation.Configuration;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.util.Collections;
 
 /**
  * Configuration class for Google services, including Firebase and Dialogflow.
+ * The Dialogflow access token is fetched on first use by the
+ * {@link com.projectshowdown.service.AccessTokenCache}, not at startup.
  */
 @Configuration
 public class GoogleServiceConfig {
 
-    @Value("${google.dialogflow.scope}")
-    private String DIALOGFLOW_SCOPE;
-
     @Value("${google.credentials.json}")
     private String googleCredentialsJson;
 
@@ -43,22 +40,4 @@ public class GoogleServiceConfig {
 
         return FirebaseApp.initializeApp(options);
     }
-
-    /**
-     * Retrieves an access token for Google services with the specified scope.
-     *
-     * @return the access token as a String
-     * @throws IOException if an I/O error occurs
-     */
-    @Bean
-    public String getAccessToken() throws IOException {
-        GoogleCredentials credentials = GoogleCredentials
-                .fromStream(new ByteArrayInputStream(googleCredentialsJson.getBytes()))
-                .createScoped(Collections.singleton(DIALOGFLOW_SCOPE));
-
-        credentials.refreshIfExpired();
-        AccessToken token = credentials.getAccessToken();
-
-        return token.getTokenValue();
-    }
 }
\ No newline at end of file
@@ -1,6 +1,12 @@
 package com.projectshowdown.configs;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -8,12 +14,16 @@ import io.jsonwebtoken.security.Keys;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.security.Key;
@@ -21,13 +31,84 @@ import java.security.Key;
 /**
  * The JwtUtil class is responsible for generating,
  * validating, and extracting information from JSON Web Tokens (JWTs).
+ * The signing key and parser are built once and shared by all threads, and
+ * recently verified tokens are remembered until they expire so a token is only
+ * verified once.
  */
 @Service
 public class JwtUtil {
+    public static final String ROLE_CLAIM = "role";
 
     @Value("${jwt.secret}")
     private String SECRET_KEY;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private long verifiedTokenCacheSize = 10000;
+
+    private volatile Verifier verifier;
+
+    // Held while the verifier is built
+    private final ReentrantLock verifierLock = new ReentrantLock();
+
+    /**
+     * The signing key, the parser built from it and the verified token cache.
+     * JwtParser is immutable and safe to share between threads.
+     */
+    private static final class Verifier {
+        private final Key signingKey;
+        private final JwtParser parser;
+        private final Cache<String, Claims> verifiedTokens;
+
+        private Verifier(String secret, long cacheSize) {
+            this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+            this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+            this.verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(cacheSize)
+                    .expireAfter(new Expiry<String, Claims>() {
+                        @Override
+                        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+                            long millisLeft = claims.getExpiration().getTime() - System.currentTimeMillis();
+                            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                        }
+
+                        @Override
+                        public long expireAfterUpdate(String token, Claims claims, long currentTime,
+                                long currentDuration) {
+                            return currentDuration;
+                        }
+
+                        @Override
+                        public long expireAfterRead(String token, Claims claims, long currentTime,
+                                long currentDuration) {
+                            return currentDuration;
+                        }
+                    })
+                    .build();
+        }
+    }
+
+    /**
+     * Returns the verifier, building it on first use.
+     *
+     * @return the verifier
+     */
+    private Verifier verifier() {
+        Verifier current = verifier;
+        if (current == null) {
+            verifierLock.lock();
+            try {
+                current = verifier;
+                if (current == null) {
+                    current = new Verifier(SECRET_KEY, verifiedTokenCacheSize);
+                    verifier = current;
+                }
+            } finally {
+                verifierLock.unlock();
+            }
+        }
+        return current;
+    }
+
     /**
      * Extracts the username from the JWT token.
      *
@@ -67,22 +148,59 @@ public class JwtUtil {
      * @return the signing key
      */
     private Key getSigningKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(keyBytes);
+        return verifier().signingKey;
     }
 
     /**
-     * Extracts all claims from the JWT token.
+     * Extracts all claims from the JWT token. A token that was verified before
+     * and has not expired is served from the verified token cache; otherwise its
+     * signature and expiration are checked and the result is cached until the
+     * token expires.
      *
      * @param token the JWT token
-     * @return the claims
+     * @return the claims, which are shared and must not be modified
      */
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        Verifier current = verifier();
+        Claims claims = token == null ? null : current.verifiedTokens.getIfPresent(token);
+        if (claims == null) {
+            claims = current.parser.parseClaimsJws(token).getBody();
+            if (claims.getExpiration() != null) {
+                current.verifiedTokens.put(token, claims);
+            }
+        }
+        return claims;
+    }
+
+    /**
+     * Parses the JWT token once, verifying its signature and expiration.
+     *
+     * @param token the JWT token
+     * @return the verified claims, or null if the token is malformed, was not
+     *         signed with our key or has expired
+     */
+    public Claims parseVerifiedClaims(String token) {
+        try {
+            return extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Extracts the authorities from the role claim of verified claims.
+     *
+     * @param claims the verified claims
+     * @return the granted authorities, empty if the token carries no role claim
+     */
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        List<?> roles = claims.get(ROLE_CLAIM, List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream()
+                .map(role -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(role)))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -103,7 +221,7 @@ public class JwtUtil {
      */
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("role", userDetails.getAuthorities()
+        claims.put(ROLE_CLAIM, userDetails.getAuthorities()
                 .stream()
                 .map(GrantedAuthority::getAuthority)
                 .collect(Collectors.toList()));
@@ -18,6 +18,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import com.projectshowdown.controllers.TournamentController;
 import com.projectshowdown.service.JwtRequestFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -75,6 +76,8 @@ public class SecurityConfig {
                 .authorizeHttpRequests((authz) -> authz
                         .requestMatchers("/error").permitAll() // the default error page
                         .requestMatchers("/login").permitAll()
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasAuthority("admin")
 
                         // users CRUD
                         .requestMatchers(HttpMethod.GET, "/users", "/user/**").permitAll()
@@ -119,8 +122,12 @@ public class SecurityConfig {
                         // matches CRUD
                         // .requestMatchers(HttpMethod.PUT, "/match/*").hasAnyAuthority("admin", "organizer")
                         .requestMatchers(HttpMethod.PUT, "/match/*").permitAll()
+                        // ratings
+                        .requestMatchers(HttpMethod.POST, "/ratings/**").hasAuthority("admin")
+                        // search
+                        .requestMatchers(HttpMethod.GET, "/search").permitAll()
                         // chat bot
-                        .requestMatchers(HttpMethod.POST, "/chatbot/message").permitAll()
+                        .requestMatchers(HttpMethod.POST, "/chatbot/message", "/chatbot/fulfillment").permitAll()
                         .anyRequest().permitAll())
 
                 // ensure that the application won’t create any session in our stateless REST
@@ -146,6 +153,7 @@ public class SecurityConfig {
         configuration.setAllowedOrigins(List.of("http://localhost:3000", "http://localhost:8080"));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE"));
         configuration.setAllowedHeaders(List.of("Authorization", "Content-Type"));
+        configuration.setExposedHeaders(List.of(TournamentController.READ_COUNT_HEADER));
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
@@ -0,0 +1,36 @@
+package com.projectshowdown.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+
+/**
+ * Reports which threads serve requests.
+ * When {@code spring.threads.virtual.enabled} is set, Spring Boot runs Tomcat
+ * requests, the application task executor and scheduled jobs on virtual
+ * threads, and event listeners run on the virtual thread that publishes the
+ * event. On a JVM older than 21 the setting is silently ignored, so this is
+ * reported at startup.
+ */
+@Configuration
+public class VirtualThreadConfig {
+    public static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreadsEnabled;
+
+    /**
+     * Logs the thread mode once the application has started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reportThreadMode() {
+        int javaVersion = Runtime.version().feature();
+        if (virtualThreadsEnabled && javaVersion < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+            System.out.println("Virtual threads are enabled but Java " + javaVersion
+                    + " does not support them, requests run on platform threads.");
+        } else {
+            System.out.println("Requests run on " + (virtualThreadsEnabled ? "virtual" : "platform") + " threads.");
+        }
+    }
+}
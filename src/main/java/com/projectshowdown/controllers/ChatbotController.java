@@ -1,10 +1,15 @@
 package com.projectshowdown.controllers;
 
 import com.projectshowdown.dto.ChatbotMessageDTO;
+import com.projectshowdown.service.ChatbotFulfillment;
 import com.projectshowdown.service.ChatbotService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
 /**
  * Controller for handling chatbot-related operations.
  * Exposes endpoints for interacting with the chatbot service.
@@ -17,11 +22,15 @@ public class ChatbotController {
     @Autowired
     private ChatbotService chatbotService;
 
+    @Autowired
+    private ChatbotFulfillment chatbotFulfillment;
+
     /**
      * Endpoint to handle user input and retrieve the chatbot's response.
      *
      * @param messageRequest A {@link ChatbotMessageDTO} containing the user's message.
-     * @return The chatbot's response as a {@link String}.
+     * @return The chatbot's response as a {@link String}, completed once Dialogflow
+     *         answers so the request thread is not held meanwhile.
      * 
      * Example request payload:
      * <pre>
@@ -36,7 +45,22 @@ public class ChatbotController {
      * </pre>
      */
     @PostMapping("/message")
-    public String getChatbotResponse(@RequestBody ChatbotMessageDTO messageRequest) {
-        return chatbotService.getResponse(messageRequest.getMessage());
-    }    
-}
\ No newline at end of file
+    public CompletableFuture<String> getChatbotResponse(@RequestBody ChatbotMessageDTO messageRequest) {
+        return chatbotService.getResponseAsync(messageRequest.getMessage());
+    }
+
+    /**
+     * Fulfillment webhook called by Dialogflow for the intents about players and
+     * tournaments. Answers from the in-memory indexes.
+     *
+     * @param webhookRequest The Dialogflow webhook request.
+     * @return The webhook response, with the answer in {@code fulfillmentText}.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @PostMapping("/fulfillment")
+    public Map<String, Object> fulfil(@RequestBody Map<String, Object> webhookRequest)
+            throws ExecutionException, InterruptedException {
+        return chatbotFulfillment.fulfil(webhookRequest);
+    }
+}
@@ -0,0 +1,69 @@
+package com.projectshowdown.controllers;
+
+import com.projectshowdown.dto.LeaderboardEntryDTO;
+import com.projectshowdown.service.Leaderboard;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Controller for the live player leaderboard, ordered by Elo.
+ * Served from memory; see {@link Leaderboard}.
+ */
+@RestController
+public class LeaderboardController {
+
+    @Autowired
+    Leaderboard leaderboard;
+
+    /**
+     * Retrieves the top of the leaderboard.
+     *
+     * @param limit The number of players, at most 100.
+     * @return The players with the highest Elo, highest first.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              leaderboard.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @GetMapping("/leaderboard")
+    public List<LeaderboardEntryDTO> getTop(@RequestParam(defaultValue = "10") int limit)
+            throws ExecutionException, InterruptedException {
+        return leaderboard.top(limit);
+    }
+
+    /**
+     * Retrieves a player's rank.
+     *
+     * @param userId The player's ID.
+     * @return The player's leaderboard entry.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              leaderboard.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @GetMapping("/leaderboard/player/{userId}")
+    public LeaderboardEntryDTO getRank(@PathVariable String userId) throws ExecutionException, InterruptedException {
+        return leaderboard.rankOf(userId);
+    }
+
+    /**
+     * Retrieves the players around a rank.
+     *
+     * @param rank   The rank, starting at 1.
+     * @param radius The number of players above and below the rank.
+     * @return The players around the rank, highest Elo first.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              leaderboard.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @GetMapping("/leaderboard/around/{rank}")
+    public List<LeaderboardEntryDTO> getAround(@PathVariable int rank, @RequestParam(defaultValue = "5") int radius)
+            throws ExecutionException, InterruptedException {
+        return leaderboard.around(rank, radius);
+    }
+}
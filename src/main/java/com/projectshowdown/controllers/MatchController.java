@@ -1,7 +1,7 @@
 package com.projectshowdown.controllers;
 
 import java.util.Map;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -29,14 +29,12 @@ public class MatchController {
      * @param id        The unique identifier of the match to update.
      * @param matchData A {@link Map} containing the updated match details.
      *                  The keys represent field names, and the values represent new field values.
-     * @return A {@link String} message indicating the status of the update operation.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation with the database.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a {@link String} message indicating the status of the update operation.
      */
     @PutMapping("/match/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public String updateTournament(@PathVariable String id, @RequestBody Map<String, Object> matchData)
-            throws ExecutionException, InterruptedException {
-        return matchService.updateMatch(id, matchData);
+    public CompletableFuture<String> updateTournament(@PathVariable String id,
+            @RequestBody Map<String, Object> matchData) {
+        return matchService.updateMatchAsync(id, matchData);
     }
 }
@@ -0,0 +1,72 @@
+package com.projectshowdown.controllers;
+
+import com.projectshowdown.service.MatchLedger;
+import com.projectshowdown.service.RatingService;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Controller for player ratings.
+ * Ratings are normally updated when each rating period closes; see
+ * {@link RatingService}. They can be rebuilt from the {@link MatchLedger}.
+ */
+@RestController
+public class RatingController {
+
+    @Autowired
+    RatingService ratingService;
+
+    @Autowired
+    MatchLedger matchLedger;
+
+    /**
+     * Recalculates every player's Elo from the full match history.
+     *
+     * @return A message with the number of matches rated.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @PostMapping("/ratings/recalculate")
+    @ResponseStatus(HttpStatus.OK)
+    public String recalculateRatings() throws ExecutionException, InterruptedException {
+        return "Ratings recalculated from " + ratingService.recalculateAll() + " matches.";
+    }
+
+    /**
+     * Marks the matches scored before rating periods as rated and takes the Elo
+     * their winners gained off their initial Elo. Run once before the first
+     * rating period is closed.
+     *
+     * @return A message with the number of matches migrated.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @PostMapping("/ratings/migrate-legacy")
+    @ResponseStatus(HttpStatus.OK)
+    public String migrateLegacyRatings() throws ExecutionException, InterruptedException {
+        return "Migrated " + ratingService.migrateLegacyMatches() + " legacy matches.";
+    }
+
+    /**
+     * Rebuilds every player's Elo, peak Elo and achievements from the match
+     * ledger, and corrects the stored players that differ.
+     *
+     * @return A message with the number of players corrected.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @PostMapping("/ratings/rebuild")
+    @ResponseStatus(HttpStatus.OK)
+    public String rebuildRatings() throws ExecutionException, InterruptedException {
+        return "Rebuilt from the match ledger, correcting " + matchLedger.rebuild() + " players.";
+    }
+}
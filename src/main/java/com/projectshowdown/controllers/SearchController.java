@@ -0,0 +1,43 @@
+package com.projectshowdown.controllers;
+
+import com.projectshowdown.dto.SearchResultDTO;
+import com.projectshowdown.service.SearchIndex;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Controller for searching players and tournaments by name, country and venue.
+ * Served from memory; see {@link SearchIndex}.
+ */
+@RestController
+public class SearchController {
+
+    @Autowired
+    SearchIndex searchIndex;
+
+    /**
+     * Searches the players and tournaments. Words may be partial or contain a
+     * typo, e.g. "fedrer swi".
+     *
+     * @param q    The words to search for.
+     * @param type "player" or "tournament" to search only one of them, if any.
+     * @param page The page, starting at 0.
+     * @param size The number of results per page.
+     * @return The results, best first.
+     * @throws ExecutionException   If an error occurs while loading the index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    @GetMapping("/search")
+    public List<SearchResultDTO> search(@RequestParam String q,
+            @RequestParam(required = false) String type,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) throws ExecutionException, InterruptedException {
+        return searchIndex.search(q, type, page, size);
+    }
+}
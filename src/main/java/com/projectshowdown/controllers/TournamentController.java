@@ -1,29 +1,40 @@
 package com.projectshowdown.controllers;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.exceptions.TournamentNotFoundException;
 import com.projectshowdown.service.TournamentService;
 
 import jakarta.validation.Valid;
 
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.List;
 import java.util.Map;
 import java.io.IOException;
 import com.google.cloud.firestore.Firestore;
 import com.google.firebase.cloud.FirestoreClient;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Controller for managing tournament-related operations.
  * Exposes endpoints to perform CRUD operations, handle user registrations, and upload tournament logos.
+ * Endpoints that return a {@link CompletableFuture} release the request thread while the datastore responds.
  */
 @RestController
 public class TournamentController {
+    public static final String READ_COUNT_HEADER = "X-Firestore-Reads";
+
     public Firestore getFirestore() {
         return FirestoreClient.getFirestore();
     }
@@ -31,16 +42,22 @@ public class TournamentController {
     @Autowired
     TournamentService tournamentService;
 
+    private final DistributionSummary displayReads;
+
+    public TournamentController(MeterRegistry meterRegistry) {
+        this.displayReads = DistributionSummary.builder("showdown.tournament.display.reads")
+                .description("Firestore documents read per tournament bracket view")
+                .register(meterRegistry);
+    }
+
     /**
      * Retrieves all tournaments.
      *
-     * @return A list of {@link Tournament} objects.
-     * @throws ExecutionException   If an error occurs while fetching tournaments.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a list of {@link Tournament} objects.
      */
     @GetMapping("/tournaments")
-    public List<Tournament> getTournaments() throws ExecutionException, InterruptedException {
-        return tournamentService.getAllTournaments();
+    public CompletableFuture<List<Tournament>> getTournaments() {
+        return tournamentService.getAllTournamentsAsync();
     }
 
     /**
@@ -95,49 +112,67 @@ public class TournamentController {
      * Retrieves tournaments by organizer ID.
      *
      * @param organizerId The organizer's ID.
-     * @return A list of {@link Tournament} objects for the specified organizer.
-     * @throws ExecutionException   If an error occurs while fetching tournaments.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a list of {@link Tournament} objects for the specified organizer.
      */
     @GetMapping("/tournaments/organizer/{organizerId}")
-    public List<Tournament> getTournamentsByOrganizerId(@PathVariable String organizerId)
-            throws ExecutionException, InterruptedException {
-        return tournamentService.getTournamentsByOrganizerId(organizerId);
+    public CompletableFuture<List<Tournament>> getTournamentsByOrganizerId(@PathVariable String organizerId) {
+        return tournamentService.getTournamentsByOrganizerIdAsync(organizerId);
     }
 
     /**
      * Retrieves tournaments by player ID.
      *
      * @param playerId The player's ID.
-     * @return A list of {@link Tournament} objects for the specified player.
-     * @throws ExecutionException   If an error occurs while fetching tournaments.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a list of {@link Tournament} objects for the specified player.
      */
     @GetMapping("/tournaments/player/{playerId}")
-    public List<Tournament> getTournamentsByPlayerId(@PathVariable String playerId)
-            throws ExecutionException, InterruptedException {
-        return tournamentService.getTournamentsByPlayerId(playerId);
+    public CompletableFuture<List<Tournament>> getTournamentsByPlayerId(@PathVariable String playerId) {
+        return tournamentService.getTournamentsByPlayerIdAsync(playerId);
+    }
+
+    /**
+     * Retrieves a page of the open tournaments a player is eligible for by MMR,
+     * earliest first.
+     *
+     * @param playerId The player's ID.
+     * @param from     The earliest tournament date, e.g. 2024-11-01T00:00:00.
+     *                 Defaults to now.
+     * @param to       The latest tournament date, if any.
+     * @param country  The country of the tournaments, if any.
+     * @param page     The page, starting at 0.
+     * @param size     The number of tournaments per page.
+     * @return A future of a list of {@link Tournament} objects.
+     */
+    @GetMapping("/tournaments/eligible/{playerId}")
+    public CompletableFuture<List<Tournament>> getEligibleTournaments(@PathVariable String playerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String country,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return tournamentService.getEligibleTournamentsAsync(playerId, from, to, country, page, size);
     }
 
     /**
      * Displays details of a specific tournament.
+     * The number of documents read to build the view is returned in the
+     * {@value #READ_COUNT_HEADER} header and recorded as a metric.
      *
      * @param id The tournament ID.
-     * @return A map containing the tournament details.
-     * @throws ExecutionException   If an error occurs while fetching the tournament.
-     * @throws InterruptedException If the tournament is not found.
+     * @return A future of a map containing the tournament details.
      */
     @GetMapping("/tournament/{id}")
-    public Map<String, Object> displayTournament(@PathVariable String id)
-            throws ExecutionException, InterruptedException {
-        Map<String, Object> tournament = tournamentService.displayTournament(id);
-
-        // Need to handle "player not found" error using proper HTTP status code
-        // In this case it should be HTTP 404
-        if (tournament == null)
-            throw new InterruptedException("Tournamt " + id + " not found");
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> displayTournament(@PathVariable String id) {
+        AtomicInteger reads = new AtomicInteger();
+        return tournamentService.displayTournamentAsync(id, reads).thenApply(tournament -> {
+            if (tournament == null)
+                throw new TournamentNotFoundException(id);
 
-        return tournament;
+            displayReads.record(reads.get());
+            return ResponseEntity.ok()
+                    .header(READ_COUNT_HEADER, String.valueOf(reads.get()))
+                    .body(tournament);
+        });
     }
 
 
@@ -175,16 +210,13 @@ public class TournamentController {
      * @param id           The tournament ID.
      * @param organizerId  The organizer's ID.
      * @param tournamentData A map containing the tournament's updated details.
-     * @return A success message indicating the update status.
-     * @throws ExecutionException   If an error occurs while updating the tournament.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message indicating the update status.
      */
     @PutMapping("/tournament/{id}/{organizerId}")
     @ResponseStatus(HttpStatus.OK)
-    public String updateTournament(@PathVariable String id, @PathVariable String organizerId,
-            @RequestBody Map<String, Object> tournamentData)
-            throws ExecutionException, InterruptedException {
-        return tournamentService.updateTournament(id, organizerId, tournamentData);
+    public CompletableFuture<String> updateTournament(@PathVariable String id, @PathVariable String organizerId,
+            @RequestBody Map<String, Object> tournamentData) {
+        return tournamentService.updateTournamentAsync(id, organizerId, tournamentData);
     }
 
     /**
@@ -192,15 +224,12 @@ public class TournamentController {
      *
      * @param id     The tournament ID.
      * @param userId The user ID.
-     * @return A success message indicating the registration status.
-     * @throws ExecutionException   If an error occurs during registration.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message indicating the registration status.
      */
     @PutMapping("/tournament/{id}/register/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public String registerUser(@PathVariable String id, @PathVariable String userId)
-            throws ExecutionException, InterruptedException {
-        return tournamentService.registerUser(id, userId);
+    public CompletableFuture<String> registerUser(@PathVariable String id, @PathVariable String userId) {
+        return tournamentService.registerUserAsync(id, userId);
     }
 
     /**
@@ -208,30 +237,24 @@ public class TournamentController {
      *
      * @param id     The tournament ID.
      * @param userId The user ID.
-     * @return A success message indicating the cancellation status.
-     * @throws ExecutionException   If an error occurs during cancellation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message indicating the cancellation status.
      */
     @PutMapping("/tournament/{id}/cancelRegistration/{userId}")
     @ResponseStatus(HttpStatus.OK)
-    public String cancelRegistration(@PathVariable String id, @PathVariable String userId)
-            throws ExecutionException, InterruptedException {
-        return tournamentService.cancelRegistration(id, userId);
+    public CompletableFuture<String> cancelRegistration(@PathVariable String id, @PathVariable String userId) {
+        return tournamentService.cancelRegistrationAsync(id, userId);
     }
 
     /**
      * Progresses a tournament to the next stage.
      *
      * @param tournamentId The tournament ID.
-     * @return A success message indicating the progression status.
-     * @throws ExecutionException   If an error occurs while progressing the tournament.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message indicating the progression status.
      */
     @PutMapping("/tournament/{tournamentId}/matches")
     @ResponseStatus(HttpStatus.OK)
-    public String progressTournament(@PathVariable String tournamentId)
-            throws ExecutionException, InterruptedException {
-        return tournamentService.progressTournament(tournamentId);
+    public CompletableFuture<String> progressTournament(@PathVariable String tournamentId) {
+        return tournamentService.progressTournamentAsync(tournamentId);
     }
 
     /**
@@ -12,7 +12,7 @@ import com.projectshowdown.service.UserService;
 
 import jakarta.validation.Valid;
 
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CompletableFuture;
 import java.util.List;
 import java.util.Map;
 
@@ -42,65 +42,57 @@ public class UserController {
     /**
      * Retrieves all players.
      *
-     * @return A list of {@link UserDTO} objects representing players.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a list of {@link UserDTO} objects representing players.
      */
     @GetMapping("/users")
-    public List<UserDTO> getPlayers() throws ExecutionException, InterruptedException {
-        return userService.getAllUsersByRole(PLAYER_ROLE);
+    public CompletableFuture<List<UserDTO>> getPlayers() {
+        return userService.getAllUsersByRoleAsync(PLAYER_ROLE);
     }
 
     /**
      * Retrieves all organizers.
      *
-     * @return A list of {@link UserDTO} objects representing organizers.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a list of {@link UserDTO} objects representing organizers.
      */
     @GetMapping("/organizers")
-    public List<UserDTO> getOrganizers() throws ExecutionException, InterruptedException {
-        return userService.getAllUsersByRole(ORGANIZER_ROLE);
+    public CompletableFuture<List<UserDTO>> getOrganizers() {
+        return userService.getAllUsersByRoleAsync(ORGANIZER_ROLE);
     }
 
     /**
      * Retrieves details of a specific user.
      *
      * @param id The ID of the user to retrieve.
-     * @return The {@link UserDTO} object representing the user.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
-     * @throws PlayerNotFoundException If the user with the specified ID is not found.
+     * @return A future of the {@link UserDTO} object representing the user, failed with
+     *         {@link PlayerNotFoundException} if the user with the specified ID is not found.
      */
     @GetMapping("/user/{id}")
-    public UserDTO getUser(@PathVariable String id) throws ExecutionException, InterruptedException {
-        UserDTO player = userService.getUser(id);
-
-        // Need to handle "player not found" error using proper HTTP status code
-        // In this case it should be HTTP 404
-        if (player == null)
-            throw new PlayerNotFoundException(id);
-
-        return player;
+    public CompletableFuture<UserDTO> getUser(@PathVariable String id) {
+        return userService.getUserAsync(id).thenApply(player -> {
+            // Need to handle "player not found" error using proper HTTP status code
+            // In this case it should be HTTP 404
+            if (player == null)
+                throw new PlayerNotFoundException(id);
+
+            return player;
+        });
     }
 
     /**
      * Creates a new user.
      *
      * @param playerData A {@link User} object containing the user's details.
-     * @return A success message with the user's ID.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message with the user's ID.
      */
     @ResponseStatus(HttpStatus.CREATED)
     @PostMapping("/users")
-    public String createUser(@Valid @RequestBody User playerData) throws ExecutionException, InterruptedException {
+    public CompletableFuture<String> createUser(@Valid @RequestBody User playerData) {
         // return playerData.getPlayerDetails().getName().toString();
 
         // Encode the password before storing it
         playerData.setPassword(passwordEncoder.encode(playerData.getPassword()));
 
-        return userService.createUser(playerData);
+        return userService.createUserAsync(playerData);
     }
 
     /**
@@ -108,43 +100,35 @@ public class UserController {
      *
      * @param id       The ID of the user to update.
      * @param userData A map containing the fields to update and their new values.
-     * @return A success message with the user's ID.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message with the user's ID.
      */
     @PutMapping("/user/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public String updateUser(@PathVariable String id, @RequestBody Map<String, Object> userData)
-            throws ExecutionException, InterruptedException {
-        return userService.updateUser(id, userData);
+    public CompletableFuture<String> updateUser(@PathVariable String id, @RequestBody Map<String, Object> userData) {
+        return userService.updateUserAsync(id, userData);
     }
 
     /**
      * Verifies an organizer's account.
      *
      * @param id The ID of the organizer to verify.
-     * @return A success message with the organizer's ID.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message with the organizer's ID.
      */
     @PutMapping("/organizer/{id}")
     @ResponseStatus(HttpStatus.OK)
-    public String verifyOrganizer(@PathVariable String id)
-            throws ExecutionException, InterruptedException {
-        return userService.verifyOrganizer(id);
+    public CompletableFuture<String> verifyOrganizer(@PathVariable String id) {
+        return userService.verifyOrganizerAsync(id);
     }
 
     /**
      * Deletes a user.
      *
      * @param id The ID of the user to delete.
-     * @return A success message with the user's ID.
-     * @throws ExecutionException   If an error occurs during the asynchronous operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of a success message with the user's ID.
      */
     @DeleteMapping("/user/{id}")
-    public String deletePlayer(@PathVariable String id) throws ExecutionException, InterruptedException {
-        return userService.deletePlayer(id);
+    public CompletableFuture<String> deletePlayer(@PathVariable String id) {
+        return userService.deletePlayerAsync(id);
     }
 
 
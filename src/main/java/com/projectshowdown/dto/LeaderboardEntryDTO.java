@@ -0,0 +1,27 @@
+package com.projectshowdown.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A player's position on the leaderboard.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryDTO {
+
+    /**
+     * The player's position, 1 being the highest Elo.
+     */
+    private int rank;
+
+    private String userId;
+
+    private String name;
+
+    private double elo;
+}
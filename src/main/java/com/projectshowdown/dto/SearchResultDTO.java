@@ -0,0 +1,35 @@
+package com.projectshowdown.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A player or tournament matching a search.
+ */
+@Setter
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchResultDTO {
+
+    /**
+     * Either "player" or "tournament".
+     */
+    private String type;
+
+    private String id;
+
+    private String name;
+
+    /**
+     * The player's country, or the tournament's venue and country.
+     */
+    private String detail;
+
+    /**
+     * How well the result matches, higher first.
+     */
+    private double score;
+}
@@ -0,0 +1,115 @@
+package com.projectshowdown.entities;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * An entry of the append-only match ledger.
+ * Only the fields of the entry's type are set.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class LedgerEvent {
+
+    public enum Type {
+        /**
+         * A match's final score was recorded.
+         */
+        RESULT,
+
+        /**
+         * A player's rating and achievements were set outside of a rating period,
+         * such as when they registered or an admin changed them.
+         */
+        PLAYER,
+
+        /**
+         * A rating period was closed, rating every result recorded since the
+         * previous one.
+         */
+        PERIOD_CLOSED
+    }
+
+    private Type type;
+
+    /**
+     * When the entry was appended, in epoch milliseconds.
+     */
+    private long recordedAt;
+
+    private String matchId;
+    private String player1Id;
+    private String player2Id;
+    private int player1Score;
+    private int player2Score;
+
+    /**
+     * Whether the match had already been rated when its score was recorded, in
+     * which case the score is a correction that does not change the ratings.
+     */
+    private boolean rated;
+
+    private String userId;
+    private double elo;
+    private double peakElo;
+    private int ratedMatches;
+    private String achievements;
+
+    /**
+     * @param match The match, with its final score.
+     * @return An entry recording the match's score.
+     */
+    public static LedgerEvent result(Match match) {
+        LedgerEvent event = new LedgerEvent();
+        event.type = Type.RESULT;
+        event.recordedAt = System.currentTimeMillis();
+        event.matchId = match.getId();
+        event.player1Id = match.getPlayer1Id();
+        event.player2Id = match.getPlayer2Id();
+        event.player1Score = match.getPlayer1Score();
+        event.player2Score = match.getPlayer2Score();
+        event.rated = match.isRated();
+        return event;
+    }
+
+    /**
+     * @param userId The ID of the player.
+     * @param player The player's details.
+     * @return An entry recording the player's rating and achievements.
+     */
+    public static LedgerEvent player(String userId, Player player) {
+        LedgerEvent event = new LedgerEvent();
+        event.type = Type.PLAYER;
+        event.recordedAt = System.currentTimeMillis();
+        event.userId = userId;
+        event.elo = player.getElo();
+        event.peakElo = player.getPeakElo();
+        event.ratedMatches = player.getRatedMatches();
+        event.achievements = player.getAchievements();
+        return event;
+    }
+
+    /**
+     * @return An entry recording that a rating period was closed.
+     */
+    public static LedgerEvent periodClosed() {
+        LedgerEvent event = new LedgerEvent();
+        event.type = Type.PERIOD_CLOSED;
+        event.recordedAt = System.currentTimeMillis();
+        return event;
+    }
+
+    /**
+     * The first player's score for rating the match.
+     *
+     * @return 1 if the first player won, 0 if they lost and 0.5 for a draw.
+     */
+    public double player1Result() {
+        if (player1Score == player2Score) {
+            return 0.5;
+        }
+        return player1Score > player2Score ? 1 : 0;
+    }
+}
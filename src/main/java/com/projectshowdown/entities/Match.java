@@ -1,6 +1,5 @@
 package com.projectshowdown.entities;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -12,7 +11,6 @@ import lombok.Setter;
 
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Match {
 
@@ -66,6 +64,26 @@ public class Match {
      */
     private boolean completed;
 
+    /**
+     * Indicates whether the result has been applied to the players' Elo. Set
+     * when the rating period the match was completed in is closed.
+     */
+    private boolean rated;
+
+    public Match(String id, String tournamentId, String player1Id, String player2Id, int player1Score,
+            int player2Score, double mmrDifference, String dateTime, String stage, boolean completed) {
+        this.id = id;
+        this.tournamentId = tournamentId;
+        this.player1Id = player1Id;
+        this.player2Id = player2Id;
+        this.player1Score = player1Score;
+        this.player2Score = player2Score;
+        this.mmrDifference = mmrDifference;
+        this.dateTime = dateTime;
+        this.stage = stage;
+        this.completed = completed;
+    }
+
     /**
      * Determines the winner of the match based on scores.
      *
@@ -92,5 +110,27 @@ public class Match {
         return loserId;
     }
 
+    /**
+     * Checks whether the match was played between two players, rather than
+     * being a bye.
+     *
+     * @return True if the match is completed and has two different players.
+     */
+    public boolean rateable() {
+        return completed && player1Id != null && player2Id != null && !player1Id.equals(player2Id);
+    }
+
+    /**
+     * The first player's score for rating the match.
+     *
+     * @return 1 if the first player won, 0 if they lost and 0.5 for a draw.
+     */
+    public double player1Result() {
+        if (player1Score == player2Score) {
+            return 0.5;
+        }
+        return player1Score > player2Score ? 1 : 0;
+    }
+
 
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.projectshowdown.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Represents an email waiting in the notification outbox.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class OutboundNotification {
+    /**
+     * The position of the notification in the outbox, assigned when it is queued.
+     */
+    long id;
+
+    /**
+     * The recipients' email addresses. Each recipient gets a separate email.
+     * After a partial failure only the recipients not yet sent to remain.
+     */
+    List<String> recipients;
+
+    String subject;
+
+    /**
+     * The rendered HTML body.
+     */
+    String html;
+
+    /**
+     * The number of failed send attempts so far.
+     */
+    int attempts;
+
+    /**
+     * When the notification was queued, in epoch milliseconds.
+     */
+    long enqueuedAt;
+
+    /**
+     * The earliest time of the next send attempt, in epoch milliseconds.
+     */
+    long nextAttemptAt;
+
+    /**
+     * The error of the last failed attempt, if any.
+     */
+    String lastError;
+}
@@ -6,7 +6,6 @@ import java.time.Period;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -17,12 +16,13 @@ import lombok.Setter;
  */
 @Getter
 @Setter
-@AllArgsConstructor
 @NoArgsConstructor
 public class Player {
 
     /**
-     * The player's rank in a tournament.
+     * The player's position on the leaderboard by Elo, 1 being the highest.
+     * Written back in periodic batches, so it can lag behind the live
+     * leaderboard.
      */
     private int rank;
 
@@ -63,6 +63,43 @@ public class Player {
      */
     private String achievements;
 
+    /**
+     * The player's MMR, stored so that it is not recalculated on every read.
+     * Derived from the Elo, peak Elo, peak age and date of birth, and only valid
+     * until {@link #mmrValidUntil}. Null if it has not been calculated yet.
+     */
+    private Double mmr;
+
+    /**
+     * The day the stored MMR goes stale, as an epoch day: the player's next
+     * birthday, when their age changes.
+     */
+    private Long mmrValidUntil;
+
+    /**
+     * The number of matches the player's Elo has been rated on. Players with few
+     * rated matches move faster.
+     */
+    private int ratedMatches;
+
+    /**
+     * The player's Elo before any rated match, which a full recalculation of the
+     * ratings starts from. Null until the player is first rated.
+     */
+    private Double initialElo;
+
+    public Player(int rank, String dob, double elo, double peakAge, double peakElo, String country, String bio,
+            String achievements) {
+        this.rank = rank;
+        this.dob = dob;
+        this.elo = elo;
+        this.peakAge = peakAge;
+        this.peakElo = peakElo;
+        this.country = country;
+        this.bio = bio;
+        this.achievements = achievements;
+    }
+
     /**
      * Calculates the player's current age based on their date of birth.
      *
@@ -85,10 +122,45 @@ public class Player {
      * @return The calculated MMR value.
      */
     public double calculateMMR() {
+        return mmrAtAge(this.age());
+    }
+
+    /**
+     * Recalculates the stored MMR for the player's age on a day, and when it goes
+     * stale. Clears it if the date of birth is not set.
+     *
+     * @param today The day to calculate the player's age on.
+     */
+    public void refreshMMR(LocalDate today) {
+        if (dob == null) {
+            this.mmr = null;
+            this.mmrValidUntil = null;
+            return;
+        }
+        LocalDate actualDob = LocalDate.parse(dob);
+        int age = Period.between(actualDob, today).getYears();
+        LocalDate nextBirthday = actualDob.plusYears(age + 1L);
+        if (!nextBirthday.isAfter(today)) {
+            // Born on 29 February: the age only changes on 1 March in other years
+            nextBirthday = nextBirthday.plusDays(1);
+        }
+        this.mmr = mmrAtAge(age);
+        this.mmrValidUntil = nextBirthday.toEpochDay();
+    }
+
+    /**
+     * Reads the stored MMR if it is still valid on a day.
+     *
+     * @param epochDay The day, as an epoch day.
+     * @return The stored MMR, or {@code null} if it is not set or stale.
+     */
+    public Double storedMMR(long epochDay) {
+        return mmr != null && mmrValidUntil != null && epochDay < mmrValidUntil ? mmr : null;
+    }
 
+    private double mmrAtAge(double age) {
         double currentElo = this.getElo();
         double peakElo = this.getPeakElo();
-        double age = this.age();
         double peakAge = this.getPeakAge();
         double yearsSincePeak = age - peakAge;
 
@@ -26,4 +26,38 @@ public class Round {
      * A list of match IDs associated with this round.
      */
     List<String> matches;
+
+    /**
+     * The number of completed matches in this round, updated in the same write
+     * as each final score. Null for rounds created before the count was kept.
+     */
+    Integer completedMatches;
+
+    /**
+     * Creates a round in which no match has been completed yet.
+     *
+     * @param name    The name of the round.
+     * @param matches The IDs of the round's matches.
+     */
+    public Round(String name, List<String> matches) {
+        this(name, matches, 0);
+    }
+
+    /**
+     * Counts a match of this round as completed, unless it already was.
+     *
+     * @param index            The position of this round in the tournament.
+     * @param totalMatches     The number of matches the round has once all of
+     *                         them have been created.
+     * @param alreadyCompleted True if the match had a final score before.
+     * @return The round's progress after the match.
+     */
+    public RoundProgress recordCompletion(int index, int totalMatches, boolean alreadyCompleted) {
+        int completed = completedMatches != null ? completedMatches : 0;
+        if (!alreadyCompleted) {
+            completed++;
+        }
+        completedMatches = completed;
+        return new RoundProgress(index, completed, totalMatches, !alreadyCompleted);
+    }
 }
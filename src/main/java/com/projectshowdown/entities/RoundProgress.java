@@ -0,0 +1,38 @@
+package com.projectshowdown.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * The completion count of a round right after one of its matches got a final
+ * score.
+ */
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+
+public class RoundProgress {
+    /**
+     * The position of the round in the tournament, starting at 0.
+     */
+    int roundIndex;
+
+    /**
+     * The number of completed matches in the round.
+     */
+    int completedMatches;
+
+    /**
+     * The number of matches in the round.
+     */
+    int totalMatches;
+
+    /**
+     * True if this score completed the match, false if the match already had a
+     * final score and only the score changed.
+     */
+    boolean newlyCompleted;
+}
@@ -121,6 +121,115 @@ public class Tournament {
         return counter;
     }
 
+    /**
+     * Finds the round that contains a match, searching from the latest round.
+     *
+     * @param matchId The ID of the match.
+     * @return The position of the round, or -1 if no round contains the match.
+     */
+    public int roundOf(String matchId) {
+        for (int i = getRounds().size() - 1; i >= 0; i--) {
+            List<String> matches = rounds.get(i).getMatches();
+            if (matches != null && matches.contains(matchId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calculates the number of matches a round has once all of them have been
+     * created. Each round has half the matches of the round before it. Rounds
+     * after the first are filled in as their feeder matches complete, so they can
+     * hold fewer matches than this.
+     *
+     * @param roundIndex The position of the round, starting at 0.
+     * @return The number of matches in the complete round.
+     */
+    public int roundSize(int roundIndex) {
+        return getRounds().get(0).getMatches().size() >> roundIndex;
+    }
+
+    /**
+     * Builds the ID of the match at a position of a round. Matches are numbered
+     * from 1 across the whole bracket, round after round, so the ID of a match
+     * is known before the match is created.
+     *
+     * @param roundIndex The position of the round, starting at 0.
+     * @param slot       The position of the match in the round, starting at 0.
+     * @return The ID of the match.
+     */
+    public String matchId(int roundIndex, int slot) {
+        return id + "m_" + matchNumber(roundIndex, slot);
+    }
+
+    /**
+     * Calculates the number of the match at a position of a round.
+     *
+     * @param roundIndex The position of the round, starting at 0.
+     * @param slot       The position of the match in the round, starting at 0.
+     * @return The match number, starting at 1.
+     */
+    public int matchNumber(int roundIndex, int slot) {
+        // The rounds before this one hold 2 * n - 2 * n / 2^roundIndex matches, n
+        // being the size of the first round
+        int firstRoundsTwice = roundSize(0) * 2;
+        return firstRoundsTwice - (firstRoundsTwice >> roundIndex) + slot + 1;
+    }
+
+    /**
+     * Finds the position of a match within its round.
+     *
+     * @param matchId    The ID of the match.
+     * @param roundIndex The position of the match's round.
+     * @return The position of the match in the round, starting at 0.
+     */
+    public int slotOf(String matchId, int roundIndex) {
+        return matchNumber(matchId) - matchNumber(roundIndex, 0);
+    }
+
+    /**
+     * Adds a match to a round, keeping the round's matches in bracket order. The
+     * round is created if it is the next one.
+     *
+     * @param roundIndex The position of the round, starting at 0.
+     * @param roundName  The name of the round if it has to be created.
+     * @param matchId    The ID of the match.
+     * @return False if the round already contains the match, true otherwise.
+     */
+    public boolean addToRound(int roundIndex, String roundName, String matchId) {
+        List<Round> allRounds = getRounds();
+        if (roundIndex > allRounds.size()) {
+            throw new IllegalArgumentException("Round " + roundIndex + " of tournament " + id
+                    + " cannot be created before round " + allRounds.size());
+        }
+        if (roundIndex == allRounds.size()) {
+            allRounds.add(new Round(roundName, new ArrayList<>(List.of(matchId))));
+            return true;
+        }
+
+        List<String> matches = allRounds.get(roundIndex).getMatches();
+        if (matches.contains(matchId)) {
+            return false;
+        }
+        int position = 0;
+        while (position < matches.size() && matchNumber(matches.get(position)) < matchNumber(matchId)) {
+            position++;
+        }
+        matches.add(position, matchId);
+        return true;
+    }
+
+    /**
+     * Reads the bracket-wide number of a match from its ID.
+     *
+     * @param matchId The ID of the match.
+     * @return The match number, starting at 1.
+     */
+    public static int matchNumber(String matchId) {
+        return Integer.parseInt(matchId.substring(matchId.lastIndexOf('_') + 1));
+    }
+
     /**
      * Checks whether a user is eligible to participate in the tournament based on their MMR.
      *
@@ -128,8 +237,16 @@ public class Tournament {
      * @return {@code true} if the player's MMR is within the tournament's range; {@code false} otherwise.
      */
     public boolean checkUserEligibility(UserDTO player) {
-        double playerMMR = player.getPlayerDetails().calculateMMR();
+        return checkUserEligibility(player.getPlayerDetails().calculateMMR());
+    }
 
+    /**
+     * Checks whether an MMR is within the tournament's range.
+     *
+     * @param playerMMR The player's MMR, e.g. read from an index.
+     * @return {@code true} if the MMR is within the tournament's range; {@code false} otherwise.
+     */
+    public boolean checkUserEligibility(double playerMMR) {
         // Check if the user's MMR is within the tournament's range
         if (playerMMR >= minMMR && playerMMR <= maxMMR) {
             return true;
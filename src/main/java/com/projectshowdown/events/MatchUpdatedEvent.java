@@ -3,16 +3,23 @@ package com.projectshowdown.events;
 import org.springframework.context.ApplicationEvent;
 
 import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.RoundProgress;
 
 public class MatchUpdatedEvent extends ApplicationEvent {
     private final String tournamentId;
     private final Match match;
+    private final RoundProgress roundProgress;
     // Add more fields if necessary
 
     public MatchUpdatedEvent(Object source, String tournamentId, Match match) {
+        this(source, tournamentId, match, null);
+    }
+
+    public MatchUpdatedEvent(Object source, String tournamentId, Match match, RoundProgress roundProgress) {
         super(source);
         this.tournamentId = tournamentId;
         this.match = match;
+        this.roundProgress = roundProgress;
     }
 
     public String getTournamentId() {
@@ -22,4 +29,12 @@ public class MatchUpdatedEvent extends ApplicationEvent {
     public Match getMatch() {
         return match;
     }
+
+    /**
+     * @return The progress of the match's round if this update set the final
+     *         score, otherwise null.
+     */
+    public RoundProgress getRoundProgress() {
+        return roundProgress;
+    }
 }
@@ -0,0 +1,457 @@
+package com.projectshowdown.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Embedded, single-node document store built on an MVStore file.
+ *
+ * Every collection is an MVMap from document ID to the document's JSON. Fields
+ * registered with {@link #index(String, String...)} get a secondary index map
+ * whose keys are {@code value + '\0' + documentId}, so lookups by field value
+ * are a prefix scan instead of a collection scan.
+ *
+ * Reads are lock-free. Writes are serialized and committed one logical
+ * operation at a time, so a multi-document write is never half persisted.
+ */
+@Component
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "embedded")
+public class EmbeddedDocumentStore implements DisposableBean {
+    private static final char KEY_SEPARATOR = '\0';
+    private static final TypeReference<LinkedHashMap<String, Object>> DOCUMENT_TYPE = new TypeReference<>() {
+    };
+
+    private final MVStore store;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final Map<String, Set<String>> indexedFields = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Opens the store.
+     *
+     * @param path The file to persist to. A blank path keeps the store in memory.
+     */
+    public EmbeddedDocumentStore(@Value("${showdown.storage.embedded.path:}") String path) {
+        MVStore.Builder builder = new MVStore.Builder().autoCommitDisabled();
+        if (path != null && !path.isBlank()) {
+            builder.fileName(path);
+        }
+        this.store = builder.open();
+    }
+
+    /**
+     * Registers secondary indexes for fields of a collection. Existing documents
+     * are indexed if the index is new.
+     *
+     * @param collection The collection name.
+     * @param fields     Dotted paths of the fields to index.
+     */
+    public void index(String collection, String... fields) {
+        writeLock.lock();
+        try {
+            Set<String> registered = indexedFields.computeIfAbsent(collection, c -> ConcurrentHashMap.newKeySet());
+            for (String field : fields) {
+                if (!registered.add(field)) {
+                    continue;
+                }
+                MVMap<String, String> index = indexMap(collection, field);
+                if (index.isEmpty()) {
+                    for (Map.Entry<String, String> entry : collection(collection).entrySet()) {
+                        addIndexEntries(index, field, entry.getKey(), parse(entry.getValue()));
+                    }
+                }
+            }
+            store.commit();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Generates a new document ID.
+     *
+     * @return A random 32 character ID.
+     */
+    public String newId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * Retrieves a document.
+     *
+     * @param collection The collection name.
+     * @param id         The document ID.
+     * @return The document, or null if it does not exist.
+     */
+    public Map<String, Object> get(String collection, String id) {
+        String json = collection(collection).get(id);
+        return json == null ? null : parse(json);
+    }
+
+    /**
+     * Retrieves many documents. IDs that do not exist are left out.
+     *
+     * @param collection The collection name.
+     * @param ids        The document IDs.
+     * @return The documents keyed by ID.
+     */
+    public Map<String, Map<String, Object>> getAll(String collection, Collection<String> ids) {
+        MVMap<String, String> documents = collection(collection);
+        Map<String, Map<String, Object>> result = new HashMap<>();
+        for (String id : ids) {
+            String json = documents.get(id);
+            if (json != null) {
+                result.put(id, parse(json));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves every document in a collection.
+     *
+     * @param collection The collection name.
+     * @return The documents keyed by ID, in ID order.
+     */
+    public Map<String, Map<String, Object>> getAll(String collection) {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, String> entry : collection(collection).entrySet()) {
+            result.put(entry.getKey(), parse(entry.getValue()));
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether a document exists.
+     *
+     * @param collection The collection name.
+     * @param id         The document ID.
+     * @return True if the document exists.
+     */
+    public boolean exists(String collection, String id) {
+        return collection(collection).containsKey(id);
+    }
+
+    /**
+     * Finds the IDs of the documents whose indexed field has a value. For list
+     * fields, a document matches if the list contains the value.
+     *
+     * @param collection The collection name.
+     * @param field      An indexed field.
+     * @param value      The value to look for.
+     * @return The matching document IDs.
+     */
+    public List<String> findIds(String collection, String field, Object value) {
+        if (!indexedFields.getOrDefault(collection, Set.of()).contains(field)) {
+            throw new IllegalArgumentException("Field " + field + " of " + collection + " is not indexed");
+        }
+        String prefix = String.valueOf(value) + KEY_SEPARATOR;
+        List<String> ids = new ArrayList<>();
+        Iterator<String> keys = indexMap(collection, field).keyIterator(prefix);
+        while (keys.hasNext()) {
+            String key = keys.next();
+            if (!key.startsWith(prefix)) {
+                break;
+            }
+            ids.add(key.substring(prefix.length()));
+        }
+        return ids;
+    }
+
+    /**
+     * Finds the documents whose indexed field has a value.
+     *
+     * @param collection The collection name.
+     * @param field      An indexed field.
+     * @param value      The value to look for.
+     * @return The matching documents keyed by ID.
+     */
+    public Map<String, Map<String, Object>> findBy(String collection, String field, Object value) {
+        return getAll(collection, findIds(collection, field, value));
+    }
+
+    /**
+     * Creates or replaces a document.
+     *
+     * @param collection The collection name.
+     * @param id         The document ID.
+     * @param document   The document.
+     */
+    public void put(String collection, String id, Map<String, Object> document) {
+        writeLock.lock();
+        try {
+            write(collection, id, document);
+            store.commit();
+        } catch (RuntimeException e) {
+            store.rollback();
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Updates some fields of a document. Keys may be dotted paths.
+     *
+     * @param collection The collection name.
+     * @param id         The document ID.
+     * @param fields     The fields to update and their new values.
+     * @throws IllegalArgumentException If the document does not exist.
+     */
+    public void update(String collection, String id, Map<String, Object> fields) {
+        writeAll(List.of(Write.update(collection, id, fields)));
+    }
+
+    /**
+     * Applies several puts and updates, possibly across collections, as one
+     * commit. Update targets are checked before anything is written, and a
+     * write that fails partway rolls back the writes before it, so a rejected
+     * batch leaves the store unchanged.
+     *
+     * @param writes The writes, applied in order.
+     * @throws IllegalArgumentException If a document to update does not exist or
+     *                                  a value cannot be stored.
+     */
+    public void writeAll(List<Write> writes) {
+        writeLock.lock();
+        try {
+            for (Write write : writes) {
+                if (!write.replace() && !exists(write.collection(), write.id())) {
+                    throw new IllegalArgumentException("No document " + write.id() + " in " + write.collection());
+                }
+            }
+            for (Write write : writes) {
+                Map<String, Object> document = write.replace() ? write.fields() : get(write.collection(), write.id());
+                if (!write.replace()) {
+                    for (Map.Entry<String, Object> field : write.fields().entrySet()) {
+                        setPath(document, field.getKey(), toPlainValue(field.getValue()));
+                    }
+                }
+                write(write.collection(), write.id(), document);
+            }
+            store.commit();
+        } catch (RuntimeException e) {
+            // Nothing of the batch may reach the next commit
+            store.rollback();
+            throw e;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Runs reads and writes with no other write in between, for
+     * read-modify-write operations. Each write inside still commits on its own,
+     * so the work should end with a single {@link #writeAll(List)}.
+     *
+     * @param work The reads and writes.
+     * @param <T>  The result type.
+     * @return The result of the work.
+     */
+    public <T> T atomically(Supplier<T> work) {
+        writeLock.lock();
+        try {
+            return work.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * One write of a {@link #writeAll(List)} batch.
+     *
+     * @param collection The collection name.
+     * @param id         The document ID.
+     * @param fields     The whole document for a put, or the fields to update.
+     * @param replace    True for a put, false for an update.
+     */
+    public record Write(String collection, String id, Map<String, Object> fields, boolean replace) {
+
+        /**
+         * Creates or replaces a document.
+         */
+        public static Write put(String collection, String id, Map<String, Object> document) {
+            return new Write(collection, id, document, true);
+        }
+
+        /**
+         * Updates some fields of an existing document. Keys may be dotted paths.
+         */
+        public static Write update(String collection, String id, Map<String, Object> fields) {
+            return new Write(collection, id, fields, false);
+        }
+    }
+
+    /**
+     * Deletes a document.
+     *
+     * @param collection The collection name.
+     * @param id         The document ID.
+     */
+    public void delete(String collection, String id) {
+        writeLock.lock();
+        try {
+            Map<String, Object> previous = get(collection, id);
+            if (previous != null) {
+                removeIndexEntries(collection, id, previous);
+                collection(collection).remove(id);
+                store.commit();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Converts an entity into a document.
+     *
+     * @param value The entity.
+     * @return The document.
+     */
+    public Map<String, Object> toDocument(Object value) {
+        return objectMapper.convertValue(value, DOCUMENT_TYPE);
+    }
+
+    /**
+     * Converts a document into an entity.
+     *
+     * @param document The document.
+     * @param type     The entity class.
+     * @param <T>      The entity type.
+     * @return The entity.
+     */
+    public <T> T toObject(Map<String, Object> document, Class<T> type) {
+        return objectMapper.convertValue(document, type);
+    }
+
+    @Override
+    public void destroy() {
+        store.close();
+    }
+
+    private void write(String collection, String id, Map<String, Object> document) {
+        Map<String, Object> previous = get(collection, id);
+        if (previous != null) {
+            removeIndexEntries(collection, id, previous);
+        }
+        collection(collection).put(id, serialize(document));
+        for (String field : indexedFields.getOrDefault(collection, Set.of())) {
+            addIndexEntries(indexMap(collection, field), field, id, document);
+        }
+    }
+
+    private void removeIndexEntries(String collection, String id, Map<String, Object> document) {
+        for (String field : indexedFields.getOrDefault(collection, Set.of())) {
+            MVMap<String, String> index = indexMap(collection, field);
+            for (String value : indexValues(document, field)) {
+                index.remove(value + KEY_SEPARATOR + id);
+            }
+        }
+    }
+
+    private void addIndexEntries(MVMap<String, String> index, String field, String id, Map<String, Object> document) {
+        for (String value : indexValues(document, field)) {
+            index.put(value + KEY_SEPARATOR + id, id);
+        }
+    }
+
+    private static List<String> indexValues(Map<String, Object> document, String field) {
+        Object value = getPath(document, field);
+        List<String> values = new ArrayList<>();
+        if (value instanceof Collection<?> elements) {
+            for (Object element : elements) {
+                if (element != null) {
+                    values.add(String.valueOf(element));
+                }
+            }
+        } else if (value != null) {
+            values.add(String.valueOf(value));
+        }
+        return values;
+    }
+
+    private static Object getPath(Map<String, Object> document, String path) {
+        Object current = document;
+        for (String part : path.split("\\.")) {
+            if (!(current instanceof Map<?, ?> map)) {
+                return null;
+            }
+            current = map.get(part);
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void setPath(Map<String, Object> document, String path, Object value) {
+        String[] parts = path.split("\\.");
+        Map<String, Object> current = document;
+        for (int i = 0; i < parts.length - 1; i++) {
+            Object child = current.get(parts[i]);
+            if (!(child instanceof Map)) {
+                child = new LinkedHashMap<String, Object>();
+                current.put(parts[i], child);
+            }
+            current = (Map<String, Object>) child;
+        }
+        current.put(parts[parts.length - 1], value);
+    }
+
+    /**
+     * Normalizes an update value (which may be an entity or a list of entities)
+     * into the plain maps, lists and scalars stored in documents.
+     */
+    private Object toPlainValue(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean) {
+            return value;
+        }
+        return objectMapper.convertValue(value, Object.class);
+    }
+
+    private MVMap<String, String> collection(String name) {
+        return store.openMap(name);
+    }
+
+    private MVMap<String, String> indexMap(String collection, String field) {
+        return store.openMap(collection + "$" + field);
+    }
+
+    private String serialize(Map<String, Object> document) {
+        try {
+            return objectMapper.writeValueAsString(document);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Map<String, Object> parse(String json) {
+        try {
+            return objectMapper.readValue(json, DOCUMENT_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.entities.Match;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link MatchRepository} backed by the {@link EmbeddedDocumentStore}.
+ * Matches are indexed by tournament and by whether they are completed.
+ */
+@Repository
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "embedded")
+public class EmbeddedMatchRepository implements MatchRepository {
+
+    private final EmbeddedDocumentStore store;
+
+    public EmbeddedMatchRepository(EmbeddedDocumentStore store) {
+        this.store = store;
+        store.index(MATCHES_DB, TOURNAMENT_ID_FIELD, COMPLETED_FIELD);
+    }
+
+    @Override
+    public Optional<Match> findById(String matchId) {
+        return Optional.ofNullable(toMatch(matchId, store.get(MATCHES_DB, matchId)));
+    }
+
+    @Override
+    public Map<String, Match> findAllById(Collection<String> matchIds) {
+        Map<String, Match> matches = new HashMap<>();
+        store.getAll(MATCHES_DB, matchIds).forEach((id, document) -> matches.put(id, toMatch(id, document)));
+        return matches;
+    }
+
+    @Override
+    public List<Match> findAllCompleted() {
+        List<Match> matches = new ArrayList<>();
+        store.findBy(MATCHES_DB, COMPLETED_FIELD, true).forEach((id, document) -> matches.add(toMatch(id, document)));
+        return matches;
+    }
+
+    @Override
+    public List<Match> findAllUnrated() {
+        List<Match> matches = new ArrayList<>();
+        store.findBy(MATCHES_DB, COMPLETED_FIELD, true).forEach((id, document) -> {
+            if (Boolean.FALSE.equals(document.get(RATED_FIELD))) {
+                matches.add(toMatch(id, document));
+            }
+        });
+        return matches;
+    }
+
+    @Override
+    public List<Match> findAllLegacyCompleted() {
+        List<Match> matches = new ArrayList<>();
+        store.findBy(MATCHES_DB, COMPLETED_FIELD, true).forEach((id, document) -> {
+            if (!document.containsKey(RATED_FIELD)) {
+                matches.add(toMatch(id, document));
+            }
+        });
+        return matches;
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> findDocuments(Collection<String> matchIds) {
+        return store.getAll(MATCHES_DB, matchIds);
+    }
+
+    @Override
+    public void save(Match match) {
+        store.put(MATCHES_DB, match.getId(), store.toDocument(match));
+    }
+
+    @Override
+    public Instant update(String matchId, Map<String, Object> fields) {
+        store.update(MATCHES_DB, matchId, fields);
+        return Instant.now();
+    }
+
+    @Override
+    public void updateAll(Map<String, Map<String, Object>> fieldsByMatch) {
+        List<EmbeddedDocumentStore.Write> writes = new ArrayList<>(fieldsByMatch.size());
+        for (Map.Entry<String, Map<String, Object>> match : fieldsByMatch.entrySet()) {
+            writes.add(EmbeddedDocumentStore.Write.update(MATCHES_DB, match.getKey(), match.getValue()));
+        }
+        store.writeAll(writes);
+    }
+
+    private Match toMatch(String matchId, Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        Match match = store.toObject(document, Match.class);
+        match.setId(matchId);
+        return match;
+    }
+}
@@ -0,0 +1,155 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.Tournament;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link TournamentRepository} backed by the {@link EmbeddedDocumentStore}.
+ * Tournaments are indexed by organizer and by registered users.
+ */
+@Repository
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "embedded")
+public class EmbeddedTournamentRepository implements TournamentRepository {
+
+    private final EmbeddedDocumentStore store;
+
+    public EmbeddedTournamentRepository(EmbeddedDocumentStore store) {
+        this.store = store;
+        store.index(TOURNAMENTS_DB, ORGANIZER_ID_FIELD, USERS_FIELD);
+    }
+
+    @Override
+    public String nextId() {
+        return store.newId();
+    }
+
+    @Override
+    public List<Tournament> findAll() {
+        return toTournaments(store.getAll(TOURNAMENTS_DB));
+    }
+
+    @Override
+    public Optional<Tournament> findById(String tournamentId) {
+        return Optional.ofNullable(toTournament(tournamentId, store.get(TOURNAMENTS_DB, tournamentId)));
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findDocument(String tournamentId) {
+        return Optional.ofNullable(store.get(TOURNAMENTS_DB, tournamentId));
+    }
+
+    @Override
+    public List<Tournament> findByOrganizerId(String organizerId) {
+        return toTournaments(store.findBy(TOURNAMENTS_DB, ORGANIZER_ID_FIELD, organizerId));
+    }
+
+    @Override
+    public List<Tournament> findByPlayerId(String userId) {
+        return toTournaments(store.findBy(TOURNAMENTS_DB, USERS_FIELD, userId));
+    }
+
+    @Override
+    public void save(Tournament tournament) {
+        store.put(TOURNAMENTS_DB, tournament.getId(), store.toDocument(tournament));
+    }
+
+    @Override
+    public Instant update(String tournamentId, Map<String, Object> fields) {
+        store.update(TOURNAMENTS_DB, tournamentId, fields);
+        return Instant.now();
+    }
+
+    @Override
+    public Instant addRound(String tournamentId, List<Match> matches, Map<String, Object> fields) {
+        List<EmbeddedDocumentStore.Write> writes = new ArrayList<>();
+        for (Match match : matches) {
+            writes.add(EmbeddedDocumentStore.Write.put(MatchRepository.MATCHES_DB, match.getId(),
+                    store.toDocument(match)));
+        }
+        writes.add(EmbeddedDocumentStore.Write.update(TOURNAMENTS_DB, tournamentId, fields));
+        store.writeAll(writes);
+        return Instant.now();
+    }
+
+    @Override
+    public RoundProgress recordMatchResult(String tournamentId, String matchId, Map<String, Object> matchFields) {
+        return store.atomically(() -> {
+            Tournament tournament = findById(tournamentId).orElse(null);
+            Map<String, Object> match = store.get(MatchRepository.MATCHES_DB, matchId);
+            if (tournament == null || match == null) {
+                throw new IllegalArgumentException("No match " + matchId + " in tournament " + tournamentId);
+            }
+            int roundIndex = tournament.roundOf(matchId);
+            if (roundIndex < 0) {
+                throw new IllegalArgumentException("Match " + matchId + " is in no round of " + tournamentId);
+            }
+
+            Round round = tournament.getRounds().get(roundIndex);
+            boolean untracked = round.getCompletedMatches() == null;
+            if (untracked) {
+                int completed = 0;
+                for (Map<String, Object> document : store.getAll(MatchRepository.MATCHES_DB, round.getMatches())
+                        .values()) {
+                    if (Boolean.TRUE.equals(document.get(MatchRepository.COMPLETED_FIELD))) {
+                        completed++;
+                    }
+                }
+                round.setCompletedMatches(completed);
+            }
+            RoundProgress progress = round.recordCompletion(roundIndex, tournament.roundSize(roundIndex),
+                    Boolean.TRUE.equals(match.get(MatchRepository.COMPLETED_FIELD)));
+
+            List<EmbeddedDocumentStore.Write> writes = new ArrayList<>();
+            writes.add(EmbeddedDocumentStore.Write.update(MatchRepository.MATCHES_DB, matchId, matchFields));
+            if (untracked || progress.isNewlyCompleted()) {
+                writes.add(EmbeddedDocumentStore.Write.update(TOURNAMENTS_DB, tournamentId,
+                        Map.of(ROUNDS_FIELD, tournament.getRounds())));
+            }
+            store.writeAll(writes);
+            return progress;
+        });
+    }
+
+    @Override
+    public boolean addBracketMatch(String tournamentId, int roundIndex, String roundName, Match match) {
+        return store.atomically(() -> {
+            Tournament tournament = findById(tournamentId)
+                    .orElseThrow(() -> new IllegalArgumentException("No tournament " + tournamentId));
+            if (!tournament.addToRound(roundIndex, roundName, match.getId())) {
+                return false;
+            }
+            store.writeAll(List.of(
+                    EmbeddedDocumentStore.Write.put(MatchRepository.MATCHES_DB, match.getId(),
+                            store.toDocument(match)),
+                    EmbeddedDocumentStore.Write.update(TOURNAMENTS_DB, tournamentId,
+                            Map.of(ROUNDS_FIELD, tournament.getRounds()))));
+            return true;
+        });
+    }
+
+    private Tournament toTournament(String tournamentId, Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        Tournament tournament = store.toObject(document, Tournament.class);
+        tournament.setId(tournamentId);
+        return tournament;
+    }
+
+    private List<Tournament> toTournaments(Map<String, Map<String, Object>> documents) {
+        List<Tournament> tournaments = new ArrayList<>();
+        documents.forEach((id, document) -> tournaments.add(toTournament(id, document)));
+        return tournaments;
+    }
+}
@@ -0,0 +1,110 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.dto.UserDTO;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * {@link UserRepository} backed by the {@link EmbeddedDocumentStore}.
+ * Users are indexed by email and role.
+ */
+@Repository
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "embedded")
+public class EmbeddedUserRepository implements UserRepository {
+
+    private final EmbeddedDocumentStore store;
+
+    public EmbeddedUserRepository(EmbeddedDocumentStore store) {
+        this.store = store;
+        store.index(USER_DB, EMAIL_FIELD, ROLE_FIELD);
+    }
+
+    @Override
+    public String nextId() {
+        return store.newId();
+    }
+
+    @Override
+    public Optional<UserDTO> findById(String userId) {
+        return Optional.ofNullable(toUser(userId, store.get(USER_DB, userId)));
+    }
+
+    @Override
+    public Map<String, UserDTO> findAllById(Collection<String> userIds) {
+        return toUsers(store.getAll(USER_DB, userIds));
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> findDocuments(Collection<String> userIds) {
+        return store.getAll(USER_DB, userIds);
+    }
+
+    @Override
+    public Optional<UserDTO> findByEmail(String email) {
+        return toUsers(store.findBy(USER_DB, EMAIL_FIELD, email)).values().stream().findFirst();
+    }
+
+    @Override
+    public List<UserDTO> findAllByRole(String role) {
+        return new ArrayList<>(toUsers(store.findBy(USER_DB, ROLE_FIELD, role)).values());
+    }
+
+    @Override
+    public boolean existsById(String userId) {
+        return store.exists(USER_DB, userId);
+    }
+
+    @Override
+    public boolean existsByEmail(String email) {
+        return !store.findIds(USER_DB, EMAIL_FIELD, email).isEmpty();
+    }
+
+    @Override
+    public void save(UserDTO user) {
+        store.put(USER_DB, user.getId(), store.toDocument(user));
+    }
+
+    @Override
+    public Instant update(String userId, Map<String, Object> fields) {
+        store.update(USER_DB, userId, fields);
+        return Instant.now();
+    }
+
+    @Override
+    public void updateAll(Map<String, Map<String, Object>> fieldsByUser) {
+        List<EmbeddedDocumentStore.Write> writes = new ArrayList<>(fieldsByUser.size());
+        for (Map.Entry<String, Map<String, Object>> user : fieldsByUser.entrySet()) {
+            writes.add(EmbeddedDocumentStore.Write.update(USER_DB, user.getKey(), user.getValue()));
+        }
+        store.writeAll(writes);
+    }
+
+    @Override
+    public void delete(String userId) {
+        store.delete(USER_DB, userId);
+    }
+
+    private UserDTO toUser(String userId, Map<String, Object> document) {
+        if (document == null) {
+            return null;
+        }
+        UserDTO user = store.toObject(document, UserDTO.class);
+        user.setId(userId);
+        return user;
+    }
+
+    private Map<String, UserDTO> toUsers(Map<String, Map<String, Object>> documents) {
+        Map<String, UserDTO> users = new HashMap<>();
+        documents.forEach((id, document) -> users.put(id, toUser(id, document)));
+        return users;
+    }
+}
@@ -0,0 +1,150 @@
+package com.projectshowdown.repositories;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
+import com.google.cloud.Timestamp;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.WriteResult;
+import com.google.common.util.concurrent.MoreExecutors;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Helpers shared by the Firestore repositories.
+ */
+final class FirestoreDocuments {
+    /**
+     * The number of document references sent in a single {@code getAll} call.
+     */
+    static final int GET_ALL_BATCH_SIZE = 100;
+
+    /**
+     * The number of writes sent in a single batch, the most Firestore accepts.
+     */
+    static final int WRITE_BATCH_SIZE = 500;
+
+    private FirestoreDocuments() {
+    }
+
+    /**
+     * Loads a set of documents from a collection using batched {@code getAll}
+     * calls. All batches are issued before any of them is awaited.
+     *
+     * @param db         The Firestore instance.
+     * @param collection The collection the documents belong to.
+     * @param ids        The document IDs to load.
+     * @return The snapshots of the documents that exist, keyed by document ID.
+     * @throws ExecutionException   If an error occurs during the asynchronous
+     *                              Firestore operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    static Map<String, DocumentSnapshot> getAll(Firestore db, String collection, Collection<String> ids)
+            throws ExecutionException, InterruptedException {
+        if (ids.isEmpty()) {
+            return new HashMap<>();
+        }
+        return existing(ApiFutures.allAsList(requestBatches(db, collection, ids)).get());
+    }
+
+    /**
+     * Adapts a Firestore future into a CompletableFuture without blocking.
+     * Dependent stages run on the thread that completes the Firestore call, so
+     * they must not block; blocking work belongs on an executor.
+     *
+     * @param future The Firestore future.
+     * @param <T>    The result type.
+     * @return A future that completes with the same result or failure.
+     */
+    static <T> CompletableFuture<T> toCompletableFuture(ApiFuture<T> future) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        ApiFutures.addCallback(future, new ApiFutureCallback<T>() {
+            @Override
+            public void onFailure(Throwable t) {
+                result.completeExceptionally(t);
+            }
+
+            @Override
+            public void onSuccess(T value) {
+                result.complete(value);
+            }
+        }, MoreExecutors.directExecutor());
+        return result;
+    }
+
+    /**
+     * Asynchronous variant of {@link #getAll(Firestore, String, Collection)}.
+     *
+     * @param db         The Firestore instance.
+     * @param collection The collection the documents belong to.
+     * @param ids        The document IDs to load.
+     * @return A future of the snapshots of the documents that exist, keyed by
+     *         document ID.
+     */
+    static CompletableFuture<Map<String, DocumentSnapshot>> getAllAsync(Firestore db, String collection,
+            Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return CompletableFuture.completedFuture(new HashMap<>());
+        }
+        return toCompletableFuture(ApiFutures.allAsList(requestBatches(db, collection, ids)))
+                .thenApply(FirestoreDocuments::existing);
+    }
+
+    /**
+     * Issues one {@code getAll} call per batch of IDs without awaiting any of them.
+     */
+    private static List<ApiFuture<List<DocumentSnapshot>>> requestBatches(Firestore db, String collection,
+            Collection<String> ids) {
+        List<ApiFuture<List<DocumentSnapshot>>> batches = new ArrayList<>();
+        List<DocumentReference> batch = new ArrayList<>(GET_ALL_BATCH_SIZE);
+        for (String id : ids) {
+            batch.add(db.collection(collection).document(id));
+            if (batch.size() == GET_ALL_BATCH_SIZE) {
+                batches.add(db.getAll(batch.toArray(new DocumentReference[0])));
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            batches.add(db.getAll(batch.toArray(new DocumentReference[0])));
+        }
+        return batches;
+    }
+
+    /**
+     * Keys the snapshots of the documents that exist by document ID.
+     */
+    private static Map<String, DocumentSnapshot> existing(List<List<DocumentSnapshot>> results) {
+        Map<String, DocumentSnapshot> snapshots = new HashMap<>();
+        for (List<DocumentSnapshot> result : results) {
+            for (DocumentSnapshot snapshot : result) {
+                if (snapshot.exists()) {
+                    snapshots.put(snapshot.getId(), snapshot);
+                }
+            }
+        }
+        return snapshots;
+    }
+
+    /**
+     * Converts the update time of a write into an {@link Instant}.
+     *
+     * @param writeResult The result of the write.
+     * @return The update time, or the current time if Firestore did not report one.
+     */
+    static Instant updateTime(WriteResult writeResult) {
+        if (writeResult == null || writeResult.getUpdateTime() == null) {
+            return Instant.now();
+        }
+        Timestamp updateTime = writeResult.getUpdateTime();
+        return Instant.ofEpochSecond(updateTime.getSeconds(), updateTime.getNanos());
+    }
+}
@@ -0,0 +1,182 @@
+package com.projectshowdown.repositories;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import com.google.firebase.cloud.FirestoreClient;
+import com.projectshowdown.entities.Match;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Firestore implementation of {@link MatchRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "firestore", matchIfMissing = true)
+public class FirestoreMatchRepository implements MatchRepository {
+
+    private Firestore getFirestore() {
+        return FirestoreClient.getFirestore();
+    }
+
+    private DocumentReference documentRef(String id) {
+        return getFirestore().collection(MATCHES_DB).document(id);
+    }
+
+    @Override
+    public Optional<Match> findById(String matchId) throws ExecutionException, InterruptedException {
+        DocumentSnapshot document = documentRef(matchId).get().get();
+        if (!document.exists()) {
+            return Optional.empty();
+        }
+        Match match = document.toObject(Match.class);
+        match.setId(matchId);
+        return Optional.of(match);
+    }
+
+    @Override
+    public Map<String, Match> findAllById(Collection<String> matchIds)
+            throws ExecutionException, InterruptedException {
+        Map<String, Match> matches = new HashMap<>();
+        for (DocumentSnapshot document : FirestoreDocuments.getAll(getFirestore(), MATCHES_DB, matchIds).values()) {
+            Match match = document.toObject(Match.class);
+            match.setId(document.getId());
+            matches.put(document.getId(), match);
+        }
+        return matches;
+    }
+
+    @Override
+    public List<Match> findAllCompleted() throws ExecutionException, InterruptedException {
+        List<Match> matches = new ArrayList<>();
+        for (QueryDocumentSnapshot document : getFirestore().collection(MATCHES_DB)
+                .whereEqualTo(COMPLETED_FIELD, true).get().get().getDocuments()) {
+            matches.add(toMatch(document));
+        }
+        return matches;
+    }
+
+    @Override
+    public List<Match> findAllUnrated() throws ExecutionException, InterruptedException {
+        List<Match> matches = new ArrayList<>();
+        for (QueryDocumentSnapshot document : getFirestore().collection(MATCHES_DB)
+                .whereEqualTo(COMPLETED_FIELD, true).whereEqualTo(RATED_FIELD, false).get().get().getDocuments()) {
+            matches.add(toMatch(document));
+        }
+        return matches;
+    }
+
+    @Override
+    public List<Match> findAllLegacyCompleted() throws ExecutionException, InterruptedException {
+        // Firestore cannot query for a missing field, so every completed match is read
+        List<Match> matches = new ArrayList<>();
+        for (QueryDocumentSnapshot document : getFirestore().collection(MATCHES_DB)
+                .whereEqualTo(COMPLETED_FIELD, true).get().get().getDocuments()) {
+            if (!document.contains(RATED_FIELD)) {
+                matches.add(toMatch(document));
+            }
+        }
+        return matches;
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> findDocuments(Collection<String> matchIds)
+            throws ExecutionException, InterruptedException {
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        for (DocumentSnapshot document : FirestoreDocuments.getAll(getFirestore(), MATCHES_DB, matchIds).values()) {
+            documents.put(document.getId(), document.getData());
+        }
+        return documents;
+    }
+
+    @Override
+    public void save(Match match) throws ExecutionException, InterruptedException {
+        documentRef(match.getId()).set(match).get();
+    }
+
+    @Override
+    public Instant update(String matchId, Map<String, Object> fields) throws ExecutionException, InterruptedException {
+        return FirestoreDocuments.updateTime(documentRef(matchId).update(fields).get());
+    }
+
+    @Override
+    public void updateAll(Map<String, Map<String, Object>> fieldsByMatch)
+            throws ExecutionException, InterruptedException {
+        Firestore firestore = getFirestore();
+        List<ApiFuture<List<WriteResult>>> commits = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        int writes = 0;
+        for (Map.Entry<String, Map<String, Object>> match : fieldsByMatch.entrySet()) {
+            batch.update(documentRef(match.getKey()), match.getValue());
+            if (++writes == FirestoreDocuments.WRITE_BATCH_SIZE) {
+                commits.add(batch.commit());
+                batch = firestore.batch();
+                writes = 0;
+            }
+        }
+        if (writes > 0) {
+            commits.add(batch.commit());
+        }
+        // All batches are sent before any of them is awaited
+        for (ApiFuture<List<WriteResult>> commit : commits) {
+            commit.get();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Optional<Match>> findByIdAsync(String matchId) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(matchId).get())
+                .thenApply(document -> document.exists() ? Optional.of(toMatch(document)) : Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Match>> findAllByIdAsync(Collection<String> matchIds) {
+        return FirestoreDocuments.getAllAsync(getFirestore(), MATCHES_DB, matchIds).thenApply(documents -> {
+            Map<String, Match> matches = new HashMap<>();
+            documents.forEach((id, document) -> matches.put(id, toMatch(document)));
+            return matches;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, Object>>> findDocumentsAsync(Collection<String> matchIds) {
+        return FirestoreDocuments.getAllAsync(getFirestore(), MATCHES_DB, matchIds).thenApply(documents -> {
+            Map<String, Map<String, Object>> data = new HashMap<>();
+            documents.forEach((id, document) -> data.put(id, document.getData()));
+            return data;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(Match match) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(match.getId()).set(match))
+                .thenApply(writeResult -> null);
+    }
+
+    @Override
+    public CompletableFuture<Instant> updateAsync(String matchId, Map<String, Object> fields) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(matchId).update(fields))
+                .thenApply(FirestoreDocuments::updateTime);
+    }
+
+    private static Match toMatch(DocumentSnapshot document) {
+        Match match = document.toObject(Match.class);
+        match.setId(document.getId());
+        return match;
+    }
+}
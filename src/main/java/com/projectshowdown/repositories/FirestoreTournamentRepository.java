@@ -0,0 +1,257 @@
+package com.projectshowdown.repositories;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import com.google.firebase.cloud.FirestoreClient;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.Tournament;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * Firestore implementation of {@link TournamentRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "firestore", matchIfMissing = true)
+public class FirestoreTournamentRepository implements TournamentRepository {
+
+    private Firestore getFirestore() {
+        return FirestoreClient.getFirestore();
+    }
+
+    private DocumentReference documentRef(String id) {
+        return getFirestore().collection(TOURNAMENTS_DB).document(id);
+    }
+
+    @Override
+    public String nextId() {
+        return getFirestore().collection(TOURNAMENTS_DB).document().getId();
+    }
+
+    @Override
+    public List<Tournament> findAll() throws ExecutionException, InterruptedException {
+        return toTournaments(getFirestore().collection(TOURNAMENTS_DB).get().get());
+    }
+
+    @Override
+    public Optional<Tournament> findById(String tournamentId) throws ExecutionException, InterruptedException {
+        DocumentSnapshot document = documentRef(tournamentId).get().get();
+        if (!document.exists()) {
+            return Optional.empty();
+        }
+        Tournament tournament = document.toObject(Tournament.class);
+        tournament.setId(tournamentId);
+        return Optional.of(tournament);
+    }
+
+    @Override
+    public Optional<Map<String, Object>> findDocument(String tournamentId)
+            throws ExecutionException, InterruptedException {
+        DocumentSnapshot document = documentRef(tournamentId).get().get();
+        return document.exists() ? Optional.of(document.getData()) : Optional.empty();
+    }
+
+    @Override
+    public List<Tournament> findByOrganizerId(String organizerId) throws ExecutionException, InterruptedException {
+        return toTournaments(getFirestore().collection(TOURNAMENTS_DB)
+                .whereEqualTo(ORGANIZER_ID_FIELD, organizerId).get().get());
+    }
+
+    @Override
+    public List<Tournament> findByPlayerId(String userId) throws ExecutionException, InterruptedException {
+        return getFirestore().collection(TOURNAMENTS_DB)
+                .whereArrayContains(USERS_FIELD, userId).get().get().toObjects(Tournament.class);
+    }
+
+    @Override
+    public void save(Tournament tournament) throws ExecutionException, InterruptedException {
+        documentRef(tournament.getId()).set(tournament).get();
+    }
+
+    @Override
+    public Instant update(String tournamentId, Map<String, Object> fields)
+            throws ExecutionException, InterruptedException {
+        return FirestoreDocuments.updateTime(documentRef(tournamentId).update(fields).get());
+    }
+
+    @Override
+    public Instant addRound(String tournamentId, List<Match> matches, Map<String, Object> fields)
+            throws ExecutionException, InterruptedException {
+        Firestore firestore = getFirestore();
+        WriteBatch batch = firestore.batch();
+        for (Match match : matches) {
+            batch.set(firestore.collection(MatchRepository.MATCHES_DB).document(match.getId()), match);
+        }
+        batch.update(documentRef(tournamentId), fields);
+        List<WriteResult> results = batch.commit().get();
+        return FirestoreDocuments.updateTime(results.get(results.size() - 1));
+    }
+
+    @Override
+    public RoundProgress recordMatchResult(String tournamentId, String matchId, Map<String, Object> matchFields)
+            throws ExecutionException, InterruptedException {
+        return runMatchResultTransaction(tournamentId, matchId, matchFields).get();
+    }
+
+    /**
+     * Reads the tournament, then creates the match and writes the rounds with the
+     * match added, in one transaction. If another transaction adds the match
+     * first, this one is retried and finds it already there.
+     */
+    @Override
+    public boolean addBracketMatch(String tournamentId, int roundIndex, String roundName, Match match)
+            throws ExecutionException, InterruptedException {
+        Firestore firestore = getFirestore();
+        DocumentReference tournamentRef = documentRef(tournamentId);
+        DocumentReference matchRef = firestore.collection(MatchRepository.MATCHES_DB).document(match.getId());
+
+        return firestore.runTransaction(transaction -> {
+            DocumentSnapshot tournamentDocument = transaction.get(tournamentRef).get();
+            if (!tournamentDocument.exists()) {
+                throw new IllegalArgumentException("No tournament " + tournamentId);
+            }
+            Tournament tournament = tournamentDocument.toObject(Tournament.class);
+            tournament.setId(tournamentId);
+            if (!tournament.addToRound(roundIndex, roundName, match.getId())) {
+                return false;
+            }
+            transaction.set(matchRef, match);
+            transaction.update(tournamentRef, Map.of(ROUNDS_FIELD, tournament.getRounds()));
+            return true;
+        }).get();
+    }
+
+    @Override
+    public CompletableFuture<List<Tournament>> findAllAsync() {
+        return FirestoreDocuments.toCompletableFuture(getFirestore().collection(TOURNAMENTS_DB).get())
+                .thenApply(FirestoreTournamentRepository::toTournaments);
+    }
+
+    @Override
+    public CompletableFuture<Optional<Tournament>> findByIdAsync(String tournamentId) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(tournamentId).get())
+                .thenApply(document -> {
+                    if (!document.exists()) {
+                        return Optional.<Tournament>empty();
+                    }
+                    Tournament tournament = document.toObject(Tournament.class);
+                    tournament.setId(tournamentId);
+                    return Optional.of(tournament);
+                });
+    }
+
+    @Override
+    public CompletableFuture<Optional<Map<String, Object>>> findDocumentAsync(String tournamentId) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(tournamentId).get())
+                .thenApply(document -> document.exists() ? Optional.of(document.getData()) : Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<List<Tournament>> findByOrganizerIdAsync(String organizerId) {
+        return FirestoreDocuments.toCompletableFuture(getFirestore().collection(TOURNAMENTS_DB)
+                .whereEqualTo(ORGANIZER_ID_FIELD, organizerId).get())
+                .thenApply(FirestoreTournamentRepository::toTournaments);
+    }
+
+    @Override
+    public CompletableFuture<List<Tournament>> findByPlayerIdAsync(String userId) {
+        return FirestoreDocuments.toCompletableFuture(getFirestore().collection(TOURNAMENTS_DB)
+                .whereArrayContains(USERS_FIELD, userId).get())
+                .thenApply(querySnapshot -> querySnapshot.toObjects(Tournament.class));
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(Tournament tournament) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(tournament.getId()).set(tournament))
+                .thenApply(writeResult -> null);
+    }
+
+    @Override
+    public CompletableFuture<Instant> updateAsync(String tournamentId, Map<String, Object> fields) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(tournamentId).update(fields))
+                .thenApply(FirestoreDocuments::updateTime);
+    }
+
+    @Override
+    public CompletableFuture<RoundProgress> recordMatchResultAsync(String tournamentId, String matchId,
+            Map<String, Object> matchFields) {
+        return FirestoreDocuments.toCompletableFuture(runMatchResultTransaction(tournamentId, matchId, matchFields));
+    }
+
+    /**
+     * Reads the tournament and the match, then writes the match fields and the
+     * rounds with the updated count, in one transaction. Firestore retries the
+     * transaction if either document changes before it commits.
+     */
+    private ApiFuture<RoundProgress> runMatchResultTransaction(String tournamentId, String matchId,
+            Map<String, Object> matchFields) {
+        Firestore firestore = getFirestore();
+        DocumentReference tournamentRef = documentRef(tournamentId);
+        DocumentReference matchRef = firestore.collection(MatchRepository.MATCHES_DB).document(matchId);
+
+        return firestore.runTransaction(transaction -> {
+            DocumentSnapshot tournamentDocument = transaction.get(tournamentRef).get();
+            DocumentSnapshot matchDocument = transaction.get(matchRef).get();
+            if (!tournamentDocument.exists() || !matchDocument.exists()) {
+                throw new IllegalArgumentException("No match " + matchId + " in tournament " + tournamentId);
+            }
+            Tournament tournament = tournamentDocument.toObject(Tournament.class);
+            int roundIndex = tournament.roundOf(matchId);
+            if (roundIndex < 0) {
+                throw new IllegalArgumentException("Match " + matchId + " is in no round of " + tournamentId);
+            }
+
+            Round round = tournament.getRounds().get(roundIndex);
+            boolean untracked = round.getCompletedMatches() == null;
+            if (untracked) {
+                DocumentReference[] roundMatches = round.getMatches().stream()
+                        .map(id -> firestore.collection(MatchRepository.MATCHES_DB).document(id))
+                        .toArray(DocumentReference[]::new);
+                int completed = 0;
+                for (DocumentSnapshot document : transaction.getAll(roundMatches).get()) {
+                    if (Boolean.TRUE.equals(document.getBoolean(MatchRepository.COMPLETED_FIELD))) {
+                        completed++;
+                    }
+                }
+                round.setCompletedMatches(completed);
+            }
+            RoundProgress progress = round.recordCompletion(roundIndex, tournament.roundSize(roundIndex),
+                    Boolean.TRUE.equals(matchDocument.getBoolean(MatchRepository.COMPLETED_FIELD)));
+
+            transaction.update(matchRef, matchFields);
+            if (untracked || progress.isNewlyCompleted()) {
+                transaction.update(tournamentRef, Map.of(ROUNDS_FIELD, tournament.getRounds()));
+            }
+            return progress;
+        });
+    }
+
+    /**
+     * Maps the documents of a query directly to Tournament objects.
+     */
+    private static List<Tournament> toTournaments(QuerySnapshot querySnapshot) {
+        return querySnapshot.getDocuments().stream()
+                .map(document -> {
+                    Tournament tournament = document.toObject(Tournament.class);
+                    tournament.setId(document.getId());
+                    return tournament;
+                })
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,238 @@
+package com.projectshowdown.repositories;
+
+import com.google.api.core.ApiFuture;
+import com.google.cloud.firestore.DocumentReference;
+import com.google.cloud.firestore.DocumentSnapshot;
+import com.google.cloud.firestore.Firestore;
+import com.google.cloud.firestore.QueryDocumentSnapshot;
+import com.google.cloud.firestore.QuerySnapshot;
+import com.google.cloud.firestore.WriteBatch;
+import com.google.cloud.firestore.WriteResult;
+import com.google.firebase.cloud.FirestoreClient;
+import com.projectshowdown.dto.UserDTO;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Firestore implementation of {@link UserRepository}.
+ */
+@Repository
+@ConditionalOnProperty(name = "showdown.storage.type", havingValue = "firestore", matchIfMissing = true)
+public class FirestoreUserRepository implements UserRepository {
+
+    private Firestore getFirestore() {
+        return FirestoreClient.getFirestore();
+    }
+
+    private DocumentReference documentRef(String id) {
+        return getFirestore().collection(USER_DB).document(id);
+    }
+
+    @Override
+    public String nextId() {
+        return getFirestore().collection(USER_DB).document().getId();
+    }
+
+    @Override
+    public Optional<UserDTO> findById(String userId) throws ExecutionException, InterruptedException {
+        DocumentSnapshot document = documentRef(userId).get().get();
+        if (!document.exists()) {
+            return Optional.empty();
+        }
+        UserDTO user = document.toObject(UserDTO.class);
+        user.setId(userId);
+        return Optional.of(user);
+    }
+
+    @Override
+    public Map<String, UserDTO> findAllById(Collection<String> userIds)
+            throws ExecutionException, InterruptedException {
+        Map<String, UserDTO> users = new HashMap<>();
+        for (DocumentSnapshot document : FirestoreDocuments.getAll(getFirestore(), USER_DB, userIds).values()) {
+            UserDTO user = document.toObject(UserDTO.class);
+            user.setId(document.getId());
+            users.put(document.getId(), user);
+        }
+        return users;
+    }
+
+    @Override
+    public Map<String, Map<String, Object>> findDocuments(Collection<String> userIds)
+            throws ExecutionException, InterruptedException {
+        Map<String, Map<String, Object>> documents = new HashMap<>();
+        for (DocumentSnapshot document : FirestoreDocuments.getAll(getFirestore(), USER_DB, userIds).values()) {
+            documents.put(document.getId(), document.getData());
+        }
+        return documents;
+    }
+
+    @Override
+    public Optional<UserDTO> findByEmail(String email) throws ExecutionException, InterruptedException {
+        List<QueryDocumentSnapshot> documents = getFirestore().collection(USER_DB)
+                .whereEqualTo(EMAIL_FIELD, email).get().get().getDocuments();
+        if (documents.isEmpty()) {
+            return Optional.empty();
+        }
+        QueryDocumentSnapshot document = documents.get(0);
+        UserDTO user = document.toObject(UserDTO.class);
+        user.setId(document.getId());
+        return Optional.of(user);
+    }
+
+    @Override
+    public List<UserDTO> findAllByRole(String role) throws ExecutionException, InterruptedException {
+        List<QueryDocumentSnapshot> documents = getFirestore().collection(USER_DB)
+                .whereEqualTo(ROLE_FIELD, role).get().get().getDocuments();
+        List<UserDTO> users = new ArrayList<>();
+        for (DocumentSnapshot document : documents) {
+            if (document.exists()) {
+                UserDTO user = document.toObject(UserDTO.class);
+                user.setId(document.getId());
+                users.add(user);
+            }
+        }
+        return users;
+    }
+
+    @Override
+    public boolean existsById(String userId) throws ExecutionException, InterruptedException {
+        return documentRef(userId).get().get().exists();
+    }
+
+    @Override
+    public boolean existsByEmail(String email) throws ExecutionException, InterruptedException {
+        return !getFirestore().collection(USER_DB).whereEqualTo(EMAIL_FIELD, email).get().get().isEmpty();
+    }
+
+    @Override
+    public void save(UserDTO user) throws ExecutionException, InterruptedException {
+        documentRef(user.getId()).set(user).get();
+    }
+
+    @Override
+    public Instant update(String userId, Map<String, Object> fields) throws ExecutionException, InterruptedException {
+        return FirestoreDocuments.updateTime(documentRef(userId).update(fields).get());
+    }
+
+    @Override
+    public void updateAll(Map<String, Map<String, Object>> fieldsByUser)
+            throws ExecutionException, InterruptedException {
+        Firestore firestore = getFirestore();
+        List<ApiFuture<List<WriteResult>>> commits = new ArrayList<>();
+        WriteBatch batch = firestore.batch();
+        int writes = 0;
+        for (Map.Entry<String, Map<String, Object>> user : fieldsByUser.entrySet()) {
+            batch.update(documentRef(user.getKey()), user.getValue());
+            if (++writes == FirestoreDocuments.WRITE_BATCH_SIZE) {
+                commits.add(batch.commit());
+                batch = firestore.batch();
+                writes = 0;
+            }
+        }
+        if (writes > 0) {
+            commits.add(batch.commit());
+        }
+        // All batches are sent before any of them is awaited
+        for (ApiFuture<List<WriteResult>> commit : commits) {
+            commit.get();
+        }
+    }
+
+    @Override
+    public void delete(String userId) throws ExecutionException, InterruptedException {
+        documentRef(userId).delete().get();
+    }
+
+    @Override
+    public CompletableFuture<Optional<UserDTO>> findByIdAsync(String userId) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(userId).get())
+                .thenApply(document -> document.exists() ? Optional.of(toUser(document)) : Optional.empty());
+    }
+
+    @Override
+    public CompletableFuture<Map<String, UserDTO>> findAllByIdAsync(Collection<String> userIds) {
+        return FirestoreDocuments.getAllAsync(getFirestore(), USER_DB, userIds).thenApply(documents -> {
+            Map<String, UserDTO> users = new HashMap<>();
+            documents.forEach((id, document) -> users.put(id, toUser(document)));
+            return users;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Map<String, Map<String, Object>>> findDocumentsAsync(Collection<String> userIds) {
+        return FirestoreDocuments.getAllAsync(getFirestore(), USER_DB, userIds).thenApply(documents -> {
+            Map<String, Map<String, Object>> data = new HashMap<>();
+            documents.forEach((id, document) -> data.put(id, document.getData()));
+            return data;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Optional<UserDTO>> findByEmailAsync(String email) {
+        return queryAsync(EMAIL_FIELD, email).thenApply(querySnapshot -> querySnapshot.isEmpty()
+                ? Optional.empty()
+                : Optional.of(toUser(querySnapshot.getDocuments().get(0))));
+    }
+
+    @Override
+    public CompletableFuture<List<UserDTO>> findAllByRoleAsync(String role) {
+        return queryAsync(ROLE_FIELD, role).thenApply(querySnapshot -> {
+            List<UserDTO> users = new ArrayList<>();
+            for (QueryDocumentSnapshot document : querySnapshot.getDocuments()) {
+                users.add(toUser(document));
+            }
+            return users;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsByIdAsync(String userId) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(userId).get())
+                .thenApply(DocumentSnapshot::exists);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsByEmailAsync(String email) {
+        return queryAsync(EMAIL_FIELD, email).thenApply(querySnapshot -> !querySnapshot.isEmpty());
+    }
+
+    @Override
+    public CompletableFuture<Void> saveAsync(UserDTO user) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(user.getId()).set(user))
+                .thenApply(writeResult -> null);
+    }
+
+    @Override
+    public CompletableFuture<Instant> updateAsync(String userId, Map<String, Object> fields) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(userId).update(fields))
+                .thenApply(FirestoreDocuments::updateTime);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteAsync(String userId) {
+        return FirestoreDocuments.toCompletableFuture(documentRef(userId).delete())
+                .thenApply(writeResult -> null);
+    }
+
+    private CompletableFuture<QuerySnapshot> queryAsync(String field, Object value) {
+        return FirestoreDocuments.toCompletableFuture(
+                getFirestore().collection(USER_DB).whereEqualTo(field, value).get());
+    }
+
+    private static UserDTO toUser(DocumentSnapshot document) {
+        UserDTO user = document.toObject(UserDTO.class);
+        user.setId(document.getId());
+        return user;
+    }
+}
@@ -0,0 +1,298 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.entities.LedgerEvent;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Local, append-only log of {@link LedgerEvent}s, with a snapshot file beside it.
+ *
+ * Each entry is written as its length, a CRC32 checksum and the encoded entry,
+ * and forced to disk before {@link #append(LedgerEvent)} returns. Entries are
+ * read back in one pass over the file mapped into memory. An entry cut short by
+ * a crash fails its checksum and is truncated when the log is opened. The
+ * snapshot is replaced atomically, so a crash leaves the previous one.
+ */
+@Component
+public class MatchLedgerStore implements DisposableBean {
+
+    /**
+     * The most bytes of the log mapped at once.
+     */
+    static final int MAX_WINDOW = 1 << 30;
+
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+    private static final LedgerEvent.Type[] TYPES = LedgerEvent.Type.values();
+
+    private final Path snapshotPath;
+    private final FileChannel channel;
+    private volatile long end;
+
+    // Serializes appends
+    private final ReentrantLock appendLock = new ReentrantLock();
+
+    /**
+     * Opens the log, creating the file and its directory if needed.
+     *
+     * @param path The log file. The snapshot is kept next to it, with a
+     *             {@code .snapshot} suffix.
+     */
+    public MatchLedgerStore(@Value("${showdown.ledger.path:data/match-ledger.log}") String path) {
+        Path logPath = Path.of(path).toAbsolutePath();
+        this.snapshotPath = logPath.resolveSibling(logPath.getFileName() + ".snapshot");
+        try {
+            Files.createDirectories(logPath.getParent());
+            this.channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            long size = channel.size();
+            this.end = size;
+            long valid = read(0, event -> { });
+            if (valid < size) {
+                System.out.println("Truncating " + (size - valid) + " bytes of an incomplete match ledger entry");
+                channel.truncate(valid);
+                channel.force(true);
+            }
+            this.end = valid;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open the match ledger " + logPath, e);
+        }
+    }
+
+    /**
+     * Appends an entry and forces it to disk.
+     *
+     * @param event The entry.
+     * @return The end of the log after the entry, to read on from.
+     */
+    public long append(LedgerEvent event) {
+        return appendAll(List.of(event));
+    }
+
+    /**
+     * Appends entries in order and forces them to disk once.
+     *
+     * @param events The entries.
+     * @return The end of the log after the entries, to read on from.
+     */
+    public long appendAll(List<LedgerEvent> events) {
+        List<byte[]> payloads = new ArrayList<>(events.size());
+        int size = 0;
+        for (LedgerEvent event : events) {
+            byte[] payload = encode(event);
+            payloads.add(payload);
+            size += HEADER_BYTES + payload.length;
+        }
+        ByteBuffer records = ByteBuffer.allocate(size);
+        for (byte[] payload : payloads) {
+            CRC32 checksum = new CRC32();
+            checksum.update(payload);
+            records.putInt(payload.length).putInt((int) checksum.getValue()).put(payload);
+        }
+        records.flip();
+        appendLock.lock();
+        try {
+            long position = end;
+            while (records.hasRemaining()) {
+                position += channel.write(records, position);
+            }
+            channel.force(false);
+            end = position;
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append to the match ledger", e);
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * @return The end of the log, after the last complete entry.
+     */
+    public long end() {
+        return end;
+    }
+
+    /**
+     * Reads the entries from a position to the current end of the log, in the
+     * order they were appended.
+     *
+     * @param from    The position of the first entry: 0, or a position returned
+     *                by this store.
+     * @param visitor Called once for each entry.
+     * @return The position after the last entry read.
+     */
+    public long read(long from, Consumer<LedgerEvent> visitor) {
+        long limit = end;
+        long position = from;
+        try {
+            while (position < limit) {
+                long windowSize = Math.min(limit - position, MAX_WINDOW);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+                int consumed = 0;
+                while (window.remaining() >= HEADER_BYTES) {
+                    int start = window.position();
+                    int length = window.getInt();
+                    int expected = window.getInt();
+                    if (length < 0 || length > window.remaining()) {
+                        window.position(start);
+                        break;
+                    }
+                    ByteBuffer payload = window.slice(window.position(), length);
+                    CRC32 checksum = new CRC32();
+                    checksum.update(payload.duplicate());
+                    if ((int) checksum.getValue() != expected) {
+                        return position + start;
+                    }
+                    visitor.accept(decode(payload));
+                    window.position(window.position() + length);
+                    consumed = window.position();
+                }
+                if (consumed == 0) {
+                    // An entry is cut short at the end of the log
+                    return position;
+                }
+                position += consumed;
+            }
+            return position;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the match ledger", e);
+        }
+    }
+
+    /**
+     * Replaces the snapshot.
+     *
+     * @param snapshot The encoded snapshot.
+     */
+    public void writeSnapshot(byte[] snapshot) {
+        Path temporary = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try {
+            Files.write(temporary, snapshot, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                    StandardOpenOption.WRITE, StandardOpenOption.SYNC);
+            Files.move(temporary, snapshotPath, StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write the match ledger snapshot", e);
+        }
+    }
+
+    /**
+     * @return The encoded snapshot, or an empty Optional if none was written.
+     */
+    public Optional<byte[]> readSnapshot() {
+        try {
+            return Files.exists(snapshotPath) ? Optional.of(Files.readAllBytes(snapshotPath)) : Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the match ledger snapshot", e);
+        }
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        channel.close();
+    }
+
+    private static byte[] encode(LedgerEvent event) {
+        byte[] matchId = bytes(event.getMatchId());
+        byte[] player1Id = bytes(event.getPlayer1Id());
+        byte[] player2Id = bytes(event.getPlayer2Id());
+        byte[] userId = bytes(event.getUserId());
+        byte[] achievements = bytes(event.getAchievements());
+        ByteBuffer buffer = ByteBuffer.allocate(1 + Long.BYTES * 4 + Integer.BYTES * 8 + 1 + length(matchId)
+                + length(player1Id) + length(player2Id) + length(userId) + length(achievements));
+        buffer.put((byte) event.getType().ordinal()).putLong(event.getRecordedAt());
+        switch (event.getType()) {
+            case RESULT -> {
+                putString(buffer, matchId);
+                putString(buffer, player1Id);
+                putString(buffer, player2Id);
+                buffer.putInt(event.getPlayer1Score()).putInt(event.getPlayer2Score())
+                        .put((byte) (event.isRated() ? 1 : 0));
+            }
+            case PLAYER -> {
+                putString(buffer, userId);
+                buffer.putDouble(event.getElo()).putDouble(event.getPeakElo()).putInt(event.getRatedMatches());
+                putString(buffer, achievements);
+            }
+            case PERIOD_CLOSED -> {
+            }
+        }
+        byte[] encoded = new byte[buffer.position()];
+        buffer.flip().get(encoded);
+        return encoded;
+    }
+
+    private static LedgerEvent decode(ByteBuffer buffer) {
+        LedgerEvent event = new LedgerEvent();
+        event.setType(TYPES[buffer.get()]);
+        event.setRecordedAt(buffer.getLong());
+        switch (event.getType()) {
+            case RESULT -> {
+                event.setMatchId(getString(buffer));
+                event.setPlayer1Id(getString(buffer));
+                event.setPlayer2Id(getString(buffer));
+                event.setPlayer1Score(buffer.getInt());
+                event.setPlayer2Score(buffer.getInt());
+                event.setRated(buffer.get() == 1);
+            }
+            case PLAYER -> {
+                event.setUserId(getString(buffer));
+                event.setElo(buffer.getDouble());
+                event.setPeakElo(buffer.getDouble());
+                event.setRatedMatches(buffer.getInt());
+                event.setAchievements(getString(buffer));
+            }
+            case PERIOD_CLOSED -> {
+            }
+        }
+        return event;
+    }
+
+    private static byte[] bytes(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int length(byte[] value) {
+        return value == null ? 0 : value.length;
+    }
+
+    /**
+     * Writes a string as its length and UTF-8 bytes, or a length of -1 for null.
+     */
+    private static void putString(ByteBuffer buffer, byte[] value) {
+        if (value == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(value.length).put(value);
+        }
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] value = new byte[length];
+        buffer.get(value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,153 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.entities.Match;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Storage operations for match documents.
+ * Implementations exist for Firestore and for the embedded local store.
+ * The asynchronous variants run the blocking call in the calling thread unless
+ * an implementation overrides them, as the Firestore one does.
+ */
+public interface MatchRepository {
+    String MATCHES_DB = "matches";
+    String TOURNAMENT_ID_FIELD = "tournamentId";
+    String COMPLETED_FIELD = "completed";
+    String RATED_FIELD = "rated";
+
+    /**
+     * Retrieves a match by ID.
+     *
+     * @param matchId The ID of the match.
+     * @return The match, or an empty Optional if it does not exist.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Optional<Match> findById(String matchId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves many matches at once. IDs that do not exist are left out.
+     *
+     * @param matchIds The IDs of the matches.
+     * @return The matches keyed by ID.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Map<String, Match> findAllById(Collection<String> matchIds) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves every completed match.
+     *
+     * @return The completed matches, in no particular order.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<Match> findAllCompleted() throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the completed matches whose rated field is false. Matches
+     * stored without the field are left out; see {@link #findAllLegacyCompleted()}.
+     *
+     * @return The completed matches not rated yet, in no particular order.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<Match> findAllUnrated() throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the completed matches stored without a rated field, which were
+     * scored before matches were rated in periods and already moved the winner's
+     * Elo.
+     *
+     * @return The legacy completed matches, in no particular order.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<Match> findAllLegacyCompleted() throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the raw documents of many matches at once, as stored.
+     *
+     * @param matchIds The IDs of the matches.
+     * @return The documents keyed by ID. IDs that do not exist are left out.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Map<String, Map<String, Object>> findDocuments(Collection<String> matchIds)
+            throws ExecutionException, InterruptedException;
+
+    /**
+     * Creates or replaces a match. The match's ID is used as the document ID.
+     *
+     * @param match The match to save.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    void save(Match match) throws ExecutionException, InterruptedException;
+
+    /**
+     * Updates some fields of a match.
+     *
+     * @param matchId The ID of the match.
+     * @param fields  The fields to update and their new values.
+     * @return The time of the update.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Instant update(String matchId, Map<String, Object> fields) throws ExecutionException, InterruptedException;
+
+    /**
+     * Updates some fields of many matches in batched writes.
+     *
+     * @param fieldsByMatch The fields to update and their new values, keyed by
+     *                      match ID.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    void updateAll(Map<String, Map<String, Object>> fieldsByMatch) throws ExecutionException, InterruptedException;
+
+    /**
+     * Asynchronous variant of {@link #findById(String)}.
+     */
+    default CompletableFuture<Optional<Match>> findByIdAsync(String matchId) {
+        return StoreCalls.completed(() -> findById(matchId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findAllById(Collection)}.
+     */
+    default CompletableFuture<Map<String, Match>> findAllByIdAsync(Collection<String> matchIds) {
+        return StoreCalls.completed(() -> findAllById(matchIds));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findDocuments(Collection)}.
+     */
+    default CompletableFuture<Map<String, Map<String, Object>>> findDocumentsAsync(Collection<String> matchIds) {
+        return StoreCalls.completed(() -> findDocuments(matchIds));
+    }
+
+    /**
+     * Asynchronous variant of {@link #save(Match)}.
+     */
+    default CompletableFuture<Void> saveAsync(Match match) {
+        return StoreCalls.completed(() -> {
+            save(match);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #update(String, Map)}.
+     */
+    default CompletableFuture<Instant> updateAsync(String matchId, Map<String, Object> fields) {
+        return StoreCalls.completed(() -> update(matchId, fields));
+    }
+}
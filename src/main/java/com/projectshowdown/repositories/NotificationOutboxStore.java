@@ -0,0 +1,193 @@
+package com.projectshowdown.repositories;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.projectshowdown.entities.OutboundNotification;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Local, persistent queue of outgoing notifications, built on an MVStore file.
+ *
+ * Pending notifications are kept in ID order, which is the order they were
+ * queued in. Notifications that ran out of attempts are moved to a separate
+ * dead letter map and kept for inspection. Every change is committed before
+ * the method returns, so a queued notification survives a restart.
+ */
+@Component
+public class NotificationOutboxStore implements DisposableBean {
+    public static final String OUTBOX_MAP = "outbox";
+    public static final String DEAD_LETTER_MAP = "deadLetters";
+
+    private final MVStore store;
+    private final MVMap<Long, String> outbox;
+    private final MVMap<Long, String> deadLetters;
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+    private final AtomicLong lastId;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Opens the store, creating the file and its directory if needed.
+     *
+     * @param path The file to persist to. A blank path keeps the queue in memory.
+     */
+    public NotificationOutboxStore(@Value("${showdown.notifications.outbox.path:}") String path) {
+        MVStore.Builder builder = new MVStore.Builder().autoCommitDisabled();
+        if (path != null && !path.isBlank()) {
+            Path parent = Path.of(path).toAbsolutePath().getParent();
+            try {
+                Files.createDirectories(parent);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create the outbox directory " + parent, e);
+            }
+            builder.fileName(path);
+        }
+        this.store = builder.open();
+        this.outbox = store.openMap(OUTBOX_MAP);
+        this.deadLetters = store.openMap(DEAD_LETTER_MAP);
+        this.lastId = new AtomicLong(Math.max(lastKey(outbox), lastKey(deadLetters)));
+    }
+
+    private static long lastKey(MVMap<Long, String> map) {
+        Long key = map.lastKey();
+        return key == null ? 0 : key;
+    }
+
+    /**
+     * Appends a notification to the queue and assigns its ID.
+     *
+     * @param notification The notification to queue.
+     * @return The queued notification.
+     */
+    public OutboundNotification add(OutboundNotification notification) {
+        writeLock.lock();
+        try {
+            notification.setId(lastId.incrementAndGet());
+            outbox.put(notification.getId(), serialize(notification));
+            store.commit();
+            return notification;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Saves the attempt count, next attempt time and last error of a queued
+     * notification.
+     *
+     * @param notification The notification.
+     */
+    public void update(OutboundNotification notification) {
+        writeLock.lock();
+        try {
+            outbox.put(notification.getId(), serialize(notification));
+            store.commit();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a notification that has been sent.
+     *
+     * @param id The ID of the notification.
+     */
+    public void delete(long id) {
+        writeLock.lock();
+        try {
+            if (outbox.remove(id) != null) {
+                store.commit();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Moves a notification that will not be retried to the dead letters.
+     *
+     * @param notification The notification.
+     */
+    public void moveToDeadLetters(OutboundNotification notification) {
+        writeLock.lock();
+        try {
+            outbox.remove(notification.getId());
+            deadLetters.put(notification.getId(), serialize(notification));
+            store.commit();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves every queued notification.
+     *
+     * @return The notifications in the order they were queued.
+     */
+    public List<OutboundNotification> findPending() {
+        return parseAll(outbox);
+    }
+
+    /**
+     * Retrieves every dead-lettered notification.
+     *
+     * @return The notifications in the order they were queued.
+     */
+    public List<OutboundNotification> findDeadLetters() {
+        return parseAll(deadLetters);
+    }
+
+    /**
+     * @return The number of queued notifications.
+     */
+    public int pendingCount() {
+        return outbox.size();
+    }
+
+    /**
+     * @return The number of dead-lettered notifications.
+     */
+    public int deadLetterCount() {
+        return deadLetters.size();
+    }
+
+    @Override
+    public void destroy() {
+        store.close();
+    }
+
+    private List<OutboundNotification> parseAll(MVMap<Long, String> map) {
+        List<OutboundNotification> notifications = new ArrayList<>();
+        for (String json : map.values()) {
+            try {
+                notifications.add(objectMapper.readValue(json, OutboundNotification.class));
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return notifications;
+    }
+
+    private String serialize(OutboundNotification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.projectshowdown.repositories;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Adapts blocking store calls to the asynchronous repository methods.
+ * Used by the default async methods, which suit stores that answer from local
+ * memory or disk without waiting on the network.
+ */
+final class StoreCalls {
+
+    /**
+     * A blocking call to a store.
+     *
+     * @param <T> The result type.
+     */
+    @FunctionalInterface
+    interface Call<T> {
+        T call() throws ExecutionException, InterruptedException;
+    }
+
+    private StoreCalls() {
+    }
+
+    /**
+     * Runs a blocking call in the calling thread and returns its outcome as a
+     * completed future.
+     *
+     * @param call The call to run.
+     * @param <T>  The result type.
+     * @return A future completed with the result, or failed with the cause of
+     *         the error.
+     */
+    static <T> CompletableFuture<T> completed(Call<T> call) {
+        try {
+            return CompletableFuture.completedFuture(call.call());
+        } catch (ExecutionException e) {
+            return CompletableFuture.failedFuture(e.getCause() != null ? e.getCause() : e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(e);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.Tournament;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Storage operations for tournament documents.
+ * Implementations exist for Firestore and for the embedded local store.
+ * The asynchronous variants run the blocking call in the calling thread unless
+ * an implementation overrides them, as the Firestore one does.
+ */
+public interface TournamentRepository {
+    String TOURNAMENTS_DB = "tournaments";
+    String ORGANIZER_ID_FIELD = "organizerId";
+    String USERS_FIELD = "users";
+    String ROUNDS_FIELD = "rounds";
+
+    /**
+     * Generates a new, unused tournament ID.
+     *
+     * @return The generated ID.
+     */
+    String nextId();
+
+    /**
+     * Retrieves all tournaments.
+     *
+     * @return A list of all tournaments.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<Tournament> findAll() throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves a tournament by ID.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @return The tournament, or an empty Optional if it does not exist.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Optional<Tournament> findById(String tournamentId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the raw document of a tournament, as stored.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @return The document, or an empty Optional if it does not exist.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Optional<Map<String, Object>> findDocument(String tournamentId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the tournaments created by an organizer.
+     *
+     * @param organizerId The ID of the organizer.
+     * @return The organizer's tournaments.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<Tournament> findByOrganizerId(String organizerId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the tournaments a player is registered in.
+     *
+     * @param userId The ID of the player.
+     * @return The player's tournaments.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<Tournament> findByPlayerId(String userId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Creates or replaces a tournament. The tournament's ID is used as the
+     * document ID.
+     *
+     * @param tournament The tournament to save.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    void save(Tournament tournament) throws ExecutionException, InterruptedException;
+
+    /**
+     * Updates some fields of a tournament.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param fields       The fields to update and their new values.
+     * @return The time of the update.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Instant update(String tournamentId, Map<String, Object> fields) throws ExecutionException, InterruptedException;
+
+    /**
+     * Saves the matches of a new round and updates fields of the tournament, such
+     * as its rounds and status, in one atomic write. Either every document is
+     * written or none is.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param matches      The matches of the new round.
+     * @param fields       The tournament fields to update and their new values.
+     * @return The time of the write.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Instant addRound(String tournamentId, List<Match> matches, Map<String, Object> fields)
+            throws ExecutionException, InterruptedException;
+
+    /**
+     * Writes the final score of a match and counts it in its round's completed
+     * matches, in one atomic read-modify-write. A match that was already
+     * completed is not counted again. Rounds created before the count was kept
+     * are counted from their matches once.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param matchId      The ID of the match.
+     * @param matchFields  The match fields to update, including the scores.
+     * @return The progress of the match's round.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    RoundProgress recordMatchResult(String tournamentId, String matchId, Map<String, Object> matchFields)
+            throws ExecutionException, InterruptedException;
+
+    /**
+     * Saves a match of a later round and adds it to the round, creating the
+     * round if it is the next one, in one atomic read-modify-write. Later rounds
+     * are filled in one match at a time as their feeder matches complete, so two
+     * callers may try to add the same match; only the first one writes it.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param roundIndex   The position of the round, starting at 0.
+     * @param roundName    The name of the round if it has to be created.
+     * @param match        The match to save.
+     * @return True if the match was added, false if the round already had it.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    boolean addBracketMatch(String tournamentId, int roundIndex, String roundName, Match match)
+            throws ExecutionException, InterruptedException;
+
+    /**
+     * Asynchronous variant of {@link #findAll()}.
+     */
+    default CompletableFuture<List<Tournament>> findAllAsync() {
+        return StoreCalls.completed(() -> findAll());
+    }
+
+    /**
+     * Asynchronous variant of {@link #findById(String)}.
+     */
+    default CompletableFuture<Optional<Tournament>> findByIdAsync(String tournamentId) {
+        return StoreCalls.completed(() -> findById(tournamentId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findDocument(String)}.
+     */
+    default CompletableFuture<Optional<Map<String, Object>>> findDocumentAsync(String tournamentId) {
+        return StoreCalls.completed(() -> findDocument(tournamentId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findByOrganizerId(String)}.
+     */
+    default CompletableFuture<List<Tournament>> findByOrganizerIdAsync(String organizerId) {
+        return StoreCalls.completed(() -> findByOrganizerId(organizerId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findByPlayerId(String)}.
+     */
+    default CompletableFuture<List<Tournament>> findByPlayerIdAsync(String userId) {
+        return StoreCalls.completed(() -> findByPlayerId(userId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #save(Tournament)}.
+     */
+    default CompletableFuture<Void> saveAsync(Tournament tournament) {
+        return StoreCalls.completed(() -> {
+            save(tournament);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #update(String, Map)}.
+     */
+    default CompletableFuture<Instant> updateAsync(String tournamentId, Map<String, Object> fields) {
+        return StoreCalls.completed(() -> update(tournamentId, fields));
+    }
+
+    /**
+     * Asynchronous variant of {@link #recordMatchResult(String, String, Map)}.
+     */
+    default CompletableFuture<RoundProgress> recordMatchResultAsync(String tournamentId, String matchId,
+            Map<String, Object> matchFields) {
+        return StoreCalls.completed(() -> recordMatchResult(tournamentId, matchId, matchFields));
+    }
+}
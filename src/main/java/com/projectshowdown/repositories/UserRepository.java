@@ -0,0 +1,218 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.dto.UserDTO;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Storage operations for user documents.
+ * Implementations exist for Firestore and for the embedded local store.
+ * The asynchronous variants run the blocking call in the calling thread unless
+ * an implementation overrides them, as the Firestore one does.
+ */
+public interface UserRepository {
+    String USER_DB = "users";
+    String EMAIL_FIELD = "email";
+    String ROLE_FIELD = "role";
+
+    /**
+     * Generates a new, unused user ID.
+     *
+     * @return The generated ID.
+     */
+    String nextId();
+
+    /**
+     * Retrieves a user by ID.
+     *
+     * @param userId The ID of the user.
+     * @return The user, or an empty Optional if it does not exist.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Optional<UserDTO> findById(String userId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves many users at once. IDs that do not exist are left out.
+     *
+     * @param userIds The IDs of the users.
+     * @return The users keyed by ID.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Map<String, UserDTO> findAllById(Collection<String> userIds) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves the raw documents of many users at once, as stored.
+     *
+     * @param userIds The IDs of the users.
+     * @return The documents keyed by ID. IDs that do not exist are left out.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Map<String, Map<String, Object>> findDocuments(Collection<String> userIds)
+            throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves a user by email address.
+     *
+     * @param email The email address.
+     * @return The user, or an empty Optional if no user has this email.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Optional<UserDTO> findByEmail(String email) throws ExecutionException, InterruptedException;
+
+    /**
+     * Retrieves all users with a role.
+     *
+     * @param role The role to filter by.
+     * @return The matching users.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    List<UserDTO> findAllByRole(String role) throws ExecutionException, InterruptedException;
+
+    /**
+     * Checks whether a user exists.
+     *
+     * @param userId The ID of the user.
+     * @return True if the user exists.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    boolean existsById(String userId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Checks whether a user with the given email exists.
+     *
+     * @param email The email address.
+     * @return True if a user has this email.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    boolean existsByEmail(String email) throws ExecutionException, InterruptedException;
+
+    /**
+     * Creates or replaces a user. The user's ID is used as the document ID.
+     *
+     * @param user The user to save.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    void save(UserDTO user) throws ExecutionException, InterruptedException;
+
+    /**
+     * Updates some fields of a user. Keys may be dotted paths such as
+     * {@code playerDetails.elo}.
+     *
+     * @param userId The ID of the user.
+     * @param fields The fields to update and their new values.
+     * @return The time of the update.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    Instant update(String userId, Map<String, Object> fields) throws ExecutionException, InterruptedException;
+
+    /**
+     * Updates some fields of many users in batched writes. Keys may be dotted
+     * paths such as {@code playerDetails.rank}. A batch that fails is not
+     * retried.
+     *
+     * @param fieldsByUser The fields to update of each user, keyed by user ID.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    void updateAll(Map<String, Map<String, Object>> fieldsByUser) throws ExecutionException, InterruptedException;
+
+    /**
+     * Deletes a user.
+     *
+     * @param userId The ID of the user.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    void delete(String userId) throws ExecutionException, InterruptedException;
+
+    /**
+     * Asynchronous variant of {@link #findById(String)}.
+     */
+    default CompletableFuture<Optional<UserDTO>> findByIdAsync(String userId) {
+        return StoreCalls.completed(() -> findById(userId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findAllById(Collection)}.
+     */
+    default CompletableFuture<Map<String, UserDTO>> findAllByIdAsync(Collection<String> userIds) {
+        return StoreCalls.completed(() -> findAllById(userIds));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findDocuments(Collection)}.
+     */
+    default CompletableFuture<Map<String, Map<String, Object>>> findDocumentsAsync(Collection<String> userIds) {
+        return StoreCalls.completed(() -> findDocuments(userIds));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findByEmail(String)}.
+     */
+    default CompletableFuture<Optional<UserDTO>> findByEmailAsync(String email) {
+        return StoreCalls.completed(() -> findByEmail(email));
+    }
+
+    /**
+     * Asynchronous variant of {@link #findAllByRole(String)}.
+     */
+    default CompletableFuture<List<UserDTO>> findAllByRoleAsync(String role) {
+        return StoreCalls.completed(() -> findAllByRole(role));
+    }
+
+    /**
+     * Asynchronous variant of {@link #existsById(String)}.
+     */
+    default CompletableFuture<Boolean> existsByIdAsync(String userId) {
+        return StoreCalls.completed(() -> existsById(userId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #existsByEmail(String)}.
+     */
+    default CompletableFuture<Boolean> existsByEmailAsync(String email) {
+        return StoreCalls.completed(() -> existsByEmail(email));
+    }
+
+    /**
+     * Asynchronous variant of {@link #save(UserDTO)}.
+     */
+    default CompletableFuture<Void> saveAsync(UserDTO user) {
+        return StoreCalls.completed(() -> {
+            save(user);
+            return null;
+        });
+    }
+
+    /**
+     * Asynchronous variant of {@link #update(String, Map)}.
+     */
+    default CompletableFuture<Instant> updateAsync(String userId, Map<String, Object> fields) {
+        return StoreCalls.completed(() -> update(userId, fields));
+    }
+
+    /**
+     * Asynchronous variant of {@link #delete(String)}.
+     */
+    default CompletableFuture<Void> deleteAsync(String userId) {
+        return StoreCalls.completed(() -> {
+            delete(userId);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,165 @@
+package com.projectshowdown.service;
+
+import com.google.auth.oauth2.AccessToken;
+import com.google.auth.oauth2.GoogleCredentials;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches the OAuth access token used to call Dialogflow.
+ *
+ * The service account JSON is parsed once, on first use, so nothing is read or
+ * fetched at startup. The token is then reused until it expires, and a
+ * scheduled job fetches the next one once the token is within the refresh
+ * margin of its expiry, so requests do not wait for Google's token endpoint. A
+ * request only fetches a token itself when there is none yet or the last one
+ * expired, e.g. because the refresh job failed.
+ */
+@Component
+public class AccessTokenCache {
+
+    /**
+     * Fetches a new access token.
+     */
+    @FunctionalInterface
+    public interface Source {
+        AccessToken fetch() throws IOException;
+    }
+
+    private final Source source;
+    private final Duration refreshMargin;
+    private final Clock clock;
+
+    private volatile AccessToken token;
+
+    // Held while a token is fetched
+    private final ReentrantLock fetchLock = new ReentrantLock();
+
+    @Autowired
+    public AccessTokenCache(@Value("${google.credentials.json}") String credentialsJson,
+            @Value("${google.dialogflow.scope}") String scope,
+            @Value("${showdown.dialogflow.token.refresh-margin:5m}") Duration refreshMargin) {
+        this(new CredentialsSource(credentialsJson, scope), refreshMargin, Clock.systemUTC());
+    }
+
+    /**
+     * @param source        Fetches the tokens, e.g. a stand-in in tests.
+     * @param refreshMargin How long before its expiry a token is replaced.
+     * @param clock         The clock the expiry is compared with.
+     */
+    public AccessTokenCache(Source source, Duration refreshMargin, Clock clock) {
+        this.source = source;
+        this.refreshMargin = refreshMargin;
+        this.clock = clock;
+    }
+
+    /**
+     * Reads the current access token, fetching one if there is none or it has
+     * expired.
+     *
+     * @return The token value.
+     * @throws IOException If a token cannot be fetched.
+     */
+    public String get() throws IOException {
+        AccessToken current = token;
+        if (current == null || expiresWithin(current, Duration.ZERO)) {
+            current = fetchUnless(Duration.ZERO);
+        }
+        return current.getTokenValue();
+    }
+
+    /**
+     * Drops the current token, e.g. after it was rejected, so the next request
+     * fetches a new one.
+     */
+    public void invalidate() {
+        token = null;
+    }
+
+    /**
+     * Fetches the next token before the current one expires, on a fixed delay.
+     * Nothing is fetched before the first request. Failures are logged, and the
+     * token is fetched again on the next run or by the next request once it has
+     * expired.
+     */
+    @Scheduled(fixedDelayString = "${showdown.dialogflow.token.check-interval-ms:60000}")
+    public void refreshPeriodically() {
+        if (token == null) {
+            return;
+        }
+        try {
+            fetchUnless(refreshMargin);
+        } catch (IOException | RuntimeException e) {
+            System.out.println("Failed to refresh the Dialogflow access token: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Fetches a token unless the current one is valid for longer than a margin.
+     * Callers racing for an expired token fetch it once.
+     */
+    private AccessToken fetchUnless(Duration margin) throws IOException {
+        fetchLock.lock();
+        try {
+            AccessToken current = token;
+            if (current != null && !expiresWithin(current, margin)) {
+                return current;
+            }
+            AccessToken fetched = source.fetch();
+            token = fetched;
+            return fetched;
+        } finally {
+            fetchLock.unlock();
+        }
+    }
+
+    private boolean expiresWithin(AccessToken token, Duration margin) {
+        if (token.getExpirationTime() == null) {
+            return false;
+        }
+        Instant expiry = token.getExpirationTime().toInstant();
+        return !clock.instant().plus(margin).isBefore(expiry);
+    }
+
+    /**
+     * Fetches tokens for the service account, parsing its JSON on first use.
+     */
+    private static final class CredentialsSource implements Source {
+        private final String credentialsJson;
+        private final String scope;
+        private final ReentrantLock lock = new ReentrantLock();
+        private GoogleCredentials credentials;
+
+        private CredentialsSource(String credentialsJson, String scope) {
+            this.credentialsJson = credentialsJson;
+            this.scope = scope;
+        }
+
+        @Override
+        public AccessToken fetch() throws IOException {
+            lock.lock();
+            try {
+                if (credentials == null) {
+                    credentials = GoogleCredentials
+                            .fromStream(new ByteArrayInputStream(credentialsJson.getBytes(StandardCharsets.UTF_8)))
+                            .createScoped(Collections.singleton(scope));
+                }
+                return credentials.refreshAccessToken();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.projectshowdown.service;
+
+import java.util.Random;
+
+/**
+ * The layout of a single-elimination draw, precomputed as int arrays.
+ *
+ * The draw has the next power of two lines above the number of entrants. Lines
+ * without an entrant are byes. Entrants are identified by their rank, 0 being
+ * the strongest. The top ranks are seeds and are placed on the standard seed
+ * lines, so that seeds 1 and 2 can only meet in the final, seeds 1 to 4 in the
+ * semi finals, and so on. The byes fall opposite the top seeds. The remaining
+ * entrants are drawn by lot into the remaining lines.
+ *
+ * Matches are numbered from 0 across the whole draw, round after round: the
+ * first round has matches 0 to drawSize / 2 - 1, the next round follows, and the
+ * final is the last match. The matches at slots 2k and 2k + 1 of a round feed
+ * slot k of the next round. Every lookup is a single array read.
+ */
+public final class Bracket {
+    public static final int MAX_DRAW_SIZE = 4096;
+    public static final int MIN_ENTRANTS = 2;
+
+    /**
+     * The entrant of a line that has none.
+     */
+    public static final int BYE = -1;
+
+    /**
+     * Marks that a match has no next match or no feeder match.
+     */
+    public static final int NONE = -1;
+
+    private final int entrants;
+    private final int seeds;
+    private final int drawSize;
+    private final int rounds;
+
+    /**
+     * The first match of each round, and the total number of matches at the end.
+     */
+    private final int[] roundStart;
+
+    /**
+     * The round of each match.
+     */
+    private final int[] matchRound;
+
+    /**
+     * The match the winner of each match goes to.
+     */
+    private final int[] nextMatch;
+
+    /**
+     * The first of the two matches feeding each match. The second one follows it.
+     */
+    private final int[] firstFeeder;
+
+    /**
+     * The seed number of each line, as in a draw where every entrant is seeded.
+     */
+    private final int[] lineSeed;
+
+    /**
+     * The rank of the entrant on each line, or {@link #BYE}.
+     */
+    private final int[] lineEntrant;
+
+    private Bracket(int entrants, int seeds, long drawSeed) {
+        this.entrants = entrants;
+        this.seeds = seeds;
+        this.drawSize = drawSize(entrants);
+        this.rounds = roundCount(drawSize);
+
+        int matches = drawSize - 1;
+        roundStart = new int[rounds + 1];
+        matchRound = new int[matches];
+        nextMatch = new int[matches];
+        firstFeeder = new int[matches];
+        for (int round = 0; round < rounds; round++) {
+            roundStart[round + 1] = roundStart[round] + roundSize(drawSize, round);
+        }
+        for (int round = 0; round < rounds; round++) {
+            for (int match = roundStart[round]; match < roundStart[round + 1]; match++) {
+                int slot = match - roundStart[round];
+                matchRound[match] = round;
+                nextMatch[match] = round + 1 < rounds ? roundStart[round + 1] + slot / 2 : NONE;
+                firstFeeder[match] = round > 0 ? roundStart[round - 1] + slot * 2 : NONE;
+            }
+        }
+
+        lineSeed = standardSeedLines(drawSize);
+        lineEntrant = new int[drawSize];
+        placeEntrants(drawSeed);
+    }
+
+    /**
+     * Lays out a draw.
+     *
+     * @param entrants The number of entrants, from 2 to {@value #MAX_DRAW_SIZE}.
+     * @param seeds    The number of seeded entrants. Capped at the number of
+     *                 entrants.
+     * @param drawSeed Decides the lot for unseeded entrants. The same seed gives
+     *                 the same draw.
+     * @return The draw.
+     * @throws IllegalArgumentException If the number of entrants is out of range.
+     */
+    public static Bracket of(int entrants, int seeds, long drawSeed) {
+        if (entrants < MIN_ENTRANTS || entrants > MAX_DRAW_SIZE) {
+            throw new IllegalArgumentException("A draw needs " + MIN_ENTRANTS + " to " + MAX_DRAW_SIZE
+                    + " entrants, got " + entrants);
+        }
+        return new Bracket(entrants, Math.max(0, Math.min(seeds, entrants)), drawSeed);
+    }
+
+    /**
+     * Calculates the number of lines of the draw for a number of entrants.
+     *
+     * @param entrants The number of entrants.
+     * @return The smallest power of two that is at least the number of entrants.
+     */
+    public static int drawSize(int entrants) {
+        return entrants <= 1 ? 1 : Integer.highestOneBit(entrants - 1) << 1;
+    }
+
+    /**
+     * Calculates the number of rounds of a draw.
+     *
+     * @param drawSize The number of lines, a power of two.
+     * @return The number of rounds, including the final.
+     */
+    public static int roundCount(int drawSize) {
+        return Integer.numberOfTrailingZeros(drawSize);
+    }
+
+    /**
+     * Calculates the number of matches in a round of a draw.
+     *
+     * @param drawSize The number of lines, a power of two.
+     * @param round    The position of the round, starting at 0.
+     * @return The number of matches.
+     */
+    public static int roundSize(int drawSize, int round) {
+        return drawSize >> (round + 1);
+    }
+
+    /**
+     * Names a round by how far it is from the final.
+     *
+     * @param drawSize The number of lines, a power of two.
+     * @param round    The position of the round, starting at 0.
+     * @return The name of the round, e.g. "QuarterFinals" or "Round 2".
+     */
+    public static String roundName(int drawSize, int round) {
+        switch (roundCount(drawSize) - 1 - round) {
+            case 0:
+                return "Finals";
+            case 1:
+                return "Semi Finals";
+            case 2:
+                return "QuarterFinals";
+            default:
+                return "Round " + (round + 1);
+        }
+    }
+
+    public int getEntrants() {
+        return entrants;
+    }
+
+    public int getSeeds() {
+        return seeds;
+    }
+
+    public int getDrawSize() {
+        return drawSize;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public int getByes() {
+        return drawSize - entrants;
+    }
+
+    public int getMatchCount() {
+        return drawSize - 1;
+    }
+
+    /**
+     * @param round The position of the round, starting at 0.
+     * @return The number of matches in the round.
+     */
+    public int roundSize(int round) {
+        return roundStart[round + 1] - roundStart[round];
+    }
+
+    /**
+     * @param round The position of the round, starting at 0.
+     * @return The name of the round.
+     */
+    public String roundName(int round) {
+        return roundName(drawSize, round);
+    }
+
+    /**
+     * @param round The position of the round, starting at 0.
+     * @param slot  The position of the match in the round, starting at 0.
+     * @return The number of the match across the draw, starting at 0.
+     */
+    public int match(int round, int slot) {
+        return roundStart[round] + slot;
+    }
+
+    /**
+     * @param match The number of a match.
+     * @return The position of the match's round.
+     */
+    public int roundOf(int match) {
+        return matchRound[match];
+    }
+
+    /**
+     * @param match The number of a match.
+     * @return The position of the match in its round.
+     */
+    public int slotOf(int match) {
+        return match - roundStart[matchRound[match]];
+    }
+
+    /**
+     * @param match The number of a match.
+     * @return The match its winner plays next, or {@link #NONE} for the final.
+     */
+    public int nextMatch(int match) {
+        return nextMatch[match];
+    }
+
+    /**
+     * @param match The number of a match.
+     * @return The side the winner takes in the next match: 0 for player 1, 1 for
+     *         player 2.
+     */
+    public int nextSide(int match) {
+        return slotOf(match) & 1;
+    }
+
+    /**
+     * @param match The number of a match.
+     * @param side  0 for the match feeding player 1, 1 for player 2.
+     * @return The feeding match, or {@link #NONE} in the first round.
+     */
+    public int feeder(int match, int side) {
+        int first = firstFeeder[match];
+        return first == NONE ? NONE : first + side;
+    }
+
+    /**
+     * @param match The number of a match in the first round.
+     * @param side  0 for player 1, 1 for player 2.
+     * @return The rank of the entrant, or {@link #BYE}.
+     */
+    public int entrant(int match, int side) {
+        return lineEntrant[match * 2 + side];
+    }
+
+    /**
+     * @param match The number of a match in the first round.
+     * @return True if one side of the match is a bye, so the other entrant goes
+     *         through without playing.
+     */
+    public boolean isBye(int match) {
+        return lineEntrant[match * 2] == BYE || lineEntrant[match * 2 + 1] == BYE;
+    }
+
+    /**
+     * @param line A line of the draw.
+     * @return The rank of the entrant on the line, or {@link #BYE}.
+     */
+    public int entrantAt(int line) {
+        return lineEntrant[line];
+    }
+
+    /**
+     * @param line A line of the draw.
+     * @return The seed number of the line, starting at 1.
+     */
+    public int seedAt(int line) {
+        return lineSeed[line];
+    }
+
+    /**
+     * Builds the standard seed order: each round, a line is paired with the line
+     * whose seed number adds up with its own to the draw size plus one.
+     */
+    private static int[] standardSeedLines(int drawSize) {
+        int[] lines = new int[drawSize];
+        lines[0] = 1;
+        for (int filled = 1; filled < drawSize; filled <<= 1) {
+            // Expand from the end so each line is read before it is overwritten
+            for (int i = filled - 1; i >= 0; i--) {
+                int seed = lines[i];
+                int opponent = 2 * filled + 1 - seed;
+                lines[2 * i] = (i & 1) == 0 ? seed : opponent;
+                lines[2 * i + 1] = (i & 1) == 0 ? opponent : seed;
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Puts the seeds on their lines, marks the lines past the last entrant as
+     * byes and draws the unseeded entrants into the remaining lines.
+     */
+    private void placeEntrants(long drawSeed) {
+        int[] openLines = new int[entrants - seeds];
+        int open = 0;
+        for (int line = 0; line < drawSize; line++) {
+            int seed = lineSeed[line];
+            if (seed > entrants) {
+                lineEntrant[line] = BYE;
+            } else if (seed <= seeds) {
+                lineEntrant[line] = seed - 1;
+            } else {
+                openLines[open++] = line;
+            }
+        }
+
+        // Fisher-Yates shuffle of the unseeded ranks over the open lines
+        int[] unseeded = new int[open];
+        for (int i = 0; i < open; i++) {
+            unseeded[i] = seeds + i;
+        }
+        Random lot = new Random(drawSeed);
+        for (int i = open - 1; i > 0; i--) {
+            int j = lot.nextInt(i + 1);
+            int swap = unseeded[i];
+            unseeded[i] = unseeded[j];
+            unseeded[j] = swap;
+        }
+        for (int i = 0; i < open; i++) {
+            lineEntrant[openLines[i]] = unseeded[i];
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.LeaderboardEntryDTO;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.exceptions.PlayerNotFoundException;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Answers the chatbot's questions about players and tournaments from the
+ * in-memory indexes: names are resolved by the {@link SearchIndex}, Elo and
+ * ranks read from the {@link Leaderboard}, and dates, venues and finals from
+ * the {@link TournamentDirectory}. No question reads a whole collection.
+ *
+ * The answers are served to Dialogflow as its fulfillment webhook, with the
+ * same intents, parameters, contexts and wording as the Cloud Function it
+ * replaces, and to {@link ChatbotService}, which answers the questions it
+ * recognises itself instead of sending them to Dialogflow.
+ */
+@Service
+public class ChatbotFulfillment {
+
+    public static final String PLAYER_AGE = "PlayerAge";
+    public static final String PLAYER_ELO = "PlayerElo";
+    public static final String PLAYER_RANK = "PlayerRank";
+    public static final String TOURNAMENT_DATE = "TournamentDate";
+    public static final String TOURNAMENT_VENUE = "TournamentVenue";
+    public static final String TOURNAMENT_WINNER = "TournamentWinner";
+    public static final String MATCH_FINALS_PLAYERS = "MatchFinalsPlayers";
+    public static final String MATCH_FINALS_SCORE = "MatchFinalsScore";
+
+    /**
+     * Ends the name of a follow-up intent, which asks about the player or
+     * tournament of the previous question, e.g. "PlayerRank_Context".
+     */
+    public static final String CONTEXT_SUFFIX = "_Context";
+
+    /**
+     * The number of questions a context is kept for.
+     */
+    public static final int CONTEXT_LIFESPAN = 5;
+
+    private static final String PLAYER_PARAMETER = "player_name";
+    private static final String TOURNAMENT_PARAMETER = "tournament_name";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("d MMMM yyyy", Locale.ENGLISH);
+
+    private static final Map<String, Intent> INTENTS = Map.of(
+            PLAYER_AGE, new Intent(PLAYER_AGE, true, "name_age", "player_age_context"),
+            PLAYER_ELO, new Intent(PLAYER_ELO, true, "name_elo", "player_elo_context"),
+            PLAYER_RANK, new Intent(PLAYER_RANK, true, "name_rank", "player_rank_context"),
+            TOURNAMENT_DATE, new Intent(TOURNAMENT_DATE, false, TOURNAMENT_PARAMETER, "tournament_date_context"),
+            TOURNAMENT_VENUE, new Intent(TOURNAMENT_VENUE, false, TOURNAMENT_PARAMETER, "tournament_venue_context"),
+            TOURNAMENT_WINNER, new Intent(TOURNAMENT_WINNER, false, TOURNAMENT_PARAMETER,
+                    "tournament_winner_context"),
+            MATCH_FINALS_PLAYERS, new Intent(MATCH_FINALS_PLAYERS, false, TOURNAMENT_PARAMETER, null),
+            MATCH_FINALS_SCORE, new Intent(MATCH_FINALS_SCORE, false, TOURNAMENT_PARAMETER, null));
+
+    /**
+     * The questions answered without Dialogflow, tried in order. The first group
+     * of each pattern is the player or tournament asked about.
+     */
+    private static final List<Phrase> PHRASES = List.of(
+            new Phrase(MATCH_FINALS_SCORE, "(?:what was )?(?:the )?finals? score (?:of|for|in) (?:the )?(.+)"),
+            new Phrase(MATCH_FINALS_SCORE, "(?:what was )?the score (?:of|in) the (.+?) finals?"),
+            new Phrase(MATCH_FINALS_PLAYERS, "who (?:played|plays|is playing|are playing) in the (.+?) finals?"),
+            new Phrase(TOURNAMENT_WINNER, "who won (?:the )?(.+)"),
+            new Phrase(TOURNAMENT_WINNER, "who is the winner of (?:the )?(.+)"),
+            new Phrase(PLAYER_ELO, "what is (?:the )?elo(?: rating)? of (.+)"),
+            new Phrase(PLAYER_ELO, "what is (.+?)'s elo(?: rating)?"),
+            new Phrase(PLAYER_RANK, "what is (?:the )?rank(?:ing)? of (.+)"),
+            new Phrase(PLAYER_RANK, "what is (.+?)'s rank(?:ing)?"),
+            new Phrase(PLAYER_AGE, "how old is (.+)"),
+            new Phrase(TOURNAMENT_DATE, "when (?:is|was) (?:the )?(.+?)(?: held)?"),
+            new Phrase(TOURNAMENT_VENUE, "where (?:is|was|will) (?:the )?(.+?)(?: be)?(?: held)?"));
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private TournamentDirectory tournamentDirectory;
+
+    @Autowired
+    private UserService userService;
+
+    /**
+     * Answers a Dialogflow webhook request.
+     *
+     * @param request The webhook request, with the matched intent, its
+     *                parameters and the active contexts in {@code queryResult}.
+     * @return The webhook response, with the answer in {@code fulfillmentText}
+     *         and the context of the question in {@code outputContexts}. Empty
+     *         for an intent that is not answered here, so the agent's own
+     *         response is used.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Map<String, Object> fulfil(Map<String, Object> request) throws ExecutionException, InterruptedException {
+        Map<String, Object> queryResult = asMap(request.get("queryResult"));
+        String intentName = String.valueOf(asMap(queryResult.get("intent")).get("displayName"));
+        boolean followUp = intentName.endsWith(CONTEXT_SUFFIX);
+        Intent intent = INTENTS.get(followUp
+                ? intentName.substring(0, intentName.length() - CONTEXT_SUFFIX.length())
+                : intentName);
+        if (intent == null) {
+            return Map.of();
+        }
+
+        String subject = followUp
+                ? subjectFromContexts(queryResult.get("outputContexts"), intent.contextParameter())
+                : subjectOf(asMap(queryResult.get("parameters")).get(intent.parameter));
+        Map<String, Object> response = new HashMap<>();
+        if (subject == null) {
+            response.put("fulfillmentText", intent.player ? "Please provide a name."
+                    : followUp ? "Which tournament are you interested in?" : "Please provide a tournament name.");
+            return response;
+        }
+
+        response.put("fulfillmentText", answer(intent, subject).orElseGet(() -> notFound(intent, subject)));
+        Object session = request.get("session");
+        if (intent.context != null && session != null) {
+            // Kept for the follow-up questions, in the shape the agent expects
+            Object value = intent.player ? Map.of("name", subject) : subject;
+            response.put("outputContexts", List.of(Map.of(
+                    "name", session + "/contexts/" + intent.context,
+                    "lifespanCount", CONTEXT_LIFESPAN,
+                    "parameters", Map.of(intent.contextParameter(), value))));
+        }
+        return response;
+    }
+
+    /**
+     * Answers a question typed to the chatbot if it is one of the questions
+     * recognised here and about a known player or tournament.
+     *
+     * @param text The question.
+     * @return The answer, or an empty Optional if the question should be sent to
+     *         Dialogflow.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<String> answerLocally(String text) throws ExecutionException, InterruptedException {
+        Optional<Question> question = recognise(text);
+        return question.isPresent() ? answer(question.get()) : Optional.empty();
+    }
+
+    /**
+     * Recognises a question typed to the chatbot and finds the player or
+     * tournament it is about.
+     *
+     * @param text The question.
+     * @return The question, or an empty Optional if it is not one of the
+     *         questions recognised here or its player or tournament is not found.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<Question> recognise(String text) throws ExecutionException, InterruptedException {
+        if (text == null) {
+            return Optional.empty();
+        }
+        String question = text.trim().replaceAll("[?!.\\s]+$", "").toLowerCase(Locale.ROOT);
+        for (Phrase phrase : PHRASES) {
+            Matcher matcher = phrase.pattern.matcher(question);
+            if (matcher.matches()) {
+                return find(INTENTS.get(phrase.intent), matcher.group(1));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Finds the player or tournament a query result of the agent is about, if
+     * its intent is answered here and is not a follow-up question.
+     *
+     * @param queryResult The {@code queryResult} of a detectIntent response.
+     * @return The question, or an empty Optional if the intent is not answered
+     *         here, is a follow-up, or its player or tournament is not found.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<Question> recognise(Map<String, Object> queryResult)
+            throws ExecutionException, InterruptedException {
+        Intent intent = INTENTS.get(String.valueOf(asMap(queryResult.get("intent")).get("displayName")));
+        String subject = intent == null ? null : subjectOf(asMap(queryResult.get("parameters")).get(intent.parameter));
+        return subject == null ? Optional.empty() : find(intent, subject);
+    }
+
+    /**
+     * Answers a recognised question.
+     *
+     * @param question The question, as recognised by {@link #recognise(String)}.
+     * @return The answer, or an empty Optional if the player or tournament is no
+     *         longer found.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<String> answer(Question question) throws ExecutionException, InterruptedException {
+        if (question.intent.player) {
+            return answerAboutPlayer(question.intent, question.id);
+        }
+        Optional<Tournament> tournament = tournamentDirectory.find(question.id);
+        if (tournament.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(answerAboutTournament(question.intent, tournament.get()));
+    }
+
+    /**
+     * Answers an intent about a player or tournament.
+     *
+     * @param intent  The name of the intent, e.g. {@value #PLAYER_ELO}.
+     * @param subject The name of the player or tournament.
+     * @return The answer, telling so if the player or tournament is not found.
+     * @throws ExecutionException   If an error occurs while loading an index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public String answer(String intent, String subject) throws ExecutionException, InterruptedException {
+        Intent known = INTENTS.get(intent);
+        if (known == null) {
+            throw new IllegalArgumentException("Unknown intent " + intent);
+        }
+        return answer(known, subject).orElseGet(() -> notFound(known, subject));
+    }
+
+    /**
+     * @return The answer, or an empty Optional if the player or tournament is
+     *         not found.
+     */
+    private Optional<String> answer(Intent intent, String subject) throws ExecutionException, InterruptedException {
+        Optional<Question> question = find(intent, subject);
+        return question.isPresent() ? answer(question.get()) : Optional.empty();
+    }
+
+    private Optional<Question> find(Intent intent, String subject) throws ExecutionException, InterruptedException {
+        return searchIndex.findByName(subject, intent.player ? SearchIndex.PLAYER_TYPE : SearchIndex.TOURNAMENT_TYPE)
+                .map(found -> new Question(intent, found.getId()));
+    }
+
+    private Optional<String> answerAboutPlayer(Intent intent, String userId)
+            throws ExecutionException, InterruptedException {
+        try {
+            if (PLAYER_AGE.equals(intent.name)) {
+                UserDTO user = userService.getUser(userId);
+                Integer age = user.getPlayerDetails() == null ? null : user.getPlayerDetails().age();
+                return Optional.of(age == null ? user.getName() + " has not given their date of birth."
+                        : user.getName() + " is " + age + " years old.");
+            }
+            LeaderboardEntryDTO entry = leaderboard.rankOf(userId);
+            if (PLAYER_ELO.equals(intent.name)) {
+                return Optional.of(entry.getName() + " has an elo rating of " + Math.round(entry.getElo()) + ".");
+            }
+            return Optional.of(entry.getName() + " is rank " + entry.getRank() + ".");
+        } catch (PlayerNotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    private String answerAboutTournament(Intent intent, Tournament tournament)
+            throws ExecutionException, InterruptedException {
+        String name = tournament.getName();
+        if (TOURNAMENT_DATE.equals(intent.name) || TOURNAMENT_VENUE.equals(intent.name)) {
+            LocalDateTime dateTime = parseDateTime(tournament.getDateTime());
+            if (dateTime == null) {
+                return "The date of " + name + " has not been set.";
+            }
+            boolean upcoming = dateTime.isAfter(LocalDateTime.now());
+            if (TOURNAMENT_DATE.equals(intent.name)) {
+                return name + (upcoming ? " is held on " : " was held on ") + DATE_FORMAT.format(dateTime) + ".";
+            }
+            return name + (upcoming ? " will be held at " : " was held at ") + tournament.getVenue() + ".";
+        }
+
+        Optional<Match> finals = tournamentDirectory.finalOf(tournament.getId());
+        if (finals.isEmpty()) {
+            return MATCH_FINALS_PLAYERS.equals(intent.name)
+                    ? "No players found for the tournament finals: \"" + name + "\"."
+                    : "No matches found for the tournament finals: \"" + name + "\".";
+        }
+        Match match = finals.get();
+        String player1;
+        String player2;
+        try {
+            player1 = leaderboard.rankOf(match.getPlayer1Id()).getName();
+            player2 = leaderboard.rankOf(match.getPlayer2Id()).getName();
+        } catch (PlayerNotFoundException e) {
+            return "Could not retrieve all player names for the tournament finals: \"" + name + "\".";
+        }
+        if (MATCH_FINALS_PLAYERS.equals(intent.name)) {
+            return "The players in the " + name + " tournament finals are " + player1 + " and " + player2 + ".";
+        }
+        if (!match.isCompleted()) {
+            return "The " + name + " finals between " + player1 + " and " + player2 + " have not been played yet.";
+        }
+        String winner = match.getPlayer2Score() > match.getPlayer1Score() ? player2 : player1;
+        if (TOURNAMENT_WINNER.equals(intent.name)) {
+            return "The winner of the " + name + " was " + winner + "!";
+        }
+        return "In the " + name + " finals, " + player1 + " scored " + match.getPlayer1Score() + " and " + player2
+                + " scored " + match.getPlayer2Score() + ". The winner was " + winner + "!";
+    }
+
+    private static String notFound(Intent intent, String subject) {
+        return intent.player
+                ? "We couldn't find any user with the name: " + subject + ". Please check the name and try again."
+                : "We couldn't find any tournament with the name: \"" + subject
+                        + "\". Please check the name and try again.";
+    }
+
+    private static LocalDateTime parseDateTime(String dateTime) {
+        if (dateTime == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(dateTime);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Reads the subject of a follow-up question from the context with the most
+     * questions left that holds it.
+     */
+    private static String subjectFromContexts(Object contexts, String parameter) {
+        String subject = null;
+        double lifespan = -1;
+        if (contexts instanceof List<?> list) {
+            for (Object context : list) {
+                Map<String, Object> fields = asMap(context);
+                String value = subjectOf(asMap(fields.get("parameters")).get(parameter));
+                double left = fields.get("lifespanCount") instanceof Number number ? number.doubleValue() : 0;
+                if (value != null && left > lifespan) {
+                    subject = value;
+                    lifespan = left;
+                }
+            }
+        }
+        return subject;
+    }
+
+    /**
+     * Reads a name parameter, either a string or a person with a name.
+     */
+    private static String subjectOf(Object parameter) {
+        Object value = parameter instanceof Map<?, ?> person ? person.get("name") : parameter;
+        return value instanceof String name && !name.isBlank() ? name.trim() : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> asMap(Object value) {
+        return value instanceof Map<?, ?> ? (Map<String, Object>) value : Map.of();
+    }
+
+    /**
+     * A question about a known player or tournament.
+     */
+    public static final class Question {
+        private final Intent intent;
+        private final String id;
+
+        private Question(Intent intent, String id) {
+            this.intent = intent;
+            this.id = id;
+        }
+
+        /**
+         * @return The name of the intent, e.g. {@value ChatbotFulfillment#PLAYER_ELO}.
+         */
+        public String getIntent() {
+            return intent.name;
+        }
+
+        /**
+         * @return {@value SearchIndex#PLAYER_TYPE} or {@value SearchIndex#TOURNAMENT_TYPE}.
+         */
+        public String getType() {
+            return intent.player ? SearchIndex.PLAYER_TYPE : SearchIndex.TOURNAMENT_TYPE;
+        }
+
+        /**
+         * @return The ID of the player or tournament asked about.
+         */
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * An intent answered here.
+     */
+    private static final class Intent {
+        private final String name;
+
+        /**
+         * Whether the intent is about a player rather than a tournament.
+         */
+        private final boolean player;
+
+        /**
+         * The parameter holding the name asked about.
+         */
+        private final String parameter;
+
+        /**
+         * The context kept for follow-up questions, or null.
+         */
+        private final String context;
+
+        private Intent(String name, boolean player, String parameter, String context) {
+            this.name = name;
+            this.player = player;
+            this.parameter = parameter;
+            this.context = context;
+        }
+
+        /**
+         * The parameter holding the name in the contexts.
+         */
+        private String contextParameter() {
+            return player ? PLAYER_PARAMETER : TOURNAMENT_PARAMETER;
+        }
+    }
+
+    /**
+     * A question answered without Dialogflow.
+     */
+    private static final class Phrase {
+        private final String intent;
+        private final Pattern pattern;
+
+        private Phrase(String intent, String regex) {
+            this.intent = intent;
+            this.pattern = Pattern.compile(regex);
+        }
+    }
+}
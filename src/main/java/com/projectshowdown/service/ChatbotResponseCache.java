@@ -0,0 +1,209 @@
+package com.projectshowdown.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.events.MatchUpdatedEvent;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Bounded in-process cache of chatbot responses.
+ *
+ * A question about a known player or tournament is keyed on its intent and
+ * the ID it resolved to, so every phrasing of "who won the Swiss Indoors"
+ * shares one entry. Any other message is keyed on its normalized words. How
+ * long an entry lives depends on what it is about: answers about a tournament
+ * are also removed when its bracket or details change and when its final gets
+ * a score, answers about a player live until their Elo or rank may have moved,
+ * and other answers briefly. Concurrent misses for the same key share one
+ * response. The hit ratio is published as {@value #HIT_RATIO_METRIC}, next to
+ * the {@code cache.*} metrics with the tag {@code cache=chatbot}.
+ */
+@Component
+public class ChatbotResponseCache implements MeterBinder {
+    public static final String CACHE_NAME = "chatbot";
+    public static final String HIT_RATIO_METRIC = "showdown.chatbot.cache.hit.ratio";
+
+    private final AsyncCache<String, Entry> cache;
+
+    public ChatbotResponseCache(@Value("${showdown.chatbot.cache.max-size:1000}") long maxSize,
+            @Value("${showdown.chatbot.cache.ttl:1m}") Duration ttl,
+            @Value("${showdown.chatbot.cache.player-ttl:5m}") Duration playerTtl,
+            @Value("${showdown.chatbot.cache.tournament-ttl:30m}") Duration tournamentTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String key, Entry entry, long currentTime) {
+                        Duration lifetime = !entry.cacheable ? Duration.ZERO
+                                : SearchIndex.PLAYER_TYPE.equals(entry.type) ? playerTtl
+                                : SearchIndex.TOURNAMENT_TYPE.equals(entry.type) ? tournamentTtl
+                                : ttl;
+                        return lifetime.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Entry entry, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Builds the key of a message that is not a recognised question.
+     *
+     * @param text The message.
+     * @return Its words, without case, accents or punctuation.
+     */
+    public static String keyOf(String text) {
+        return String.join(" ", SearchIndex.words(text == null ? "" : text));
+    }
+
+    /**
+     * Builds the key of a recognised question.
+     *
+     * @param question The question.
+     * @return Its intent and the ID of the player or tournament asked about.
+     */
+    public static String keyOf(ChatbotFulfillment.Question question) {
+        return question.getIntent() + " " + question.getType() + ":" + question.getId();
+    }
+
+    /**
+     * Returns a cached response, or gets and caches one on a miss.
+     *
+     * @param key    The key of the message, from {@link #keyOf(String)} or
+     *               {@link #keyOf(ChatbotFulfillment.Question)}.
+     * @param loader Gets the response on a miss. Failed responses are not cached.
+     * @return A future of the response.
+     */
+    public CompletableFuture<String> get(String key, Supplier<CompletableFuture<Entry>> loader) {
+        CompletableFuture<Entry> loading = new CompletableFuture<>();
+        CompletableFuture<Entry> cached = cache.get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loader.get().whenComplete((entry, error) -> {
+                    if (error != null) {
+                        loading.completeExceptionally(error);
+                    } else {
+                        loading.complete(entry);
+                    }
+                });
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return cached.thenApply(entry -> entry.response);
+    }
+
+    /**
+     * Removes the responses about a tournament, and the responses still being
+     * fetched, which may have read its old state.
+     *
+     * @param tournamentId The ID of the tournament.
+     */
+    public void invalidateTournament(String tournamentId) {
+        cache.asMap().values().removeIf(future -> !future.isDone()
+                || !future.isCompletedExceptionally() && future.join().isAbout(SearchIndex.TOURNAMENT_TYPE,
+                        tournamentId));
+    }
+
+    /**
+     * Removes every response from the cache.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * Removes the responses about a tournament once its final gets a score, so
+     * its winner and finals score are answered from the result.
+     *
+     * @param event The MatchUpdatedEvent containing details about the updated
+     *              match.
+     */
+    @EventListener
+    public void onMatchUpdated(MatchUpdatedEvent event) {
+        RoundProgress roundProgress = event.getRoundProgress();
+        if (roundProgress != null && roundProgress.getTotalMatches() == 1) {
+            invalidateTournament(event.getTournamentId());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), CACHE_NAME);
+        Gauge.builder(HIT_RATIO_METRIC, cache, c -> c.synchronous().stats().hitRate())
+                .description("Share of chatbot messages answered from the cache")
+                .register(registry);
+    }
+
+    /**
+     * A response, with what it is about.
+     */
+    public static final class Entry {
+        private final String response;
+        private final String type;
+        private final String id;
+        private final boolean cacheable;
+
+        private Entry(String response, String type, String id, boolean cacheable) {
+            this.response = response;
+            this.type = type;
+            this.id = id;
+            this.cacheable = cacheable;
+        }
+
+        /**
+         * @param response The response.
+         * @param type     {@value SearchIndex#PLAYER_TYPE} or
+         *                 {@value SearchIndex#TOURNAMENT_TYPE}.
+         * @param id       The ID of the player or tournament it is about.
+         * @return A response about a player or tournament.
+         */
+        public static Entry about(String response, String type, String id) {
+            return new Entry(response, type, id, true);
+        }
+
+        /**
+         * @param response The response.
+         * @return A response about no player or tournament in particular.
+         */
+        public static Entry general(String response) {
+            return new Entry(response, null, null, true);
+        }
+
+        /**
+         * @param response The response.
+         * @return A response shared with the concurrent identical messages but not
+         *         kept, e.g. one that depends on the conversation.
+         */
+        public static Entry uncached(String response) {
+            return new Entry(response, null, null, false);
+        }
+
+        private boolean isAbout(String type, String id) {
+            return type.equals(this.type) && id.equals(this.id);
+        }
+    }
+}
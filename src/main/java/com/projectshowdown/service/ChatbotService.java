@@ -1,28 +1,37 @@
 package com.projectshowdown.service;
 
-import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import com.projectshowdown.configs.GoogleServiceConfig;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 /**
  * Service class for interacting with the Dialogflow chatbot API.
  * This service sends user input to the Dialogflow agent and retrieves the chatbot's response.
+ * Questions about a player or tournament that {@link ChatbotFulfillment} recognises are answered
+ * locally instead, without a round trip to Dialogflow, and repeated questions are answered from
+ * the {@link ChatbotResponseCache}.
  */
 @Service
 public class ChatbotService {
 
-    private static final String PROJECT_ID = "projectshowdown-df5f2";
-    private static final String LANGUAGE_CODE = "en";
+    private static final String SESSION_ID = "1234";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Autowired
+    private DialogflowClient dialogflowClient;
 
     @Autowired
-    private GoogleServiceConfig googleServiceConfig;
+    private ChatbotFulfillment chatbotFulfillment;
+
+    @Autowired
+    private ChatbotResponseCache chatbotResponseCache;
 
     /**
      * Sends user input to the Dialogflow API and retrieves the chatbot's response.
@@ -30,39 +39,88 @@ public class ChatbotService {
      * @param userInput The user's input as a {@link String}.
      * @return The chatbot's response as a {@link String}. If an error occurs, returns an error message.
      */
-
     public String getResponse(String userInput) {
-        String SESSION_ID = "1234";
-        String url = String.format("https://dialogflow.googleapis.com/v2/projects/%s/agent/sessions/%s:detectIntent", PROJECT_ID, SESSION_ID);
-        
-        // Create request JSON body
-        String requestBody = String.format(
-            "{ \"queryInput\": { \"text\": { \"text\": \"%s\", \"languageCode\": \"%s\" } } }",
-            userInput, LANGUAGE_CODE
-        );
-
-        // Create HTTP client
-        HttpClient client = HttpClient.newHttpClient();
+        return getResponseAsync(userInput).join();
+    }
 
+    /**
+     * Answers user input without blocking the calling thread while Dialogflow
+     * responds. Repeated questions are answered from the {@link ChatbotResponseCache}.
+     *
+     * @param userInput The user's input as a {@link String}.
+     * @return A future of the chatbot's response. If an error occurs, it completes with an error message.
+     */
+    public CompletableFuture<String> getResponseAsync(String userInput) {
+        Optional<ChatbotFulfillment.Question> question = Optional.empty();
         try {
-            String accessToken = googleServiceConfig.getAccessToken();
-            // Create HTTP request
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(new URI(url))
-                .header("Authorization", "Bearer " + accessToken)
-                .header("Content-Type", "application/json")
-                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
-                .build();
+            question = chatbotFulfillment.recognise(userInput);
+        } catch (Exception e) {
+            // Dialogflow can still answer
+            System.out.println("Could not answer locally: " + e.getMessage());
+        }
 
-            // Send request and get response
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        Optional<ChatbotFulfillment.Question> recognised = question;
+        String key = recognised.map(ChatbotResponseCache::keyOf)
+                .orElseGet(() -> ChatbotResponseCache.keyOf(userInput));
+        return chatbotResponseCache.get(key, () -> respond(userInput, recognised))
+                .exceptionally(e -> {
+                    System.out.println("Dialogflow request failed: " + e.getMessage());
+                    return "Error processing request"; // Return an error message instead of null
+                });
+    }
 
-            // Assuming the response is in JSON format, you might want to parse it to extract the actual message
-            return response.body(); // Modify this to extract the relevant information if needed
+    /**
+     * Answers a recognised question locally, and anything else through Dialogflow.
+     */
+    private CompletableFuture<ChatbotResponseCache.Entry> respond(String userInput,
+            Optional<ChatbotFulfillment.Question> question) {
+        if (question.isPresent()) {
+            try {
+                Optional<String> localAnswer = chatbotFulfillment.answer(question.get());
+                if (localAnswer.isPresent()) {
+                    return CompletableFuture.completedFuture(ChatbotResponseCache.Entry.about(
+                            toQueryResponse(userInput, localAnswer.get()), question.get().getType(),
+                            question.get().getId()));
+                }
+            } catch (Exception e) {
+                // Dialogflow can still answer
+                System.out.println("Could not answer locally: " + e.getMessage());
+            }
+        }
+        return dialogflowClient.detectIntent(SESSION_ID, userInput).thenApply(this::toCacheEntry);
+    }
 
+    /**
+     * Reads what a Dialogflow response is about, from its intent and parameters.
+     * The answer to a follow-up question depends on the previous questions, so it
+     * is not cached.
+     */
+    private ChatbotResponseCache.Entry toCacheEntry(String response) {
+        try {
+            Object queryResult = OBJECT_MAPPER.readValue(response, Map.class).get("queryResult");
+            if (!(queryResult instanceof Map<?, ?>)) {
+                return ChatbotResponseCache.Entry.uncached(response);
+            }
+            @SuppressWarnings("unchecked")
+            Map<String, Object> result = (Map<String, Object>) queryResult;
+            Object intent = result.get("intent") instanceof Map<?, ?> fields ? fields.get("displayName") : null;
+            if (intent == null || intent.toString().endsWith(ChatbotFulfillment.CONTEXT_SUFFIX)) {
+                return ChatbotResponseCache.Entry.uncached(response);
+            }
+            return chatbotFulfillment.recognise(result)
+                    .map(about -> ChatbotResponseCache.Entry.about(response, about.getType(), about.getId()))
+                    .orElseGet(() -> ChatbotResponseCache.Entry.general(response));
         } catch (Exception e) {
-            e.printStackTrace();
-            return "Error processing request"; // Return an error message instead of null
+            return ChatbotResponseCache.Entry.uncached(response);
         }
     }
+
+    /**
+     * Wraps a local answer in the shape of a Dialogflow detectIntent response,
+     * which the chat window reads its text from.
+     */
+    private static String toQueryResponse(String userInput, String answer) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(Map.of("queryResult",
+                Map.of("queryText", userInput, "fulfillmentText", answer)));
+    }
 }
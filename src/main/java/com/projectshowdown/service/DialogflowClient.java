@@ -0,0 +1,133 @@
+package com.projectshowdown.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Sends text to the Dialogflow agent's detectIntent endpoint.
+ *
+ * One {@link HttpClient} is shared by every request, so connections to
+ * Dialogflow are kept open and reused, over HTTP/2 when the server supports it.
+ * Requests are sent asynchronously and time out after the request timeout. The
+ * access token comes from the {@link AccessTokenCache}, read on the task
+ * executor so a token refresh never blocks the caller, and is dropped if
+ * Dialogflow rejects it. Request durations are published as the
+ * {@value #LATENCY_METRIC} timer, with its 50th and 99th percentiles and an
+ * {@code outcome} tag of {@code success} or {@code failure}.
+ */
+@Component
+public class DialogflowClient {
+    public static final String LATENCY_METRIC = "showdown.chatbot.dialogflow.latency";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final AccessTokenCache accessTokens;
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String projectId;
+    private final String languageCode;
+    private final Duration requestTimeout;
+    private final Executor taskExecutor;
+    private final Timer succeeded;
+    private final Timer failed;
+
+    public DialogflowClient(AccessTokenCache accessTokens, MeterRegistry meterRegistry,
+            @Value("${showdown.dialogflow.url:https://dialogflow.googleapis.com}") String baseUrl,
+            @Value("${showdown.dialogflow.project-id:projectshowdown-df5f2}") String projectId,
+            @Value("${showdown.dialogflow.language-code:en}") String languageCode,
+            @Value("${showdown.dialogflow.connect-timeout:2s}") Duration connectTimeout,
+            @Value("${showdown.dialogflow.request-timeout:5s}") Duration requestTimeout,
+            @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) Executor taskExecutor) {
+        this.accessTokens = accessTokens;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .build();
+        this.baseUrl = baseUrl;
+        this.projectId = projectId;
+        this.languageCode = languageCode;
+        this.requestTimeout = requestTimeout;
+        this.taskExecutor = taskExecutor;
+        this.succeeded = latencyTimer(meterRegistry, "success");
+        this.failed = latencyTimer(meterRegistry, "failure");
+    }
+
+    private static Timer latencyTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder(LATENCY_METRIC)
+                .description("Duration of Dialogflow detectIntent requests")
+                .tag("outcome", outcome)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Detects the intent of a message and gets the agent's reply.
+     *
+     * @param sessionId The conversation the message belongs to.
+     * @param text      The message.
+     * @return A future of the detectIntent response body, failed if the token
+     *         cannot be fetched, the request times out or Dialogflow does not
+     *         answer with a 2xx status.
+     */
+    public CompletableFuture<String> detectIntent(String sessionId, String text) {
+        Timer.Sample sample = Timer.start();
+        return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        return request(sessionId, text);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                }, taskExecutor)
+                .thenCompose(request -> httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString()))
+                .thenApply(response -> {
+                    if (response.statusCode() == 401) {
+                        accessTokens.invalidate();
+                    }
+                    if (response.statusCode() / 100 != 2) {
+                        throw new CompletionException(new IOException(
+                                "Dialogflow answered " + response.statusCode() + ": " + response.body()));
+                    }
+                    return response.body();
+                })
+                .whenComplete((body, e) -> sample.stop(e == null ? succeeded : failed));
+    }
+
+    /**
+     * Builds a detectIntent request, fetching the access token if it is due.
+     */
+    private HttpRequest request(String sessionId, String text) throws IOException {
+        return HttpRequest.newBuilder()
+                .uri(URI.create(String.format("%s/v2/projects/%s/agent/sessions/%s:detectIntent", baseUrl,
+                        projectId, URLEncoder.encode(sessionId, StandardCharsets.UTF_8))))
+                .timeout(requestTimeout)
+                .header("Authorization", "Bearer " + accessTokens.get())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody(text)))
+                .build();
+    }
+
+    private String requestBody(String text) throws JsonProcessingException {
+        return OBJECT_MAPPER.writeValueAsString(Map.of("queryInput",
+                Map.of("text", Map.of("text", text, "languageCode", languageCode))));
+    }
+}
@@ -1,23 +1,51 @@
 package com.projectshowdown.service;
 
+import jakarta.mail.Address;
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.InternetHeaders;
+import jakarta.mail.internet.MimeBodyPart;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Service class for sending emails using JavaMailSender.
  * Provides functionality to send HTML emails with inline images.
+ * Emails are sent over pooled SMTP connections from {@link SmtpTransportPool},
+ * and the inline logo is read and base64 encoded once.
+ * Jakarta Mail synchronizes on the transport for the whole SMTP exchange, so on
+ * Java 21 a send pins its virtual thread to the carrier until it completes.
  */
 
 @Service
 public class EmailService {
+    public static final String FROM_ADDRESS = "projectshowndown@gmail.com";
+    public static final String LOGO_CONTENT_ID = "showdown-logo.png";
+    public static final String LOGO_RESOURCE = "static/ShowdownLogo.png";
+
     @Autowired
     private JavaMailSender emailSender;
 
+    @Autowired
+    private SmtpTransportPool transportPool;
+
+    private final byte[] encodedLogo = encodeLogo();
+
     /**
      * Sends an email to the specified recipient with the given subject and content.
      * The email is sent as HTML and includes an inline image for branding.
@@ -29,18 +57,126 @@ public class EmailService {
      */
 
     public void sendEmail(String to, String subject, String text) throws MessagingException {
+        Map<String, MessagingException> failures = sendBulk(List.of(to), subject, text);
+        if (!failures.isEmpty()) {
+            throw failures.get(to);
+        }
+    }
+
+    /**
+     * Sends the same HTML email to each recipient separately. The message is
+     * built once and sent back-to-back over one pooled SMTP connection, changing
+     * only the recipient. If the server drops the connection, it is reopened once
+     * and sending resumes.
+     *
+     * @param recipients The recipients' email addresses.
+     * @param subject    The subject of the email.
+     * @param text       The content of the email, which can include HTML formatting.
+     * @return The recipients that could not be sent to, with the cause, in the
+     *         order given. Empty if every email was sent.
+     * @throws MessagingException If the email cannot be built or no connection to
+     *                            the server can be opened.
+     */
+    public Map<String, MessagingException> sendBulk(List<String> recipients, String subject, String text)
+            throws MessagingException {
+        Map<String, MessagingException> failures = new LinkedHashMap<>();
+        if (recipients.isEmpty()) {
+            return failures;
+        }
+        MimeMessage message = createMessage(subject, text);
+
+        Transport transport = transportPool.borrow();
+        try {
+            for (int i = 0; i < recipients.size(); i++) {
+                String to = recipients.get(i);
+                try {
+                    address(message, to);
+                } catch (MessagingException e) {
+                    failures.put(to, e);
+                    continue;
+                }
+                try {
+                    transport.sendMessage(message, message.getAllRecipients());
+                } catch (MessagingException e) {
+                    if (transport.isConnected()) {
+                        // Rejected by the server, e.g. an unknown mailbox
+                        failures.put(to, e);
+                        continue;
+                    }
+                    transportPool.invalidate(transport);
+                    transport = null;
+                    try {
+                        transport = transportPool.borrow();
+                        transport.sendMessage(message, message.getAllRecipients());
+                    } catch (MessagingException retryError) {
+                        if (transport == null || !transport.isConnected()) {
+                            // Still no connection, so nothing after this recipient can be sent either
+                            for (String remaining : recipients.subList(i, recipients.size())) {
+                                failures.put(remaining, retryError);
+                            }
+                            return failures;
+                        }
+                        failures.put(to, retryError);
+                    }
+                }
+            }
+        } finally {
+            if (transport != null) {
+                if (transport.isConnected()) {
+                    transportPool.release(transport);
+                } else {
+                    transportPool.invalidate(transport);
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * Builds an HTML message with the inline logo but without a recipient.
+     */
+    private MimeMessage createMessage(String subject, String text) throws MessagingException {
+        MimeBodyPart body = new MimeBodyPart();
+        body.setText(text, StandardCharsets.UTF_8.name(), "html");
+
+        MimeMultipart related = new MimeMultipart("related");
+        related.addBodyPart(body);
+        related.addBodyPart(logoPart());
+
         MimeMessage message = emailSender.createMimeMessage();
-        MimeMessageHelper helper = new MimeMessageHelper(message, true);
-        ClassPathResource imageResource = new ClassPathResource("static/ShowdownLogo.png");
-        System.out.println("Sending email....");
-        
-        helper.setFrom("projectshowndown@gmail.com");
-        helper.setTo(to);
-        helper.setSubject(subject);
-        helper.setText(text, true);
-        helper.addInline("showdown-logo.png", imageResource);
-        
-        emailSender.send(message);
+        message.setFrom(new InternetAddress(FROM_ADDRESS));
+        message.setSubject(subject, StandardCharsets.UTF_8.name());
+        message.setContent(related);
+        return message;
     }
 
-}
\ No newline at end of file
+    /**
+     * Readdresses the message to one recipient. Saving the changes gives it a new
+     * Message-ID.
+     */
+    private static void address(MimeMessage message, String to) throws MessagingException {
+        message.setRecipients(Message.RecipientType.TO, new Address[] { new InternetAddress(to, true) });
+        message.saveChanges();
+    }
+
+    /**
+     * Creates the inline logo part from the already encoded bytes, so the image
+     * is written out as is instead of being encoded for every message.
+     */
+    private MimeBodyPart logoPart() throws MessagingException {
+        InternetHeaders headers = new InternetHeaders();
+        headers.setHeader("Content-Type", "image/png");
+        headers.setHeader("Content-Transfer-Encoding", "base64");
+        headers.setHeader("Content-ID", "<" + LOGO_CONTENT_ID + ">");
+        headers.setHeader("Content-Disposition", "inline; filename=" + LOGO_CONTENT_ID);
+        return new MimeBodyPart(headers, encodedLogo);
+    }
+
+    private static byte[] encodeLogo() {
+        try (InputStream in = new ClassPathResource(LOGO_RESOURCE).getInputStream()) {
+            return Base64.getMimeEncoder().encode(in.readAllBytes());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.projectshowdown.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * An HTML email template compiled into literal segments and variable slots.
+ *
+ * Variables are written as {@code {{name}}} and their values are HTML escaped
+ * when rendered. A template is parsed once, and rendering only appends the
+ * segments and escaped values to a buffer that each thread reuses.
+ */
+public final class EmailTemplate {
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{\\s*([A-Za-z][A-Za-z0-9]*)\\s*}}");
+
+    /**
+     * Buffers that grew past this many characters are not kept for reuse.
+     */
+    public static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final String[] literals;
+    private final String[] variables;
+
+    private EmailTemplate(String name, String[] literals, String[] variables) {
+        this.name = name;
+        this.literals = literals;
+        this.variables = variables;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param name   The name of the template, used in error messages.
+     * @param source The template HTML.
+     * @return The compiled template.
+     */
+    public static EmailTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        Matcher matcher = VARIABLE.matcher(source);
+        int end = 0;
+        while (matcher.find()) {
+            literals.add(source.substring(end, matcher.start()));
+            variables.add(matcher.group(1));
+            end = matcher.end();
+        }
+        literals.add(source.substring(end));
+        return new EmailTemplate(name, literals.toArray(new String[0]), variables.toArray(new String[0]));
+    }
+
+    /**
+     * @return The name of the template.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Renders the template.
+     *
+     * @param values The value of each variable. A null value renders as nothing.
+     * @return The HTML.
+     * @throws IllegalArgumentException If a variable in the template has no value.
+     */
+    public String render(Map<String, ?> values) {
+        StringBuilder out = BUFFER.get();
+        out.setLength(0);
+        try {
+            renderTo(out, values);
+            return out.toString();
+        } finally {
+            if (out.capacity() > MAX_RETAINED_BUFFER) {
+                BUFFER.remove();
+            }
+        }
+    }
+
+    /**
+     * Renders the template to the end of a buffer.
+     *
+     * @param out    The buffer to append to.
+     * @param values The value of each variable. A null value renders as nothing.
+     * @throws IllegalArgumentException If a variable in the template has no value.
+     */
+    public void renderTo(StringBuilder out, Map<String, ?> values) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            Object value = values.get(variables[i]);
+            if (value == null && !values.containsKey(variables[i])) {
+                throw new IllegalArgumentException(
+                        "No value for {{" + variables[i] + "}} in email template " + name);
+            }
+            if (value != null) {
+                escapeHtml(out, value.toString());
+            }
+        }
+        out.append(literals[variables.length]);
+    }
+
+    /**
+     * Appends text with the characters that are special in HTML content and
+     * attribute values replaced by entities.
+     *
+     * @param out  The buffer to append to.
+     * @param text The text to escape.
+     */
+    static void escapeHtml(StringBuilder out, String text) {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            String entity = switch (text.charAt(i)) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (entity != null) {
+                out.append(text, start, i).append(entity);
+                start = i + 1;
+            }
+        }
+        out.append(text, start, text.length());
+    }
+}
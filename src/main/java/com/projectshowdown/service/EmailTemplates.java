@@ -0,0 +1,52 @@
+package com.projectshowdown.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles the HTML email templates under {@code templates/email} once at
+ * startup. A template is looked up by its file name without the extension.
+ */
+@Component
+public class EmailTemplates {
+    public static final String TEMPLATE_LOCATION = "classpath:templates/email/*.html";
+    public static final String NOTIFICATION = "notification";
+    public static final String VERIFICATION = "verification";
+
+    private final Map<String, EmailTemplate> templates = new HashMap<>();
+
+    public EmailTemplates() {
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(TEMPLATE_LOCATION)) {
+                String fileName = resource.getFilename();
+                String name = fileName.substring(0, fileName.length() - ".html".length());
+                templates.put(name, EmailTemplate.compile(name,
+                        resource.getContentAsString(StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Retrieves a compiled template.
+     *
+     * @param name The name of the template.
+     * @return The template.
+     * @throws IllegalArgumentException If there is no template with that name.
+     */
+    public EmailTemplate get(String name) {
+        EmailTemplate template = templates.get(name);
+        if (template == null) {
+            throw new IllegalArgumentException("No email template named " + name);
+        }
+        return template;
+    }
+}
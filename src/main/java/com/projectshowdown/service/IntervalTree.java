@@ -0,0 +1,165 @@
+package com.projectshowdown.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * An immutable centered interval tree over closed intervals {@code [low, high]}.
+ *
+ * Each node has a center point, the median of the endpoints below it. The
+ * intervals containing the center are kept at the node twice, sorted by low end
+ * and by high end; the intervals entirely below or above the center go to the
+ * left or right child. Finding the intervals that contain a point walks one path
+ * from the root and, at each node, stops reading the sorted intervals at the
+ * first one that does not contain the point, so it takes O(log n + k) time for
+ * k results. Building the tree takes O(n log^2 n) time.
+ *
+ * @param <T> The type of the items the intervals belong to.
+ */
+public final class IntervalTree<T> {
+
+    private final Node<T> root;
+    private final int size;
+
+    private IntervalTree(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Builds a tree. Items whose low end is above their high end contain no
+     * point and are left out.
+     *
+     * @param items The items.
+     * @param low   Reads the low end of an item's interval.
+     * @param high  Reads the high end of an item's interval.
+     * @param <T>   The type of the items.
+     * @return The tree.
+     */
+    public static <T> IntervalTree<T> of(Collection<T> items, ToDoubleFunction<T> low, ToDoubleFunction<T> high) {
+        List<Interval<T>> intervals = new ArrayList<>(items.size());
+        for (T item : items) {
+            double itemLow = low.applyAsDouble(item);
+            double itemHigh = high.applyAsDouble(item);
+            if (itemLow <= itemHigh) {
+                intervals.add(new Interval<>(item, itemLow, itemHigh));
+            }
+        }
+        return new IntervalTree<>(build(intervals), intervals.size());
+    }
+
+    /**
+     * @return The number of intervals in the tree.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits the items whose interval contains a point, ends included.
+     *
+     * @param point   The point.
+     * @param visitor Called once for each item found, in no particular order.
+     */
+    public void stab(double point, Consumer<T> visitor) {
+        Node<T> node = root;
+        while (node != null) {
+            if (point < node.center) {
+                // Every interval here reaches the center, so it contains the point if it starts at or below it
+                for (int i = 0; i < node.byLow.length && node.byLow[i].low <= point; i++) {
+                    visitor.accept(node.byLow[i].item);
+                }
+                node = node.left;
+            } else if (point > node.center) {
+                for (int i = 0; i < node.byHigh.length && node.byHigh[i].high >= point; i++) {
+                    visitor.accept(node.byHigh[i].item);
+                }
+                node = node.right;
+            } else {
+                for (Interval<T> interval : node.byLow) {
+                    visitor.accept(interval.item);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Finds the items whose interval contains a point, ends included.
+     *
+     * @param point The point.
+     * @return The items found, in no particular order.
+     */
+    public List<T> stab(double point) {
+        List<T> found = new ArrayList<>();
+        stab(point, found::add);
+        return found;
+    }
+
+    private static <T> Node<T> build(List<Interval<T>> intervals) {
+        if (intervals.isEmpty()) {
+            return null;
+        }
+        double[] endpoints = new double[intervals.size() * 2];
+        for (int i = 0; i < intervals.size(); i++) {
+            endpoints[i * 2] = intervals.get(i).low;
+            endpoints[i * 2 + 1] = intervals.get(i).high;
+        }
+        Arrays.sort(endpoints);
+        // The median is an endpoint, so at least its interval stays at this node
+        double center = endpoints[intervals.size()];
+
+        List<Interval<T>> below = new ArrayList<>();
+        List<Interval<T>> above = new ArrayList<>();
+        List<Interval<T>> containing = new ArrayList<>();
+        for (Interval<T> interval : intervals) {
+            if (interval.high < center) {
+                below.add(interval);
+            } else if (interval.low > center) {
+                above.add(interval);
+            } else {
+                containing.add(interval);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        Interval<T>[] byLow = containing.toArray(new Interval[0]);
+        Interval<T>[] byHigh = byLow.clone();
+        Arrays.sort(byLow, Comparator.comparingDouble(interval -> interval.low));
+        Arrays.sort(byHigh, Comparator.comparingDouble((Interval<T> interval) -> interval.high).reversed());
+        return new Node<>(center, byLow, byHigh, build(below), build(above));
+    }
+
+    private static final class Interval<T> {
+        private final T item;
+        private final double low;
+        private final double high;
+
+        private Interval(T item, double low, double high) {
+            this.item = item;
+            this.low = low;
+            this.high = high;
+        }
+    }
+
+    private static final class Node<T> {
+        private final double center;
+        private final Interval<T>[] byLow;
+        private final Interval<T>[] byHigh;
+        private final Node<T> left;
+        private final Node<T> right;
+
+        private Node(double center, Interval<T>[] byLow, Interval<T>[] byHigh, Node<T> left, Node<T> right) {
+            this.center = center;
+            this.byLow = byLow;
+            this.byHigh = byHigh;
+            this.left = left;
+            this.right = right;
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.projectshowdown.service;
 
 import com.projectshowdown.configs.JwtUtil;
+import io.jsonwebtoken.Claims;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -28,10 +31,31 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    /**
+     * When true, requests are authenticated from the signed token claims alone.
+     * When false, the user is also loaded from the datastore on every request.
+     */
+    @Value("${jwt.stateless:true}")
+    private boolean stateless;
+
+    /**
+     * Endpoints that return a future finish in an async dispatch, which starts
+     * with an empty security context, so the token is checked again there. The
+     * verified token cache makes the second check cheap.
+     *
+     * @return False, so the filter also runs on async dispatches.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
     /**
      * Filters incoming HTTP requests to validate the presence and validity of a JWT.
      * If a valid JWT is found, the user's roles are extracted, and the Spring Security
      * authentication context is set up with these roles.
+     * In stateless mode the token is parsed and verified once and the datastore is
+     * not queried.
      *
      * @param request  The incoming HTTP request.
      * @param response The HTTP response.
@@ -46,6 +70,15 @@ public class JwtRequestFilter extends OncePerRequestFilter {
             throws jakarta.servlet.ServletException, IOException {
         final String authorizationHeader = request.getHeader("Authorization");
 
+        if (stateless) {
+            if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")
+                    && SecurityContextHolder.getContext().getAuthentication() == null) {
+                authenticateFromClaims(authorizationHeader.substring(7), request);
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
         String username = null;
         String jwt = null;
 
@@ -83,4 +116,29 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         }
         chain.doFilter(request, response);
     }
+
+    /**
+     * Sets up the authentication context from the verified token claims. Invalid or
+     * expired tokens leave the request unauthenticated.
+     *
+     * @param jwt     The raw token.
+     * @param request The incoming HTTP request.
+     */
+    private void authenticateFromClaims(String jwt, jakarta.servlet.http.HttpServletRequest request) {
+        Claims claims = jwtUtil.parseVerifiedClaims(jwt);
+        if (claims == null || claims.getSubject() == null || claims.get(JwtUtil.ROLE_CLAIM) == null) {
+            return;
+        }
+
+        List<GrantedAuthority> authorities = jwtUtil.extractAuthorities(claims);
+        UserDetails userDetails = User.withUsername(claims.getSubject())
+                .password("")
+                .authorities(authorities)
+                .build();
+
+        UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
+                userDetails, null, authorities);
+        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        SecurityContextHolder.getContext().setAuthentication(authenticationToken);
+    }
 }
@@ -0,0 +1,399 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.LeaderboardEntryDTO;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.exceptions.PlayerNotFoundException;
+import com.projectshowdown.repositories.UserRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Live leaderboard of players by Elo.
+ *
+ * Players are kept in a {@link RankTree}, highest Elo first and then by user
+ * ID, so the top players, a player's rank and the players around a rank are
+ * found in O(log n) time. Every Elo change must be passed to
+ * {@link #updateElo(String, double)}, which moves the player in O(log n). The
+ * leaderboard is loaded from storage on first use.
+ *
+ * The {@code rank} stored with each player is written back in batches by
+ * {@link #flushRanks()}, on a fixed delay, and only for the players whose
+ * rank has changed since it was last written.
+ */
+@Component
+public class Leaderboard {
+    public static final String RANK_FIELD = "playerDetails.rank";
+
+    /**
+     * The most players returned at once.
+     */
+    public static final int MAX_ENTRIES = 100;
+
+    private static final Comparator<Standing> ORDER = Comparator.comparingDouble((Standing standing) -> standing.elo)
+            .reversed()
+            .thenComparing(standing -> standing.userId);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private RankTree<Standing> tree = new RankTree<>(ORDER);
+    private final Map<String, Standing> standings = new HashMap<>();
+
+    /**
+     * The rank last written for each player.
+     */
+    private final Map<String, Integer> storedRanks = new HashMap<>();
+
+    private volatile boolean loaded;
+    private boolean changed;
+
+    /**
+     * Reads the top of the leaderboard.
+     *
+     * @param limit The number of players, at most {@value #MAX_ENTRIES}.
+     * @return The players, highest Elo first.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              leaderboard.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public List<LeaderboardEntryDTO> top(int limit) throws ExecutionException, InterruptedException {
+        checkCount(limit);
+        return entries(0, limit);
+    }
+
+    /**
+     * Finds a player's position.
+     *
+     * @param userId The ID of the player.
+     * @return The player's entry.
+     * @throws ExecutionException      If an error occurs while loading the
+     *                                 leaderboard.
+     * @throws InterruptedException    If the operation is interrupted.
+     * @throws PlayerNotFoundException If the player is not on the leaderboard.
+     */
+    public LeaderboardEntryDTO rankOf(String userId) throws ExecutionException, InterruptedException {
+        load();
+        lock.readLock().lock();
+        try {
+            Standing standing = standings.get(userId);
+            if (standing == null) {
+                throw new PlayerNotFoundException(userId);
+            }
+            return toEntry(tree.indexOf(standing) + 1, standing);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the players around a rank.
+     *
+     * @param rank   The rank, starting at 1.
+     * @param radius The number of players to read above and below the rank.
+     * @return The players from {@code rank - radius} to {@code rank + radius}
+     *         that exist, highest Elo first.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              leaderboard.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public List<LeaderboardEntryDTO> around(int rank, int radius) throws ExecutionException, InterruptedException {
+        if (rank < 1 || radius < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rank must be at least 1 and radius at least 0.");
+        }
+        checkCount(radius * 2 + 1);
+        int from = Math.max(0, rank - 1 - radius);
+        return entries(from, rank + radius - from);
+    }
+
+    /**
+     * @return The number of players on the leaderboard, 0 before loading.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tree.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a player or replaces their name and Elo. Ignored until the leaderboard
+     * is loaded, as loading reads the latest state.
+     *
+     * @param userId The ID of the player.
+     * @param name   The player's name.
+     * @param elo    The player's Elo.
+     */
+    public void put(String userId, String name, double elo) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            place(new Standing(userId, name, elo));
+            changed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a player after an Elo change.
+     *
+     * @param userId The ID of the player.
+     * @param elo    The player's new Elo.
+     */
+    public void updateElo(String userId, double elo) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Standing current = standings.get(userId);
+            place(new Standing(userId, current == null ? null : current.name, elo));
+            changed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Changes the name shown for a player.
+     *
+     * @param userId The ID of the player.
+     * @param name   The player's new name.
+     */
+    public void rename(String userId, String name) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Standing current = standings.get(userId);
+            if (current != null) {
+                place(new Standing(userId, name, current.elo));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player.
+     *
+     * @param userId The ID of the player.
+     */
+    public void remove(String userId) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            Standing current = standings.remove(userId);
+            if (current != null) {
+                tree.remove(current);
+                storedRanks.remove(userId);
+                changed = true;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every player, so the leaderboard is loaded from storage again on its
+     * next use.
+     */
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            tree = new RankTree<>(ORDER);
+            standings.clear();
+            storedRanks.clear();
+            changed = false;
+            loaded = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Writes back the stored rank of every player whose rank changed, on a fixed
+     * delay. Failures are logged and the ranks are written on the next run.
+     */
+    @Scheduled(fixedDelayString = "${showdown.leaderboard.flush-interval-ms:60000}")
+    public void flushRanksPeriodically() {
+        try {
+            int written = flushRanks();
+            if (written > 0) {
+                System.out.println("Wrote the leaderboard rank of " + written + " players");
+            }
+        } catch (ExecutionException | RuntimeException e) {
+            System.out.println("Failed to write leaderboard ranks: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writes back, in one batched write, the stored rank of every player whose
+     * rank changed since it was last written.
+     *
+     * @return The number of players whose rank was written.
+     * @throws ExecutionException   If an error occurs while writing to the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public int flushRanks() throws ExecutionException, InterruptedException {
+        Map<String, Integer> ranks = new HashMap<>();
+        lock.writeLock().lock();
+        try {
+            if (!loaded || !changed) {
+                return 0;
+            }
+            int rank = 1;
+            for (Standing standing : tree.range(0, tree.size())) {
+                Integer stored = storedRanks.get(standing.userId);
+                if (stored == null || stored != rank) {
+                    ranks.put(standing.userId, rank);
+                }
+                rank++;
+            }
+            changed = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (ranks.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Map<String, Object>> updates = new HashMap<>();
+        ranks.forEach((userId, rank) -> updates.put(userId, Map.of(RANK_FIELD, rank)));
+        try {
+            userRepository.updateAll(updates);
+        } catch (ExecutionException | InterruptedException | RuntimeException e) {
+            markChanged();
+            throw e;
+        }
+        for (String userId : ranks.keySet()) {
+            userCache.invalidate(userId);
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Map.Entry<String, Integer> rank : ranks.entrySet()) {
+                if (standings.containsKey(rank.getKey())) {
+                    storedRanks.put(rank.getKey(), rank.getValue());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return ranks.size();
+    }
+
+    private void markChanged() {
+        lock.writeLock().lock();
+        try {
+            changed = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void checkCount(int count) {
+        if (count < 1 || count > MAX_ENTRIES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Between 1 and " + MAX_ENTRIES + " players can be read at once.");
+        }
+    }
+
+    private List<LeaderboardEntryDTO> entries(int from, int count) throws ExecutionException, InterruptedException {
+        load();
+        lock.readLock().lock();
+        try {
+            List<LeaderboardEntryDTO> entries = new ArrayList<>(count);
+            int rank = from + 1;
+            for (Standing standing : tree.range(from, count)) {
+                entries.add(toEntry(rank++, standing));
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Places a player in the tree, replacing their previous standing.
+     */
+    private void place(Standing standing) {
+        Standing previous = standings.put(standing.userId, standing);
+        if (previous != null) {
+            tree.remove(previous);
+        }
+        tree.add(standing);
+    }
+
+    /**
+     * Loads every player from storage on first use.
+     */
+    private void load() throws ExecutionException, InterruptedException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (UserDTO user : userRepository.findAllByRole(UserService.PLAYER_ROLE)) {
+                if (user.getPlayerDetails() == null) {
+                    continue;
+                }
+                place(new Standing(user.getId(), user.getName(), user.getPlayerDetails().getElo()));
+                storedRanks.put(user.getId(), user.getPlayerDetails().getRank());
+            }
+            changed = true;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static LeaderboardEntryDTO toEntry(int rank, Standing standing) {
+        return new LeaderboardEntryDTO(rank, standing.userId, standing.name, standing.elo);
+    }
+
+    /**
+     * A player's name and Elo. Replaced, not changed, when the Elo changes, as
+     * the tree is ordered by it.
+     */
+    private static final class Standing {
+        private final String userId;
+        private final String name;
+        private final double elo;
+
+        private Standing(String userId, String name, double elo) {
+            this.userId = userId;
+            this.name = name;
+            this.elo = elo;
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.LedgerEvent;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The player state derived from the match ledger: each player's Elo, peak Elo,
+ * number of rated matches and achievements, and the results recorded since the
+ * last rating period was closed.
+ *
+ * Applying the ledger's entries in order reproduces what {@link RatingService}
+ * and {@link UserService} wrote: a closed period rates its pending results with
+ * the {@link RatingEngine}, and a player entry replaces the player's state.
+ */
+public final class LedgerState {
+
+    private static final int FORMAT = 1;
+
+    private final Map<String, PlayerState> players = new HashMap<>();
+
+    /**
+     * The results recorded since the last closed period, by match ID. A later
+     * score for the same match replaces the earlier one.
+     */
+    private final Map<String, LedgerEvent> pending = new LinkedHashMap<>();
+
+    private long offset;
+
+    /**
+     * @return The position in the log up to which entries have been applied.
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    public void setOffset(long offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * @return The state of each player, by user ID.
+     */
+    public Map<String, PlayerState> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The number of results waiting for the rating period to close.
+     */
+    public int pendingResults() {
+        return pending.size();
+    }
+
+    /**
+     * Sets a player's state.
+     */
+    public void putPlayer(String userId, double elo, double peakElo, int ratedMatches, String achievements) {
+        players.put(userId, new PlayerState(elo, peakElo, ratedMatches, achievements));
+    }
+
+    /**
+     * Adds a result waiting for the rating period to close.
+     */
+    public void addPending(LedgerEvent result) {
+        if (result.getPlayer1Id() != null && result.getPlayer2Id() != null
+                && !result.getPlayer1Id().equals(result.getPlayer2Id())) {
+            pending.put(result.getMatchId(), result);
+        }
+    }
+
+    /**
+     * Applies a ledger entry.
+     *
+     * @param event The entry.
+     */
+    public void apply(LedgerEvent event) {
+        switch (event.getType()) {
+            case RESULT -> {
+                if (event.isRated()) {
+                    // A correction of a rated match changes the score, not the ratings
+                    pending.remove(event.getMatchId());
+                } else {
+                    addPending(event);
+                }
+            }
+            case PLAYER -> putPlayer(event.getUserId(), event.getElo(), event.getPeakElo(), event.getRatedMatches(),
+                    event.getAchievements());
+            case PERIOD_CLOSED -> closePeriod();
+        }
+    }
+
+    /**
+     * Rates the pending results of players with a known state as one period.
+     */
+    private void closePeriod() {
+        List<String> userIds = new ArrayList<>();
+        Map<String, Integer> indices = new HashMap<>();
+        RatingEngine.Results results = new RatingEngine.Results(pending.size());
+        for (LedgerEvent result : pending.values()) {
+            if (!players.containsKey(result.getPlayer1Id()) || !players.containsKey(result.getPlayer2Id())) {
+                continue;
+            }
+            int player1 = indices.computeIfAbsent(result.getPlayer1Id(), id -> add(userIds, id));
+            int player2 = indices.computeIfAbsent(result.getPlayer2Id(), id -> add(userIds, id));
+            results.add(0, player1, player2, result.player1Result());
+        }
+        pending.clear();
+
+        double[] ratings = new double[userIds.size()];
+        double[] peaks = new double[userIds.size()];
+        int[] played = new int[userIds.size()];
+        for (int i = 0; i < userIds.size(); i++) {
+            PlayerState player = players.get(userIds.get(i));
+            ratings[i] = player.elo;
+            peaks[i] = Math.max(player.peakElo, player.elo);
+            played[i] = player.ratedMatches;
+        }
+        RatingEngine.rate(ratings, peaks, played, results, false);
+        for (int i = 0; i < userIds.size(); i++) {
+            PlayerState player = players.get(userIds.get(i));
+            players.put(userIds.get(i), new PlayerState(ratings[i], peaks[i], played[i], player.achievements));
+        }
+    }
+
+    private static int add(List<String> userIds, String userId) {
+        userIds.add(userId);
+        return userIds.size() - 1;
+    }
+
+    /**
+     * Encodes the state as a snapshot.
+     *
+     * @return The encoded state.
+     */
+    public byte[] toSnapshot() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT);
+            out.writeLong(offset);
+            out.writeInt(players.size());
+            for (Map.Entry<String, PlayerState> player : players.entrySet()) {
+                out.writeUTF(player.getKey());
+                out.writeDouble(player.getValue().elo);
+                out.writeDouble(player.getValue().peakElo);
+                out.writeInt(player.getValue().ratedMatches);
+                writeNullable(out, player.getValue().achievements);
+            }
+            out.writeInt(pending.size());
+            for (LedgerEvent result : pending.values()) {
+                out.writeUTF(result.getMatchId());
+                out.writeUTF(result.getPlayer1Id());
+                out.writeUTF(result.getPlayer2Id());
+                out.writeInt(result.getPlayer1Score());
+                out.writeInt(result.getPlayer2Score());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param snapshot The encoded state.
+     * @return The state.
+     * @throws IllegalArgumentException If the snapshot is in an unknown format.
+     */
+    public static LedgerState fromSnapshot(byte[] snapshot) {
+        LedgerState state = new LedgerState();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot))) {
+            int format = in.readInt();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown match ledger snapshot format " + format);
+            }
+            state.offset = in.readLong();
+            int players = in.readInt();
+            for (int i = 0; i < players; i++) {
+                state.putPlayer(in.readUTF(), in.readDouble(), in.readDouble(), in.readInt(), readNullable(in));
+            }
+            int pending = in.readInt();
+            for (int i = 0; i < pending; i++) {
+                LedgerEvent result = new LedgerEvent();
+                result.setType(LedgerEvent.Type.RESULT);
+                result.setMatchId(in.readUTF());
+                result.setPlayer1Id(in.readUTF());
+                result.setPlayer2Id(in.readUTF());
+                result.setPlayer1Score(in.readInt());
+                result.setPlayer2Score(in.readInt());
+                state.addPending(result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return state;
+    }
+
+    /**
+     * Writes a string of any length as its UTF-8 byte count and bytes, or -1 for
+     * null.
+     */
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A player's derived state.
+     */
+    public static final class PlayerState {
+        private final double elo;
+        private final double peakElo;
+        private final int ratedMatches;
+        private final String achievements;
+
+        private PlayerState(double elo, double peakElo, int ratedMatches, String achievements) {
+            this.elo = elo;
+            this.peakElo = peakElo;
+            this.ratedMatches = ratedMatches;
+            this.achievements = achievements;
+        }
+
+        public double getElo() {
+            return elo;
+        }
+
+        public double getPeakElo() {
+            return peakElo;
+        }
+
+        public int getRatedMatches() {
+            return ratedMatches;
+        }
+
+        public String getAchievements() {
+            return achievements;
+        }
+    }
+}
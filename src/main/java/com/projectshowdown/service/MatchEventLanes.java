@@ -0,0 +1,210 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.configs.VirtualThreadConfig;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs match event handling in the background, one event at a time per
+ * tournament.
+ *
+ * Each key, a tournament ID, is mapped to one of a fixed number of lanes. A lane
+ * is a queue drained by a single worker thread, so the tasks of one tournament
+ * run one after another in the order they were submitted, while tournaments on
+ * different lanes are handled in parallel. Tournaments that share a lane wait
+ * for each other.
+ *
+ * Tasks submitted while the lanes are not running, before startup or during
+ * shutdown, run on the caller's thread. Tasks still queued at shutdown are
+ * finished before the workers exit.
+ */
+@Component
+public class MatchEventLanes implements SmartLifecycle {
+    public static final String BACKLOG_METRIC = "showdown.match.events.backlog";
+    public static final String PROCESSING_METRIC = "showdown.match.events.processing";
+    public static final String LATENCY_METRIC = "showdown.match.events.latency";
+
+    /**
+     * How often idle workers check whether the lanes are shutting down.
+     */
+    public static final long POLL_INTERVAL_MILLIS = 500;
+
+    /**
+     * How long shutdown waits for queued tasks.
+     */
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final List<BlockingQueue<LaneTask>> lanes = new ArrayList<>();
+    private final boolean virtualThreads;
+    private final Timer processing;
+    private final Timer latency;
+
+    private volatile boolean running;
+    private CountDownLatch workersStopped = new CountDownLatch(0);
+
+    // Serializes submit() with start() and stop(), so no task is queued after the workers exit
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    public MatchEventLanes(MeterRegistry meterRegistry,
+            @Value("${showdown.match-events.lanes:8}") int laneCount,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("At least one match event lane is needed, got " + laneCount);
+        }
+        this.virtualThreads = virtualThreads;
+        for (int i = 0; i < laneCount; i++) {
+            BlockingQueue<LaneTask> lane = new LinkedBlockingQueue<>();
+            lanes.add(lane);
+            Gauge.builder(BACKLOG_METRIC, lane, BlockingQueue::size)
+                    .description("Match events waiting to be handled")
+                    .tag("lane", String.valueOf(i))
+                    .register(meterRegistry);
+        }
+        this.processing = Timer.builder(PROCESSING_METRIC)
+                .description("Time spent handling a match event")
+                .register(meterRegistry);
+        this.latency = Timer.builder(LATENCY_METRIC)
+                .description("Time from publishing a match event to having handled it")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues a task on the lane of a key.
+     *
+     * @param key  The key whose tasks must run one at a time, e.g. a tournament
+     *             ID.
+     * @param task The task. An exception it throws is logged.
+     */
+    public void submit(String key, Runnable task) {
+        LaneTask laneTask = new LaneTask(task, System.nanoTime());
+        lifecycleLock.lock();
+        try {
+            if (running) {
+                lanes.get(laneOf(key)).add(laneTask);
+                return;
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+        run(laneTask);
+    }
+
+    /**
+     * Finds the lane of a key.
+     *
+     * @param key The key.
+     * @return The position of the key's lane.
+     */
+    int laneOf(String key) {
+        return Math.floorMod(Objects.hashCode(key), lanes.size());
+    }
+
+    /**
+     * Starts one worker per lane.
+     */
+    @Override
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            running = true;
+
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("match-events-");
+            executor.setVirtualThreads(virtualThreads
+                    && Runtime.version().feature() >= VirtualThreadConfig.VIRTUAL_THREADS_MIN_JAVA_VERSION);
+            workersStopped = new CountDownLatch(lanes.size());
+            for (BlockingQueue<LaneTask> lane : lanes) {
+                executor.execute(() -> work(lane));
+            }
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Stops the workers once their lanes are empty.
+     */
+    @Override
+    public void stop() {
+        CountDownLatch stopped;
+        lifecycleLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            stopped = workersStopped;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        try {
+            stopped.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work(BlockingQueue<LaneTask> lane) {
+        try {
+            while (running || !lane.isEmpty()) {
+                LaneTask next = lane.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    run(next);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workersStopped.countDown();
+        }
+    }
+
+    private void run(LaneTask laneTask) {
+        long start = System.nanoTime();
+        try {
+            laneTask.task.run();
+        } catch (RuntimeException e) {
+            System.out.println("Failed to handle match event: " + e);
+            e.printStackTrace();
+        } finally {
+            long end = System.nanoTime();
+            processing.record(end - start, TimeUnit.NANOSECONDS);
+            latency.record(end - laneTask.submittedAt, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * A queued task and when it was submitted.
+     */
+    private static final class LaneTask {
+        private final Runnable task;
+        private final long submittedAt;
+
+        private LaneTask(Runnable task, long submittedAt) {
+            this.task = task;
+            this.submittedAt = submittedAt;
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.LedgerEvent;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.repositories.MatchLedgerStore;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.UserRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only ledger of match results, from which the players' Elo, peak Elo
+ * and achievements can be rebuilt.
+ *
+ * Final scores, rating period closes and out-of-period changes to a player's
+ * rating or achievements are appended to the {@link MatchLedgerStore} as they
+ * are written. A snapshot of the derived {@link LedgerState} is taken
+ * periodically; the first one is read from the stored players. Replaying reads
+ * the last snapshot and applies the entries after it in one pass over the
+ * memory-mapped log, and {@link #rebuild()} writes the result back to the
+ * players that differ from it.
+ */
+@Service
+public class MatchLedger {
+
+    @Autowired
+    private MatchLedgerStore store;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private MmrIndex mmrIndex;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    // Serializes snapshots, replays and rebuilds
+    private final ReentrantLock replayLock = new ReentrantLock();
+
+    /**
+     * Records a match's final score. Failures are logged, as the score has
+     * already been written.
+     *
+     * @param match        The match.
+     * @param player1Score The first player's final score.
+     * @param player2Score The second player's final score.
+     */
+    public void recordResult(Match match, int player1Score, int player2Score) {
+        LedgerEvent event = LedgerEvent.result(match);
+        event.setPlayer1Score(player1Score);
+        event.setPlayer2Score(player2Score);
+        append(event);
+    }
+
+    /**
+     * Records a player's rating and achievements, when they are set outside of a
+     * rating period. Failures are logged, as the player has already been
+     * written.
+     *
+     * @param user The user as stored. Ignored if they are not a player.
+     */
+    public void recordPlayer(UserDTO user) {
+        if (user.getPlayerDetails() != null) {
+            append(LedgerEvent.player(user.getId(), user.getPlayerDetails()));
+        }
+    }
+
+    /**
+     * Records that a rating period was closed. Failures are logged, as the
+     * ratings have already been written.
+     */
+    public void recordPeriodClosed() {
+        append(LedgerEvent.periodClosed());
+    }
+
+    /**
+     * Records a recalculation of every player's rating from the full match
+     * history: the matches it marked as rated no longer wait for the period to
+     * close, and the players' ratings are replaced. Failures are logged, as the
+     * ratings have already been written.
+     *
+     * @param players     The players as written.
+     * @param markedRated The matches that were marked as rated.
+     */
+    public void recordRecalculated(Collection<UserDTO> players, Collection<Match> markedRated) {
+        List<LedgerEvent> events = new ArrayList<>();
+        for (Match match : markedRated) {
+            LedgerEvent event = LedgerEvent.result(match);
+            event.setRated(true);
+            events.add(event);
+        }
+        for (UserDTO player : players) {
+            if (player.getPlayerDetails() != null) {
+                events.add(LedgerEvent.player(player.getId(), player.getPlayerDetails()));
+            }
+        }
+        try {
+            store.appendAll(events);
+        } catch (UncheckedIOException e) {
+            System.out.println("Failed to record a recalculation in the match ledger: " + e.getMessage());
+        }
+    }
+
+    private void append(LedgerEvent event) {
+        try {
+            store.append(event);
+        } catch (UncheckedIOException e) {
+            System.out.println("Failed to record a " + event.getType() + " entry in the match ledger: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Takes a snapshot on a fixed delay. Failures are logged and the snapshot is
+     * taken on the next run.
+     */
+    @Scheduled(fixedDelayString = "${showdown.ledger.snapshot-interval-ms:3600000}",
+            initialDelayString = "${showdown.ledger.snapshot-interval-ms:3600000}")
+    public void snapshotPeriodically() {
+        try {
+            snapshot();
+        } catch (ExecutionException | RuntimeException e) {
+            System.out.println("Failed to snapshot the match ledger: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Replays the ledger and saves the result as the new snapshot, so later
+     * replays start from it.
+     *
+     * @return The state saved.
+     * @throws ExecutionException   If an error occurs while reading the first
+     *                              snapshot from the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public LedgerState snapshot() throws ExecutionException, InterruptedException {
+        replayLock.lock();
+        try {
+            LedgerState state = replay();
+            store.writeSnapshot(state.toSnapshot());
+            return state;
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * Rebuilds the player state from the last snapshot and the entries after it.
+     * Without a snapshot, the stored players are taken as the first one.
+     *
+     * @return The player state as of the end of the ledger.
+     * @throws ExecutionException   If an error occurs while reading the first
+     *                              snapshot from the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public LedgerState replay() throws ExecutionException, InterruptedException {
+        replayLock.lock();
+        try {
+            Optional<byte[]> snapshot = store.readSnapshot();
+            if (snapshot.isEmpty()) {
+                LedgerState state = fromStore();
+                store.writeSnapshot(state.toSnapshot());
+                return state;
+            }
+            LedgerState state = LedgerState.fromSnapshot(snapshot.get());
+            state.setOffset(store.read(state.getOffset(), state::apply));
+            return state;
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    /**
+     * Replays the ledger and writes the Elo, peak Elo, number of rated matches
+     * and achievements it gives back to every stored player that differs, then
+     * reloads the leaderboard.
+     *
+     * @return The number of players corrected.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public int rebuild() throws ExecutionException, InterruptedException {
+        replayLock.lock();
+        try {
+            LedgerState state = replay();
+            Map<String, UserDTO> users = userRepository.findAllById(state.getPlayers().keySet());
+            Map<String, Map<String, Object>> updates = new HashMap<>();
+            for (UserDTO user : users.values()) {
+                Player player = user.getPlayerDetails();
+                LedgerState.PlayerState expected = state.getPlayers().get(user.getId());
+                if (player == null || matches(player, expected)) {
+                    continue;
+                }
+                player.setElo(expected.getElo());
+                player.setPeakElo(expected.getPeakElo());
+                player.setRatedMatches(expected.getRatedMatches());
+                player.setAchievements(expected.getAchievements());
+                player.refreshMMR(mmrIndex.today());
+                Map<String, Object> fields = new HashMap<>();
+                fields.put(RatingService.ELO_FIELD, player.getElo());
+                fields.put(RatingService.PEAK_ELO_FIELD, player.getPeakElo());
+                fields.put(RatingService.RATED_MATCHES_FIELD, player.getRatedMatches());
+                fields.put(UserService.PLAYER_DETAILS_FIELD + ".achievements", player.getAchievements());
+                fields.put(UserService.PLAYER_DETAILS_FIELD + ".mmr", player.getMmr());
+                fields.put(UserService.PLAYER_DETAILS_FIELD + ".mmrValidUntil", player.getMmrValidUntil());
+                updates.put(user.getId(), fields);
+            }
+            if (!updates.isEmpty()) {
+                userRepository.updateAll(updates);
+                for (String userId : updates.keySet()) {
+                    userCache.invalidate(userId);
+                    mmrIndex.invalidate(userId);
+                }
+            }
+            leaderboard.reload();
+            return updates.size();
+        } finally {
+            replayLock.unlock();
+        }
+    }
+
+    private static boolean matches(Player player, LedgerState.PlayerState expected) {
+        return player.getElo() == expected.getElo() && player.getPeakElo() == expected.getPeakElo()
+                && player.getRatedMatches() == expected.getRatedMatches()
+                && Objects.equals(player.getAchievements(), expected.getAchievements());
+    }
+
+    /**
+     * Reads the first snapshot from the stored players and the completed matches
+     * not rated yet.
+     */
+    private LedgerState fromStore() throws ExecutionException, InterruptedException {
+        // Only taken once. Results recorded while the store is read may be counted twice
+        long offset = store.end();
+        LedgerState state = new LedgerState();
+        for (UserDTO user : userRepository.findAllByRole(UserService.PLAYER_ROLE)) {
+            Player player = user.getPlayerDetails();
+            if (player != null) {
+                state.putPlayer(user.getId(), player.getElo(), player.getPeakElo(), player.getRatedMatches(),
+                        player.getAchievements());
+            }
+        }
+        for (Match match : matchRepository.findAllUnrated()) {
+            if (match.rateable()) {
+                state.addPending(LedgerEvent.result(match));
+            }
+        }
+        state.setOffset(offset);
+        return state;
+    }
+}
@@ -1,30 +1,38 @@
 package com.projectshowdown.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.DocumentSnapshot;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.WriteResult;
-import com.google.firebase.cloud.FirestoreClient;
-
 import com.projectshowdown.dto.UserDTO;
 import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.Tournament;
 import com.projectshowdown.events.MatchUpdatedEvent;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.TournamentRepository;
 
 import jakarta.mail.MessagingException;
 
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+/**
+ * Business logic for matches.
+ * The asynchronous {@code ...Async} variants compose the repository futures;
+ * event publishing and email sends block, so they run on the application task
+ * executor instead of a Firestore callback thread.
+ */
 @Service
 public class MatchService {
 
@@ -46,16 +54,21 @@ public class MatchService {
     @Autowired
     private ApplicationEventPublisher eventPublisher;
 
-    private static final int ELO_GAINED_WHEN_YOU_WIN = 25;
+    @Autowired
+    MatchRepository matchRepository;
 
-    /**
-     * Retrieves the Firestore database instance.
-     *
-     * @return The Firestore instance.
-     */
-    private Firestore getFirestore() {
-        return FirestoreClient.getFirestore();
-    }
+    @Autowired
+    TournamentRepository tournamentRepository;
+
+    @Autowired
+    MatchLedger matchLedger;
+
+    @Autowired
+    TournamentDirectory tournamentDirectory;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    Executor taskExecutor;
 
     /**
      * Adds a new match to Firestore.
@@ -67,15 +80,25 @@ public class MatchService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public String addMatch(Match matchToSave) throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(MATCHES_DB).document(matchToSave.getId());
-        docRef.set(matchToSave).get();
+        matchRepository.save(matchToSave);
         return matchToSave.getId();
     }
 
+    /**
+     * Asynchronous variant of {@link #addMatch(Match)}.
+     *
+     * @param matchToSave The Match object to save.
+     * @return A future of the ID of the saved match.
+     */
+    public CompletableFuture<String> addMatchAsync(Match matchToSave) {
+        return matchRepository.saveAsync(matchToSave).thenApply(saved -> matchToSave.getId());
+    }
+
     /**
      * Updates a match in Firestore with new data and handles associated logic
-     * such as notifying players, updating scores, and publishing events.
+     * such as notifying players, updating scores, and publishing events. The
+     * players' Elo is updated when the rating period is closed by
+     * {@link RatingService}.
      *
      * @param id        The ID of the match to update.
      * @param matchData A map of the fields to update.
@@ -86,83 +109,198 @@ public class MatchService {
      */
     public String updateMatch(String id, Map<String, Object> matchData)
             throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(MATCHES_DB).document(id);
-
         // Check if the match exists
-        DocumentSnapshot document = docRef.get().get();
-        if (!document.exists()) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Unable to find match with id: " + id);
-        }
+        Match match = matchRepository.findById(id)
+                .orElseThrow(() -> matchToUpdateNotFound(id));
 
-        String tournamentId = document.getString(TOURNAMENT_ID_FIELD);
+        String tournamentId = match.getTournamentId();
 
         // Ensure the match has a date and time set if updating scores
-        if ("TBC".equals(document.getString(DATE_TIME_FIELD)) && !matchData.containsKey(DATE_TIME_FIELD)) {
+        checkDateTimeSet(match, matchData);
+
+        // Notify players if the match date and time are updated
+        if (matchData.containsKey(DATE_TIME_FIELD)) {
+            notifyPlayersAboutMatchUpdate(match, matchData.get(DATE_TIME_FIELD).toString(), tournamentId);
+        }
+
+        // Update Firestore with the filtered match data. A final score is written
+        // together with its round's completed-match count.
+        Map<String, Object> filteredUpdates = toMatchUpdates(match, matchData);
+        Instant updateTime;
+        RoundProgress roundProgress = null;
+        if (isScoreUpdate(matchData)) {
+            roundProgress = tournamentRepository.recordMatchResult(tournamentId, id, filteredUpdates);
+            recordResult(match, filteredUpdates);
+            updateTime = Instant.now();
+        } else {
+            updateTime = matchRepository.update(id, filteredUpdates);
+        }
+
+        // Publish match updated event
+        eventPublisher.publishEvent(new MatchUpdatedEvent(this, tournamentId, match, roundProgress));
+
+        return "Match with ID: " + id + " updated successfully at: " + updateTime;
+    }
+
+    /**
+     * Asynchronous variant of {@link #updateMatch(String, Map)}. The tournament
+     * and both players needed for the notification emails are read concurrently.
+     *
+     * @param id        The ID of the match to update.
+     * @param matchData A map of the fields to update.
+     * @return A future of a success message with the update time, failed with
+     *         {@link ResponseStatusException} if the update is not allowed.
+     */
+    public CompletableFuture<String> updateMatchAsync(String id, Map<String, Object> matchData) {
+        return matchRepository.findByIdAsync(id).thenCompose(found -> {
+            Match match = found.orElseThrow(() -> matchToUpdateNotFound(id));
+            String tournamentId = match.getTournamentId();
+            checkDateTimeSet(match, matchData);
+
+            CompletableFuture<Void> notified = matchData.containsKey(DATE_TIME_FIELD)
+                    ? notifyPlayersAboutMatchUpdateAsync(match, matchData.get(DATE_TIME_FIELD).toString(),
+                            tournamentId)
+                    : CompletableFuture.completedFuture(null);
+            Map<String, Object> filteredUpdates = toMatchUpdates(match, matchData);
+
+            CompletableFuture<Instant> written = isScoreUpdate(matchData)
+                    ? notified
+                            .thenCompose(sent -> tournamentRepository.recordMatchResultAsync(tournamentId, id,
+                                    filteredUpdates))
+                            .thenApplyAsync(roundProgress -> {
+                                recordResult(match, filteredUpdates);
+                                eventPublisher.publishEvent(
+                                        new MatchUpdatedEvent(this, tournamentId, match, roundProgress));
+                                return Instant.now();
+                            }, taskExecutor)
+                    : notified
+                            .thenCompose(sent -> matchRepository.updateAsync(id, filteredUpdates))
+                            .thenApplyAsync(updateTime -> {
+                                eventPublisher.publishEvent(new MatchUpdatedEvent(this, tournamentId, match));
+                                return updateTime;
+                            }, taskExecutor);
+
+            return written.thenApply(updateTime -> "Match with ID: " + id + " updated successfully at: "
+                    + updateTime);
+        });
+    }
+
+    private static ResponseStatusException matchToUpdateNotFound(String id) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unable to find match with id: " + id);
+    }
+
+    /**
+     * Rejects a score update for a match whose date and time are not set yet.
+     */
+    private static void checkDateTimeSet(Match match, Map<String, Object> matchData) {
+        if ("TBC".equals(match.getDateTime()) && !matchData.containsKey(DATE_TIME_FIELD)) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
                     "Please update match's date and time details before attempting to update the scores.");
         }
+    }
 
-        // Notify players if the match date and time are updated
-        if (matchData.containsKey(DATE_TIME_FIELD)) {
-            notifyPlayersAboutMatchUpdate(document, matchData.get(DATE_TIME_FIELD).toString(), tournamentId);
+    /**
+     * Appends a final score, once written, to the match ledger, and keeps it if
+     * the match is a final.
+     */
+    private void recordResult(Match match, Map<String, Object> filteredUpdates) {
+        if (filteredUpdates.get(PLAYER_1_SCORE_FIELD) instanceof Number player1Score
+                && filteredUpdates.get(PLAYER_2_SCORE_FIELD) instanceof Number player2Score) {
+            matchLedger.recordResult(match, player1Score.intValue(), player2Score.intValue());
+            tournamentDirectory.recordResult(match, player1Score.intValue(), player2Score.intValue());
         }
+    }
+
+    private static boolean isScoreUpdate(Map<String, Object> matchData) {
+        return matchData.containsKey(PLAYER_1_SCORE_FIELD) && matchData.containsKey(PLAYER_2_SCORE_FIELD);
+    }
 
+    /**
+     * Turns the requested changes into the fields to write: the match is marked
+     * completed once both scores are set, and null values are left out. A match
+     * completed now is marked as not rated yet, so that matches stored before
+     * the rated field existed are rated too.
+     */
+    private static Map<String, Object> toMatchUpdates(Match match, Map<String, Object> matchData) {
         // Mark match as completed if both player scores are updated
-        if (matchData.containsKey(PLAYER_1_SCORE_FIELD) && matchData.containsKey(PLAYER_2_SCORE_FIELD)) {
+        if (isScoreUpdate(matchData)) {
             matchData.put("completed", true);
+            if (!match.isCompleted()) {
+                matchData.put(MatchRepository.RATED_FIELD, false);
+            }
         }
 
         // Filter out null values from the match data
-        Map<String, Object> filteredUpdates = matchData.entrySet().stream()
+        return matchData.entrySet().stream()
                 .filter(entry -> entry.getValue() != null)
                 .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-
-        // Update Firestore with the filtered match data
-        WriteResult writeResult = docRef.update(filteredUpdates).get();
-
-        // Publish match updated event
-        Match match = document.toObject(Match.class);
-        eventPublisher.publishEvent(new MatchUpdatedEvent(this, tournamentId, match));
-
-        // Update ELO for the winner if scores are updated
-        if (matchData.containsKey(PLAYER_1_SCORE_FIELD) && matchData.containsKey(PLAYER_2_SCORE_FIELD)) {
-            updateWinnerElo(match);
-        }
-
-        return "Match with ID: " + id + " updated successfully at: " + writeResult.getUpdateTime();
     }
 
     /**
      * Notifies players about an updated match date and time via email.
      *
-     * @param document     The match document containing player information.
+     * @param match        The match containing player information.
      * @param newDateTime  The new date and time for the match.
      * @param tournamentId The ID of the tournament the match belongs to.
      * @throws ExecutionException   If an error occurs during the Firestore
      *                              operation.
      * @throws InterruptedException If the operation is interrupted.
      */
-    private void notifyPlayersAboutMatchUpdate(DocumentSnapshot document, String newDateTime, String tournamentId)
+    private void notifyPlayersAboutMatchUpdate(Match match, String newDateTime, String tournamentId)
             throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-
         // Parse and format the date and time
-        String[] dateTimeParts = newDateTime.split("T");
-        String date = dateTimeParts[0];
-        String time = dateTimeParts[1].substring(0, 5);
-        String amPmTime = java.time.LocalTime.parse(time)
-                .format(java.time.format.DateTimeFormatter.ofPattern("hh:mm a"));
+        String[] dateAndTime = toDateAndAmPmTime(newDateTime);
 
         // Retrieve tournament details
-        DocumentSnapshot tournamentDoc = db.collection(TOURNAMENTS_DB).document(tournamentId).get().get();
-        String tournamentName = tournamentDoc.exists() ? tournamentDoc.getString(NAME_FIELD) : "Unknown Tournament";
+        String tournamentName = tournamentRepository.findById(tournamentId)
+                .map(Tournament::getName)
+                .orElse("Unknown Tournament");
 
         // Retrieve player details
-        UserDTO user1 = userService.getUser(document.getString(PLAYER_1_ID_FIELD));
-        UserDTO user2 = userService.getUser(document.getString(PLAYER_2_ID_FIELD));
+        UserDTO user1 = userService.getUser(match.getPlayer1Id());
+        UserDTO user2 = userService.getUser(match.getPlayer2Id());
+
+        sendMatchUpdateEmails(user1, user2, tournamentName, dateAndTime[0], dateAndTime[1]);
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link #notifyPlayersAboutMatchUpdate(Match, String, String)}. The
+     * tournament and both players are read concurrently, and the emails are
+     * sent on the task executor.
+     */
+    private CompletableFuture<Void> notifyPlayersAboutMatchUpdateAsync(Match match, String newDateTime,
+            String tournamentId) {
+        String[] dateAndTime = toDateAndAmPmTime(newDateTime);
+        CompletableFuture<String> tournamentName = tournamentRepository.findByIdAsync(tournamentId)
+                .thenApply(tournament -> tournament.map(Tournament::getName).orElse("Unknown Tournament"));
+        CompletableFuture<UserDTO> user1 = userService.getUserAsync(match.getPlayer1Id());
+        CompletableFuture<UserDTO> user2 = userService.getUserAsync(match.getPlayer2Id());
+
+        return CompletableFuture.allOf(tournamentName, user1, user2).thenRunAsync(
+                () -> sendMatchUpdateEmails(user1.join(), user2.join(), tournamentName.join(), dateAndTime[0],
+                        dateAndTime[1]),
+                taskExecutor);
+    }
 
+    /**
+     * Splits an ISO date and time into the date and a 12-hour time, such as
+     * {@code 2024-11-02} and {@code 03:30 PM}.
+     */
+    private static String[] toDateAndAmPmTime(String dateTime) {
+        String[] dateTimeParts = dateTime.split("T");
+        String date = dateTimeParts[0];
+        String time = dateTimeParts[1].substring(0, 5);
+        String amPmTime = java.time.LocalTime.parse(time)
+                .format(java.time.format.DateTimeFormatter.ofPattern("hh:mm a"));
+        return new String[] { date, amPmTime };
+    }
+
+    /**
+     * Emails both players the new date and time of their match.
+     */
+    private void sendMatchUpdateEmails(UserDTO user1, UserDTO user2, String tournamentName, String date,
+            String amPmTime) {
         // Send email notifications
         try {
             notificationService.notifyMatchDetailsUpdated(
@@ -177,39 +315,31 @@ public class MatchService {
     }
 
     /**
-     * Updates the ELO score for the winner of a match.
+     * Checks if all matches in the current round are completed.
      *
-     * @param match The Match object containing the winner's information.
+     * @param currentRound A list of match IDs in the current round.
+     * @return True if all matches are completed, false otherwise.
      * @throws ExecutionException   If an error occurs during the Firestore
      *                              operation.
      * @throws InterruptedException If the operation is interrupted.
      */
-    private void updateWinnerElo(Match match) throws ExecutionException, InterruptedException {
-        UserDTO winner = userService.getUser(match.winnerId());
-        Map<String, Object> toUpdateScore = new HashMap<>();
-        double newElo = winner.getPlayerDetails().getElo() + ELO_GAINED_WHEN_YOU_WIN;
-        toUpdateScore.put("playerDetails.elo", newElo);
-
-        // Update peak ELO if the new ELO exceeds the previous peak
-        if (winner.getPlayerDetails().getPeakElo() < newElo) {
-            toUpdateScore.put("playerDetails.peakElo", newElo);
-        }
-
-        userService.updateUser(winner.getId(), toUpdateScore);
+    public boolean checkCurrentRoundCompletion(List<String> currentRound)
+            throws ExecutionException, InterruptedException {
+        return allCompleted(getMatches(currentRound));
     }
 
     /**
-     * Checks if all matches in the current round are completed.
+     * Asynchronous variant of {@link #checkCurrentRoundCompletion(List)}.
      *
      * @param currentRound A list of match IDs in the current round.
-     * @return True if all matches are completed, false otherwise.
-     * @throws ExecutionException   If an error occurs during the Firestore
-     *                              operation.
-     * @throws InterruptedException If the operation is interrupted.
+     * @return A future of true if all matches are completed, false otherwise.
      */
-    public boolean checkCurrentRoundCompletion(List<String> currentRound)
-            throws ExecutionException, InterruptedException {
-        for (Match match : getMatches(currentRound)) {
+    public CompletableFuture<Boolean> checkCurrentRoundCompletionAsync(List<String> currentRound) {
+        return getMatchesAsync(currentRound).thenApply(MatchService::allCompleted);
+    }
+
+    private static boolean allCompleted(List<Match> matches) {
+        for (Match match : matches) {
             if (!match.isCompleted()) {
                 return false;
             }
@@ -227,21 +357,25 @@ public class MatchService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public Match getMatch(String matchId) throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentSnapshot document = db.collection(MATCHES_DB).document(matchId).get().get();
+        return matchRepository.findById(matchId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unable to find match: " + matchId));
+    }
 
-        if (document.exists()) {
-            Match match = document.toObject(Match.class);
-            match.setId(matchId);
-            return match;
-        } else {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                    "Unable to find match: " + matchId);
-        }
+    /**
+     * Asynchronous variant of {@link #getMatch(String)}.
+     *
+     * @param matchId The ID of the match.
+     * @return A future of the Match object.
+     */
+    public CompletableFuture<Match> getMatchAsync(String matchId) {
+        return matchRepository.findByIdAsync(matchId).thenApply(match -> match
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unable to find match: " + matchId)));
     }
 
     /**
-     * Retrieves multiple matches by their IDs.
+     * Retrieves multiple matches by their IDs in one batched read.
      *
      * @param matchIds A list of match IDs.
      * @return A list of Match objects.
@@ -250,9 +384,28 @@ public class MatchService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public List<Match> getMatches(List<String> matchIds) throws ExecutionException, InterruptedException {
+        return inRequestOrder(matchIds, matchRepository.findAllById(matchIds));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getMatches(List)}.
+     *
+     * @param matchIds A list of match IDs.
+     * @return A future of the Match objects.
+     */
+    public CompletableFuture<List<Match>> getMatchesAsync(List<String> matchIds) {
+        return matchRepository.findAllByIdAsync(matchIds).thenApply(found -> inRequestOrder(matchIds, found));
+    }
+
+    private static List<Match> inRequestOrder(List<String> matchIds, Map<String, Match> found) {
         List<Match> matches = new ArrayList<>();
         for (String matchId : matchIds) {
-            matches.add(getMatch(matchId));
+            Match match = found.get(matchId);
+            if (match == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Unable to find match: " + matchId);
+            }
+            matches.add(match);
         }
         return matches;
     }
@@ -0,0 +1,104 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Player;
+
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of player MMRs keyed by user ID.
+ *
+ * A player's MMR depends on their age, so calculating it parses their date of
+ * birth. The index keeps each MMR as a double until the player's next birthday,
+ * taking it from the MMR stored with the player when that is still valid and
+ * calculating it otherwise. Entries must be invalidated whenever the Elo, peak
+ * Elo, peak age or date of birth of a player changes. The day the index reads
+ * ages on is moved forward by the daily rollover in {@link UserService}.
+ */
+@Component
+public class MmrIndex {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private volatile long today = LocalDate.now().toEpochDay();
+
+    /**
+     * Returns the MMR of a player.
+     *
+     * @param userId The ID of the player's user. If null, the MMR is not
+     *               indexed.
+     * @param player The player's details.
+     * @return The player's MMR.
+     */
+    public double mmrOf(String userId, Player player) {
+        long day = today;
+        Entry entry = userId == null ? null : entries.get(userId);
+        if (entry != null && day < entry.validUntil) {
+            return entry.mmr;
+        }
+
+        Double stored = player.storedMMR(day);
+        if (stored == null) {
+            player.refreshMMR(LocalDate.ofEpochDay(day));
+            stored = player.storedMMR(day);
+        }
+        if (stored == null) {
+            // No date of birth to know when the MMR goes stale
+            return player.calculateMMR();
+        }
+        if (userId != null) {
+            entries.put(userId, new Entry(stored, player.getMmrValidUntil()));
+        }
+        return stored;
+    }
+
+    /**
+     * Removes a player's MMR, so it is read again from their details.
+     *
+     * @param userId The ID of the player's user.
+     */
+    public void invalidate(String userId) {
+        entries.remove(userId);
+    }
+
+    /**
+     * Moves the day ages are calculated on, and drops the MMRs of the players
+     * whose age changed.
+     *
+     * @param day The new day.
+     */
+    public void rollOver(LocalDate day) {
+        long epochDay = day.toEpochDay();
+        today = epochDay;
+        entries.values().removeIf(entry -> entry.validUntil <= epochDay);
+    }
+
+    /**
+     * @return The day ages are calculated on.
+     */
+    public LocalDate today() {
+        return LocalDate.ofEpochDay(today);
+    }
+
+    /**
+     * @return The number of indexed players.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * An indexed MMR and the epoch day it goes stale.
+     */
+    private static final class Entry {
+        private final double mmr;
+        private final long validUntil;
+
+        private Entry(double mmr, long validUntil) {
+            this.mmr = mmr;
+            this.validUntil = validUntil;
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.configs.VirtualThreadConfig;
+import com.projectshowdown.entities.OutboundNotification;
+import com.projectshowdown.repositories.NotificationOutboxStore;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.mail.MessagingException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sends notification emails in the background.
+ *
+ * Callers queue a rendered email with {@link #enqueue} and return as soon as it
+ * is committed to the {@link NotificationOutboxStore}. A fixed number of worker
+ * threads take due notifications and send them over SMTP. A failed send is
+ * retried with exponential backoff, and a notification that still fails after
+ * the maximum number of attempts is moved to the dead letters.
+ *
+ * Delivery is at least once: a notification sent just before a crash, but not
+ * yet removed from the store, is sent again after the restart.
+ */
+@Component
+public class NotificationOutbox implements SmartLifecycle {
+    public static final String QUEUE_DEPTH_METRIC = "showdown.notifications.queue.depth";
+    public static final String DEAD_LETTER_METRIC = "showdown.notifications.dead.letters";
+    public static final String SEND_METRIC = "showdown.notifications.send";
+    public static final String DELIVERY_METRIC = "showdown.notifications.delivery";
+
+    /**
+     * How often idle workers check whether the outbox is shutting down.
+     */
+    public static final long POLL_INTERVAL_MILLIS = 500;
+
+    /**
+     * How long shutdown waits for sends in progress.
+     */
+    public static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final NotificationOutboxStore store;
+    private final EmailService emailService;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final boolean virtualThreads;
+
+    private final DelayQueue<DueNotification> due = new DelayQueue<>();
+    private final Timer sendSucceeded;
+    private final Timer sendFailed;
+    private final Timer delivered;
+
+    private volatile boolean running;
+    private CountDownLatch workersStopped = new CountDownLatch(0);
+
+    // Serializes start() with enqueue(), which writes the store
+    private final ReentrantLock lifecycleLock = new ReentrantLock();
+
+    public NotificationOutbox(NotificationOutboxStore store, EmailService emailService, MeterRegistry meterRegistry,
+            @Value("${showdown.notifications.workers:4}") int workers,
+            @Value("${showdown.notifications.max-attempts:6}") int maxAttempts,
+            @Value("${showdown.notifications.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${showdown.notifications.max-backoff:30m}") Duration maxBackoff,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.store = store;
+        this.emailService = emailService;
+        this.workers = workers;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.virtualThreads = virtualThreads;
+
+        Gauge.builder(QUEUE_DEPTH_METRIC, store, NotificationOutboxStore::pendingCount)
+                .description("Notifications waiting to be sent")
+                .register(meterRegistry);
+        Gauge.builder(DEAD_LETTER_METRIC, store, NotificationOutboxStore::deadLetterCount)
+                .description("Notifications that failed every attempt")
+                .register(meterRegistry);
+        this.sendSucceeded = sendTimer(meterRegistry, "success");
+        this.sendFailed = sendTimer(meterRegistry, "failure");
+        this.delivered = Timer.builder(DELIVERY_METRIC)
+                .description("Time from queueing a notification to sending it")
+                .register(meterRegistry);
+    }
+
+    private static Timer sendTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder(SEND_METRIC)
+                .description("Duration of SMTP send attempts")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Queues an email for sending. The email is persisted before this returns.
+     *
+     * @param recipient The recipient's email address.
+     * @param subject   The subject of the email.
+     * @param html      The rendered HTML body.
+     * @return The queued notification.
+     */
+    public OutboundNotification enqueue(String recipient, String subject, String html) {
+        return enqueue(List.of(recipient), subject, html);
+    }
+
+    /**
+     * Queues one email for several recipients, which is sent to each of them
+     * separately over one SMTP connection. The email is persisted before this
+     * returns.
+     *
+     * @param recipients The recipients' email addresses.
+     * @param subject    The subject of the email.
+     * @param html       The rendered HTML body.
+     * @return The queued notification.
+     */
+    public OutboundNotification enqueue(List<String> recipients, String subject, String html) {
+        long now = System.currentTimeMillis();
+        // Serialized with start(), which loads the store, so a notification is queued exactly once
+        lifecycleLock.lock();
+        try {
+            OutboundNotification notification = store.add(
+                    new OutboundNotification(0, new ArrayList<>(recipients), subject, html, 0, now, now, null));
+            if (running) {
+                due.add(new DueNotification(notification));
+            }
+            return notification;
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the notifications that failed every attempt.
+     *
+     * @return The dead-lettered notifications.
+     */
+    public List<OutboundNotification> getDeadLetters() {
+        return store.findDeadLetters();
+    }
+
+    /**
+     * Loads the notifications left in the store and starts the workers.
+     */
+    @Override
+    public void start() {
+        lifecycleLock.lock();
+        try {
+            if (running) {
+                return;
+            }
+            due.clear();
+            for (OutboundNotification notification : store.findPending()) {
+                due.add(new DueNotification(notification));
+            }
+            running = true;
+            startWorkers();
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+
+    private void startWorkers() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("notification-outbox-");
+        executor.setVirtualThreads(virtualThreads
+                && Runtime.version().feature() >= VirtualThreadConfig.VIRTUAL_THREADS_MIN_JAVA_VERSION);
+        workersStopped = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            executor.execute(this::work);
+        }
+        System.out.println("Notification outbox started with " + workers + " workers and "
+                + due.size() + " pending notifications");
+    }
+
+    /**
+     * Stops the workers after their current send. Notifications not yet sent
+     * stay in the store for the next start.
+     */
+    @Override
+    public void stop() {
+        CountDownLatch stopped;
+        lifecycleLock.lock();
+        try {
+            if (!running) {
+                return;
+            }
+            running = false;
+            stopped = workersStopped;
+        } finally {
+            lifecycleLock.unlock();
+        }
+        try {
+            stopped.await(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void work() {
+        try {
+            while (running) {
+                DueNotification next = due.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (next == null) {
+                    continue;
+                }
+                try {
+                    deliver(next.notification);
+                } catch (RuntimeException e) {
+                    // The notification stays in the store and is picked up again at the next start
+                    System.out.println("Could not record the outcome of notification " + next.notification.getId()
+                            + ": " + e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workersStopped.countDown();
+        }
+    }
+
+    private void deliver(OutboundNotification notification) {
+        List<String> recipients = notification.getRecipients();
+        Map<String, MessagingException> failures;
+        long start = System.nanoTime();
+        try {
+            if (recipients.size() == 1) {
+                emailService.sendEmail(recipients.get(0), notification.getSubject(), notification.getHtml());
+                failures = Map.of();
+            } else {
+                failures = emailService.sendBulk(recipients, notification.getSubject(), notification.getHtml());
+            }
+        } catch (MessagingException | RuntimeException e) {
+            sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            retryOrDeadLetter(notification, e);
+            return;
+        }
+
+        if (!failures.isEmpty()) {
+            sendFailed.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            notification.setRecipients(new ArrayList<>(failures.keySet()));
+            retryOrDeadLetter(notification, failures.values().iterator().next());
+            return;
+        }
+        sendSucceeded.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        delivered.record(System.currentTimeMillis() - notification.getEnqueuedAt(), TimeUnit.MILLISECONDS);
+        store.delete(notification.getId());
+    }
+
+    private void retryOrDeadLetter(OutboundNotification notification, Exception error) {
+        notification.setAttempts(notification.getAttempts() + 1);
+        notification.setLastError(error.toString());
+
+        if (notification.getAttempts() >= maxAttempts) {
+            store.moveToDeadLetters(notification);
+            System.out.println("Giving up on notification " + notification.getId() + " to "
+                    + notification.getRecipients() + " after " + notification.getAttempts() + " attempts: " + error);
+            return;
+        }
+
+        notification.setNextAttemptAt(System.currentTimeMillis() + backoff(notification.getAttempts()).toMillis());
+        store.update(notification);
+        due.add(new DueNotification(notification));
+    }
+
+    /**
+     * Computes the wait before the next attempt, doubling after each failure.
+     *
+     * @param attempts The number of failed attempts so far.
+     * @return The wait, at most the maximum backoff.
+     */
+    Duration backoff(int attempts) {
+        long millis = initialBackoff.toMillis() << Math.min(attempts - 1, 30);
+        return millis < 0 || millis > maxBackoff.toMillis() ? maxBackoff : Duration.ofMillis(millis);
+    }
+
+    /**
+     * A queued notification that becomes available when its next attempt is due.
+     */
+    private static final class DueNotification implements Delayed {
+        private final OutboundNotification notification;
+
+        private DueNotification(OutboundNotification notification) {
+            this.notification = notification;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(notification.getNextAttemptAt() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            DueNotification that = (DueNotification) other;
+            int byTime = Long.compare(notification.getNextAttemptAt(), that.notification.getNextAttemptAt());
+            return byTime != 0 ? byTime : Long.compare(notification.getId(), that.notification.getId());
+        }
+    }
+}
@@ -3,6 +3,9 @@ package com.projectshowdown.service;
 import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -10,12 +13,16 @@ import java.util.logging.Logger;
 public class NotificationService {
 
     @Autowired
-    private EmailService emailService;
+    private NotificationOutbox notificationOutbox;
+
+    @Autowired
+    private EmailTemplates emailTemplates;
 
     private static final Logger LOGGER = Logger.getLogger(NotificationService.class.getName());
 
     /**
-     * Notify a player with a custom HTML message.
+     * Notify a player with a custom HTML message. The email is queued in the
+     * notification outbox and sent in the background.
      *
      * @param email Recipient's email.
      * @param subject Subject of the email.
@@ -23,30 +30,28 @@ public class NotificationService {
      * @param message Primary message text.
      */
     public void notifyCustomMessage(String email, String subject, String header, String message) throws MessagingException {
-        String htmlMessage = String.format("""
-            <html>
-            <body style="font-family: Arial, sans-serif; background-color: #f3eeea; padding: 20px;">
-                <div style="max-width: 800px; margin: auto; background-color: #f3eeea; padding: 20px; border-radius: 8px;">
-                    <h2 style="text-align: center; color: #333;">%s</h2>
-                    <p style="text-align: center; color: #333; font-size: 16px;">%s</p>
-                    <div style="text-align: center; margin: 20px 0;">
-                        <img src="cid:showdown-logo.png" alt="Showdown Logo" style="width: 400px; height: auto;">
-                    </div>
-                    <p style="text-align: center; color: #888; font-size: 12px;">This is an auto-generated email. Please do not reply to this email.</p>
-                </div>
-            </body>
-            </html>
-            """, header, message);
-
-        System.out.println("HTML Message: " + htmlMessage);
-
+        notifyCustomMessage(List.of(email), subject, header, message);
+    }
 
+    /**
+     * Notify several players with the same custom HTML message. The header and
+     * message are HTML escaped. The message is rendered once and queued as one notification, which is sent to each
+     * recipient separately over a shared SMTP connection.
+     *
+     * @param emails Recipients' emails.
+     * @param subject Subject of the email.
+     * @param header Main header text.
+     * @param message Primary message text.
+     */
+    public void notifyCustomMessage(List<String> emails, String subject, String header, String message) throws MessagingException {
+        String htmlMessage = emailTemplates.get(EmailTemplates.NOTIFICATION)
+                .render(Map.of("header", header, "message", message));
 
         try {
-            emailService.sendEmail(email, subject, htmlMessage);
-        } catch (MessagingException e) {
-            LOGGER.log(Level.SEVERE, "Failed to send notification to " + email, e);
-            throw e;
+            notificationOutbox.enqueue(emails, subject, htmlMessage);
+        } catch (RuntimeException e) {
+            LOGGER.log(Level.SEVERE, "Failed to queue notification to " + emails, e);
+            throw new MessagingException("Failed to queue notification to " + emails, e);
         }
     }
 
@@ -64,6 +69,24 @@ public class NotificationService {
         notifyCustomMessage(email, subject, header, message);
     }
 
+    /**
+     * Notify every registered player when a tournament is cancelled, with one
+     * bulk send.
+     *
+     * @param emails Recipients' emails.
+     * @param tournamentName Name of the tournament.
+     */
+    public void notifyTournamentCancelled(List<String> emails, String tournamentName) throws MessagingException {
+        if (emails.isEmpty()) {
+            return;
+        }
+        String subject = "Important: Tournament Cancellation";
+        String header = "Tournament Cancelled";
+        String message = "We regret to inform you that the tournament '" + tournamentName + "' has been cancelled due to unforeseen circumstances. We apologise for any inconvenience.";
+
+        notifyCustomMessage(emails, subject, header, message);
+    }
+
     /**
      * Notify a player when they have been matched with another player for a tournament but the details are still TBC.
      *
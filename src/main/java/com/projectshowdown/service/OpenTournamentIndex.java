@@ -0,0 +1,195 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.TournamentRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory index of the tournaments open for registration, by MMR window.
+ *
+ * A tournament is open while it has not begun, ended or been cancelled. The
+ * index holds an immutable {@link IntervalTree} over the open tournaments'
+ * {@code [minMMR, maxMMR]} windows, so finding the tournaments a player is
+ * eligible for takes O(log n + k) time and never blocks on writers. The index
+ * is loaded from storage on first use, and every change to a tournament must
+ * be passed to {@link #put(Tournament)} or {@link #remove(String)}, which
+ * rebuild the tree. Tournaments change far less often than they are searched.
+ */
+@Component
+public class OpenTournamentIndex {
+
+    /**
+     * Statuses of tournaments that can no longer be registered for.
+     */
+    public static final Set<String> CLOSED_STATUSES = Set.of("in progress", "ended", "cancelled");
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    private volatile Snapshot snapshot;
+
+    // Serializes loading the index with the writes that replace its snapshot
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    /**
+     * Finds the open tournaments whose MMR window contains an MMR.
+     *
+     * @param mmr     The player's MMR.
+     * @param from    The earliest tournament date, included, or null for any.
+     * @param to      The latest tournament date, included, or null for any.
+     * @param country The country, ignoring case, or null for any.
+     * @return The tournaments, earliest first, then by ID.
+     * @throws ExecutionException   If an error occurs while loading the index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public List<Tournament> findEligible(double mmr, LocalDateTime from, LocalDateTime to, String country)
+            throws ExecutionException, InterruptedException {
+        List<Entry> found = new ArrayList<>();
+        snapshot().tree.stab(mmr, entry -> {
+            if ((from == null || !entry.date.isBefore(from))
+                    && (to == null || !entry.date.isAfter(to))
+                    && (country == null || country.equalsIgnoreCase(entry.tournament.getCountry()))) {
+                found.add(entry);
+            }
+        });
+        found.sort(Comparator.comparing((Entry entry) -> entry.date)
+                .thenComparing(entry -> entry.tournament.getId()));
+        List<Tournament> tournaments = new ArrayList<>(found.size());
+        for (Entry entry : found) {
+            tournaments.add(entry.tournament);
+        }
+        return tournaments;
+    }
+
+    /**
+     * Adds or replaces a tournament, or removes it if it is no longer open.
+     * Ignored until the index is loaded, as loading reads the latest state.
+     *
+     * @param tournament The tournament as stored.
+     */
+    public void put(Tournament tournament) {
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                return;
+            }
+            Map<String, Entry> entries = new HashMap<>(snapshot.entries);
+            Entry entry = toEntry(tournament);
+            if (entry == null) {
+                entries.remove(tournament.getId());
+            } else {
+                entries.put(tournament.getId(), entry);
+            }
+            snapshot = new Snapshot(entries);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes a tournament.
+     *
+     * @param tournamentId The ID of the tournament.
+     */
+    public void remove(String tournamentId) {
+        writeLock.lock();
+        try {
+            if (snapshot == null || !snapshot.entries.containsKey(tournamentId)) {
+                return;
+            }
+            Map<String, Entry> entries = new HashMap<>(snapshot.entries);
+            entries.remove(tournamentId);
+            snapshot = new Snapshot(entries);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * @return The number of open tournaments indexed, 0 before loading.
+     */
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.entries.size();
+    }
+
+    private Snapshot snapshot() throws ExecutionException, InterruptedException {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        writeLock.lock();
+        try {
+            if (snapshot == null) {
+                Map<String, Entry> entries = new HashMap<>();
+                for (Tournament tournament : tournamentRepository.findAll()) {
+                    Entry entry = toEntry(tournament);
+                    if (entry != null) {
+                        entries.put(tournament.getId(), entry);
+                    }
+                }
+                snapshot = new Snapshot(entries);
+            }
+            return snapshot;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Indexes a tournament if it is open and has a valid date.
+     */
+    private static Entry toEntry(Tournament tournament) {
+        if (!tournament.getRounds().isEmpty() || tournament.getDateTime() == null
+                || (tournament.getStatus() != null && CLOSED_STATUSES.contains(tournament.getStatus().toLowerCase()))) {
+            return null;
+        }
+        try {
+            return new Entry(tournament, LocalDateTime.parse(tournament.getDateTime()));
+        } catch (DateTimeParseException e) {
+            System.out.println("Not indexing tournament " + tournament.getId() + " with invalid date: "
+                    + tournament.getDateTime());
+            return null;
+        }
+    }
+
+    /**
+     * An open tournament and its parsed date.
+     */
+    private static final class Entry {
+        private final Tournament tournament;
+        private final LocalDateTime date;
+
+        private Entry(Tournament tournament, LocalDateTime date) {
+            this.tournament = tournament;
+            this.date = date;
+        }
+    }
+
+    /**
+     * The open tournaments by ID and the tree over their MMR windows.
+     */
+    private static final class Snapshot {
+        private final Map<String, Entry> entries;
+        private final IntervalTree<Entry> tree;
+
+        private Snapshot(Map<String, Entry> entries) {
+            this.entries = entries;
+            this.tree = IntervalTree.of(entries.values(), entry -> entry.tournament.getMinMMR(),
+                    entry -> entry.tournament.getMaxMMR());
+        }
+    }
+}
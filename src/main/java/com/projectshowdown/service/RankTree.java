@@ -0,0 +1,233 @@
+package com.projectshowdown.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * An order-statistics tree: a sorted set that also finds an item by its
+ * position and the position of an item.
+ *
+ * It is a treap whose nodes count the items below them. Adding, removing,
+ * finding the position of an item and finding the item at a position take
+ * O(log n) expected time, and reading k items from a position takes
+ * O(log n + k). Items must not change how they compare while in the tree;
+ * replace them instead. Not thread-safe.
+ *
+ * @param <T> The type of the items.
+ */
+public final class RankTree<T> {
+
+    private final Comparator<? super T> order;
+    private final SplittableRandom priorities = new SplittableRandom();
+    private Node<T> root;
+
+    /**
+     * @param order The order of the items. Items that compare equal are the same
+     *              item.
+     */
+    public RankTree(Comparator<? super T> order) {
+        this.order = order;
+    }
+
+    /**
+     * @return The number of items.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds an item, unless an equal item is already in the tree.
+     *
+     * @param item The item.
+     * @return True if the item was added.
+     */
+    public boolean add(T item) {
+        if (indexOf(item) >= 0) {
+            return false;
+        }
+        Node<T>[] parts = split(root, item);
+        root = merge(merge(parts[0], new Node<>(item, priorities.nextInt())), parts[1]);
+        return true;
+    }
+
+    /**
+     * Removes an item.
+     *
+     * @param item The item, or an item equal to it.
+     * @return True if the item was in the tree.
+     */
+    public boolean remove(T item) {
+        if (indexOf(item) < 0) {
+            return false;
+        }
+        root = remove(root, item);
+        return true;
+    }
+
+    /**
+     * Finds the position of an item.
+     *
+     * @param item The item.
+     * @return The number of items before it, or -1 if it is not in the tree.
+     */
+    public int indexOf(T item) {
+        int before = 0;
+        Node<T> node = root;
+        while (node != null) {
+            int comparison = order.compare(item, node.item);
+            if (comparison < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left);
+                if (comparison == 0) {
+                    return before;
+                }
+                before++;
+                node = node.right;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Finds the item at a position.
+     *
+     * @param index The position, starting at 0.
+     * @return The item.
+     * @throws IndexOutOfBoundsException If there is no item at the position.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("No item at " + index + " of " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.item;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Reads the items from a position on, in order.
+     *
+     * @param from  The first position, starting at 0.
+     * @param count The most items to read.
+     * @return The items, fewer than {@code count} at the end of the tree.
+     */
+    public List<T> range(int from, int count) {
+        List<T> items = new ArrayList<>(Math.max(0, Math.min(count, size() - from)));
+        if (from < 0 || count <= 0) {
+            return items;
+        }
+        // Descend to the first item, keeping the ancestors still to be read
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        Node<T> node = root;
+        int index = from;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                pending.push(node);
+                node = node.left;
+            } else if (index == leftSize) {
+                pending.push(node);
+                break;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        while (!pending.isEmpty() && items.size() < count) {
+            Node<T> next = pending.pop();
+            items.add(next.item);
+            for (Node<T> child = next.right; child != null; child = child.left) {
+                pending.push(child);
+            }
+        }
+        return items;
+    }
+
+    private static int size(Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Splits a subtree into the items before a key and the others.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<T>[] split(Node<T> node, T key) {
+        if (node == null) {
+            return new Node[] { null, null };
+        }
+        if (order.compare(node.item, key) < 0) {
+            Node<T>[] parts = split(node.right, key);
+            node.right = parts[0];
+            parts[0] = node.update();
+            return parts;
+        }
+        Node<T>[] parts = split(node.left, key);
+        node.left = parts[1];
+        parts[1] = node.update();
+        return parts;
+    }
+
+    /**
+     * Joins two subtrees whose items are all ordered before the other's.
+     */
+    private Node<T> merge(Node<T> before, Node<T> after) {
+        if (before == null) {
+            return after;
+        }
+        if (after == null) {
+            return before;
+        }
+        if (before.priority > after.priority) {
+            before.right = merge(before.right, after);
+            return before.update();
+        }
+        after.left = merge(before, after.left);
+        return after.update();
+    }
+
+    private Node<T> remove(Node<T> node, T item) {
+        int comparison = order.compare(item, node.item);
+        if (comparison == 0) {
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = remove(node.left, item);
+        } else {
+            node.right = remove(node.right, item);
+        }
+        return node.update();
+    }
+
+    private static final class Node<T> {
+        private final T item;
+        private final int priority;
+        private Node<T> left;
+        private Node<T> right;
+        private int size = 1;
+
+        private Node(T item, int priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+
+        private Node<T> update() {
+            size = 1 + RankTree.size(left) + RankTree.size(right);
+            return this;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.projectshowdown.service;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Elo ratings with K-factors, calculated in rating periods.
+ *
+ * Every match of a period is scored against the ratings the players had when
+ * the period began, and each player's changes are applied together when it
+ * ends, so the order of the matches within a period does not matter. Ratings,
+ * peaks and match counts are kept in primitive arrays indexed by player.
+ * Players who never meet, directly or through common opponents, cannot affect
+ * each other's ratings, so these groups are rated independently and in
+ * parallel. Rating m matches takes O(m log m) time.
+ */
+public final class RatingEngine {
+
+    /**
+     * The K-factor of players with fewer than {@value #PROVISIONAL_MATCHES}
+     * rated matches, whose rating is still moving to their level.
+     */
+    public static final double PROVISIONAL_K = 40;
+
+    /**
+     * The K-factor of established players below {@value #ESTABLISHED_ELO}.
+     */
+    public static final double STANDARD_K = 20;
+
+    /**
+     * The K-factor of players at or above {@value #ESTABLISHED_ELO}.
+     */
+    public static final double TOP_K = 10;
+
+    public static final int PROVISIONAL_MATCHES = 30;
+    public static final double ESTABLISHED_ELO = 2400;
+
+    private RatingEngine() {
+    }
+
+    /**
+     * @param elo          The player's Elo.
+     * @param ratedMatches The number of matches the player has been rated on.
+     * @return The most the player's Elo can move in one match.
+     */
+    public static double kFactor(double elo, int ratedMatches) {
+        if (ratedMatches < PROVISIONAL_MATCHES) {
+            return PROVISIONAL_K;
+        }
+        return elo >= ESTABLISHED_ELO ? TOP_K : STANDARD_K;
+    }
+
+    /**
+     * @param elo         The player's Elo.
+     * @param opponentElo The opponent's Elo.
+     * @return The player's expected score against the opponent, from 0 to 1.
+     */
+    public static double expectedScore(double elo, double opponentElo) {
+        return 1 / (1 + Math.pow(10, (opponentElo - elo) / 400));
+    }
+
+    /**
+     * Rates matches, period by period.
+     *
+     * @param ratings  Each player's Elo, updated in place.
+     * @param peaks    Each player's peak Elo, raised in place.
+     * @param played   Each player's number of rated matches, updated in place.
+     * @param results  The matches.
+     * @param parallel Whether to rate unconnected groups of players in parallel.
+     */
+    public static void rate(double[] ratings, double[] peaks, int[] played, Results results, boolean parallel) {
+        int m = results.size;
+        if (m == 0) {
+            return;
+        }
+        int[] order = byPeriod(results);
+
+        // Group the matches by connected group of players, keeping them by period
+        int[] parent = new int[ratings.length];
+        for (int i = 0; i < parent.length; i++) {
+            parent[i] = i;
+        }
+        for (int i = 0; i < m; i++) {
+            union(parent, results.player1[i], results.player2[i]);
+        }
+        int[] groupOfRoot = new int[ratings.length];
+        Arrays.fill(groupOfRoot, -1);
+        int[] groupOf = new int[m];
+        int groups = 0;
+        for (int i = 0; i < m; i++) {
+            int root = find(parent, results.player1[i]);
+            if (groupOfRoot[root] < 0) {
+                groupOfRoot[root] = groups++;
+            }
+            groupOf[i] = groupOfRoot[root];
+        }
+        int[] groupStart = new int[groups + 1];
+        for (int i = 0; i < m; i++) {
+            groupStart[groupOf[i] + 1]++;
+        }
+        for (int g = 0; g < groups; g++) {
+            groupStart[g + 1] += groupStart[g];
+        }
+        int[] grouped = new int[m];
+        int[] next = Arrays.copyOf(groupStart, groups);
+        for (int match : order) {
+            grouped[next[groupOf[match]]++] = match;
+        }
+
+        // Groups share no players, so they update disjoint elements of the arrays
+        double[] change = new double[ratings.length];
+        int[] count = new int[ratings.length];
+        IntStream groupIndices = IntStream.range(0, groups);
+        if (parallel) {
+            groupIndices = groupIndices.parallel();
+        }
+        groupIndices.forEach(g -> rateGroup(ratings, peaks, played, results, grouped, groupStart[g],
+                groupStart[g + 1], change, count));
+    }
+
+    /**
+     * Rates the matches of one group, already ordered by period.
+     */
+    private static void rateGroup(double[] ratings, double[] peaks, int[] played, Results results, int[] grouped,
+            int from, int to, double[] change, int[] count) {
+        int periodStart = from;
+        while (periodStart < to) {
+            int period = results.period[grouped[periodStart]];
+            int periodEnd = periodStart;
+            while (periodEnd < to && results.period[grouped[periodEnd]] == period) {
+                int match = grouped[periodEnd++];
+                int player1 = results.player1[match];
+                int player2 = results.player2[match];
+                double expected = expectedScore(ratings[player1], ratings[player2]);
+                double score = results.player1Score[match];
+                change[player1] += kFactor(ratings[player1], played[player1]) * (score - expected);
+                change[player2] += kFactor(ratings[player2], played[player2]) * (expected - score);
+                count[player1]++;
+                count[player2]++;
+            }
+            for (int i = periodStart; i < periodEnd; i++) {
+                int match = grouped[i];
+                apply(ratings, peaks, played, change, count, results.player1[match]);
+                apply(ratings, peaks, played, change, count, results.player2[match]);
+            }
+            periodStart = periodEnd;
+        }
+    }
+
+    /**
+     * Applies a player's changes for the period, once.
+     */
+    private static void apply(double[] ratings, double[] peaks, int[] played, double[] change, int[] count,
+            int player) {
+        if (count[player] == 0) {
+            return;
+        }
+        ratings[player] += change[player];
+        peaks[player] = Math.max(peaks[player], ratings[player]);
+        played[player] += count[player];
+        change[player] = 0;
+        count[player] = 0;
+    }
+
+    /**
+     * Orders the matches by period, keeping the order they were added in within
+     * a period.
+     */
+    private static int[] byPeriod(Results results) {
+        long[] keys = new long[results.size];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = ((long) results.period[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    private static int find(int[] parent, int player) {
+        while (parent[player] != player) {
+            parent[player] = parent[parent[player]];
+            player = parent[player];
+        }
+        return player;
+    }
+
+    private static void union(int[] parent, int player1, int player2) {
+        int root1 = find(parent, player1);
+        int root2 = find(parent, player2);
+        if (root1 != root2) {
+            parent[root1] = root2;
+        }
+    }
+
+    /**
+     * The results of matches between players identified by their index in the
+     * rating arrays.
+     */
+    public static final class Results {
+        private int[] period;
+        private int[] player1;
+        private int[] player2;
+        private double[] player1Score;
+        private int size;
+
+        public Results(int expectedMatches) {
+            int capacity = Math.max(expectedMatches, 16);
+            period = new int[capacity];
+            player1 = new int[capacity];
+            player2 = new int[capacity];
+            player1Score = new double[capacity];
+        }
+
+        /**
+         * Adds the result of a match.
+         *
+         * @param period       The rating period the match was played in. Periods
+         *                     are rated in increasing order.
+         * @param player1      The index of the first player.
+         * @param player2      The index of the second player.
+         * @param player1Score 1 if the first player won, 0 if they lost and 0.5
+         *                     for a draw.
+         */
+        public void add(int period, int player1, int player2, double player1Score) {
+            if (player1 == player2) {
+                throw new IllegalArgumentException("A player cannot play themselves: " + player1);
+            }
+            if (size == this.period.length) {
+                int capacity = size * 2;
+                this.period = Arrays.copyOf(this.period, capacity);
+                this.player1 = Arrays.copyOf(this.player1, capacity);
+                this.player2 = Arrays.copyOf(this.player2, capacity);
+                this.player1Score = Arrays.copyOf(this.player1Score, capacity);
+            }
+            this.period[size] = period;
+            this.player1[size] = player1;
+            this.player2[size] = player2;
+            this.player1Score[size] = player1Score;
+            size++;
+        }
+
+        /**
+         * @return The number of matches.
+         */
+        public int size() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,337 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.UserRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Applies completed matches to the players' Elo with the {@link RatingEngine}.
+ *
+ * Matches are rated in periods: a scheduled job closes the current period by
+ * rating every completed match that has not been rated yet, and
+ * {@link #recalculateAll()} replays the full history from each player's initial
+ * Elo, one period per {@code showdown.rating.period-days} days of match dates.
+ * The new Elo, peak Elo and MMR of the players are written back in batched
+ * writes, the matches are then marked as rated, and both are recorded in the
+ * {@link MatchLedger}.
+ */
+@Service
+public class RatingService {
+
+    public static final String ELO_FIELD = UserService.PLAYER_DETAILS_FIELD + ".elo";
+    public static final String PEAK_ELO_FIELD = UserService.PLAYER_DETAILS_FIELD + ".peakElo";
+    public static final String RATED_MATCHES_FIELD = UserService.PLAYER_DETAILS_FIELD + ".ratedMatches";
+    public static final String INITIAL_ELO_FIELD = UserService.PLAYER_DETAILS_FIELD + ".initialElo";
+    /** What each score added to the winner's Elo before matches were rated in periods. */
+    public static final int LEGACY_ELO_GAINED_WHEN_YOU_WIN = 25;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private MmrIndex mmrIndex;
+
+    @Autowired
+    private Leaderboard leaderboard;
+
+    @Autowired
+    private MatchLedger matchLedger;
+
+    @Value("${showdown.rating.period-days:1}")
+    private int periodDays = 1;
+
+    // Serializes rating periods, recalculations and the legacy migration
+    private final ReentrantLock ratingLock = new ReentrantLock();
+
+    /**
+     * Closes the current rating period on a schedule. Failures are logged and
+     * the matches are rated in the next period.
+     */
+    @Scheduled(cron = "${showdown.rating.period-cron:0 0 3 * * *}")
+    public void closeRatingPeriodScheduled() {
+        try {
+            int rated = closeRatingPeriod();
+            if (rated > 0) {
+                System.out.println("Rated " + rated + " matches");
+            }
+        } catch (ExecutionException | RuntimeException e) {
+            System.out.println("Failed to close the rating period: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Rates every completed match that has not been rated yet, as one period.
+     *
+     * @return The number of matches rated.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public int closeRatingPeriod() throws ExecutionException, InterruptedException {
+        ratingLock.lock();
+        try {
+            List<Match> unrated = new ArrayList<>();
+            Set<String> playerIds = new HashSet<>();
+            for (Match match : matchRepository.findAllUnrated()) {
+                unrated.add(match);
+                if (match.rateable()) {
+                    playerIds.add(match.getPlayer1Id());
+                    playerIds.add(match.getPlayer2Id());
+                }
+            }
+            if (unrated.isEmpty()) {
+                return 0;
+            }
+
+            Roster roster = new Roster(userRepository.findAllById(playerIds).values(), false);
+            RatingEngine.Results results = new RatingEngine.Results(unrated.size());
+            int rated = 0;
+            for (Match match : unrated) {
+                if (roster.add(results, 0, match)) {
+                    rated++;
+                }
+            }
+            RatingEngine.rate(roster.ratings, roster.peaks, roster.played, results, true);
+            write(roster);
+            markRated(unrated);
+            matchLedger.recordPeriodClosed();
+            return rated;
+        } finally {
+            ratingLock.unlock();
+        }
+    }
+
+    /**
+     * Recalculates every player's Elo from their initial Elo by replaying all
+     * completed matches, one period at a time. Peak Elos are never lowered.
+     * Legacy matches are migrated first; see {@link #migrateLegacyMatches()}.
+     *
+     * @return The number of matches rated.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public int recalculateAll() throws ExecutionException, InterruptedException {
+        ratingLock.lock();
+        try {
+            migrateLegacyMatches();
+            Roster roster = new Roster(userRepository.findAllByRole(UserService.PLAYER_ROLE), true);
+            List<Match> matches = matchRepository.findAllCompleted();
+            RatingEngine.Results results = new RatingEngine.Results(matches.size());
+            List<Match> unrated = new ArrayList<>();
+            int rated = 0;
+            for (Match match : matches) {
+                if (!match.isRated()) {
+                    unrated.add(match);
+                }
+                Integer period = periodOf(match);
+                if (period != null && roster.add(results, period, match)) {
+                    rated++;
+                }
+            }
+            RatingEngine.rate(roster.ratings, roster.peaks, roster.played, results, true);
+            write(roster);
+            markRated(unrated);
+            matchLedger.recordRecalculated(roster.users, unrated);
+            return rated;
+        } finally {
+            ratingLock.unlock();
+        }
+    }
+
+    /**
+     * Migrates the matches scored before matches were rated in periods, when
+     * each score added {@value #LEGACY_ELO_GAINED_WHEN_YOU_WIN} to the winner's
+     * Elo straight away. The legacy matches are marked as rated, so they are not
+     * applied again, and each winner's initial Elo is lowered by what they
+     * gained from them, so that {@link #recalculateAll()} replays them from the
+     * Elo the player had before. Run once before the first rating period is
+     * closed; running it again finds no legacy matches.
+     *
+     * @return The number of legacy matches migrated.
+     * @throws ExecutionException   If an error occurs during the Firestore
+     *                              operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public int migrateLegacyMatches() throws ExecutionException, InterruptedException {
+        ratingLock.lock();
+        try {
+            List<Match> legacy = matchRepository.findAllLegacyCompleted();
+            if (legacy.isEmpty()) {
+                return 0;
+            }
+            Map<String, Integer> wins = new HashMap<>();
+            for (Match match : legacy) {
+                if (match.winnerId() != null) {
+                    wins.merge(match.winnerId(), 1, Integer::sum);
+                }
+            }
+
+            Map<String, Map<String, Object>> updates = new HashMap<>();
+            for (UserDTO user : userRepository.findAllById(wins.keySet()).values()) {
+                Player player = user.getPlayerDetails();
+                if (player == null) {
+                    continue;
+                }
+                // Players already rated in a period recorded their Elo then, legacy gains included
+                double initialElo = player.getInitialElo() == null ? player.getElo() : player.getInitialElo();
+                updates.put(user.getId(), Map.of(INITIAL_ELO_FIELD,
+                        initialElo - wins.get(user.getId()) * LEGACY_ELO_GAINED_WHEN_YOU_WIN));
+            }
+            if (!updates.isEmpty()) {
+                userRepository.updateAll(updates);
+                updates.keySet().forEach(userCache::invalidate);
+            }
+            markRated(legacy);
+            return legacy.size();
+        } finally {
+            ratingLock.unlock();
+        }
+    }
+
+    /**
+     * Finds the rating period a match was played in, or null if its date is not
+     * set.
+     */
+    private Integer periodOf(Match match) {
+        if (!match.rateable() || match.getDateTime() == null) {
+            return null;
+        }
+        try {
+            return (int) Math.floorDiv(LocalDateTime.parse(match.getDateTime()).toLocalDate().toEpochDay(),
+                    (long) Math.max(periodDays, 1));
+        } catch (DateTimeParseException e) {
+            System.out.println("Not rating match " + match.getId() + " with invalid date: " + match.getDateTime());
+            return null;
+        }
+    }
+
+    /**
+     * Writes the ratings of the players who changed in batched writes, and
+     * passes the new Elos on to the caches and the leaderboard.
+     */
+    private void write(Roster roster) throws ExecutionException, InterruptedException {
+        Map<String, Map<String, Object>> updates = new HashMap<>();
+        for (int i = 0; i < roster.users.size(); i++) {
+            Player player = roster.users.get(i).getPlayerDetails();
+            boolean firstRated = player.getInitialElo() == null;
+            if (roster.ratings[i] == player.getElo() && roster.peaks[i] == player.getPeakElo()
+                    && roster.played[i] == player.getRatedMatches() && !firstRated) {
+                continue;
+            }
+            Map<String, Object> fields = new HashMap<>();
+            if (firstRated) {
+                fields.put(INITIAL_ELO_FIELD, roster.initial[i]);
+            }
+            player.setElo(roster.ratings[i]);
+            player.setPeakElo(roster.peaks[i]);
+            player.setRatedMatches(roster.played[i]);
+            player.refreshMMR(mmrIndex.today());
+            fields.put(ELO_FIELD, player.getElo());
+            fields.put(PEAK_ELO_FIELD, player.getPeakElo());
+            fields.put(RATED_MATCHES_FIELD, player.getRatedMatches());
+            fields.put(UserService.PLAYER_DETAILS_FIELD + ".mmr", player.getMmr());
+            fields.put(UserService.PLAYER_DETAILS_FIELD + ".mmrValidUntil", player.getMmrValidUntil());
+            updates.put(roster.users.get(i).getId(), fields);
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        userRepository.updateAll(updates);
+        for (String userId : updates.keySet()) {
+            userCache.invalidate(userId);
+            mmrIndex.invalidate(userId);
+            leaderboard.updateElo(userId, (double) updates.get(userId).get(ELO_FIELD));
+        }
+    }
+
+    private void markRated(List<Match> matches) throws ExecutionException, InterruptedException {
+        Map<String, Map<String, Object>> updates = new HashMap<>();
+        for (Match match : matches) {
+            updates.put(match.getId(), Map.of(MatchRepository.RATED_FIELD, true));
+        }
+        matchRepository.updateAll(updates);
+    }
+
+    /**
+     * The players being rated and their ratings, by index.
+     */
+    private static final class Roster {
+        private final List<UserDTO> users = new ArrayList<>();
+        private final Map<String, Integer> indices = new HashMap<>();
+        private final double[] initial;
+        private final double[] ratings;
+        private final double[] peaks;
+        private final int[] played;
+
+        /**
+         * @param fromInitial Whether to start from each player's initial Elo
+         *                    rather than their current one.
+         */
+        private Roster(Collection<UserDTO> candidates, boolean fromInitial) {
+            for (UserDTO user : candidates) {
+                if (user.getPlayerDetails() != null) {
+                    indices.put(user.getId(), users.size());
+                    users.add(user);
+                }
+            }
+            initial = new double[users.size()];
+            ratings = new double[users.size()];
+            peaks = new double[users.size()];
+            played = new int[users.size()];
+            for (int i = 0; i < users.size(); i++) {
+                Player player = users.get(i).getPlayerDetails();
+                // Players rated before the initial Elo was recorded start from their current Elo
+                initial[i] = player.getInitialElo() == null ? player.getElo() : player.getInitialElo();
+                ratings[i] = fromInitial ? initial[i] : player.getElo();
+                peaks[i] = Math.max(player.getPeakElo(), ratings[i]);
+                played[i] = fromInitial ? 0 : player.getRatedMatches();
+            }
+        }
+
+        /**
+         * Adds a match if both of its players are on the roster.
+         *
+         * @return True if the match was added.
+         */
+        private boolean add(RatingEngine.Results results, int period, Match match) {
+            if (!match.rateable()) {
+                return false;
+            }
+            Integer player1 = indices.get(match.getPlayer1Id());
+            Integer player2 = indices.get(match.getPlayer2Id());
+            if (player1 == null || player2 == null) {
+                return false;
+            }
+            results.add(period, player1, player2, match.player1Result());
+            return true;
+        }
+    }
+}
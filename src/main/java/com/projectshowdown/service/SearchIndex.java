@@ -0,0 +1,410 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.SearchResultDTO;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.TournamentRepository;
+import com.projectshowdown.repositories.UserRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index of player names and countries, and tournament
+ * names, venues and countries.
+ *
+ * Text is split into lowercase words without accents, kept in a
+ * {@link SearchTrie}. Each word of a query matches the indexed words equal to
+ * it, starting with it, or, for words of 4 characters or more, within 1 typo
+ * (2 from 8 characters). A result must match every word of the query, and is
+ * scored by how closely each word matched, matches in the name counting twice
+ * as much. The index is loaded from storage on first use, and every change to
+ * a player or tournament must be passed to {@link #putPlayer(UserDTO)},
+ * {@link #putTournament(Tournament)} or one of the remove methods.
+ */
+@Component
+public class SearchIndex {
+
+    public static final String PLAYER_TYPE = "player";
+    public static final String TOURNAMENT_TYPE = "tournament";
+
+    /**
+     * The largest page of results returned at once.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * The most words of a query that are matched.
+     */
+    public static final int MAX_QUERY_WORDS = 8;
+
+    private static final double EXACT_SCORE = 1.0;
+    private static final double PREFIX_SCORE = 0.75;
+    private static final double TYPO_SCORE = 0.5;
+    private static final double DETAIL_WEIGHT = 0.5;
+
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<SearchResultDTO> ORDER = Comparator
+            .comparingDouble(SearchResultDTO::getScore).reversed()
+            .thenComparing(result -> result.getName() == null ? "" : result.getName(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(SearchResultDTO::getId);
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SearchTrie<Document> trie = new SearchTrie<>();
+
+    /**
+     * The indexed documents, by type and ID.
+     */
+    private final Map<String, Document> documents = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * Searches the players and tournaments.
+     *
+     * @param query The words to search for.
+     * @param type  {@value #PLAYER_TYPE} or {@value #TOURNAMENT_TYPE} to search
+     *              only one of them, or null for both.
+     * @param page  The page, starting at 0.
+     * @param size  The number of results per page, at most
+     *              {@value #MAX_PAGE_SIZE}.
+     * @return The results, best first, then by name.
+     * @throws ExecutionException   If an error occurs while loading the index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public List<SearchResultDTO> search(String query, String type, int page, int size)
+            throws ExecutionException, InterruptedException {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+        if (type != null && !PLAYER_TYPE.equals(type) && !TOURNAMENT_TYPE.equals(type)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Type must be " + PLAYER_TYPE + " or " + TOURNAMENT_TYPE + ".");
+        }
+        List<String> words = new ArrayList<>(new LinkedHashSet<>(words(query)));
+        if (words.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "The search query must contain a word.");
+        }
+        if (words.size() > MAX_QUERY_WORDS) {
+            words = words.subList(0, MAX_QUERY_WORDS);
+        }
+
+        load();
+        List<SearchResultDTO> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Map<Document, Double> scores = null;
+            for (String word : words) {
+                Map<Document, Double> matches = match(word, type);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    // Every word must match
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((document, score) -> score + matches.get(document));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            for (Map.Entry<Document, Double> scored : scores.entrySet()) {
+                Document document = scored.getKey();
+                results.add(new SearchResultDTO(document.type, document.id, document.name, document.detail,
+                        scored.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        results.sort(ORDER);
+        long start = (long) page * size;
+        if (start >= results.size()) {
+            return List.of();
+        }
+        return results.subList((int) start, (int) Math.min(start + size, results.size()));
+    }
+
+    /**
+     * Finds a player or tournament by name, e.g. one given to the chatbot. A
+     * document whose name has exactly the same words is preferred, otherwise the
+     * best search result is returned.
+     *
+     * @param name The name.
+     * @param type {@value #PLAYER_TYPE} or {@value #TOURNAMENT_TYPE}.
+     * @return The best match, or an empty Optional if nothing matches.
+     * @throws ExecutionException   If an error occurs while loading the index.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<SearchResultDTO> findByName(String name, String type)
+            throws ExecutionException, InterruptedException {
+        List<String> words = words(name);
+        if (words.isEmpty()) {
+            return Optional.empty();
+        }
+        load();
+        lock.readLock().lock();
+        try {
+            for (Document document : trie.get(words.get(0))) {
+                if (type.equals(document.type) && words.equals(words(document.name))) {
+                    return Optional.of(new SearchResultDTO(document.type, document.id, document.name,
+                            document.detail, EXACT_SCORE * words.size()));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return search(name, type, 0, 1).stream().findFirst();
+    }
+
+    /**
+     * Scores the documents containing a word of the query, keeping each
+     * document's best match.
+     */
+    private Map<Document, Double> match(String word, String type) {
+        Map<Document, Double> scores = new HashMap<>();
+        SearchTrie.Visitor<Document> scorer = (found, items, distance) -> {
+            double score = found.equals(word) ? EXACT_SCORE : distance == 0 ? PREFIX_SCORE : TYPO_SCORE / distance;
+            for (Document document : items) {
+                if (type == null || type.equals(document.type)) {
+                    double weighted = document.nameWords.contains(found) ? score : score * DETAIL_WEIGHT;
+                    scores.merge(document, weighted, Math::max);
+                }
+            }
+        };
+        trie.forEachWithPrefix(word, scorer);
+        int typos = typosAllowed(word);
+        if (typos > 0) {
+            trie.forEachWithin(word, typos, (found, items, distance) -> {
+                if (distance > 0) {
+                    scorer.visit(found, items, distance);
+                }
+            });
+        }
+        return scores;
+    }
+
+    /**
+     * The number of typos allowed in a word of a query.
+     */
+    static int typosAllowed(String word) {
+        if (word.length() < 4) {
+            return 0;
+        }
+        return word.length() < 8 ? 1 : 2;
+    }
+
+    /**
+     * Splits text into lowercase words without accents.
+     *
+     * @param text The text, or null.
+     * @return The words, in order.
+     */
+    public static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = ACCENTS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> words = new ArrayList<>();
+        for (String word : SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * @return The number of players and tournaments indexed, 0 before loading.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a player, or removes the user if they are not a player.
+     * Ignored until the index is loaded, as loading reads the latest state.
+     *
+     * @param user The user as stored.
+     */
+    public void putPlayer(UserDTO user) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            if (isPlayer(user)) {
+                place(toDocument(user));
+            } else {
+                unplace(PLAYER_TYPE, user.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a tournament. Ignored until the index is loaded, as
+     * loading reads the latest state.
+     *
+     * @param tournament The tournament as stored.
+     */
+    public void putTournament(Tournament tournament) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                place(toDocument(tournament));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a player.
+     *
+     * @param userId The ID of the player.
+     */
+    public void removePlayer(String userId) {
+        remove(PLAYER_TYPE, userId);
+    }
+
+    /**
+     * Removes a tournament.
+     *
+     * @param tournamentId The ID of the tournament.
+     */
+    public void removeTournament(String tournamentId) {
+        remove(TOURNAMENT_TYPE, tournamentId);
+    }
+
+    private void remove(String type, String id) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                unplace(type, id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a document, replacing its previous version.
+     */
+    private void place(Document document) {
+        unplace(document.type, document.id);
+        documents.put(document.key(), document);
+        for (String word : document.words) {
+            trie.add(word, document);
+        }
+    }
+
+    private void unplace(String type, String id) {
+        Document previous = documents.remove(type + ":" + id);
+        if (previous != null) {
+            for (String word : previous.words) {
+                trie.remove(word, previous);
+            }
+        }
+    }
+
+    /**
+     * Loads every player and tournament from storage on first use.
+     */
+    private void load() throws ExecutionException, InterruptedException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            for (UserDTO user : userRepository.findAllByRole(UserService.PLAYER_ROLE)) {
+                if (isPlayer(user)) {
+                    place(toDocument(user));
+                }
+            }
+            for (Tournament tournament : tournamentRepository.findAll()) {
+                place(toDocument(tournament));
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static boolean isPlayer(UserDTO user) {
+        return UserService.PLAYER_ROLE.equalsIgnoreCase(user.getRole()) && user.getPlayerDetails() != null;
+    }
+
+    private static Document toDocument(UserDTO user) {
+        return new Document(PLAYER_TYPE, user.getId(), user.getName(), user.getPlayerDetails().getCountry());
+    }
+
+    private static Document toDocument(Tournament tournament) {
+        String detail = tournament.getVenue() == null ? tournament.getCountry()
+                : tournament.getCountry() == null ? tournament.getVenue()
+                : tournament.getVenue() + ", " + tournament.getCountry();
+        return new Document(TOURNAMENT_TYPE, tournament.getId(), tournament.getName(), detail);
+    }
+
+    /**
+     * An indexed player or tournament. Documents are compared by identity, so a
+     * replaced document is removed from the trie by its own words.
+     */
+    private static final class Document {
+        private final String type;
+        private final String id;
+        private final String name;
+        private final String detail;
+        private final Set<String> nameWords;
+        private final Set<String> words;
+
+        private Document(String type, String id, String name, String detail) {
+            this.type = type;
+            this.id = id;
+            this.name = name;
+            this.detail = detail;
+            this.nameWords = new LinkedHashSet<>(words(name));
+            this.words = new LinkedHashSet<>(nameWords);
+            this.words.addAll(words(detail));
+        }
+
+        private String key() {
+            return type + ":" + id;
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.projectshowdown.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A trie of words, each mapped to the items that contain it.
+ *
+ * Finding the words that start with a prefix takes O(p + k) time for a prefix
+ * of length p and k words below it. Finding the words within an edit distance
+ * of a word walks the trie with one row of the Levenshtein table per node and
+ * stops at the branches where every cell of the row is over the distance, so
+ * only the part of the trie near the word is visited. Not thread-safe.
+ *
+ * @param <T> The type of the items.
+ */
+public final class SearchTrie<T> {
+
+    /**
+     * Receives the words found and their items.
+     *
+     * @param <T> The type of the items.
+     */
+    @FunctionalInterface
+    public interface Visitor<T> {
+        /**
+         * @param word     The word found.
+         * @param items    The items containing the word. Must not be modified.
+         * @param distance The edit distance from the word searched for, 0 for a
+         *                 prefix match.
+         */
+        void visit(String word, Set<T> items, int distance);
+    }
+
+    private final Node<T> root = new Node<>();
+    private int words;
+
+    /**
+     * @return The number of distinct words.
+     */
+    public int size() {
+        return words;
+    }
+
+    /**
+     * Maps a word to an item.
+     *
+     * @param word The word.
+     * @param item The item containing it.
+     */
+    public void add(String word, T item) {
+        Node<T> node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.childOrAdd(word.charAt(i));
+        }
+        if (node.items == null) {
+            node.items = new HashSet<>(2);
+            words++;
+        }
+        node.items.add(item);
+    }
+
+    /**
+     * Removes an item from a word, and the word once it has no items.
+     *
+     * @param word The word.
+     * @param item The item containing it.
+     */
+    public void remove(String word, T item) {
+        remove(root, word, 0, item);
+    }
+
+    /**
+     * @return Whether the node can be dropped.
+     */
+    private boolean remove(Node<T> node, String word, int depth, T item) {
+        if (depth == word.length()) {
+            if (node.items != null && node.items.remove(item) && node.items.isEmpty()) {
+                node.items = null;
+                words--;
+            }
+        } else {
+            Node<T> child = node.child(word.charAt(depth));
+            if (child != null && remove(child, word, depth + 1, item)) {
+                node.removeChild(word.charAt(depth));
+            }
+        }
+        return node.items == null && node.size == 0;
+    }
+
+    /**
+     * Finds the items of a word.
+     *
+     * @param word The word.
+     * @return The items containing the word, empty if there are none. Must not
+     *         be modified.
+     */
+    public Set<T> get(String word) {
+        Node<T> node = root;
+        for (int i = 0; i < word.length() && node != null; i++) {
+            node = node.child(word.charAt(i));
+        }
+        return node == null || node.items == null ? Set.of() : node.items;
+    }
+
+    /**
+     * Finds every word that starts with a prefix, including the prefix itself.
+     *
+     * @param prefix  The prefix.
+     * @param visitor Called once for each word, with a distance of 0.
+     */
+    public void forEachWithPrefix(String prefix, Visitor<T> visitor) {
+        Node<T> node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.child(prefix.charAt(i));
+        }
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), visitor);
+        }
+    }
+
+    private static <T> void collect(Node<T> node, StringBuilder word, Visitor<T> visitor) {
+        if (node.items != null) {
+            visitor.visit(word.toString(), node.items, 0);
+        }
+        for (int i = 0; i < node.size; i++) {
+            word.append(node.keys[i]);
+            collect(node.children[i], word, visitor);
+            word.setLength(word.length() - 1);
+        }
+    }
+
+    /**
+     * Finds every word within an edit distance of a word, counting insertions,
+     * deletions and substitutions of one character.
+     *
+     * @param word        The word.
+     * @param maxDistance The largest distance.
+     * @param visitor     Called once for each word, with its distance.
+     */
+    public void forEachWithin(String word, int maxDistance, Visitor<T> visitor) {
+        // One row per depth, reused across branches. Deeper rows are added as needed
+        List<int[]> rows = new ArrayList<>();
+        int[] first = new int[word.length() + 1];
+        for (int i = 0; i < first.length; i++) {
+            first[i] = i;
+        }
+        rows.add(first);
+        within(root, new StringBuilder(), word, rows, maxDistance, visitor);
+    }
+
+    private static <T> void within(Node<T> node, StringBuilder prefix, String word, List<int[]> rows,
+            int maxDistance, Visitor<T> visitor) {
+        int depth = prefix.length();
+        int[] row = rows.get(depth);
+        if (node.items != null && row[word.length()] <= maxDistance) {
+            visitor.visit(prefix.toString(), node.items, row[word.length()]);
+        }
+        if (rows.size() == depth + 1) {
+            rows.add(new int[row.length]);
+        }
+        int[] next = rows.get(depth + 1);
+        for (int c = 0; c < node.size; c++) {
+            char key = node.keys[c];
+            next[0] = row[0] + 1;
+            int smallest = next[0];
+            for (int i = 1; i < row.length; i++) {
+                int substitution = row[i - 1] + (word.charAt(i - 1) == key ? 0 : 1);
+                next[i] = Math.min(substitution, Math.min(row[i] + 1, next[i - 1] + 1));
+                smallest = Math.min(smallest, next[i]);
+            }
+            if (smallest <= maxDistance) {
+                prefix.append(key);
+                within(node.children[c], prefix, word, rows, maxDistance, visitor);
+                prefix.setLength(depth);
+            }
+        }
+    }
+
+    /**
+     * A node, with its children in character order.
+     */
+    private static final class Node<T> {
+        private char[] keys = new char[0];
+        private Node<T>[] children = newArray(0);
+        private int size;
+        private Set<T> items;
+
+        @SuppressWarnings("unchecked")
+        private static <T> Node<T>[] newArray(int length) {
+            return (Node<T>[]) new Node<?>[length];
+        }
+
+        private Node<T> child(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private Node<T> childOrAdd(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index >= 0) {
+                return children[index];
+            }
+            index = -index - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(children, index, children, index + 1, size - index);
+            Node<T> child = new Node<>();
+            keys[index] = key;
+            children[index] = child;
+            size++;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int index = Arrays.binarySearch(keys, 0, size, key);
+            if (index < 0) {
+                return;
+            }
+            System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+            System.arraycopy(children, index + 1, children, index, size - index - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+}
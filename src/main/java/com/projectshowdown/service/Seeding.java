@@ -0,0 +1,108 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.User;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Ranks the entrants of a draw and places them on the lines of a
+ * {@link Bracket}.
+ *
+ * Each entrant's MMR is read once from the {@link MmrIndex} into a primitive
+ * array. Entrants are ranked by sorting their indices on that array, and placed
+ * entrants are marked in a {@link BitSet}. Seeding n entrants takes O(n log n) time.
+ */
+public final class Seeding {
+
+    private Seeding() {
+    }
+
+    /**
+     * Reads the MMR of every entrant once.
+     *
+     * @param users    The entrants.
+     * @param mmrIndex The index to read the MMRs from.
+     * @return The MMR of each entrant, at the same index.
+     */
+    public static double[] mmrSnapshot(List<User> users, MmrIndex mmrIndex) {
+        double[] mmr = new double[users.size()];
+        for (int i = 0; i < mmr.length; i++) {
+            User user = users.get(i);
+            mmr[i] = mmrIndex.mmrOf(user.getId(), user.getPlayerDetails());
+        }
+        return mmr;
+    }
+
+    /**
+     * Ranks entrants by MMR, highest first. Entrants with the same MMR keep their
+     * order. The indices are merge sorted, so no boxing or comparator is
+     * involved.
+     *
+     * @param mmr The MMR of each entrant.
+     * @return The entrants' indices, strongest first.
+     */
+    public static int[] rank(double[] mmr) {
+        int n = mmr.length;
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        int[] merged = new int[n];
+        for (int width = 1; width < n; width <<= 1) {
+            for (int low = 0; low < n; low += width << 1) {
+                int middle = Math.min(low + width, n);
+                int high = Math.min(low + (width << 1), n);
+                int left = low;
+                int right = middle;
+                int out = low;
+                while (left < middle && right < high) {
+                    // Take from the right run only if strictly stronger, which keeps ties in order
+                    merged[out++] = mmr[order[right]] > mmr[order[left]] ? order[right++] : order[left++];
+                }
+                while (left < middle) {
+                    merged[out++] = order[left++];
+                }
+                while (right < high) {
+                    merged[out++] = order[right++];
+                }
+            }
+            int[] swap = order;
+            order = merged;
+            merged = swap;
+        }
+        return order;
+    }
+
+    /**
+     * Places ranked entrants on the lines of a draw.
+     *
+     * @param bracket The draw, laid out for as many entrants as are ranked.
+     * @param ranking The entrants' indices, strongest first.
+     * @return The index of the entrant on each line, or {@link Bracket#BYE}.
+     * @throws IllegalArgumentException If the ranking does not fit the draw or
+     *                                  lists an entrant twice.
+     */
+    public static int[] placeOnLines(Bracket bracket, int[] ranking) {
+        if (ranking.length != bracket.getEntrants()) {
+            throw new IllegalArgumentException("The draw is for " + bracket.getEntrants() + " entrants, but "
+                    + ranking.length + " are ranked");
+        }
+        int[] lines = new int[bracket.getDrawSize()];
+        BitSet placed = new BitSet(ranking.length);
+        for (int line = 0; line < lines.length; line++) {
+            int rank = bracket.entrantAt(line);
+            if (rank == Bracket.BYE) {
+                lines[line] = Bracket.BYE;
+                continue;
+            }
+            int entrant = ranking[rank];
+            if (placed.get(entrant)) {
+                throw new IllegalArgumentException("Entrant " + entrant + " is ranked twice");
+            }
+            placed.set(entrant);
+            lines[line] = entrant;
+        }
+        return lines;
+    }
+}
@@ -0,0 +1,121 @@
+package com.projectshowdown.service;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps a small number of authenticated SMTP connections open so that emails
+ * can be sent without a new TCP, TLS and AUTH handshake each time.
+ *
+ * A caller borrows a connection, sends any number of messages over it and
+ * releases it. At most {@code size} connections are open at once; further
+ * callers wait for one to be released. An idle connection is checked before
+ * it is handed out and replaced if the server has closed it.
+ */
+@Component
+public class SmtpTransportPool implements DisposableBean {
+
+    private final JavaMailSenderImpl mailSender;
+    private final Semaphore permits;
+    private final BlockingQueue<Transport> idle;
+
+    public SmtpTransportPool(JavaMailSenderImpl mailSender, @Value("${showdown.mail.pool.size:2}") int size) {
+        this.mailSender = mailSender;
+        this.permits = new Semaphore(size, true);
+        this.idle = new ArrayBlockingQueue<>(size);
+    }
+
+    /**
+     * Borrows a connected transport, opening one if no idle connection is usable.
+     *
+     * @return A connected transport, to be handed back with {@link #release} or
+     *         {@link #invalidate}.
+     * @throws MessagingException If a connection cannot be opened or the thread is
+     *                            interrupted while waiting.
+     */
+    public Transport borrow() throws MessagingException {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while waiting for an SMTP connection", e);
+        }
+
+        Transport transport = idle.poll();
+        if (transport != null && transport.isConnected()) {
+            return transport;
+        }
+        if (transport != null) {
+            closeQuietly(transport);
+        }
+        try {
+            return connect();
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a transport to the pool for reuse.
+     *
+     * @param transport A transport from {@link #borrow}.
+     */
+    public void release(Transport transport) {
+        if (!transport.isConnected() || !idle.offer(transport)) {
+            closeQuietly(transport);
+        }
+        permits.release();
+    }
+
+    /**
+     * Closes a transport that failed, freeing its place in the pool.
+     *
+     * @param transport A transport from {@link #borrow}.
+     */
+    public void invalidate(Transport transport) {
+        closeQuietly(transport);
+        permits.release();
+    }
+
+    @Override
+    public void destroy() {
+        Transport transport;
+        while ((transport = idle.poll()) != null) {
+            closeQuietly(transport);
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Session session = mailSender.getSession();
+        // The same fallback as JavaMailSenderImpl, whose protocol is unset unless configured
+        String protocol = mailSender.getProtocol();
+        if (protocol == null) {
+            protocol = session.getProperty("mail.transport.protocol");
+            if (protocol == null) {
+                protocol = JavaMailSenderImpl.DEFAULT_PROTOCOL;
+            }
+        }
+        Transport transport = session.getTransport(protocol);
+        transport.connect(mailSender.getHost(), mailSender.getPort(), mailSender.getUsername(),
+                mailSender.getPassword());
+        return transport;
+    }
+
+    private static void closeQuietly(Transport transport) {
+        try {
+            transport.close();
+        } catch (MessagingException e) {
+            // The connection is being discarded, so a failed QUIT does not matter
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.TournamentRepository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory directory of tournaments and their finals, so questions about a
+ * tournament's date, venue or final are answered without reading the
+ * tournaments and matches collections.
+ *
+ * The directory is loaded from storage on first use: every tournament, then
+ * the finals of the tournaments that have reached them in one batched read.
+ * Every change to a tournament must be passed to {@link #put(Tournament)},
+ * every new match to {@link #putMatch(Match)} and every final score to
+ * {@link #recordResult(Match, int, int)}.
+ */
+@Component
+public class TournamentDirectory {
+
+    /**
+     * The name of the last round, and the stage of its match.
+     */
+    public static final String FINALS_STAGE = "Finals";
+
+    @Autowired
+    private TournamentRepository tournamentRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Tournament> tournaments = new HashMap<>();
+
+    /**
+     * The final of each tournament that has reached it, by tournament ID.
+     */
+    private final Map<String, Match> finals = new HashMap<>();
+
+    private volatile boolean loaded;
+
+    /**
+     * Finds a tournament.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @return The tournament, which must not be modified, or an empty Optional
+     *         if it does not exist.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              directory.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<Tournament> find(String tournamentId) throws ExecutionException, InterruptedException {
+        load();
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(tournaments.get(tournamentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the final of a tournament.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @return The final, which must not be modified, or an empty Optional if the
+     *         tournament has not reached it.
+     * @throws ExecutionException   If an error occurs while loading the
+     *                              directory.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Optional<Match> finalOf(String tournamentId) throws ExecutionException, InterruptedException {
+        load();
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(finals.get(tournamentId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return The number of tournaments, 0 before loading.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return tournaments.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds or replaces a tournament. Ignored until the directory is loaded, as
+     * loading reads the latest state.
+     *
+     * @param tournament The tournament as stored.
+     */
+    public void put(Tournament tournament) {
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                tournaments.put(tournament.getId(), tournament);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps a new match if it is a final between two players. Other matches are
+     * ignored.
+     *
+     * @param match The match as saved.
+     */
+    public void putMatch(Match match) {
+        if (!isFinal(match)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                finals.put(match.getTournamentId(), match);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Records the final score of a match if it is a final. The match passed in
+     * is not changed.
+     *
+     * @param match        The match as it was before the score.
+     * @param player1Score The first player's score.
+     * @param player2Score The second player's score.
+     */
+    public void recordResult(Match match, int player1Score, int player2Score) {
+        putMatch(new Match(match.getId(), match.getTournamentId(), match.getPlayer1Id(), match.getPlayer2Id(),
+                player1Score, player2Score, match.getMmrDifference(), match.getDateTime(), match.getStage(), true));
+    }
+
+    private static boolean isFinal(Match match) {
+        return FINALS_STAGE.equals(match.getStage()) && match.getPlayer1Id() != null
+                && match.getPlayer2Id() != null;
+    }
+
+    /**
+     * Loads every tournament and final from storage on first use.
+     */
+    private void load() throws ExecutionException, InterruptedException {
+        if (loaded) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                return;
+            }
+            List<String> finalIds = new ArrayList<>();
+            for (Tournament tournament : tournamentRepository.findAll()) {
+                tournaments.put(tournament.getId(), tournament);
+                List<Round> rounds = tournament.getRounds();
+                Round last = rounds.isEmpty() ? null : rounds.get(rounds.size() - 1);
+                if (last != null && FINALS_STAGE.equals(last.getName()) && last.getMatches() != null) {
+                    finalIds.addAll(last.getMatches());
+                }
+            }
+            if (!finalIds.isEmpty()) {
+                for (Match match : matchRepository.findAllById(finalIds).values()) {
+                    if (isFinal(match)) {
+                        finals.put(match.getTournamentId(), match);
+                    }
+                }
+            }
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -1,45 +1,57 @@
 package com.projectshowdown.service;
 
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.CollectionReference;
-import com.google.cloud.firestore.DocumentReference;
-import com.google.cloud.firestore.DocumentSnapshot;
-import com.google.cloud.firestore.Firestore;
-import com.google.cloud.firestore.Query;
-import com.google.cloud.firestore.QueryDocumentSnapshot;
-import com.google.cloud.firestore.QuerySnapshot;
-import com.google.cloud.firestore.WriteResult;
-import com.google.firebase.cloud.FirestoreClient;
 import com.google.firebase.cloud.StorageClient;
 import org.springframework.web.multipart.MultipartFile;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
 
 import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import com.projectshowdown.dto.UserDTO;
 import com.projectshowdown.dto.UserMapper;
 import com.projectshowdown.entities.Match;
 import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.RoundProgress;
 import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.exceptions.PlayerNotFoundException;
 import com.projectshowdown.exceptions.TournamentNotFoundException;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.TournamentRepository;
+import com.projectshowdown.repositories.UserRepository;
 
 import jakarta.mail.MessagingException;
 
 import com.projectshowdown.entities.User;
 import com.projectshowdown.events.MatchUpdatedEvent;
 
+/**
+ * Business logic for tournaments.
+ * The asynchronous {@code ...Async} variants compose the repository futures
+ * and read independent documents concurrently. Email sends and bracket
+ * generation block, so they run on the application task executor instead of a
+ * Firestore callback thread.
+ */
 @Service
 public class TournamentService {
     public static final String TOURNAMENTS_DB = "tournaments";
@@ -51,6 +63,12 @@ public class TournamentService {
     public static final String ORGANIZER_ROLE = "organizer";
     public static final String ORGANIZER_ID_FIELD = "organizerId";
     public static final String STATUS_FIELD = "status";
+
+    /**
+     * The largest page of eligible tournaments returned at once.
+     */
+    public static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     UserService userService;
 
@@ -60,14 +78,42 @@ public class TournamentService {
     @Autowired
     NotificationService notificationService;
 
+    @Autowired
+    TournamentRepository tournamentRepository;
+
+    @Autowired
+    MatchRepository matchRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    MatchEventLanes matchEventLanes;
+
+    @Autowired
+    MmrIndex mmrIndex;
+
+    @Autowired
+    OpenTournamentIndex openTournamentIndex;
+
+    @Autowired
+    SearchIndex searchIndex;
+
+    @Autowired
+    TournamentDirectory tournamentDirectory;
+
+    @Autowired
+    ChatbotResponseCache chatbotResponseCache;
+
     /**
-     * Retrieves the Firestore database instance.
-     *
-     * @return The Firestore instance.
+     * The number of players seeded in each draw.
      */
-    private Firestore getFirestore() {
-        return FirestoreClient.getFirestore();
-    }
+    @Value("${showdown.bracket.seeds:4}")
+    int seedCount;
+
+    @Autowired
+    @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    Executor taskExecutor;
 
     /**
      * Retrieves all tournaments from Firestore.
@@ -78,17 +124,16 @@ public class TournamentService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public List<Tournament> getAllTournaments() throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        QuerySnapshot querySnapshot = db.collection(TOURNAMENTS_DB).get().get();
+        return tournamentRepository.findAll();
+    }
 
-        // Map the documents directly to Tournament objects
-        return querySnapshot.getDocuments().stream()
-                .map(document -> {
-                    Tournament tournament = document.toObject(Tournament.class);
-                    tournament.setId(document.getId());
-                    return tournament;
-                })
-                .collect(Collectors.toList());
+    /**
+     * Asynchronous variant of {@link #getAllTournaments()}.
+     *
+     * @return A future of all Tournament objects.
+     */
+    public CompletableFuture<List<Tournament>> getAllTournamentsAsync() {
+        return tournamentRepository.findAllAsync();
     }
 
     /**
@@ -102,17 +147,17 @@ public class TournamentService {
      */
     public List<Tournament> getTournamentsByOrganizerId(String organizerId)
             throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        QuerySnapshot querySnapshot = db.collection(TOURNAMENTS_DB).get().get();
+        return tournamentRepository.findByOrganizerId(organizerId);
+    }
 
-        // Map the documents directly to Tournament objects
-        return querySnapshot.getDocuments().stream()
-                .map(document -> {
-                    Tournament tournament = document.toObject(Tournament.class);
-                    tournament.setId(document.getId());
-                    return tournament;
-                })
-                .collect(Collectors.toList());
+    /**
+     * Asynchronous variant of {@link #getTournamentsByOrganizerId(String)}.
+     *
+     * @param organizerId The organizer's ID.
+     * @return A future of the tournaments organized by the given organizer.
+     */
+    public CompletableFuture<List<Tournament>> getTournamentsByOrganizerIdAsync(String organizerId) {
+        return tournamentRepository.findByOrganizerIdAsync(organizerId);
     }
 
     /**
@@ -125,9 +170,90 @@ public class TournamentService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public List<Tournament> getTournamentsByPlayerId(String userId) throws ExecutionException, InterruptedException {
-        CollectionReference tournaments = getFirestore().collection(TOURNAMENTS_DB);
-        Query query = tournaments.whereArrayContains(USERS_FIELD, userId);
-        return query.get().get().toObjects(Tournament.class);
+        return tournamentRepository.findByPlayerId(userId);
+    }
+
+    /**
+     * Asynchronous variant of {@link #getTournamentsByPlayerId(String)}.
+     *
+     * @param userId The ID of the player.
+     * @return A future of the tournaments the player is registered in.
+     */
+    public CompletableFuture<List<Tournament>> getTournamentsByPlayerIdAsync(String userId) {
+        return tournamentRepository.findByPlayerIdAsync(userId);
+    }
+
+    /**
+     * Retrieves a page of the open tournaments a player is eligible for: those
+     * whose MMR window contains the player's MMR and whose date has not passed.
+     * Served from the {@link OpenTournamentIndex}.
+     *
+     * @param playerId The ID of the player.
+     * @param from     The earliest tournament date, or null for now. Dates that
+     *                 have passed are never returned.
+     * @param to       The latest tournament date, or null for any.
+     * @param country  The country of the tournaments, or null for any.
+     * @param page     The page, starting at 0.
+     * @param size     The number of tournaments per page, at most
+     *                 {@value #MAX_PAGE_SIZE}.
+     * @return The tournaments of the page, earliest first.
+     * @throws ExecutionException      If an error occurs during the asynchronous
+     *                                 Firestore operation.
+     * @throws InterruptedException    If the operation is interrupted.
+     * @throws PlayerNotFoundException If the player does not exist.
+     * @throws ResponseStatusException If the page is invalid or the user is not
+     *                                 a player.
+     */
+    public List<Tournament> getEligibleTournaments(String playerId, LocalDateTime from, LocalDateTime to,
+            String country, int page, int size) throws ExecutionException, InterruptedException {
+        checkPage(page, size);
+        return eligiblePage(userService.getUser(playerId), from, to, country, page, size);
+    }
+
+    /**
+     * Asynchronous variant of
+     * {@link #getEligibleTournaments(String, LocalDateTime, LocalDateTime, String, int, int)}.
+     * The index is read on the task executor, as it is loaded from storage on
+     * first use.
+     *
+     * @return A future of the tournaments of the page, earliest first.
+     */
+    public CompletableFuture<List<Tournament>> getEligibleTournamentsAsync(String playerId, LocalDateTime from,
+            LocalDateTime to, String country, int page, int size) {
+        checkPage(page, size);
+        return userService.getUserAsync(playerId).thenApplyAsync(player -> {
+            try {
+                return eligiblePage(player, from, to, country, page, size);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, taskExecutor);
+    }
+
+    private static void checkPage(int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must be at least 0 and size between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+    }
+
+    private List<Tournament> eligiblePage(UserDTO player, LocalDateTime from, LocalDateTime to, String country,
+            int page, int size) throws ExecutionException, InterruptedException {
+        if (player.getPlayerDetails() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "User " + player.getId() + " is not a player.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Tournament> eligible = openTournamentIndex.findEligible(
+                mmrIndex.mmrOf(player.getId(), player.getPlayerDetails()),
+                from == null || from.isBefore(now) ? now : from, to, country);
+        long start = (long) page * size;
+        if (start >= eligible.size()) {
+            return List.of();
+        }
+        return eligible.subList((int) start, (int) Math.min(start + size, eligible.size()));
     }
 
     /**
@@ -141,20 +267,44 @@ public class TournamentService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public String addTournament(Tournament tournament, String userId) throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(TOURNAMENTS_DB).document();
-        tournament.setId(docRef.getId());
+        tournament.setId(tournamentRepository.nextId());
         tournament.setOrganizerId(userId);
 
         try {
-            docRef.set(tournament);
-            return docRef.getId();
+            tournamentRepository.save(tournament);
+            openTournamentIndex.put(tournament);
+            searchIndex.putTournament(tournament);
+            tournamentDirectory.put(tournament);
+            return tournament.getId();
         } catch (Exception e) {
             e.printStackTrace();
             return "Error adding tournament: " + e.getMessage();
         }
     }
 
+    /**
+     * Asynchronous variant of {@link #addTournament(Tournament, String)}.
+     *
+     * @param tournament The Tournament object to add.
+     * @param userId     The ID of the organizer.
+     * @return A future of the ID of the created tournament or an error message.
+     */
+    public CompletableFuture<String> addTournamentAsync(Tournament tournament, String userId) {
+        tournament.setId(tournamentRepository.nextId());
+        tournament.setOrganizerId(userId);
+
+        return tournamentRepository.saveAsync(tournament).handle((saved, e) -> {
+            if (e == null) {
+                openTournamentIndex.put(tournament);
+                searchIndex.putTournament(tournament);
+                tournamentDirectory.put(tournament);
+                return tournament.getId();
+            }
+            e.printStackTrace();
+            return "Error adding tournament: " + e.getMessage();
+        });
+    }
+
     /**
      * Retrieves a specific tournament by ID.
      *
@@ -166,16 +316,20 @@ public class TournamentService {
      * @throws TournamentNotFoundException If the tournament is not found.
      */
     public Tournament getTournament(String tournamentId) throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(TOURNAMENTS_DB).document(tournamentId);
-        DocumentSnapshot document = docRef.get().get();
-        if (document.exists()) {
-            Tournament tournament = document.toObject(Tournament.class);
-            tournament.setId(tournamentId);
-            return tournament;
-        } else {
-            throw new TournamentNotFoundException(tournamentId);
-        }
+        return tournamentRepository.findById(tournamentId)
+                .orElseThrow(() -> new TournamentNotFoundException(tournamentId));
+    }
+
+    /**
+     * Asynchronous variant of {@link #getTournament(String)}.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @return A future of the Tournament object, failed with
+     *         {@link TournamentNotFoundException} if the tournament is not found.
+     */
+    public CompletableFuture<Tournament> getTournamentAsync(String tournamentId) {
+        return tournamentRepository.findByIdAsync(tournamentId)
+                .thenApply(tournament -> tournament.orElseThrow(() -> new TournamentNotFoundException(tournamentId)));
     }
 
     /**
@@ -188,69 +342,165 @@ public class TournamentService {
      * @throws InterruptedException If the operation is interrupted.
      */
     public Map<String, Object> displayTournament(String tournamentId) throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        Map<String, Object> response = new HashMap<>();
+        return displayTournament(tournamentId, new AtomicInteger());
+    }
 
+    /**
+     * Displays a detailed view of a tournament, including rounds and player data.
+     * Every match and player referenced by the bracket is deduplicated and loaded
+     * with one batched read per collection, so the whole view costs three round
+     * trips regardless of the draw size.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param readCounter  Incremented by the number of documents read.
+     * @return A map representing the tournament details.
+     * @throws ExecutionException   If an error occurs during the asynchronous
+     *                              Firestore operation.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public Map<String, Object> displayTournament(String tournamentId, AtomicInteger readCounter)
+            throws ExecutionException, InterruptedException {
         // Fetch tournament details
-        DocumentSnapshot tournamentSnapshot = db.collection(TOURNAMENTS_DB).document(tournamentId).get().get();
-        if (!tournamentSnapshot.exists()) {
-            throw new IllegalArgumentException("Tournament not found");
-        }
-        response.putAll(tournamentSnapshot.getData());
-
-        // Fetch and enrich rounds
-        List<Map<String, Object>> rounds = (List<Map<String, Object>>) tournamentSnapshot.get(ROUNDS_FIELD);
-        if (rounds != null) {
-            List<Map<String, Object>> enrichedRounds = rounds.stream().map(round -> {
-                List<String> matchIds = (List<String>) round.get(MATCHES_FIELD);
-                List<Map<String, Object>> matchesData = new ArrayList<>();
-
-                if (matchIds != null) {
-                    matchIds.forEach(matchId -> {
-                        try {
-                            DocumentSnapshot matchSnapshot = db.collection(MATCHES_FIELD).document(matchId).get().get();
-                            if (matchSnapshot.exists()) {
-                                Map<String, Object> matchData = matchSnapshot.getData();
-                                enrichMatchWithPlayerData(db, matchData);
-                                matchesData.add(matchData);
-                            }
-                        } catch (ExecutionException | InterruptedException e) {
-                            e.printStackTrace();
-                        }
-                    });
-                }
-                round.put(MATCHES_FIELD, matchesData);
-                return round;
-            }).collect(Collectors.toList());
-            response.put(ROUNDS_FIELD, enrichedRounds);
+        Map<String, Object> tournamentData = tournamentRepository.findDocument(tournamentId)
+                .orElseThrow(() -> new IllegalArgumentException("Tournament not found"));
+        readCounter.incrementAndGet();
+
+        List<Map<String, Object>> rounds = listField(tournamentData, ROUNDS_FIELD);
+        if (rounds == null) {
+            return new HashMap<>(tournamentData);
         }
 
-        return response;
+        // Gather every match in the bracket, then every player in those matches
+        Set<String> matchIds = bracketMatchIds(rounds);
+        Map<String, Map<String, Object>> matchDocuments = matchIds.isEmpty()
+                ? new HashMap<>() : matchRepository.findDocuments(matchIds);
+        readCounter.addAndGet(matchIds.size());
+
+        Set<String> playerIds = bracketPlayerIds(matchDocuments);
+        Map<String, Map<String, Object>> playerDocuments = playerIds.isEmpty()
+                ? new HashMap<>() : userRepository.findDocuments(playerIds);
+        readCounter.addAndGet(playerIds.size());
+
+        return bracketView(tournamentData, rounds, matchDocuments, playerDocuments);
     }
 
     /**
-     * Enriches a match's data with player information.
+     * Asynchronous variant of {@link #displayTournament(String, AtomicInteger)},
+     * with the same three batched reads.
      *
-     * @param db        The Firestore instance.
-     * @param matchData The match data to enrich.
+     * @param tournamentId The ID of the tournament.
+     * @param readCounter  Incremented by the number of documents read.
+     * @return A future of a map representing the tournament details.
      */
-    private void enrichMatchWithPlayerData(Firestore db, Map<String, Object> matchData) {
-        try {
-            String player1Id = (String) matchData.get(PLAYER_1_ID_FIELD);
-            String player2Id = (String) matchData.get(PLAYER_2_ID_FIELD);
+    public CompletableFuture<Map<String, Object>> displayTournamentAsync(String tournamentId,
+            AtomicInteger readCounter) {
+        return tournamentRepository.findDocumentAsync(tournamentId).thenCompose(found -> {
+            Map<String, Object> tournamentData = found
+                    .orElseThrow(() -> new IllegalArgumentException("Tournament not found"));
+            readCounter.incrementAndGet();
+
+            List<Map<String, Object>> rounds = listField(tournamentData, ROUNDS_FIELD);
+            if (rounds == null) {
+                return CompletableFuture.completedFuture(new HashMap<>(tournamentData));
+            }
 
-            if (player1Id != null) {
-                DocumentSnapshot player1Snapshot = db.collection(USERS_FIELD).document(player1Id).get().get();
-                matchData.put("player1",
-                        player1Snapshot.exists() ? player1Snapshot.getData() : "Player account deleted");
+            Set<String> matchIds = bracketMatchIds(rounds);
+            CompletableFuture<Map<String, Map<String, Object>>> matchDocuments = matchIds.isEmpty()
+                    ? CompletableFuture.completedFuture(new HashMap<>()) : matchRepository.findDocumentsAsync(matchIds);
+            readCounter.addAndGet(matchIds.size());
+
+            return matchDocuments.thenCompose(matches -> {
+                Set<String> playerIds = bracketPlayerIds(matches);
+                CompletableFuture<Map<String, Map<String, Object>>> playerDocuments = playerIds.isEmpty()
+                        ? CompletableFuture.completedFuture(new HashMap<>())
+                        : userRepository.findDocumentsAsync(playerIds);
+                readCounter.addAndGet(playerIds.size());
+
+                return playerDocuments.thenApply(players -> bracketView(tournamentData, rounds, matches, players));
+            });
+        });
+    }
+
+    private static Set<String> bracketMatchIds(List<Map<String, Object>> rounds) {
+        Set<String> matchIds = new LinkedHashSet<>();
+        for (Map<String, Object> round : rounds) {
+            List<String> roundMatchIds = listField(round, MATCHES_FIELD);
+            if (roundMatchIds != null) {
+                matchIds.addAll(roundMatchIds);
             }
-            if (player2Id != null) {
-                DocumentSnapshot player2Snapshot = db.collection(USERS_FIELD).document(player2Id).get().get();
-                matchData.put("player2",
-                        player2Snapshot.exists() ? player2Snapshot.getData() : "Player account deleted");
+        }
+        return matchIds;
+    }
+
+    private static Set<String> bracketPlayerIds(Map<String, Map<String, Object>> matchDocuments) {
+        Set<String> playerIds = new LinkedHashSet<>();
+        for (Map<String, Object> matchData : matchDocuments.values()) {
+            addIfPresent(playerIds, (String) matchData.get(PLAYER_1_ID_FIELD));
+            addIfPresent(playerIds, (String) matchData.get(PLAYER_2_ID_FIELD));
+        }
+        return playerIds;
+    }
+
+    /**
+     * Builds the tournament view, replacing the match IDs of each round with the
+     * match documents and their players.
+     */
+    private Map<String, Object> bracketView(Map<String, Object> tournamentData, List<Map<String, Object>> rounds,
+            Map<String, Map<String, Object>> matchDocuments, Map<String, Map<String, Object>> playerDocuments) {
+        Map<String, Object> response = new HashMap<>(tournamentData);
+        List<Map<String, Object>> enrichedRounds = rounds.stream().map(round -> {
+            List<String> roundMatchIds = listField(round, MATCHES_FIELD);
+            List<Map<String, Object>> matchesData = new ArrayList<>();
+
+            if (roundMatchIds != null) {
+                for (String matchId : roundMatchIds) {
+                    Map<String, Object> matchData = matchDocuments.get(matchId);
+                    if (matchData != null) {
+                        enrichMatchWithPlayerData(matchData, playerDocuments);
+                        matchesData.add(matchData);
+                    }
+                }
             }
-        } catch (ExecutionException | InterruptedException e) {
-            e.printStackTrace();
+            round.put(MATCHES_FIELD, matchesData);
+            return round;
+        }).collect(Collectors.toList());
+        response.put(ROUNDS_FIELD, enrichedRounds);
+        return response;
+    }
+
+    /**
+     * Reads a list field of a raw document. Firestore returns lists untyped, so
+     * the element type is the caller's to know.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> listField(Map<String, Object> document, String field) {
+        return (List<T>) document.get(field);
+    }
+
+    private static void addIfPresent(Set<String> ids, String id) {
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    /**
+     * Enriches a match's data with player information.
+     *
+     * @param matchData       The match data to enrich.
+     * @param playerDocuments The preloaded player documents keyed by user ID.
+     */
+    private void enrichMatchWithPlayerData(Map<String, Object> matchData,
+            Map<String, Map<String, Object>> playerDocuments) {
+        String player1Id = (String) matchData.get(PLAYER_1_ID_FIELD);
+        String player2Id = (String) matchData.get(PLAYER_2_ID_FIELD);
+
+        if (player1Id != null) {
+            Map<String, Object> player1Data = playerDocuments.get(player1Id);
+            matchData.put("player1", player1Data != null ? player1Data : "Player account deleted");
+        }
+        if (player2Id != null) {
+            Map<String, Object> player2Data = playerDocuments.get(player2Id);
+            matchData.put("player2", player2Data != null ? player2Data : "Player account deleted");
         }
     }
 
@@ -268,64 +518,143 @@ public class TournamentService {
      */
     public String updateTournament(String tournamentId, String organizerId, Map<String, Object> tournamentData)
             throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(TOURNAMENTS_DB).document(tournamentId);
-
         // Check if the tournament exists
-        DocumentSnapshot document = docRef.get().get();
-        if (!document.exists()) {
-            throw new TournamentNotFoundException(tournamentId);
-        }
+        Tournament tournament = getTournament(tournamentId);
 
         // Ensure organizer permissions
         UserDTO organizer = userService.getUser(organizerId);
-        if (!organizer.getRole().equalsIgnoreCase(ORGANIZER_ROLE) || !organizerId.equals(document.get(ORGANIZER_ID_FIELD))) {
+        if (!isOrganizerOf(organizer, organizerId, tournament)) {
             return "You are not authorized to edit this tournament.";
         }
 
         // Apply updates
-        Map<String, Object> filteredUpdates = tournamentData.entrySet().stream()
-                .filter(entry -> entry.getValue() != null)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        Map<String, Object> filteredUpdates = nonNullValues(tournamentData);
 
         // check if the update is to cancel tournament
-        if (tournamentData.containsKey(STATUS_FIELD)
-                && ((String) tournamentData.get(STATUS_FIELD)).equalsIgnoreCase("Cancelled")) {
-            // check if tournament has begun
-            Tournament tournament = getTournament(tournamentId);
-            if (tournament.inProgress()) {
-                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
-                        "You are not allowed to cancel a tournament that has already begun!");
-            }
+        if (isCancellation(tournamentData)) {
+            checkCancellable(tournament);
 
             // EMAIL NOTIFICATION TO LET REGISTERED PLAYERS KNOW ABOUT ITS CANCELLATION
-            // Retrieve the tournament name from the document
-            String tournamentName = document.getString("name");
-
             // Retrieve the list of registered users
-            List<String> registeredUsers = (List<String>) document.get(USERS_FIELD);
+            List<String> registeredUsers = tournament.getUsers();
+            List<UserDTO> players = new ArrayList<>();
             for (String userId : registeredUsers) {
-
-                try {
-                    UserDTO user = userService.getUser(userId);
-                    // Send cancellation notification to each user
-                    notificationService.notifyTournamentCancelled(user.getEmail(), tournamentName);
-                    System.out.println("Cancellation notification sent to user: " + user.getName());
-                } catch (MessagingException e) {
-                    System.out.println("Failed to send cancellation notification to user: " + userId);
-                    e.printStackTrace();
-                }
+                players.add(userService.getUser(userId));
             }
+            notifyCancellation(players, tournament.getName());
 
-            docRef.update(filteredUpdates);
+            tournamentRepository.update(tournamentId, filteredUpdates);
+            refreshIndexes(getTournament(tournamentId));
             return "Tournament with ID: " + tournamentId + " has been cancelled!";
         }
 
-        ApiFuture<WriteResult> updateWriteResult = docRef.update(filteredUpdates);
+        Instant updateTime = tournamentRepository.update(tournamentId, filteredUpdates);
+        refreshIndexes(getTournament(tournamentId));
 
         // Return success message with the update time
-        return "Tournament with ID: " + tournamentId + " updated successfully at: "
-                + updateWriteResult.get().getUpdateTime();
+        return "Tournament with ID: " + tournamentId + " updated successfully at: " + updateTime;
+    }
+
+    /**
+     * Asynchronous variant of {@link #updateTournament(String, String, Map)}. The
+     * tournament and the organizer are read concurrently, registered players are
+     * read in one batch, and cancellation emails are sent on the task executor.
+     *
+     * @param tournamentId   The ID of the tournament to update.
+     * @param organizerId    The ID of the organizer making the update.
+     * @param tournamentData The data to update.
+     * @return A future of a success message with the update time or an error
+     *         message, failed with {@link TournamentNotFoundException} if the
+     *         tournament is not found.
+     */
+    public CompletableFuture<String> updateTournamentAsync(String tournamentId, String organizerId,
+            Map<String, Object> tournamentData) {
+        CompletableFuture<UserDTO> organizerLoad = userService.getUserAsync(organizerId);
+        return getTournamentAsync(tournamentId).thenCompose(tournament -> organizerLoad.thenCompose(organizer -> {
+            if (!isOrganizerOf(organizer, organizerId, tournament)) {
+                return CompletableFuture.completedFuture("You are not authorized to edit this tournament.");
+            }
+            Map<String, Object> filteredUpdates = nonNullValues(tournamentData);
+
+            if (isCancellation(tournamentData)) {
+                checkCancellable(tournament);
+                List<String> registeredUsers = tournament.getUsers() != null ? tournament.getUsers() : List.of();
+                return userRepository.findAllByIdAsync(registeredUsers)
+                        .thenAcceptAsync(users -> {
+                            for (String userId : registeredUsers) {
+                                if (!users.containsKey(userId)) {
+                                    throw new PlayerNotFoundException(userId);
+                                }
+                            }
+                            notifyCancellation(registeredUsers.stream().map(users::get).toList(),
+                                    tournament.getName());
+                        }, taskExecutor)
+                        .thenCompose(notified -> tournamentRepository.updateAsync(tournamentId, filteredUpdates))
+                        .thenCompose(updateTime -> getTournamentAsync(tournamentId))
+                        .thenApply(updated -> {
+                            refreshIndexes(updated);
+                            return "Tournament with ID: " + tournamentId + " has been cancelled!";
+                        });
+            }
+
+            return tournamentRepository.updateAsync(tournamentId, filteredUpdates)
+                    .thenCompose(updateTime -> getTournamentAsync(tournamentId).thenApply(updated -> {
+                        refreshIndexes(updated);
+                        return "Tournament with ID: " + tournamentId + " updated successfully at: " + updateTime;
+                    }));
+        }));
+    }
+
+    /**
+     * Passes a tournament, read again after it was written, to the in-memory
+     * indexes, and removes the chatbot responses about it.
+     */
+    private void refreshIndexes(Tournament updated) {
+        openTournamentIndex.put(updated);
+        searchIndex.putTournament(updated);
+        tournamentDirectory.put(updated);
+        chatbotResponseCache.invalidateTournament(updated.getId());
+    }
+
+    private static boolean isOrganizerOf(UserDTO organizer, String organizerId, Tournament tournament) {
+        return organizer.getRole().equalsIgnoreCase(ORGANIZER_ROLE) && organizerId.equals(tournament.getOrganizerId());
+    }
+
+    private static Map<String, Object> nonNullValues(Map<String, Object> tournamentData) {
+        return tournamentData.entrySet().stream()
+                .filter(entry -> entry.getValue() != null)
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    private static boolean isCancellation(Map<String, Object> tournamentData) {
+        return tournamentData.containsKey(STATUS_FIELD)
+                && ((String) tournamentData.get(STATUS_FIELD)).equalsIgnoreCase("Cancelled");
+    }
+
+    /**
+     * Rejects the cancellation of a tournament that has already begun.
+     */
+    private static void checkCancellable(Tournament tournament) {
+        if (tournament.inProgress()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "You are not allowed to cancel a tournament that has already begun!");
+        }
+    }
+
+    /**
+     * Emails the registered players that the tournament has been cancelled, as
+     * one bulk send.
+     */
+    private void notifyCancellation(List<UserDTO> players, String tournamentName) {
+        List<String> emails = players.stream().map(UserDTO::getEmail).toList();
+        try {
+            // Send cancellation notification to every registered user
+            notificationService.notifyTournamentCancelled(emails, tournamentName);
+            System.out.println("Cancellation notification queued for " + emails.size() + " users");
+        } catch (MessagingException e) {
+            System.out.println("Failed to send cancellation notification for tournament: " + tournamentName);
+            e.printStackTrace();
+        }
     }
 
     /**
@@ -340,40 +669,64 @@ public class TournamentService {
      * @throws TournamentNotFoundException If the tournament is not found.
      */
     public String registerUser(String tournamentId, String userId) throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(TOURNAMENTS_DB).document(tournamentId);
-
         // Check if the document exists
-        DocumentSnapshot document = docRef.get().get();
-        if (!document.exists()) {
-            throw new TournamentNotFoundException(tournamentId);
-        }
-
         Tournament tournament = getTournament(tournamentId);
+        checkNotBegun(tournament);
+
+        UserDTO user = userService.getUser(userId);
+
+        // Add user to the list and update in Firebase
+        tournamentRepository.update(tournamentId, Map.of(USERS_FIELD, addRegistration(tournament, user, userId)));
+        return "Successfully registered.";
+    }
+
+    /**
+     * Asynchronous variant of {@link #registerUser(String, String)}. The
+     * tournament and the user are read concurrently.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param userId       The ID of the user to register.
+     * @return A future of a success message, failed with
+     *         {@link ResponseStatusException} if registration is not allowed.
+     */
+    public CompletableFuture<String> registerUserAsync(String tournamentId, String userId) {
+        CompletableFuture<UserDTO> userLoad = userService.getUserAsync(userId);
+        return getTournamentAsync(tournamentId).thenCompose(tournament -> {
+            checkNotBegun(tournament);
+            return userLoad.thenCompose(user -> tournamentRepository
+                    .updateAsync(tournamentId, Map.of(USERS_FIELD, addRegistration(tournament, user, userId)))
+                    .thenApply(updateTime -> "Successfully registered."));
+        });
+    }
+
+    private static void checkNotBegun(Tournament tournament) {
         if (tournament.getRounds() != null && !tournament.getRounds().isEmpty()) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Tournament has already begun.");
         }
+    }
 
-        UserDTO user = userService.getUser(userId);
+    /**
+     * Checks that a user may register for a tournament.
+     *
+     * @return The registered user IDs with the user added.
+     */
+    private List<String> addRegistration(Tournament tournament, UserDTO user, String userId) {
         if (!tournament.checkDate(user)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Tournament registration period is over.");
         }
-        if (!tournament.checkUserEligibility(user)) {
+        if (!tournament.checkUserEligibility(mmrIndex.mmrOf(userId, user.getPlayerDetails()))) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Player MMR is not eligible for this tournament.");
         }
 
         // Register user
-        List<String> users = (List<String>) document.get(USERS_FIELD);
+        List<String> users = tournament.getUsers();
         if (users == null)
             users = new ArrayList<>();
         if (users.contains(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are already registered for this tournament.");
         }
-
-        // Add user to the list and update in Firebase
         users.add(userId);
-        docRef.update(USERS_FIELD, users);
-        return "Successfully registered.";
+        return users;
     }
 
     /**
@@ -389,16 +742,35 @@ public class TournamentService {
      */
     public String cancelRegistration(String tournamentId, String userId)
             throws ExecutionException, InterruptedException {
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(TOURNAMENTS_DB).document(tournamentId);
-
         // Check if the tournament document exists
-        DocumentSnapshot document = docRef.get().get();
-        if (!document.exists()) {
-            throw new TournamentNotFoundException(tournamentId);
-        }
+        Tournament tournament = getTournament(tournamentId);
+
+        // Update the 'users' field in Firestore
+        return "UserId: " + userId + " has successfully unregistered from tournament: " + tournamentId
+                + " at: " + tournamentRepository.update(tournamentId,
+                        Map.of(USERS_FIELD, removeRegistration(tournament, userId)));
+    }
+
+    /**
+     * Asynchronous variant of {@link #cancelRegistration(String, String)}.
+     *
+     * @param tournamentId The ID of the tournament.
+     * @param userId       The ID of the user to unregister.
+     * @return A future of a success message with the unregistration timestamp.
+     */
+    public CompletableFuture<String> cancelRegistrationAsync(String tournamentId, String userId) {
+        return getTournamentAsync(tournamentId).thenCompose(tournament -> tournamentRepository
+                .updateAsync(tournamentId, Map.of(USERS_FIELD, removeRegistration(tournament, userId)))
+                .thenApply(updateTime -> "UserId: " + userId + " has successfully unregistered from tournament: "
+                        + tournamentId + " at: " + updateTime));
+    }
 
-        List<String> registeredUsers = (List<String>) document.get(USERS_FIELD);
+    /**
+     * @return The registered user IDs with the user removed.
+     * @throws ResponseStatusException If the user is not registered.
+     */
+    private static List<String> removeRegistration(Tournament tournament, String userId) {
+        List<String> registeredUsers = tournament.getUsers();
 
         // Remove the user if they are registered
         if (registeredUsers != null && registeredUsers.contains(userId)) {
@@ -406,54 +778,74 @@ public class TournamentService {
         } else {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You are not registered for this event!");
         }
+        return registeredUsers;
+    }
 
-        // Update the 'users' field in Firestore
-        WriteResult writeResult = docRef.update(USERS_FIELD, registeredUsers).get();
-
-        return "UserId: " + userId + " has successfully unregistered from tournament: " + tournamentId
-                + " at: " + writeResult.getUpdateTime();
+    /**
+     * Queues a match update on its tournament's lane. The score update returns
+     * without waiting for bracket progression, achievements and emails, and the
+     * updates of one tournament are handled one at a time, in order, so two
+     * scores can never progress the same tournament at once.
+     *
+     * @param event The MatchUpdatedEvent containing details about the updated
+     *              match.
+     */
+    @EventListener
+    public void onMatchUpdated(MatchUpdatedEvent event) {
+        matchEventLanes.submit(event.getTournamentId(), () -> {
+            try {
+                handleMatchUpdated(event);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        });
     }
 
     /**
-     * Handles the event when a match is updated and progresses the tournament if
-     * required.
+     * Handles the event when a match is updated and advances its winner through
+     * the bracket. As soon as a match and the other match feeding the same
+     * next-round slot are both complete, the next-round match is created and its
+     * players are notified, without waiting for the rest of the round. Whether
+     * the final has been played comes from the round's completed-match count
+     * written with the score.
      *
      * @param event The MatchUpdatedEvent containing details about the updated
      *              match.
      * @throws ExecutionException   If an error occurs during Firestore operations.
      * @throws InterruptedException If the operation is interrupted.
      */
-    @EventListener
     public void handleMatchUpdated(MatchUpdatedEvent event) throws ExecutionException, InterruptedException {
+        RoundProgress roundProgress = event.getRoundProgress();
+        if (roundProgress == null || !roundProgress.isNewlyCompleted()) {
+            // Only the score that completes a match moves its winner on
+            return;
+        }
+
         String tournamentId = event.getTournamentId();
         Tournament tournament = getTournament(tournamentId);
 
-        // Get matches in the last round
-        List<String> lastRoundMatches = tournament.getRounds().get(tournament.getRounds().size() - 1).getMatches();
-
-        System.out.println("Checking if all matches in the round are completed...");
-        if (matchService.checkCurrentRoundCompletion(lastRoundMatches)) {
-            System.out.println("All matches completed for this round.");
+        // If it is the final round, update the tournament's status and user
+        // achievements
+        if (roundProgress.getTotalMatches() == 1) {
+            Map<String, Object> statusToUpdate = new HashMap<>();
+            statusToUpdate.put(STATUS_FIELD, "Ended");
+            tournamentRepository.update(tournamentId, statusToUpdate);
+            refreshIndexes(getTournament(tournamentId));
 
-            // If it is the final round, update the tournament's status and user
-            // achievements
-            if (lastRoundMatches.size() == 1) {
-                Map<String, Object> statusToUpdate = new HashMap<>();
-                statusToUpdate.put(STATUS_FIELD, "Ended");
-                updateTournament(tournamentId, tournament.getOrganizerId(), statusToUpdate);
+            // Update achievements for winner and loser
+            updateUserAchievements(tournament, event.getMatch().winnerId(), true);
+            updateUserAchievements(tournament, event.getMatch().loserId(), false);
 
-                // Update achievements for winner and loser
-                updateUserAchievements(tournament, event.getMatch().winnerId(), true);
-                updateUserAchievements(tournament, event.getMatch().loserId(), false);
+            System.out.println("Final round completed. No further progression needed.");
+            return;
+        }
 
-                System.out.println("Final round completed. No further progression needed.");
-            } else {
-                // Progress to the next round
-                String progressionResult = progressTournament(tournamentId);
-                System.out.println("Tournament progression result: " + progressionResult);
-            }
-        } else {
-            System.out.println("Not all matches in this round are completed.");
+        int roundIndex = roundProgress.getRoundIndex();
+        if (advanceFeederPair(tournament, roundIndex, tournament.slotOf(event.getMatch().getId(), roundIndex))) {
+            System.out.println("Next match generated for tournament id " + tournamentId);
         }
     }
 
@@ -511,76 +903,86 @@ public class TournamentService {
 
     public String progressTournament(String tournamentId) throws ExecutionException, InterruptedException {
         Tournament tournament = getTournament(tournamentId);
-        String nextRoundName = determineNextRoundName(tournament);
 
-        if ("Error".equals(nextRoundName)) {
-            return "The tournament has already completed!";
-        } else if ("Round 1".equals(nextRoundName)) {
+        if (tournament.getRounds().isEmpty()) {
             System.out.println("Initializing tournament with the first round.");
-            return initializeTournament(tournament, nextRoundName);
+            return initializeTournament(tournament);
+        } else if (tournament.getRounds().size() >= Bracket.roundCount(drawSize(tournament))) {
+            return "The tournament has already completed!";
         }
 
-        System.out.println("Generating next round: " + nextRoundName);
-        String result = generateNextRound(tournament, nextRoundName);
+        System.out.println("Generating next round: "
+                + Bracket.roundName(drawSize(tournament), tournament.getRounds().size()));
+        String result = generateNextRound(tournament);
         System.out.println("Next round generation result: " + result);
 
-        // Save the updated tournament in Firestore
-        Firestore db = getFirestore();
-        db.collection(TOURNAMENTS_DB).document(tournamentId).set(tournament).get();
-
         return "Next round processed. Result: " + result;
     }
 
     /**
-     * Determines the name of the next round in the tournament based on the current
-     * round count.
+     * Asynchronous variant of {@link #progressTournament(String)}. Bracket
+     * generation reads the feeder matches pair by pair, so it runs on the task
+     * executor.
      *
-     * @param tournament The Tournament object containing current round and user
-     *                   details.
-     * @return The name of the next round, or "Error" if the tournament has already
-     *         completed.
+     * @param tournamentId The ID of the tournament to progress.
+     * @return A future of a message indicating the result of the progression.
      */
-    private String determineNextRoundName(Tournament tournament) {
-        int roundCount = tournament.getRounds() != null ? tournament.getRounds().size() : 0;
-        int totalUsers = tournament.getUsers().size();
+    public CompletableFuture<String> progressTournamentAsync(String tournamentId) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return progressTournament(tournamentId);
+            } catch (ExecutionException e) {
+                throw new CompletionException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CompletionException(e);
+            }
+        }, taskExecutor);
+    }
 
-        switch (roundCount) {
-            case 0:
-                return "Round 1";
-            case 1:
-                return totalUsers == 32 ? "Round 2" : "QuarterFinals";
-            case 2:
-                return totalUsers == 32 ? "QuarterFinals" : "Semi Finals";
-            case 3:
-                return totalUsers == 32 ? "Semi Finals" : "Finals";
-            case 4:
-                return totalUsers == 32 ? "Finals" : "Error";
-            default:
-                return "Error";
-        }
+    /**
+     * Calculates the number of lines of a started tournament's draw.
+     */
+    private static int drawSize(Tournament tournament) {
+        return tournament.roundSize(0) * 2;
     }
 
     /**
-     * Initializes the first round of a tournament by generating matches based on
-     * player MMR.
+     * Initializes the first round of a tournament. The registered players are
+     * ranked by MMR with {@link Seeding}, each player's MMR being calculated
+     * once, and laid out with {@link Bracket}: the top players are seeded,
+     * the others are drawn by lot, and if the number of players is not a power of
+     * two the top seeds get byes. A bye is saved as a completed match without a
+     * second player, so its player is advanced like any other winner. Second-round
+     * matches between two players with byes are created straight away.
      *
      * @param tournament The Tournament object to initialize.
-     * @param roundName  The name of the round being initialized (e.g., "Round 1").
      * @return A message indicating success or failure of initialization.
      */
-    public String initializeTournament(Tournament tournament, String roundName) {
+    public String initializeTournament(Tournament tournament) {
         try {
             List<User> users = userService.getRegisteredUsers(tournament.getUsers());
-            users.sort(Comparator.comparingDouble(user -> user.getPlayerDetails().calculateMMR()));
 
             if (users.size() != tournament.getNumPlayers()) {
                 return "The required amount of registered players have not been met!";
             }
 
-            List<String> matches = generateMatchesWithSeed(tournament, users, roundName, 0);
-            addRoundToTournament(tournament, "Initial", matches);
+            double[] mmr = Seeding.mmrSnapshot(users, mmrIndex);
+            Bracket bracket = Bracket.of(users.size(), seedCount, tournament.getId().hashCode());
+            int[] lines = Seeding.placeOnLines(bracket, Seeding.rank(mmr));
+            List<Match> matches = generateFirstRound(tournament, bracket, users, lines, mmr);
+            addRoundToTournament(tournament, bracket.roundName(0), matches);
+            notifyPlayersMatched(tournament, matches, users);
+
+            int generated = matches.size() - bracket.getByes();
+            for (int slot = 0; slot < bracket.roundSize(0) && bracket.getRounds() > 1; slot += 2) {
+                if (bracket.isBye(slot) && bracket.isBye(slot + 1)
+                        && advanceFeederPair(tournament, 0, slot)) {
+                    generated++;
+                }
+            }
 
-            return matches.size() + " matches have been generated for tournament id " + tournament.getId();
+            return generated + " matches have been generated for tournament id " + tournament.getId();
         } catch (Exception e) {
             e.printStackTrace();
             return e.getMessage();
@@ -588,23 +990,28 @@ public class TournamentService {
     }
 
     /**
-     * Generates the matches for the next round in a tournament based on the winners
-     * of the previous round.
+     * Generates every later-round match whose two feeder matches are complete
+     * but which does not exist yet. Matches are normally generated one at a time
+     * as scores come in, so this only catches up on advancements that were
+     * missed, such as for tournaments that were in progress before matches were
+     * advanced individually.
      *
      * @param tournament The Tournament object to progress.
-     * @param roundName  The name of the next round to generate.
      * @return A message indicating the result of the round generation.
      */
-    public String generateNextRound(Tournament tournament, String roundName) {
+    public String generateNextRound(Tournament tournament) {
         try {
-            List<String> lastRound = getLastRoundMatches(tournament);
-            List<User> winners = getWinningUsers(lastRound);
-            List<String> matches = generateFollowUpMatches(tournament, winners, roundName, tournament.totalMatches());
-
-            addRoundToTournament(tournament, roundName, matches);
+            int generated = 0;
+            for (int roundIndex = 0; roundIndex < tournament.getRounds().size()
+                    && tournament.roundSize(roundIndex) > 1; roundIndex++) {
+                for (int slot = 0; slot < tournament.roundSize(roundIndex); slot += 2) {
+                    if (advanceFeederPair(tournament, roundIndex, slot)) {
+                        generated++;
+                    }
+                }
+            }
 
-            return matches.size() + " matches have been generated for tournament id " + tournament.getId() + " for the "
-                    + roundName;
+            return generated + " matches have been generated for tournament id " + tournament.getId();
         } catch (Exception e) {
             e.printStackTrace();
             return e.getMessage();
@@ -612,81 +1019,96 @@ public class TournamentService {
     }
 
     /**
-     * Retrieves the matches from the last round of the tournament and sorts them by
-     * match ID.
+     * Creates the next-round match fed by the match at a slot and its sibling if
+     * both are complete, then notifies its two players. The matches at slots 2k
+     * and 2k + 1 of a round feed slot k of the next round. The match is added to
+     * the local tournament as well.
      *
-     * @param tournament The Tournament object containing round details.
-     * @return A sorted list of match IDs from the last round.
+     * @param tournament The tournament.
+     * @param roundIndex The position of the feeder matches' round.
+     * @param slot       The position of either feeder match in its round.
+     * @return True if this call created the next-round match.
      */
-    private List<String> getLastRoundMatches(Tournament tournament) {
-        List<String> lastRound = tournament.getRounds().get(tournament.getRounds().size() - 1).getMatches();
-        lastRound.sort(Comparator.comparingInt(id -> Integer.parseInt(id.split("_")[1])));
-        return lastRound;
+    private boolean advanceFeederPair(Tournament tournament, int roundIndex, int slot)
+            throws ExecutionException, InterruptedException {
+        int nextRound = roundIndex + 1;
+        int nextSlot = slot / 2;
+        String nextMatchId = tournament.matchId(nextRound, nextSlot);
+        List<Round> rounds = tournament.getRounds();
+        if (nextRound < rounds.size() && rounds.get(nextRound).getMatches().contains(nextMatchId)) {
+            return false;
+        }
+
+        String feeder1Id = tournament.matchId(roundIndex, nextSlot * 2);
+        String feeder2Id = tournament.matchId(roundIndex, nextSlot * 2 + 1);
+        Map<String, Match> feeders = matchRepository.findAllById(List.of(feeder1Id, feeder2Id));
+        Match feeder1 = feeders.get(feeder1Id);
+        Match feeder2 = feeders.get(feeder2Id);
+        // A feeder that does not exist yet is still waiting on its own feeder pair
+        if (feeder1 == null || feeder2 == null || !feeder1.isCompleted() || !feeder2.isCompleted()) {
+            return false;
+        }
+
+        List<User> players = userService.getRegisteredUsers(List.of(feeder1.winnerId(), feeder2.winnerId()));
+        String roundName = nextRound < rounds.size() ? rounds.get(nextRound).getName()
+                : Bracket.roundName(drawSize(tournament), nextRound);
+        Match match = createMatch(tournament, roundName, players.get(0), players.get(1),
+                tournament.matchNumber(nextRound, nextSlot));
+
+        if (!tournamentRepository.addBracketMatch(tournament.getId(), nextRound, roundName, match)) {
+            // Generated concurrently for the other feeder match
+            return false;
+        }
+        tournament.addToRound(nextRound, roundName, match.getId());
+        tournamentDirectory.putMatch(match);
+        chatbotResponseCache.invalidateTournament(tournament.getId());
+        notifyPlayersMatched(tournament, List.of(match), players);
+        return true;
     }
 
     /**
-     * Generates matches for the first round of a tournament, seeding the top
-     * players based on their MMR.
+     * Creates the first-round matches of a draw. The matches are not saved.
      *
-     * @param tournament   The Tournament object.
-     * @param users        A list of users registered for the tournament.
-     * @param stage        The stage or round name (e.g., "Round 1").
-     * @param totalMatches The total number of matches already generated (used for
-     *                     match IDs).
-     * @return A list of match IDs generated for the round.
-     * @throws ExecutionException   If an error occurs during Firestore operations.
-     * @throws InterruptedException If the operation is interrupted.
+     * @param tournament The Tournament object.
+     * @param bracket    The layout of the draw.
+     * @param users      The registered users.
+     * @param lines      The index of the user on each line of the draw, or
+     *                   {@link Bracket#BYE}.
+     * @param mmr        The MMR of each user.
+     * @return The matches of the round, byes included.
      */
-    private List<String> generateMatchesWithSeed(Tournament tournament, List<User> users, String stage,
-            int totalMatches)
-            throws ExecutionException, InterruptedException {
-        List<String> matches = new ArrayList<>(); // List to store match IDs
-
-        // Define seeded positions. Keys are match positions, values are indices of
-        // top-seeded users. Assuming 4 seeded players.
-        Map<Integer, Integer> seedPositions = Map.of(
-                1, 0,
-                users.size() / 2, 1,
-                users.size() / 4, 2,
-                users.size() / 4 + 1, 3);
-
-        int left = 4; // Points to the strongest non-seeded player, as indexes 0 - 3 are seeded
-                      // players
-        int right = users.size() - 1; // Points to the weakest non-seeded players
-        List<Integer> usedPlayers = new ArrayList<>(); // Track users who have been matched already
-
-        // Loop to generate matches for each pair of players
-        for (int i = 1; i <= users.size() / 2; i++) {
-            User user1, user2;
-
-            // Check if the current position is a seeded position
-            if (seedPositions.containsKey(i)) {
-                int seedIndex = seedPositions.get(i);
-                user1 = users.get(seedIndex); // If position is seeded, get the index of the seeded player
-                user2 = users.get(right); // Pair with weakest user
-                usedPlayers.add(seedIndex);
-                usedPlayers.add(right--); // Mark players as used and decrement right pointer
+    private List<Match> generateFirstRound(Tournament tournament, Bracket bracket, List<User> users, int[] lines,
+            double[] mmr) {
+        String stage = bracket.roundName(0);
+        List<Match> matches = new ArrayList<>(bracket.roundSize(0));
+        for (int slot = 0; slot < bracket.roundSize(0); slot++) {
+            int entrant1 = lines[slot * 2];
+            int entrant2 = lines[slot * 2 + 1];
+            if (entrant1 == Bracket.BYE || entrant2 == Bracket.BYE) {
+                User player = users.get(entrant1 == Bracket.BYE ? entrant2 : entrant1);
+                matches.add(createBye(tournament, stage, player, slot + 1));
             } else {
-                // Find the next available players for non-seeded matches
-                while (usedPlayers.contains(left))
-                    left++; // Move left pointer to retrieve the next weakest player
-
-                user1 = users.get(left);
-                usedPlayers.add(left++); // Mark as used and increment left pointer
-
-                while (usedPlayers.contains(right))
-                    right--; // Move right pointer to retrieve the next strongest player
-
-                user2 = users.get(right); // Pair with the next weakest user
-                usedPlayers.add(right--); // Mark as used and decrement right pointer
+                matches.add(createMatch(tournament, stage, users.get(entrant1).getId(), users.get(entrant2).getId(),
+                        Math.abs(mmr[entrant1] - mmr[entrant2]), slot + 1));
             }
+        }
+        return matches;
+    }
 
-            // Create the match between the two selected players
-            matches.add(createMatch(tournament, stage, user1, user2, totalMatches + matches.size() + 1));
-
-            // Send email notifications to both players about the match, however dateTime is
+    /**
+     * Emails both players of each new match that they have been paired, however
+     * dateTime is still TBC. Called once the round has been saved. Byes are
+     * skipped.
+     */
+    private void notifyPlayersMatched(Tournament tournament, List<Match> matches, List<User> users) {
+        Map<String, User> usersById = users.stream().collect(Collectors.toMap(User::getId, user -> user));
+        for (Match match : matches) {
+            if (match.getPlayer2Id() == null) {
+                continue;
+            }
+            User user1 = usersById.get(match.getPlayer1Id());
+            User user2 = usersById.get(match.getPlayer2Id());
             try {
-                System.out.println("Sending player match email ....");
                 notificationService.notifyPlayerMatched(
                         user1.getEmail(), user1.getName(), user2.getName(),
                         tournament.getName());
@@ -700,37 +1122,50 @@ public class TournamentService {
                 e.printStackTrace();
             }
         }
-        return matches; // Return list of match IDs
     }
 
-    private String createMatch(Tournament tournament, String stage, User user1, User user2, int matchIndex)
-            throws ExecutionException, InterruptedException {
+    private Match createMatch(Tournament tournament, String stage, User user1, User user2, int matchIndex) {
+        return createMatch(tournament, stage, user1.getId(), user2.getId(),
+                Math.abs(mmrIndex.mmrOf(user1.getId(), user1.getPlayerDetails())
+                        - mmrIndex.mmrOf(user2.getId(), user2.getPlayerDetails())),
+                matchIndex);
+    }
+
+    private Match createMatch(Tournament tournament, String stage, String player1Id, String player2Id,
+            double mmrDifference, int matchIndex) {
         String matchId = tournament.getId() + "m_" + matchIndex;
-        Match match = new Match(matchId, tournament.getId(), user1.getId(), user2.getId(), 0, 0,
-                Math.abs(user1.getPlayerDetails().calculateMMR() - user2.getPlayerDetails().calculateMMR()),
-                "TBC", stage, false);
-        return matchService.addMatch(match);
+        return new Match(matchId, tournament.getId(), player1Id, player2Id, 0, 0, mmrDifference, "TBC", stage, false);
     }
 
-    private List<String> generateFollowUpMatches(Tournament tournament, List<User> users, String stage,
-            int totalMatches)
-            throws ExecutionException, InterruptedException {
-        List<String> matches = new ArrayList<>();
-        for (int i = 0; i < users.size(); i += 2) {
-            matches.add(
-                    createMatch(tournament, stage, users.get(i), users.get(i + 1), totalMatches + matches.size() + 1));
-        }
-        return matches;
+    /**
+     * Creates a bye: a completed match without a second player, won by the
+     * player who goes through.
+     */
+    private Match createBye(Tournament tournament, String stage, User player, int matchIndex) {
+        String matchId = tournament.getId() + "m_" + matchIndex;
+        return new Match(matchId, tournament.getId(), player.getId(), null, 0, 0, 0, "TBC", stage, true);
     }
 
-    private void addRoundToTournament(Tournament tournament, String roundName, List<String> matches)
+    /**
+     * Saves the matches of a new round, appends the round and marks the
+     * tournament in progress, all in one atomic write. Byes count as completed.
+     */
+    private void addRoundToTournament(Tournament tournament, String roundName, List<Match> matches)
             throws ExecutionException, InterruptedException {
-        Round newRound = new Round(roundName, matches);
-        tournament.getRounds().add(newRound);
+        List<String> matchIds = matches.stream().map(Match::getId).collect(Collectors.toList());
+        Round newRound = new Round(roundName, matchIds);
+        newRound.setCompletedMatches((int) matches.stream().filter(Match::isCompleted).count());
+        List<Round> rounds = new ArrayList<>(tournament.getRounds());
+        rounds.add(newRound);
         Map<String, Object> toUpdateTournament = new HashMap<String, Object>();
-        toUpdateTournament.put(ROUNDS_FIELD, tournament.getRounds());
+        toUpdateTournament.put(ROUNDS_FIELD, rounds);
         toUpdateTournament.put(STATUS_FIELD, "In Progress");
-        updateTournament(tournament.getId(), tournament.getOrganizerId(), toUpdateTournament);
+        tournamentRepository.addRound(tournament.getId(), matches, toUpdateTournament);
+        tournament.setRounds(rounds);
+        openTournamentIndex.remove(tournament.getId());
+        // A draw of two players starts with its final
+        matches.forEach(tournamentDirectory::putMatch);
+        chatbotResponseCache.invalidateTournament(tournament.getId());
     }
 
     // Upload logo to Firebase Storage
@@ -754,11 +1189,9 @@ public class TournamentService {
                 bucketName, fileName.replace("/", "%2F"));
 
         // Update Firestore with logo URL
-        Firestore db = getFirestore();
-        DocumentReference docRef = db.collection(TOURNAMENTS_DB).document(tournamentId);
         Map<String, Object> updates = new HashMap<>();
         updates.put("logoUrl", logoUrl);
-        docRef.update(updates).get();
+        tournamentRepository.update(tournamentId, updates);
 
         return logoUrl;
     }
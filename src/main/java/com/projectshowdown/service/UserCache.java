@@ -0,0 +1,172 @@
+package com.projectshowdown.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Organizer;
+import com.projectshowdown.entities.Player;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of users keyed by user ID.
+ * Entries are evicted by size and by age, and must be invalidated by every
+ * write to a user document. Hit, miss and eviction counts are published as the
+ * {@code cache.*} metrics with the tag {@code cache=users}.
+ */
+@Component
+public class UserCache implements MeterBinder {
+    public static final String CACHE_NAME = "users";
+
+    /**
+     * Loads a user from storage on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @param userId The ID of the user.
+         * @return The user, or null if it does not exist.
+         * @throws ExecutionException   If an error occurs while reading the store.
+         * @throws InterruptedException If the operation is interrupted.
+         */
+        UserDTO load(String userId) throws ExecutionException, InterruptedException;
+    }
+
+    private final AsyncCache<String, UserDTO> cache;
+
+    public UserCache(@Value("${showdown.cache.users.max-size:10000}") long maxSize,
+            @Value("${showdown.cache.users.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * Returns a user, loading it on a miss. Concurrent misses for the same ID
+     * share one load, and an invalidation issued while a load is in flight
+     * removes its result, so a stale read can never be cached after a write.
+     *
+     * @param userId The ID of the user.
+     * @param loader Loads the user from storage on a miss.
+     * @return A copy of the cached user that the caller is free to modify, or null
+     *         if the user does not exist. Missing users are not cached.
+     * @throws ExecutionException   If an error occurs while reading the store.
+     * @throws InterruptedException If the operation is interrupted.
+     */
+    public UserDTO get(String userId, Loader loader) throws ExecutionException, InterruptedException {
+        CompletableFuture<UserDTO> loading = new CompletableFuture<>();
+        CompletableFuture<UserDTO> cached = cache.get(userId, (id, executor) -> loading);
+        if (cached == loading) {
+            // The load runs outside the cache's lock, in the calling thread
+            try {
+                loading.complete(loader.load(userId));
+            } catch (InterruptedException e) {
+                loading.completeExceptionally(e);
+                Thread.currentThread().interrupt();
+                throw e;
+            } catch (ExecutionException | RuntimeException e) {
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return copy(cached.get());
+        } catch (ExecutionException e) {
+            // Another caller's load failed; rethrow its error as that caller saw it
+            if (e.getCause() instanceof ExecutionException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Asynchronous variant of {@link #get(String, Loader)}, with the same
+     * sharing and invalidation guarantees.
+     *
+     * @param userId The ID of the user.
+     * @param loader Starts loading the user from storage on a miss.
+     * @return A future of a copy of the cached user, or of null if the user does
+     *         not exist.
+     */
+    public CompletableFuture<UserDTO> getAsync(String userId, Function<String, CompletableFuture<UserDTO>> loader) {
+        CompletableFuture<UserDTO> loading = new CompletableFuture<>();
+        CompletableFuture<UserDTO> cached = cache.get(userId, (id, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loader.apply(userId).whenComplete((user, error) -> {
+                    if (error != null) {
+                        loading.completeExceptionally(error);
+                    } else {
+                        loading.complete(user);
+                    }
+                });
+            } catch (RuntimeException e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return cached.thenApply(UserCache::copy);
+    }
+
+    /**
+     * Removes a user from the cache.
+     *
+     * @param userId The ID of the user.
+     */
+    public void invalidate(String userId) {
+        cache.synchronous().invalidate(userId);
+    }
+
+    /**
+     * Removes every user from the cache.
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache.synchronous(), CACHE_NAME);
+    }
+
+    /**
+     * Copies a user and its nested details, so callers cannot change the cached
+     * instance.
+     */
+    private static UserDTO copy(UserDTO user) {
+        if (user == null) {
+            return null;
+        }
+        Player player = user.getPlayerDetails();
+        Organizer organizer = user.getOrganizerDetails();
+        return new UserDTO(user.getId(), user.getName(), user.getProfileUrl(), user.getEmail(), user.getPassword(),
+                user.getRole(), user.getTwoFactorSecret(),
+                player == null ? null : copy(player),
+                organizer == null ? null
+                        : new Organizer(organizer.getDateVerified(), organizer.getBio(), organizer.getCountry(),
+                                organizer.getWebsiteLink()),
+                user.getVerificationCode(), user.getVerificationCodeExpiresAt(), user.isEnabled());
+    }
+
+    private static Player copy(Player player) {
+        Player copy = new Player(player.getRank(), player.getDob(), player.getElo(), player.getPeakAge(),
+                player.getPeakElo(), player.getCountry(), player.getBio(), player.getAchievements());
+        copy.setMmr(player.getMmr());
+        copy.setMmrValidUntil(player.getMmrValidUntil());
+        copy.setRatedMatches(player.getRatedMatches());
+        copy.setInitialElo(player.getInitialElo());
+        return copy;
+    }
+}
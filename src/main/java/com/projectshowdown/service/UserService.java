@@ -1,16 +1,15 @@
 package com.projectshowdown.service;
 
-import com.google.api.core.ApiFuture;
-import com.google.cloud.firestore.*;
-import com.google.firebase.cloud.FirestoreClient;
 import com.google.zxing.WriterException;
 import com.projectshowdown.dto.UserDTO;
 import com.projectshowdown.dto.UserMapper;
 import com.projectshowdown.entities.Player;
 import com.projectshowdown.entities.User;
 import com.projectshowdown.exceptions.PlayerNotFoundException;
+import com.projectshowdown.repositories.UserRepository;
 import com.projectshowdown.util.DateTimeUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -20,12 +19,21 @@ import org.springframework.stereotype.Service;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
+/**
+ * Business logic for users.
+ * Most public methods have an asynchronous {@code ...Async} variant that
+ * composes the repository futures without blocking the calling thread. Their
+ * stages may run on a Firestore callback thread, so they must not block.
+ */
 @Service
 public class UserService implements UserDetailsService {
 
@@ -35,10 +43,40 @@ public class UserService implements UserDetailsService {
   public static final String ROLE_FIELD = "role";
   public static final String ORGANIZER_DETAILS_FIELD = "organizerDetails";
   public static final String TWO_FACTOR_SECRET_FIELD = "twoFactorSecret";
+  public static final String PLAYER_DETAILS_FIELD = "playerDetails";
+  public static final String PLAYER_ROLE = "player";
+
+  /**
+   * The player fields the MMR is derived from.
+   */
+  public static final List<String> MMR_INPUT_FIELDS = List.of("elo", "peakElo", "peakAge", "dob");
+
+  /**
+   * The player fields recorded in the {@link MatchLedger}.
+   */
+  public static final List<String> LEDGER_FIELDS = List.of("elo", "peakElo", "ratedMatches", "achievements");
 
   @Autowired
   private TwoFactorAuthService twoFactorAuthService;
 
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private UserCache userCache;
+
+  @Autowired
+  private MmrIndex mmrIndex;
+
+  @Autowired
+  private Leaderboard leaderboard;
+
+  @Autowired
+  private MatchLedger matchLedger;
+
+  @Autowired
+  private SearchIndex searchIndex;
+
   /**
    * Loads user details based on the provided email address.
    *
@@ -50,43 +88,54 @@ public class UserService implements UserDetailsService {
    */
   @Override
   public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-    Firestore db = FirestoreClient.getFirestore();
-    ApiFuture<QuerySnapshot> future = db.collection(USER_DB).whereEqualTo(EMAIL_FIELD, email).get();
     try {
-      QuerySnapshot querySnapshot = future.get();
-      if (!querySnapshot.isEmpty()) {
-        DocumentSnapshot document = querySnapshot.getDocuments().get(0);
-        String password = document.getString(PASSWORD_FIELD);
-        return org.springframework.security.core.userdetails.User.withUsername(email)
-            .password(password)
-            .authorities(document.getString(ROLE_FIELD))
-            .build();
-      } else {
-        throw new UsernameNotFoundException("User not found: " + email);
-      }
+      UserDTO user = userRepository.findByEmail(email)
+          .orElseThrow(() -> new UsernameNotFoundException("User not found: " + email));
+      return org.springframework.security.core.userdetails.User.withUsername(email)
+          .password(user.getPassword())
+          .authorities(user.getRole())
+          .build();
     } catch (InterruptedException | ExecutionException e) {
       throw new UsernameNotFoundException("Error retrieving user data", e);
     }
   }
 
-  private Firestore getFirestore() {
-    return FirestoreClient.getFirestore();
-  }
-
   /**
    * Retrieves a list of User Objects from a list of IDs
    * This is used for getting the registered users in a tournament.
+   * All users are loaded in one batched read.
    *
    * @param listOfUserIds A list of user IDs to retrieve.
    * @return A list of User objects corresponding to the provided IDs.
-   * @throws ExecutionException   If an error occurs during the asynchronous
-   *                              Firestore operation.
-   * @throws InterruptedException If the operation is interrupted.
+   * @throws ExecutionException      If an error occurs during the asynchronous
+   *                                 Firestore operation.
+   * @throws InterruptedException    If the operation is interrupted.
+   * @throws PlayerNotFoundException If any of the users does not exist.
    */
   public List<User> getRegisteredUsers(List<String> listOfUserIds) throws ExecutionException, InterruptedException {
+    return toRegisteredUsers(listOfUserIds, userRepository.findAllById(listOfUserIds));
+  }
+
+  /**
+   * Asynchronous variant of {@link #getRegisteredUsers(List)}.
+   *
+   * @param listOfUserIds A list of user IDs to retrieve.
+   * @return A future of the User objects corresponding to the provided IDs,
+   *         failed with {@link PlayerNotFoundException} if any does not exist.
+   */
+  public CompletableFuture<List<User>> getRegisteredUsersAsync(List<String> listOfUserIds) {
+    return userRepository.findAllByIdAsync(listOfUserIds)
+        .thenApply(users -> toRegisteredUsers(listOfUserIds, users));
+  }
+
+  private static List<User> toRegisteredUsers(List<String> listOfUserIds, Map<String, UserDTO> users) {
     List<User> response = new ArrayList<>();
     for (String userId : listOfUserIds) {
-      response.add(UserMapper.toUser(getUser(userId)));
+      UserDTO user = users.get(userId);
+      if (user == null) {
+        throw new PlayerNotFoundException(userId);
+      }
+      response.add(UserMapper.toUser(user));
     }
     return response;
   }
@@ -101,19 +150,17 @@ public class UserService implements UserDetailsService {
    * @throws InterruptedException If the operation is interrupted.
    */
   public List<UserDTO> getAllUsersByRole(String role) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
-    Query playersCollection = db.collection(USER_DB).whereEqualTo(ROLE_FIELD, role);
-    ApiFuture<QuerySnapshot> future = playersCollection.get();
-    List<QueryDocumentSnapshot> documents = future.get().getDocuments();
-    List<UserDTO> users = new ArrayList<>();
-    for (DocumentSnapshot document : documents) {
-      if (document.exists()) {
-        UserDTO currentUser = document.toObject(UserDTO.class);
-        currentUser.setId(document.getId());
-        users.add(currentUser);
-      }
-    }
-    return users;
+    return userRepository.findAllByRole(role);
+  }
+
+  /**
+   * Asynchronous variant of {@link #getAllUsersByRole(String)}.
+   *
+   * @param role The role to filter users by.
+   * @return A future of the users with the specified role.
+   */
+  public CompletableFuture<List<UserDTO>> getAllUsersByRoleAsync(String role) {
+    return userRepository.findAllByRoleAsync(role);
   }
 
   /**
@@ -127,19 +174,27 @@ public class UserService implements UserDetailsService {
    * @throws UsernameNotFoundException If no user with the given email is found.
    */
   public String getUserIdByEmail(String email) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
-    Query query = db.collection(USER_DB).whereEqualTo(EMAIL_FIELD, email);
-    ApiFuture<QuerySnapshot> future = query.get();
-    List<QueryDocumentSnapshot> documents = future.get().getDocuments();
-    if (!documents.isEmpty()) {
-      return documents.get(0).getId();
-    } else {
-      throw new UsernameNotFoundException("User not found with email: " + email);
-    }
+    return userRepository.findByEmail(email)
+        .map(UserDTO::getId)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+  }
+
+  /**
+   * Asynchronous variant of {@link #getUserIdByEmail(String)}.
+   *
+   * @param email The email address of the user.
+   * @return A future of the ID of the user, failed with
+   *         {@link UsernameNotFoundException} if no user has this email.
+   */
+  public CompletableFuture<String> getUserIdByEmailAsync(String email) {
+    return userRepository.findByEmailAsync(email).thenApply(user -> user
+        .map(UserDTO::getId)
+        .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email)));
   }
 
   /**
    * Retrieves a user's details based on their ID.
+   * Users are served from the {@link UserCache} and read from storage on a miss.
    *
    * @param userId The ID of the user to retrieve.
    * @return A UserDTO object containing the user's details.
@@ -149,17 +204,29 @@ public class UserService implements UserDetailsService {
    * @throws PlayerNotFoundException If no user with the given ID is found.
    */
   public UserDTO getUser(String userId) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
-    DocumentReference documentReference = db.collection(USER_DB).document(userId);
-    ApiFuture<DocumentSnapshot> future = documentReference.get();
-    DocumentSnapshot document = future.get();
-    if (document.exists()) {
-      UserDTO userToReturn = document.toObject(UserDTO.class);
-      userToReturn.setId(userId);
-      return userToReturn;
-    } else {
+    UserDTO user = userCache.get(userId, id -> userRepository.findById(id).orElse(null));
+    if (user == null) {
       throw new PlayerNotFoundException(userId);
     }
+    return user;
+  }
+
+  /**
+   * Asynchronous variant of {@link #getUser(String)}, also served from the
+   * {@link UserCache}.
+   *
+   * @param userId The ID of the user to retrieve.
+   * @return A future of the user's details, failed with
+   *         {@link PlayerNotFoundException} if no user with the given ID is found.
+   */
+  public CompletableFuture<UserDTO> getUserAsync(String userId) {
+    return userCache.getAsync(userId, id -> userRepository.findByIdAsync(id).thenApply(user -> user.orElse(null)))
+        .thenApply(user -> {
+          if (user == null) {
+            throw new PlayerNotFoundException(userId);
+          }
+          return user;
+        });
   }
 
   /**
@@ -173,9 +240,17 @@ public class UserService implements UserDetailsService {
    * @throws InterruptedException If the operation is interrupted.
    */
   public boolean checkEmailExists(String email) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
-    ApiFuture<QuerySnapshot> future = db.collection(USER_DB).whereEqualTo(EMAIL_FIELD, email).get();
-    return !future.get().isEmpty();
+    return userRepository.existsByEmail(email);
+  }
+
+  /**
+   * Asynchronous variant of {@link #checkEmailExists(String)}.
+   *
+   * @param email The email address to check.
+   * @return A future of true if the email exists, false otherwise.
+   */
+  public CompletableFuture<Boolean> checkEmailExistsAsync(String email) {
+    return userRepository.existsByEmailAsync(email);
   }
 
   /**
@@ -189,22 +264,70 @@ public class UserService implements UserDetailsService {
    * @throws InterruptedException If the operation is interrupted.
    */
   public String createUser(User userData) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
     if (checkEmailExists(userData.getEmail())) {
-      return "A user account with the email " + userData.getEmail() + " already exists!";
+      return emailExistsMessage(userData.getEmail());
     }
-    DocumentReference docRef = db.collection(USER_DB).document();
-    String generatedId = docRef.getId();
+    UserDTO userDTO = newUser(userData);
+    userRepository.save(userDTO);
+    userCache.invalidate(userDTO.getId());
+    addPlayer(userDTO);
+    return userDTO.getId();
+  }
+
+  /**
+   * Asynchronous variant of {@link #createUser(User)}.
+   *
+   * @param userData A User object containing the details of the new user.
+   * @return A future of the ID of the newly created user or an error message if
+   *         the email already exists.
+   */
+  public CompletableFuture<String> createUserAsync(User userData) {
+    return checkEmailExistsAsync(userData.getEmail()).thenCompose(exists -> {
+      if (exists) {
+        return CompletableFuture.completedFuture(emailExistsMessage(userData.getEmail()));
+      }
+      UserDTO userDTO = newUser(userData);
+      return userRepository.saveAsync(userDTO).thenApply(saved -> {
+        userCache.invalidate(userDTO.getId());
+        addPlayer(userDTO);
+        return userDTO.getId();
+      });
+    });
+  }
+
+  /**
+   * Prepares a new, not yet verified user for saving under a generated ID.
+   */
+  private UserDTO newUser(User userData) {
+    String generatedId = userRepository.nextId();
     userData.setVerificationCode(generateVerificationCode());
     userData.setVerificationCodeExpiresAt(DateTimeUtils.toEpochSeconds(LocalDateTime.now().plusMinutes(15)));
     userData.setEnabled(false);
+    if (userData.getPlayerDetails() != null) {
+      userData.getPlayerDetails().refreshMMR(LocalDate.now());
+    }
     if (userData.getOrganizerDetails() != null) {
       userData.getOrganizerDetails().setDateVerified(null);
     }
     UserDTO userDTO = UserMapper.toUserDTO(userData);
     userDTO.setId(generatedId);
-    docRef.set(userDTO);
-    return generatedId;
+    return userDTO;
+  }
+
+  /**
+   * Passes a new player to the {@link Leaderboard}, the {@link MatchLedger} and
+   * the {@link SearchIndex}.
+   */
+  private void addPlayer(UserDTO user) {
+    if (PLAYER_ROLE.equalsIgnoreCase(user.getRole()) && user.getPlayerDetails() != null) {
+      leaderboard.put(user.getId(), user.getName(), user.getPlayerDetails().getElo());
+      matchLedger.recordPlayer(user);
+      searchIndex.putPlayer(user);
+    }
+  }
+
+  private static String emailExistsMessage(Object email) {
+    return "A user account with the email " + email + " already exists!";
   }
 
   /**
@@ -224,29 +347,257 @@ public class UserService implements UserDetailsService {
    */
   public String updateUser(String userId, Map<String, Object> userData)
       throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
     if (userData.containsKey(EMAIL_FIELD) && checkEmailExists((String) userData.get(EMAIL_FIELD))) {
-      return "A user account with the email " + userData.get(EMAIL_FIELD) + " already exists!";
+      return emailExistsMessage(userData.get(EMAIL_FIELD));
+    }
+    if (!userRepository.existsById(userId)) {
+      throw new PlayerNotFoundException("User with ID: " + userId + " does not exist.");
+    }
+    Map<String, Object> updates = toUserUpdates(userData);
+    if (changesMMR(updates)) {
+      addMMRUpdates(getUser(userId), updates);
+    }
+    userRepository.update(userId, updates);
+    userCache.invalidate(userId);
+    mmrIndex.invalidate(userId);
+    updateLeaderboard(userId, updates);
+    if (changesLedger(updates) || changesSearch(updates)) {
+      recordUpdate(getUser(userId), updates);
+    }
+    return userId;
+  }
+
+  /**
+   * Asynchronous variant of {@link #updateUser(String, Map)}. The email and
+   * existence checks are read concurrently.
+   *
+   * @param userId   The ID of the user to update.
+   * @param userData A map containing the fields to update and their new values.
+   * @return A future of the ID of the updated user or an error message if the
+   *         email already exists, failed with {@link PlayerNotFoundException} if
+   *         no user with the given ID is found.
+   */
+  public CompletableFuture<String> updateUserAsync(String userId, Map<String, Object> userData) {
+    CompletableFuture<Boolean> emailExists = userData.containsKey(EMAIL_FIELD)
+        ? checkEmailExistsAsync((String) userData.get(EMAIL_FIELD))
+        : CompletableFuture.completedFuture(false);
+    CompletableFuture<Boolean> userExists = userRepository.existsByIdAsync(userId);
+    return emailExists.thenCombine(userExists, (emailTaken, found) -> {
+      if (emailTaken) {
+        return CompletableFuture.completedFuture(emailExistsMessage(userData.get(EMAIL_FIELD)));
+      }
+      if (!found) {
+        throw new PlayerNotFoundException("User with ID: " + userId + " does not exist.");
+      }
+      Map<String, Object> updates = toUserUpdates(userData);
+      CompletableFuture<Map<String, Object>> withMMR = changesMMR(updates)
+          ? getUserAsync(userId).thenApply(user -> addMMRUpdates(user, updates))
+          : CompletableFuture.completedFuture(updates);
+      return withMMR.thenCompose(toWrite -> userRepository.updateAsync(userId, toWrite)).thenApply(updateTime -> {
+        userCache.invalidate(userId);
+        mmrIndex.invalidate(userId);
+        updateLeaderboard(userId, updates);
+        return userId;
+      }).thenCompose(updated -> changesLedger(updates) || changesSearch(updates)
+          ? getUserAsync(userId).thenApply(user -> {
+            recordUpdate(user, updates);
+            return userId;
+          })
+          : CompletableFuture.completedFuture(userId));
+    }).thenCompose(Function.identity());
+  }
+
+  /**
+   * Passes a written change of a player's Elo or name to the
+   * {@link Leaderboard}.
+   */
+  @SuppressWarnings("unchecked")
+  private void updateLeaderboard(String userId, Map<String, Object> updates) {
+    Object elo = updates.get(PLAYER_DETAILS_FIELD + ".elo");
+    if (updates.get(PLAYER_DETAILS_FIELD) instanceof Map) {
+      elo = ((Map<String, Object>) updates.get(PLAYER_DETAILS_FIELD)).get("elo");
+    }
+    if (elo instanceof Number newElo) {
+      leaderboard.updateElo(userId, newElo.doubleValue());
+    }
+    if (updates.get("name") instanceof String name) {
+      leaderboard.rename(userId, name);
+    }
+  }
+
+  /**
+   * Passes a user, read again after an update, to the {@link MatchLedger} and
+   * the {@link SearchIndex} if the update concerns them.
+   */
+  private void recordUpdate(UserDTO user, Map<String, Object> updates) {
+    if (changesLedger(updates)) {
+      matchLedger.recordPlayer(user);
+    }
+    if (changesSearch(updates)) {
+      searchIndex.putPlayer(user);
+    }
+  }
+
+  /**
+   * Checks whether an update changes a field of the {@link SearchIndex}.
+   */
+  private static boolean changesSearch(Map<String, Object> updates) {
+    return updates.containsKey("name") || updates.containsKey("role")
+        || updates.get(PLAYER_DETAILS_FIELD) instanceof Map
+        || updates.containsKey(PLAYER_DETAILS_FIELD + ".country");
+  }
+
+  /**
+   * Checks whether an update changes a player's rating or achievements outside
+   * of a rating period, which the {@link MatchLedger} records.
+   */
+  private static boolean changesLedger(Map<String, Object> updates) {
+    if (updates.get(PLAYER_DETAILS_FIELD) instanceof Map) {
+      return true;
+    }
+    for (String field : LEDGER_FIELDS) {
+      if (updates.containsKey(PLAYER_DETAILS_FIELD + "." + field)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether an update changes a field the MMR is derived from.
+   */
+  private static boolean changesMMR(Map<String, Object> updates) {
+    if (updates.get(PLAYER_DETAILS_FIELD) instanceof Map) {
+      return true;
+    }
+    for (String field : MMR_INPUT_FIELDS) {
+      if (updates.containsKey(PLAYER_DETAILS_FIELD + "." + field)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds the recalculated MMR of a player to an update of their details, so the
+   * stored MMR is only recalculated when the fields it is derived from change.
+   *
+   * @param user    The user as stored before the update.
+   * @param updates The fields to write. Modified in place.
+   * @return The fields to write.
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, Object> addMMRUpdates(UserDTO user, Map<String, Object> updates) {
+    if (updates.get(PLAYER_DETAILS_FIELD) instanceof Map) {
+      // The whole details are replaced, so the MMR goes into them
+      Map<String, Object> details = new HashMap<>((Map<String, Object>) updates.get(PLAYER_DETAILS_FIELD));
+      Player player = new Player();
+      applyMMRInputs(player, details::get);
+      player.refreshMMR(mmrIndex.today());
+      details.put("mmr", player.getMmr());
+      details.put("mmrValidUntil", player.getMmrValidUntil());
+      updates.put(PLAYER_DETAILS_FIELD, details);
+      return updates;
+    }
+
+    Player current = user.getPlayerDetails();
+    Player player = current == null ? new Player() : current;
+    applyMMRInputs(player, field -> updates.get(PLAYER_DETAILS_FIELD + "." + field));
+    player.refreshMMR(mmrIndex.today());
+    updates.put(PLAYER_DETAILS_FIELD + ".mmr", player.getMmr());
+    updates.put(PLAYER_DETAILS_FIELD + ".mmrValidUntil", player.getMmrValidUntil());
+    return updates;
+  }
+
+  /**
+   * Copies the changed MMR inputs onto a player.
+   */
+  private static void applyMMRInputs(Player player, Function<String, Object> changes) {
+    if (changes.apply("elo") instanceof Number elo) {
+      player.setElo(elo.doubleValue());
+    }
+    if (changes.apply("peakElo") instanceof Number peakElo) {
+      player.setPeakElo(peakElo.doubleValue());
+    }
+    if (changes.apply("peakAge") instanceof Number peakAge) {
+      player.setPeakAge(peakAge.doubleValue());
     }
+    if (changes.apply("dob") instanceof String dob) {
+      player.setDob(dob);
+    }
+  }
+
+  /**
+   * Recalculates the stored MMR of the players whose age changed, once a day.
+   * Failures are logged, and the players are picked up again the next day.
+   */
+  @Scheduled(cron = "${showdown.mmr.rollover-cron:0 0 0 * * *}")
+  public void rollOverMMRDaily() {
+    try {
+      int refreshed = rollOverMMR(LocalDate.now());
+      System.out.println("Recalculated the MMR of " + refreshed + " players");
+    } catch (ExecutionException e) {
+      System.out.println("Failed to recalculate MMRs: " + e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Moves the {@link MmrIndex} to a new day and recalculates the stored MMR of
+   * every player whose stored MMR is stale or missing on that day.
+   *
+   * @param today The day to calculate ages on.
+   * @return The number of players whose stored MMR was recalculated.
+   * @throws ExecutionException   If an error occurs during the asynchronous
+   *                              Firestore operation.
+   * @throws InterruptedException If the operation is interrupted.
+   */
+  public int rollOverMMR(LocalDate today) throws ExecutionException, InterruptedException {
+    mmrIndex.rollOver(today);
+    Map<String, Map<String, Object>> updates = new HashMap<>();
+    for (UserDTO user : userRepository.findAllByRole(PLAYER_ROLE)) {
+      Player player = user.getPlayerDetails();
+      if (player == null || player.getDob() == null || player.storedMMR(today.toEpochDay()) != null) {
+        continue;
+      }
+      player.refreshMMR(today);
+      Map<String, Object> fields = new HashMap<>();
+      fields.put(PLAYER_DETAILS_FIELD + ".mmr", player.getMmr());
+      fields.put(PLAYER_DETAILS_FIELD + ".mmrValidUntil", player.getMmrValidUntil());
+      updates.put(user.getId(), fields);
+    }
+    if (updates.isEmpty()) {
+      return 0;
+    }
+
+    userRepository.updateAll(updates);
+    for (String userId : updates.keySet()) {
+      userCache.invalidate(userId);
+      mmrIndex.invalidate(userId);
+    }
+    return updates.size();
+  }
+
+  /**
+   * Turns the requested changes into the fields to write: the password is
+   * hashed, organizer details lose their verified flag and null values are
+   * left out.
+   */
+  private static Map<String, Object> toUserUpdates(Map<String, Object> userData) {
     if (userData.containsKey(PASSWORD_FIELD)) {
       BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
       userData.put(PASSWORD_FIELD, passwordEncoder.encode((String) userData.get(PASSWORD_FIELD)));
     }
-    DocumentReference docRef = db.collection(USER_DB).document(userId);
-    if (!docRef.get().get().exists()) {
-      throw new PlayerNotFoundException("User with ID: " + userId + " does not exist.");
-    }
     if (userData.get(ORGANIZER_DETAILS_FIELD) != null) {
       Map<String, Object> organizerDetails = (Map<String, Object>) userData.get(ORGANIZER_DETAILS_FIELD);
       if (organizerDetails.containsKey("verified")) {
         organizerDetails.put("verified", false);
       }
     }
-    Map<String, Object> filteredUpdates = userData.entrySet().stream()
+    return userData.entrySet().stream()
         .filter(entry -> entry.getValue() != null)
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    docRef.update(filteredUpdates);
-    return userId;
   }
 
   /**
@@ -261,20 +612,43 @@ public class UserService implements UserDetailsService {
    * @throws PlayerNotFoundException If no user with the given ID is found.
    */
   public String verifyOrganizer(String userId) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
-    DocumentReference docRef = db.collection(USER_DB).document(userId);
-    DocumentSnapshot document = docRef.get().get();
-    if (!document.exists()) {
-      throw new PlayerNotFoundException("User with ID: " + userId + " does not exist.");
-    }
-    if (document.get(ORGANIZER_DETAILS_FIELD) == null) {
+    UserDTO user = userRepository.findById(userId)
+        .orElseThrow(() -> new PlayerNotFoundException("User with ID: " + userId + " does not exist."));
+    if (user.getOrganizerDetails() == null) {
       return "This is not an Organizer account!";
     }
+    userRepository.update(userId, organizerVerification());
+    userCache.invalidate(userId);
+    return "Organizer with ID: " + userId + " has been verified successfully.";
+  }
+
+  /**
+   * Asynchronous variant of {@link #verifyOrganizer(String)}.
+   *
+   * @param userId The ID of the organizer to verify.
+   * @return A future of a success message if the organizer is verified, or an
+   *         error message if not applicable, failed with
+   *         {@link PlayerNotFoundException} if no user with the given ID is found.
+   */
+  public CompletableFuture<String> verifyOrganizerAsync(String userId) {
+    return userRepository.findByIdAsync(userId).thenCompose(found -> {
+      UserDTO user = found
+          .orElseThrow(() -> new PlayerNotFoundException("User with ID: " + userId + " does not exist."));
+      if (user.getOrganizerDetails() == null) {
+        return CompletableFuture.completedFuture("This is not an Organizer account!");
+      }
+      return userRepository.updateAsync(userId, organizerVerification()).thenApply(updateTime -> {
+        userCache.invalidate(userId);
+        return "Organizer with ID: " + userId + " has been verified successfully.";
+      });
+    });
+  }
+
+  private static Map<String, Object> organizerVerification() {
     Map<String, Object> updates = new HashMap<>();
     updates.put("organizerDetails.dateVerified",
         LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss")));
-    docRef.update(updates);
-    return "Organizer with ID: " + userId + " has been verified successfully.";
+    return updates;
   }
 
   /**
@@ -288,15 +662,39 @@ public class UserService implements UserDetailsService {
    * @throws PlayerNotFoundException If no user with the given ID is found.
    */
   public String deletePlayer(String userId) throws ExecutionException, InterruptedException {
-    Firestore db = getFirestore();
-    DocumentReference docRef = db.collection(USER_DB).document(userId);
-    if (!docRef.get().get().exists()) {
+    if (!userRepository.existsById(userId)) {
       throw new PlayerNotFoundException(userId);
     }
-    docRef.delete();
+    userRepository.delete(userId);
+    userCache.invalidate(userId);
+    mmrIndex.invalidate(userId);
+    leaderboard.remove(userId);
+    searchIndex.removePlayer(userId);
     return "Player with ID: " + userId + " successfully deleted.";
   }
 
+  /**
+   * Asynchronous variant of {@link #deletePlayer(String)}.
+   *
+   * @param userId The ID of the user to delete.
+   * @return A future of a success message, failed with
+   *         {@link PlayerNotFoundException} if no user with the given ID is found.
+   */
+  public CompletableFuture<String> deletePlayerAsync(String userId) {
+    return userRepository.existsByIdAsync(userId).thenCompose(exists -> {
+      if (!exists) {
+        throw new PlayerNotFoundException(userId);
+      }
+      return userRepository.deleteAsync(userId).thenApply(deleted -> {
+        userCache.invalidate(userId);
+        mmrIndex.invalidate(userId);
+        leaderboard.remove(userId);
+        searchIndex.removePlayer(userId);
+        return "Player with ID: " + userId + " successfully deleted.";
+      });
+    });
+  }
+
   /**
    * Enables two-factor authentication for a user by generating a secret key and
    * updating their details.
@@ -327,23 +725,23 @@ public class UserService implements UserDetailsService {
    * @return A success message upon completing the import.
    */
   public String massImport() {
-    Firestore db = getFirestore();
-    CollectionReference usersCollection = db.collection(USER_DB);
     try (Scanner sc = new Scanner(new File("path/to/your/file.csv"), "UTF-8")) {
       sc.nextLine();
       while (sc.hasNext()) {
         String[] values = sc.nextLine().split(",");
         String email = values[1].trim().toLowerCase() + "@gmail.com";
-        UserDTO user = new UserDTO("", values[1], "", email, "password123", "player",
+        UserDTO user = new UserDTO("", values[1], "", email, "password123", PLAYER_ROLE,
             null, new Player(Integer.parseInt(values[0]), values[2],
                 Double.parseDouble(values[3]), Double.parseDouble(values[4]),
                 Double.parseDouble(values[5]), values[6], "", ""),
             null, null, DateTimeUtils.toEpochSeconds(LocalDateTime.now().plusMinutes(15)), false);
-        DocumentReference docRef = usersCollection.document();
-        user.setId(docRef.getId());
-        docRef.set(user);
+        user.setId(userRepository.nextId());
+        user.getPlayerDetails().refreshMMR(LocalDate.now());
+        userRepository.save(user);
+        userCache.invalidate(user.getId());
+        addPlayer(user);
       }
-    } catch (FileNotFoundException e) {
+    } catch (FileNotFoundException | ExecutionException | InterruptedException e) {
       e.printStackTrace();
     }
     return "success";
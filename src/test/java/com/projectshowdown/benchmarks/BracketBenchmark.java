@@ -0,0 +1,106 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.service.Bracket;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the bracket engine on qualifier-sized draws, including draws that
+ * are not a power of two and so have byes.
+ *
+ * <ul>
+ * <li>{@code layout}: building the draw, i.e. the match tree, the standard
+ * seed lines and the lot for unseeded entrants.</li>
+ * <li>{@code playThrough}: advancing every winner to the next match, the
+ * stronger entrant always winning, until the final is decided.</li>
+ * <li>{@code render}: walking every round and reading each match's feeders
+ * and players, as a bracket view does.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.BracketBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BracketBenchmark {
+
+    private static final int SEEDS = 32;
+
+    @Param({ "1024", "2048", "3000", "4096" })
+    public int entrants;
+
+    private Bracket bracket;
+    private int[] winners;
+
+    @Setup
+    public void setUp() {
+        bracket = Bracket.of(entrants, SEEDS, 2024);
+        winners = new int[bracket.getMatchCount()];
+    }
+
+    @Benchmark
+    public Bracket layout() {
+        return Bracket.of(entrants, SEEDS, 2024);
+    }
+
+    @Benchmark
+    public int playThrough() {
+        int firstRound = bracket.roundSize(0);
+        for (int match = 0; match < bracket.getMatchCount(); match++) {
+            int player1;
+            int player2;
+            if (match < firstRound) {
+                player1 = bracket.entrant(match, 0);
+                player2 = bracket.entrant(match, 1);
+            } else {
+                player1 = winners[bracket.feeder(match, 0)];
+                player2 = winners[bracket.feeder(match, 1)];
+            }
+            if (player1 == Bracket.BYE) {
+                winners[match] = player2;
+            } else if (player2 == Bracket.BYE) {
+                winners[match] = player1;
+            } else {
+                winners[match] = Math.min(player1, player2);
+            }
+        }
+        return winners[bracket.getMatchCount() - 1];
+    }
+
+    @Benchmark
+    public long render() {
+        long checksum = 0;
+        for (int round = 0; round < bracket.getRounds(); round++) {
+            for (int slot = 0; slot < bracket.roundSize(round); slot++) {
+                int match = bracket.match(round, slot);
+                checksum += round == 0
+                        ? bracket.entrant(match, 0) + bracket.entrant(match, 1)
+                        : bracket.feeder(match, 0) + bracket.feeder(match, 1);
+                checksum += bracket.nextMatch(match);
+            }
+        }
+        return checksum;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BracketBenchmark.class.getSimpleName()).build()).run();
+    }
+}
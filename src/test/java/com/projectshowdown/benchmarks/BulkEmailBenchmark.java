@@ -0,0 +1,128 @@
+package com.projectshowdown.benchmarks;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.projectshowdown.service.EmailService;
+import com.projectshowdown.service.SmtpTransportPool;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures emails per second when a tournament with 1,000 registered players
+ * is cancelled, against a local GreenMail SMTP server.
+ *
+ * <ul>
+ * <li>{@code perRecipientSession}: the previous behaviour, which built a new
+ * message, re-read the logo and opened a new SMTP session for every
+ * recipient.</li>
+ * <li>{@code pooledBulkSend}: {@link EmailService#sendBulk}, which builds the
+ * message once and sends it to every recipient over one pooled
+ * connection.</li>
+ * </ul>
+ *
+ * A local server has no network latency or TLS handshake, so the gap is wider
+ * against a real relay. Run with {@code mvn test-compile exec:java
+ * -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.BulkEmailBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class BulkEmailBenchmark {
+
+    private static final int RECIPIENTS = 1000;
+    private static final String SUBJECT = "Important: Tournament Cancellation";
+    private static final String HTML = "<html><body><h2>Tournament Cancelled</h2>"
+            + "<p>We regret to inform you that the tournament 'Showdown Open' has been cancelled.</p>"
+            + "<img src=\"cid:showdown-logo.png\"></body></html>";
+
+    private GreenMail greenMail;
+    private JavaMailSenderImpl mailSender;
+    private SmtpTransportPool transportPool;
+    private EmailService emailService;
+    private List<String> recipients;
+
+    @Setup
+    public void setUp() {
+        ServerSetup smtp = new ServerSetup(3125, "127.0.0.1", ServerSetup.PROTOCOL_SMTP);
+        greenMail = new GreenMail(smtp);
+        greenMail.start();
+
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(smtp.getBindAddress());
+        mailSender.setPort(smtp.getPort());
+        transportPool = new SmtpTransportPool(mailSender, 2);
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "emailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "transportPool", transportPool);
+
+        recipients = new ArrayList<>(RECIPIENTS);
+        for (int i = 0; i < RECIPIENTS; i++) {
+            recipients.add("player" + i + "@example.com");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void purgeMailboxes() throws Exception {
+        greenMail.purgeEmailFromAllMailboxes();
+    }
+
+    @TearDown
+    public void tearDown() {
+        transportPool.destroy();
+        greenMail.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void perRecipientSession() throws MessagingException {
+        for (String to : recipients) {
+            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setFrom(EmailService.FROM_ADDRESS);
+            helper.setTo(to);
+            helper.setSubject(SUBJECT);
+            helper.setText(HTML, true);
+            helper.addInline(EmailService.LOGO_CONTENT_ID, new ClassPathResource(EmailService.LOGO_RESOURCE));
+            mailSender.send(message);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public Map<String, MessagingException> pooledBulkSend() throws MessagingException {
+        return emailService.sendBulk(recipients, SUBJECT, HTML);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(BulkEmailBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.projectshowdown.benchmarks;
+
+import com.google.auth.oauth2.AccessToken;
+import com.projectshowdown.service.AccessTokenCache;
+import com.projectshowdown.service.DialogflowClient;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures sending a chat message to a local stand-in for Dialogflow.
+ *
+ * <ul>
+ * <li>{@code newClientPerMessage}: building an {@link HttpClient} and opening a
+ * connection for every message, as {@code ChatbotService} used to.</li>
+ * <li>{@code sharedClient}: sending through the {@link DialogflowClient}, which
+ * reuses its connections and the cached access token.</li>
+ * </ul>
+ *
+ * Neither includes Google's token endpoint, which the old path also called for
+ * every message. Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.DialogflowClientBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DialogflowClientBenchmark {
+
+    private static final byte[] REPLY = "{\"queryResult\":{\"fulfillmentText\":\"Hello!\"}}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String baseUrl;
+    private DialogflowClient dialogflowClient;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, REPLY.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(REPLY);
+            }
+        });
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.start();
+        baseUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        AccessTokenCache accessTokens = new AccessTokenCache(() -> new AccessToken("token", null),
+                Duration.ofMinutes(5), Clock.systemUTC());
+        dialogflowClient = new DialogflowClient(accessTokens, new SimpleMeterRegistry(), baseUrl,
+                "showdown", "en", Duration.ofSeconds(2), Duration.ofSeconds(5), ForkJoinPool.commonPool());
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    @Benchmark
+    public String newClientPerMessage() throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(baseUrl + "/v2/projects/showdown/agent/sessions/1234:detectIntent"))
+                .header("Authorization", "Bearer token")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{ \"queryInput\": { \"text\": { \"text\": \"hi\", \"languageCode\": \"en\" } } }"))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+    }
+
+    @Benchmark
+    public String sharedClient() {
+        return dialogflowClient.detectIntent("1234", "hi").join();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DialogflowClientBenchmark.class.getSimpleName()).build()).run();
+    }
+}
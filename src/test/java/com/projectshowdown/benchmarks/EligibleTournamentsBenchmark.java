@@ -0,0 +1,102 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.service.IntervalTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding the tournaments a player's MMR is eligible for.
+ *
+ * <ul>
+ * <li>{@code scan}: checking every tournament's MMR window, as filtering the
+ * full tournament list does.</li>
+ * <li>{@code intervalTree}: a stabbing query on the {@link IntervalTree} the
+ * open tournament index keeps.</li>
+ * <li>{@code build}: rebuilding the tree, as every tournament write does.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.EligibleTournamentsBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EligibleTournamentsBenchmark {
+
+    @Param({ "1000", "5000", "20000" })
+    public int tournaments;
+
+    private List<Tournament> all;
+    private IntervalTree<Tournament> tree;
+    private double[] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(5);
+        all = new ArrayList<>(tournaments);
+        for (int i = 0; i < tournaments; i++) {
+            Tournament tournament = new Tournament();
+            tournament.setId("t" + i);
+            // Narrow windows spread over the MMR range, as ranked events are
+            double minMMR = 1000 + random.nextInt(3000);
+            tournament.setMinMMR(minMMR);
+            tournament.setMaxMMR(minMMR + 50 + random.nextInt(300));
+            all.add(tournament);
+        }
+        tree = IntervalTree.of(all, Tournament::getMinMMR, Tournament::getMaxMMR);
+        queries = new double[1024];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = 1000 + random.nextInt(3300);
+        }
+    }
+
+    @Benchmark
+    public int scan() {
+        double mmr = queries[next++ & (queries.length - 1)];
+        int found = 0;
+        for (Tournament tournament : all) {
+            if (mmr >= tournament.getMinMMR() && mmr <= tournament.getMaxMMR()) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int intervalTree() {
+        int[] found = new int[1];
+        tree.stab(queries[next++ & (queries.length - 1)], tournament -> found[0]++);
+        return found[0];
+    }
+
+    @Benchmark
+    public IntervalTree<Tournament> build() {
+        return IntervalTree.of(all, Tournament::getMinMMR, Tournament::getMaxMMR);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EligibleTournamentsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,95 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.service.EmailTemplate;
+import com.projectshowdown.service.EmailTemplates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures rendering of the per-player "you have been matched" email for a
+ * 1,000-player fan-out.
+ *
+ * <ul>
+ * <li>{@code stringFormat}: the previous behaviour, which parsed the format
+ * string with {@code String.format} for every email.</li>
+ * <li>{@code compiledTemplate}: the template compiled at startup, rendered
+ * with HTML escaping into the reused per-thread buffer.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.EmailTemplateBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final int PLAYERS = 1000;
+    private static final String HEADER = "Match Assignment";
+    private static final String FORMAT = """
+            <html>
+            <body style="font-family: Arial, sans-serif; background-color: #f3eeea; padding: 20px;">
+                <div style="max-width: 800px; margin: auto; background-color: #f3eeea; padding: 20px; border-radius: 8px;">
+                    <h2 style="text-align: center; color: #333;">%s</h2>
+                    <p style="text-align: center; color: #333; font-size: 16px;">%s</p>
+                    <div style="text-align: center; margin: 20px 0;">
+                        <img src="cid:showdown-logo.png" alt="Showdown Logo" style="width: 400px; height: auto;">
+                    </div>
+                    <p style="text-align: center; color: #888; font-size: 12px;">This is an auto-generated email. Please do not reply to this email.</p>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private EmailTemplate template;
+    private String[] messages;
+
+    @Setup
+    public void setUp() {
+        template = new EmailTemplates().get(EmailTemplates.NOTIFICATION);
+        messages = new String[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            messages[i] = "Dear Player " + i + ", you have been matched with Player " + (i + 1)
+                    + " for the tournament 'Showdown Open'. The date, time, and venue are currently set to 'TBC'.";
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS)
+    public void stringFormat(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(String.format(FORMAT, HEADER, message));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PLAYERS)
+    public void compiledTemplate(Blackhole blackhole) {
+        for (String message : messages) {
+            blackhole.consume(template.render(Map.of("header", HEADER, "message", message)));
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EmailTemplateBenchmark.class.getSimpleName()).build()).run();
+    }
+}
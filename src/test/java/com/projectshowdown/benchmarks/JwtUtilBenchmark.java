@@ -0,0 +1,103 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.configs.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of verifying the JWT of one authenticated request.
+ *
+ * <ul>
+ * <li>{@code perRequestKeyAndParser}: the previous behaviour, which decoded the
+ * key and built a new parser for each of the three parses per request.</li>
+ * <li>{@code sharedParser}: one parse with the shared key and parser, with the
+ * verified token cache disabled.</li>
+ * <li>{@code verifiedTokenCache}: a token that was already verified, as for
+ * every request after a user's first one.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.JwtUtilBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "c2hvd2Rvd24tdGVzdC1zZWNyZXQta2V5LTMyLWJ5dGVzISE=";
+
+    private JwtUtil cachingJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachingJwtUtil = jwtUtil(10_000);
+        uncachedJwtUtil = jwtUtil(0);
+        token = cachingJwtUtil.generateToken(User.withUsername("player@example.com")
+                .password("hashed").authorities("player").build());
+    }
+
+    private static JwtUtil jwtUtil(long cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", cacheSize);
+        return jwtUtil;
+    }
+
+    private static Claims parseWithNewKeyAndParser(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    @Benchmark
+    public Object perRequestKeyAndParser() {
+        // extractUsername, then validateToken -> extractExpiration, then extractAllClaims
+        String username = parseWithNewKeyAndParser(token).getSubject();
+        boolean expired = parseWithNewKeyAndParser(token).getExpiration().before(new Date());
+        Claims claims = parseWithNewKeyAndParser(token);
+        return expired ? username : claims;
+    }
+
+    @Benchmark
+    public Object sharedParser() {
+        return uncachedJwtUtil.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Object verifiedTokenCache() {
+        return cachingJwtUtil.extractAllClaims(token);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.service.RankTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures finding a player's rank after their Elo changes.
+ *
+ * <ul>
+ * <li>{@code sortAll}: sorting every player by Elo, as ranking the full player
+ * list does.</li>
+ * <li>{@code rankTree}: moving the player in the {@link RankTree} the
+ * leaderboard keeps and reading their position.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.LeaderboardBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaderboardBenchmark {
+
+    private static final Comparator<double[]> ORDER = Comparator.comparingDouble((double[] player) -> player[0])
+            .reversed()
+            .thenComparingDouble(player -> player[1]);
+
+    @Param({ "1000", "10000", "100000" })
+    public int players;
+
+    private List<double[]> all;
+    private RankTree<double[]> tree;
+    private double[] newElos;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        all = new ArrayList<>(players);
+        tree = new RankTree<>(ORDER);
+        for (int i = 0; i < players; i++) {
+            // Elo and a tiebreaking ID
+            double[] player = { 1000 + random.nextInt(2000), i };
+            all.add(player);
+            tree.add(player);
+        }
+        newElos = new double[1024];
+        for (int i = 0; i < newElos.length; i++) {
+            newElos[i] = 1000 + random.nextInt(2000);
+        }
+    }
+
+    @Benchmark
+    public int sortAll() {
+        int player = next++ % players;
+        all.set(player, new double[] { newElos[next & (newElos.length - 1)], player });
+        List<double[]> sorted = new ArrayList<>(all);
+        sorted.sort(ORDER);
+        return sorted.indexOf(all.get(player));
+    }
+
+    @Benchmark
+    public int rankTree() {
+        int player = next++ % players;
+        double[] moved = { newElos[next & (newElos.length - 1)], player };
+        tree.remove(all.get(player));
+        all.set(player, moved);
+        tree.add(moved);
+        return tree.indexOf(moved);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(LeaderboardBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,137 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.entities.LedgerEvent;
+import com.projectshowdown.repositories.MatchLedgerStore;
+import com.projectshowdown.service.LedgerState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures rebuilding the ratings of 10,000 players from a match ledger of a
+ * year of daily rating periods, 1,000,000 results in all.
+ *
+ * <ul>
+ * <li>{@code fullReplay}: applying every entry from the start of the log.</li>
+ * <li>{@code fromSnapshot}: decoding a snapshot taken after 330 days and
+ * applying the entries after it, as the match ledger does.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.MatchLedgerBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchLedgerBenchmark {
+
+    private static final int PLAYERS = 10_000;
+    private static final int PERIODS = 365;
+    private static final int RESULTS_PER_PERIOD = 1_000_000 / PERIODS;
+    private static final int SNAPSHOT_PERIOD = 330;
+
+    private Path dir;
+    private MatchLedgerStore store;
+    private byte[] snapshot;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("match-ledger");
+        store = new MatchLedgerStore(dir.resolve("ledger.log").toString());
+        Random random = new Random(17);
+        long snapshotOffset = 0;
+        for (int period = 0; period < PERIODS; period++) {
+            List<LedgerEvent> events = new ArrayList<>(RESULTS_PER_PERIOD + 1);
+            for (int i = 0; i < RESULTS_PER_PERIOD; i++) {
+                int player1 = random.nextInt(PLAYERS);
+                int player2 = (player1 + 1 + random.nextInt(PLAYERS - 1)) % PLAYERS;
+                LedgerEvent result = new LedgerEvent();
+                result.setType(LedgerEvent.Type.RESULT);
+                result.setMatchId(period + "-" + i);
+                result.setPlayer1Id("p" + player1);
+                result.setPlayer2Id("p" + player2);
+                result.setPlayer1Score(random.nextInt(4));
+                result.setPlayer2Score(random.nextInt(4));
+                events.add(result);
+            }
+            events.add(LedgerEvent.periodClosed());
+            long end = store.appendAll(events);
+            if (period == SNAPSHOT_PERIOD - 1) {
+                snapshotOffset = end;
+            }
+        }
+
+        LedgerState state = initialState();
+        List<LedgerEvent> upToSnapshot = new ArrayList<>();
+        store.read(0, upToSnapshot::add);
+        int closed = 0;
+        for (LedgerEvent event : upToSnapshot) {
+            state.apply(event);
+            if (event.getType() == LedgerEvent.Type.PERIOD_CLOSED && ++closed == SNAPSHOT_PERIOD) {
+                break;
+            }
+        }
+        state.setOffset(snapshotOffset);
+        snapshot = state.toSnapshot();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.destroy();
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static LedgerState initialState() {
+        LedgerState state = new LedgerState();
+        for (int i = 0; i < PLAYERS; i++) {
+            state.putPlayer("p" + i, 1500, 1500, 0, "");
+        }
+        return state;
+    }
+
+    @Benchmark
+    public LedgerState fullReplay() {
+        LedgerState state = initialState();
+        state.setOffset(store.read(0, state::apply));
+        return state;
+    }
+
+    @Benchmark
+    public LedgerState fromSnapshot() {
+        LedgerState state = LedgerState.fromSnapshot(snapshot);
+        state.setOffset(store.read(state.getOffset(), state::apply));
+        return state;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MatchLedgerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
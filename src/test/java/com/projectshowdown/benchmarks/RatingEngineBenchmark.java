@@ -0,0 +1,91 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.service.RatingEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures recalculating the ratings of 100,000 players from their full match
+ * history, ten matches per player over a year of daily rating periods.
+ *
+ * <ul>
+ * <li>{@code sequential}: rating every group of players on the calling
+ * thread.</li>
+ * <li>{@code parallel}: rating unconnected groups of players in parallel, as
+ * the rating service does.</li>
+ * </ul>
+ *
+ * Players mostly meet within their region, so there are many groups. Run with
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.RatingEngineBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RatingEngineBenchmark {
+
+    private static final int PLAYERS = 100_000;
+
+    @Param({ "100", "1000" })
+    public int regionSize;
+
+    private RatingEngine.Results results;
+    private double[] initialRatings;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(11);
+        initialRatings = new double[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            initialRatings[i] = 1000 + random.nextInt(1500);
+        }
+        int matches = PLAYERS * 10;
+        results = new RatingEngine.Results(matches);
+        for (int i = 0; i < matches; i++) {
+            int region = random.nextInt(PLAYERS / regionSize) * regionSize;
+            int player1 = region + random.nextInt(regionSize);
+            int player2 = region + (player1 - region + 1 + random.nextInt(regionSize - 1)) % regionSize;
+            results.add(random.nextInt(365), player1, player2, random.nextInt(2));
+        }
+    }
+
+    @Benchmark
+    public double[] sequential() {
+        return rate(false);
+    }
+
+    @Benchmark
+    public double[] parallel() {
+        return rate(true);
+    }
+
+    private double[] rate(boolean parallel) {
+        double[] ratings = initialRatings.clone();
+        double[] peaks = initialRatings.clone();
+        int[] played = new int[PLAYERS];
+        RatingEngine.rate(ratings, peaks, played, results, parallel);
+        return ratings;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RatingEngineBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,178 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.dto.SearchResultDTO;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.EmbeddedDocumentStore;
+import com.projectshowdown.repositories.EmbeddedTournamentRepository;
+import com.projectshowdown.repositories.EmbeddedUserRepository;
+import com.projectshowdown.service.SearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures searching 100,000 players and 10,000 tournaments for a name with
+ * a typo, e.g. "kalomer tavi".
+ *
+ * <ul>
+ * <li>{@code scanAll}: splitting and comparing the name of every player and
+ * tournament, as scanning the full user list does.</li>
+ * <li>{@code searchIndex}: looking the words up in the {@link SearchIndex}.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.SearchBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    private static final int PLAYERS = 100_000;
+    private static final int TOURNAMENTS = 10_000;
+    private static final String[] SYLLABLES = { "ka", "lo", "mer", "ta", "vi", "ro", "na", "del", "su", "pe",
+            "ri", "an", "go", "zu", "len", "mo" };
+    private static final String[] COUNTRIES = { "Singapore", "Malaysia", "Spain", "Switzerland", "Japan" };
+
+    private EmbeddedDocumentStore store;
+    private SearchIndex index;
+    private List<List<String>> names;
+    private List<String> queries;
+    private int next;
+
+    @Setup
+    public void setUp() throws ExecutionException, InterruptedException {
+        Random random = new Random(3);
+        store = new EmbeddedDocumentStore("");
+        EmbeddedUserRepository userRepository = new EmbeddedUserRepository(store);
+        EmbeddedTournamentRepository tournamentRepository = new EmbeddedTournamentRepository(store);
+        names = new ArrayList<>();
+        queries = new ArrayList<>();
+        for (int i = 0; i < PLAYERS; i++) {
+            String name = word(random) + " " + word(random);
+            UserDTO user = new UserDTO();
+            user.setId("p" + i);
+            user.setName(name);
+            user.setRole("player");
+            user.setPlayerDetails(new Player(0, "1990-01-01", 1500, 27, 1500,
+                    COUNTRIES[random.nextInt(COUNTRIES.length)], "", ""));
+            userRepository.save(user);
+            names.add(SearchIndex.words(name));
+            if (i % 1000 == 0) {
+                // Drop a letter of the first word
+                String first = name.substring(0, name.indexOf(' '));
+                queries.add(first.substring(0, 2) + first.substring(3) + " " + name.substring(name.indexOf(' ') + 1,
+                        name.indexOf(' ') + 4));
+            }
+        }
+        for (int i = 0; i < TOURNAMENTS; i++) {
+            Tournament tournament = new Tournament();
+            tournament.setId("t" + i);
+            tournament.setName(word(random) + " Open");
+            tournament.setVenue(word(random) + " Arena");
+            tournament.setCountry(COUNTRIES[random.nextInt(COUNTRIES.length)]);
+            tournamentRepository.save(tournament);
+            names.add(SearchIndex.words(tournament.getName()));
+        }
+        index = new SearchIndex();
+        ReflectionTestUtils.setField(index, "userRepository", userRepository);
+        ReflectionTestUtils.setField(index, "tournamentRepository", tournamentRepository);
+        index.search("warm", null, 0, 1);
+    }
+
+    @TearDown
+    public void tearDown() {
+        store.destroy();
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % queries.size();
+        return queries.get(next);
+    }
+
+    @Benchmark
+    public int scanAll() {
+        List<String> words = SearchIndex.words(nextQuery());
+        int found = 0;
+        for (List<String> name : names) {
+            boolean all = true;
+            for (String word : words) {
+                boolean any = false;
+                for (String candidate : name) {
+                    if (candidate.startsWith(word) || levenshtein(word, candidate) <= 1) {
+                        any = true;
+                        break;
+                    }
+                }
+                if (!any) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<SearchResultDTO> searchIndex() throws ExecutionException, InterruptedException {
+        return index.search(nextQuery(), null, 0, 20);
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            row[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            int diagonal = row[0];
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int above = row[j];
+                row[j] = Math.min(diagonal + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1),
+                        Math.min(above, row[j - 1]) + 1);
+                diagonal = above;
+            }
+        }
+        return row[b.length()];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SearchBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,125 @@
+package com.projectshowdown.benchmarks;
+
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.entities.User;
+import com.projectshowdown.service.Bracket;
+import com.projectshowdown.service.MmrIndex;
+import com.projectshowdown.service.Seeding;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures first-round seeding of a draw.
+ *
+ * <ul>
+ * <li>{@code comparatorAndUsedList}: the previous algorithm, which sorted the
+ * players with a comparator that recalculated both players' MMR, date of
+ * birth parsing included, on every comparison, then paired them while looking
+ * up used players in an {@code ArrayList}.</li>
+ * <li>{@code snapshotAndIndexSort}: {@link Seeding}, which reads each MMR once
+ * from the {@link MmrIndex}, sorts indices on the primitive array and places
+ * the players on the {@link Bracket} lines, marking them in a
+ * {@code BitSet}.</li>
+ * </ul>
+ *
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.SeedingBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SeedingBenchmark {
+
+    @Param({ "256", "1024", "4096" })
+    public int players;
+
+    private List<User> users;
+    private Bracket bracket;
+    private MmrIndex mmrIndex;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        users = new ArrayList<>(players);
+        for (int i = 0; i < players; i++) {
+            User user = new User();
+            user.setId("player" + i);
+            user.setPlayerDetails(new Player(0, LocalDate.of(1980 + random.nextInt(25), 1 + random.nextInt(12),
+                    1 + random.nextInt(28)).toString(), 1000 + random.nextInt(1500), 24 + random.nextInt(6),
+                    1500 + random.nextInt(1000), "SG", "", ""));
+            users.add(user);
+        }
+        bracket = Bracket.of(players, 4, 2024);
+        mmrIndex = new MmrIndex();
+    }
+
+    @Benchmark
+    public int[] comparatorAndUsedList() {
+        List<User> sorted = new ArrayList<>(users);
+        sorted.sort(Comparator.comparingDouble(user -> user.getPlayerDetails().calculateMMR()));
+
+        int[] pairs = new int[sorted.size()];
+        Map<Integer, Integer> seedPositions = Map.of(
+                1, 0,
+                sorted.size() / 2, 1,
+                sorted.size() / 4, 2,
+                sorted.size() / 4 + 1, 3);
+        int left = 4;
+        int right = sorted.size() - 1;
+        List<Integer> usedPlayers = new ArrayList<>();
+        for (int i = 1; i <= sorted.size() / 2; i++) {
+            int player1;
+            int player2;
+            if (seedPositions.containsKey(i)) {
+                player1 = seedPositions.get(i);
+                player2 = right;
+                usedPlayers.add(player1);
+                usedPlayers.add(right--);
+            } else {
+                while (usedPlayers.contains(left))
+                    left++;
+                player1 = left;
+                usedPlayers.add(left++);
+                while (usedPlayers.contains(right))
+                    right--;
+                player2 = right;
+                usedPlayers.add(right--);
+            }
+            pairs[(i - 1) * 2] = player1;
+            pairs[(i - 1) * 2 + 1] = player2;
+        }
+        return pairs;
+    }
+
+    @Benchmark
+    public int[] snapshotAndIndexSort() {
+        return Seeding.placeOnLines(bracket, Seeding.rank(Seeding.mmrSnapshot(users, mmrIndex)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SeedingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
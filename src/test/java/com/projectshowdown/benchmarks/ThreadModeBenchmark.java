@@ -0,0 +1,114 @@
+package com.projectshowdown.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures request throughput when handlers spend most of their time blocked
+ * on I/O, as ours do on Firestore, SMTP and Dialogflow. Each simulated request
+ * makes three sequential 5 ms round trips.
+ *
+ * <ul>
+ * <li>{@code platform}: Tomcat's default pool of 200 platform threads.</li>
+ * <li>{@code virtual}: one virtual thread per request, as with
+ * {@code spring.threads.virtual.enabled=true}.</li>
+ * <li>{@code virtualPinned}: virtual threads that block inside a
+ * {@code synchronized} block, as Jakarta Mail does during an SMTP send. They
+ * cannot unmount, so throughput falls to one request per carrier thread.</li>
+ * </ul>
+ *
+ * The virtual thread cases need Java 21. Run with {@code mvn -Pvirtual-threads
+ * test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.projectshowdown.benchmarks.ThreadModeBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ThreadModeBenchmark {
+
+    private static final int CONCURRENT_REQUESTS = 2000;
+    private static final int ROUND_TRIPS = 3;
+    private static final long ROUND_TRIP_MILLIS = 5;
+    // Tomcat's default server.tomcat.threads.max
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({ "platform", "virtual", "virtualPinned" })
+    public String threads;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        executor = "platform".equals(threads)
+                ? Executors.newFixedThreadPool(TOMCAT_MAX_THREADS)
+                : newVirtualThreadPerTaskExecutor();
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        // Looked up at run time so the benchmarks still compile for Java 17
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    }
+
+    private static void handleRequest() throws InterruptedException {
+        for (int i = 0; i < ROUND_TRIPS; i++) {
+            Thread.sleep(ROUND_TRIP_MILLIS);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_REQUESTS)
+    public void requests() throws InterruptedException {
+        boolean pinned = "virtualPinned".equals(threads);
+        CountDownLatch done = new CountDownLatch(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            executor.execute(() -> {
+                try {
+                    if (pinned) {
+                        Object transport = new Object();
+                        synchronized (transport) {
+                            handleRequest();
+                        }
+                    } else {
+                        handleRequest();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ThreadModeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
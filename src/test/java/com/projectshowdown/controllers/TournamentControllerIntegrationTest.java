@@ -32,6 +32,7 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestPropertySource(properties = "APP_PASSWORD=admin.Password1!")
 @TestPropertySource(properties = "GOOGLE_CONFIG_PATH=/Users/arthurchan/Documents/firebasekey/serviceAccountKey.json")
 @TestPropertySource(properties = "GOOGLE_CREDENTIALS_JSON=/Users/arthurchan/Documents/firebasekey/serviceAccountKey.json")
+@TestPropertySource(properties = "NOTIFICATION_OUTBOX_PATH=")
 
 
 @Import({TestGoogleServiceConfig.class, TestSecurityConfig.class})
@@ -38,6 +38,7 @@ import com.projectshowdown.entities.Player;
 @TestPropertySource(properties = "APP_PASSWORD=Password1!")
 @TestPropertySource(properties = "GOOGLE_CONFIG_PATH=/Users/arthurchan/Documents/firebasekey/serviceAccountKey.json")
 @TestPropertySource(properties = "GOOGLE_CREDENTIALS_JSON=/Users/arthurchan/Documents/firebasekey/serviceAccountKey.json")
+@TestPropertySource(properties = "NOTIFICATION_OUTBOX_PATH=")
 
 @Import({TestGoogleServiceConfig.class, TestSecurityConfig.class})
 @ActiveProfiles("test")
@@ -98,4 +98,18 @@ class MatchTest {
         Match match = new Match("1", "t1", "p1", "p2", 2, 2, 100.0, "2024-03-20", "finals", true);
         assertEquals("p2", match.loserId());
     }
-}
\ No newline at end of file
+
+    @Test
+    void rateable_shouldBeFalseForByesAndUnfinishedMatches() {
+        assertTrue(new Match("1", "t1", "p1", "p2", 3, 1, 100.0, "2024-03-20", "finals", true).rateable());
+        assertFalse(new Match("1", "t1", "p1", "p2", 0, 0, 100.0, "2024-03-20", "finals", false).rateable());
+        assertFalse(new Match("1", "t1", "p1", null, 0, 0, 0, "TBC", "finals", true).rateable());
+    }
+
+    @Test
+    void player1Result_shouldScoreWinsLossesAndDraws() {
+        assertEquals(1.0, new Match("1", "t1", "p1", "p2", 3, 1, 100.0, "2024-03-20", "finals", true).player1Result());
+        assertEquals(0.0, new Match("1", "t1", "p1", "p2", 1, 3, 100.0, "2024-03-20", "finals", true).player1Result());
+        assertEquals(0.5, new Match("1", "t1", "p1", "p2", 2, 2, 100.0, "2024-03-20", "finals", true).player1Result());
+    }
+}
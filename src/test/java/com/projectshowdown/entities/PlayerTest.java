@@ -85,6 +85,34 @@ public class PlayerTest {
         assertEquals(expectedMMR, actualMMR, 0.0001, "The calculated MMR should match the expected value.");
     }
 
+    @Test
+    public void testRefreshMMRIsValidUntilNextBirthday() {
+        // Act
+        LocalDate today = LocalDate.of(2024, 6, 15);
+        player.setElo(2000);
+        player.setPeakElo(2500);
+        player.setPeakAge(24);
+        player.setDob("1999-06-20");
+        player.refreshMMR(today);
+
+        // Assert
+        double expectedMMR = 2000 + 2500 * Math.cos((24 - 24) * Math.PI / 10) + 1000;
+        assertEquals(expectedMMR, player.getMmr(), 0.0001);
+        assertEquals(LocalDate.of(2024, 6, 20).toEpochDay(), player.getMmrValidUntil());
+        assertEquals(expectedMMR, player.storedMMR(LocalDate.of(2024, 6, 19).toEpochDay()));
+        assertNull(player.storedMMR(LocalDate.of(2024, 6, 20).toEpochDay()));
+    }
+
+    @Test
+    public void testRefreshMMRForLeapDayBirthday() {
+        // Act
+        player.setDob("2000-02-29");
+        player.refreshMMR(LocalDate.of(2023, 2, 28));
+
+        // Assert
+        assertEquals(LocalDate.of(2023, 3, 1).toEpochDay(), player.getMmrValidUntil());
+    }
+
     @Test
     public void testGetAndSetCountry() {
         // Act
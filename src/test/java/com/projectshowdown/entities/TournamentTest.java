@@ -193,6 +193,38 @@ public class TournamentTest {
         assertTrue(emptyTournament.getUsers().isEmpty());
     }
 
+    @Test
+    public void testMatchIdsAreNumberedAcrossRounds() {
+        tournament.setId("T001");
+        List<Round> rounds = new ArrayList<>();
+        rounds.add(new Round("Initial", new ArrayList<>(List.of("T001m_1", "T001m_2", "T001m_3", "T001m_4"))));
+        tournament.setRounds(rounds);
+
+        assertEquals(2, tournament.roundSize(1));
+        assertEquals("T001m_5", tournament.matchId(1, 0));
+        assertEquals("T001m_7", tournament.matchId(2, 0));
+        assertEquals(3, tournament.slotOf("T001m_4", 0));
+        assertEquals(1, tournament.slotOf("T001m_6", 1));
+    }
+
+    @Test
+    public void testAddToRoundKeepsBracketOrder() {
+        tournament.setId("T001");
+        List<Round> rounds = new ArrayList<>();
+        rounds.add(new Round("Initial", new ArrayList<>(List.of("T001m_1", "T001m_2", "T001m_3", "T001m_4"))));
+        tournament.setRounds(rounds);
+
+        assertTrue(tournament.addToRound(1, "Semi Finals", "T001m_6"));
+        assertTrue(tournament.addToRound(1, "Semi Finals", "T001m_5"));
+        assertFalse(tournament.addToRound(1, "Semi Finals", "T001m_5"),
+                "A match already in the round should not be added again");
+
+        assertEquals(2, tournament.getRounds().size());
+        assertEquals("Semi Finals", tournament.getRounds().get(1).getName());
+        assertEquals(List.of("T001m_5", "T001m_6"), tournament.getRounds().get(1).getMatches());
+        assertThrows(IllegalArgumentException.class, () -> tournament.addToRound(3, "Finals", "T001m_7"));
+    }
+
     @Test
     public void testTotalMatchesWithEmptyRounds() {
         tournament.setRounds(new ArrayList<>());
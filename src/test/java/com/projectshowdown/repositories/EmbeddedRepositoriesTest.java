@@ -0,0 +1,280 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.Tournament;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmbeddedRepositoriesTest {
+
+    private EmbeddedDocumentStore store;
+    private EmbeddedUserRepository userRepository;
+    private EmbeddedTournamentRepository tournamentRepository;
+    private EmbeddedMatchRepository matchRepository;
+
+    @BeforeEach
+    void setUp() {
+        // A blank path keeps the store in memory
+        store = new EmbeddedDocumentStore("");
+        userRepository = new EmbeddedUserRepository(store);
+        tournamentRepository = new EmbeddedTournamentRepository(store);
+        matchRepository = new EmbeddedMatchRepository(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        store.destroy();
+    }
+
+    @Test
+    void testSaveAndFindUserById() throws Exception {
+        UserDTO user = player("player@example.com", 1500.0);
+        user.setId(userRepository.nextId());
+        userRepository.save(user);
+
+        UserDTO result = userRepository.findById(user.getId()).orElseThrow();
+
+        assertEquals(user.getId(), result.getId());
+        assertEquals("player@example.com", result.getEmail());
+        assertEquals(1500.0, result.getPlayerDetails().getElo());
+        assertTrue(userRepository.findById("missing").isEmpty());
+    }
+
+    @Test
+    void testFindUserByEmailAndRole() throws Exception {
+        UserDTO player = player("player@example.com", 1500.0);
+        player.setId("p1");
+        userRepository.save(player);
+
+        UserDTO organizer = new UserDTO();
+        organizer.setId("o1");
+        organizer.setEmail("organizer@example.com");
+        organizer.setRole("organizer");
+        userRepository.save(organizer);
+
+        assertEquals("p1", userRepository.findByEmail("player@example.com").orElseThrow().getId());
+        assertTrue(userRepository.existsByEmail("organizer@example.com"));
+        assertFalse(userRepository.existsByEmail("nobody@example.com"));
+        assertEquals(1, userRepository.findAllByRole("organizer").size());
+        assertEquals("o1", userRepository.findAllByRole("organizer").get(0).getId());
+    }
+
+    @Test
+    void testUpdateUserDottedPathAndReindex() throws Exception {
+        UserDTO user = player("old@example.com", 1500.0);
+        user.setId("p1");
+        userRepository.save(user);
+
+        userRepository.update("p1", Map.of("playerDetails.elo", 1525.0, "email", "new@example.com"));
+
+        UserDTO result = userRepository.findById("p1").orElseThrow();
+        assertEquals(1525.0, result.getPlayerDetails().getElo());
+        assertEquals("Singapore", result.getPlayerDetails().getCountry());
+        assertTrue(userRepository.findByEmail("old@example.com").isEmpty());
+        assertTrue(userRepository.findByEmail("new@example.com").isPresent());
+    }
+
+    @Test
+    void testDeleteUser() throws Exception {
+        UserDTO user = player("player@example.com", 1500.0);
+        user.setId("p1");
+        userRepository.save(user);
+
+        userRepository.delete("p1");
+
+        assertFalse(userRepository.existsById("p1"));
+        assertFalse(userRepository.existsByEmail("player@example.com"));
+    }
+
+    @Test
+    void testFindTournamentsByPlayerAndOrganizer() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setId("t1");
+        tournament.setName("Summer Cup");
+        tournament.setOrganizerId("o1");
+        tournament.setUsers(new ArrayList<>(Arrays.asList("p1", "p2")));
+        tournament.setRounds(new ArrayList<>());
+        tournamentRepository.save(tournament);
+
+        assertEquals(1, tournamentRepository.findByOrganizerId("o1").size());
+        assertEquals("Summer Cup", tournamentRepository.findByPlayerId("p2").get(0).getName());
+
+        // Removing a player from the list removes the tournament from their index entry
+        tournamentRepository.update("t1", Map.of("users", List.of("p1")));
+        assertTrue(tournamentRepository.findByPlayerId("p2").isEmpty());
+        assertEquals(1, tournamentRepository.findByPlayerId("p1").size());
+    }
+
+    @Test
+    void testFindMatchesById() throws Exception {
+        matchRepository.save(new Match("t1m_1", "t1", "p1", "p2", 0, 0, 10.0, "TBC", "Round 1", false));
+        matchRepository.save(new Match("t1m_2", "t1", "p3", "p4", 0, 0, 20.0, "TBC", "Round 1", false));
+
+        matchRepository.update("t1m_1", Map.of("player1Score", 2, "player2Score", 1, "completed", true));
+
+        Map<String, Match> result = matchRepository.findAllById(Arrays.asList("t1m_1", "t1m_2", "missing"));
+        assertEquals(2, result.size());
+        assertTrue(result.get("t1m_1").isCompleted());
+        assertEquals("p1", result.get("t1m_1").winnerId());
+        assertEquals("p3", matchRepository.findDocuments(List.of("t1m_2")).get("t1m_2").get("player1Id"));
+    }
+
+    @Test
+    void testFindCompletedMatchesAndMarkRated() throws Exception {
+        matchRepository.save(new Match("t1m_1", "t1", "p1", "p2", 2, 1, 10.0, "2024-03-20T10:00:00", "Round 1", true));
+        matchRepository.save(new Match("t1m_2", "t1", "p3", "p4", 0, 0, 20.0, "TBC", "Round 1", false));
+
+        List<Match> completed = matchRepository.findAllCompleted();
+        assertEquals(1, completed.size());
+        assertFalse(completed.get(0).isRated());
+
+        assertEquals("t1m_1", matchRepository.findAllUnrated().get(0).getId());
+
+        matchRepository.updateAll(Map.of("t1m_1", Map.of(MatchRepository.RATED_FIELD, true)));
+        assertTrue(matchRepository.findAllCompleted().get(0).isRated());
+        assertTrue(matchRepository.findAllUnrated().isEmpty());
+    }
+
+    @Test
+    void testLegacyMatchesAreNotUnrated() throws Exception {
+        // Stored before matches had a rated field
+        Map<String, Object> legacy = store.toDocument(
+                new Match("t1m_1", "t1", "p1", "p2", 2, 1, 10.0, "2024-03-20T10:00:00", "Round 1", true));
+        legacy.remove(MatchRepository.RATED_FIELD);
+        store.put(MatchRepository.MATCHES_DB, "t1m_1", legacy);
+
+        assertTrue(matchRepository.findAllUnrated().isEmpty());
+        assertEquals("t1m_1", matchRepository.findAllLegacyCompleted().get(0).getId());
+
+        matchRepository.updateAll(Map.of("t1m_1", Map.of(MatchRepository.RATED_FIELD, true)));
+        assertTrue(matchRepository.findAllLegacyCompleted().isEmpty());
+    }
+
+    @Test
+    void testAddRoundWritesMatchesAndTournamentTogether() throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setId("t1");
+        tournament.setOrganizerId("o1");
+        tournament.setUsers(new ArrayList<>(Arrays.asList("p1", "p2", "p3", "p4")));
+        tournament.setRounds(new ArrayList<>());
+        tournamentRepository.save(tournament);
+
+        List<Match> matches = List.of(
+                new Match("t1m_1", "t1", "p1", "p4", 0, 0, 10.0, "TBC", "Semi Finals", false),
+                new Match("t1m_2", "t1", "p2", "p3", 0, 0, 20.0, "TBC", "Semi Finals", false));
+        tournamentRepository.addRound("t1", matches,
+                Map.of("rounds", List.of(new Round("Initial", List.of("t1m_1", "t1m_2"))), "status", "In Progress"));
+
+        Tournament result = tournamentRepository.findById("t1").orElseThrow();
+        assertEquals("In Progress", result.getStatus());
+        assertEquals(List.of("t1m_1", "t1m_2"), result.getRounds().get(0).getMatches());
+        assertEquals(2, matchRepository.findAllById(List.of("t1m_1", "t1m_2")).size());
+    }
+
+    @Test
+    void testAddRoundToMissingTournamentWritesNothing() {
+        List<Match> matches = List.of(new Match("t9m_1", "t9", "p1", "p2", 0, 0, 10.0, "TBC", "Finals", false));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> tournamentRepository.addRound("t9", matches, Map.of("status", "In Progress")));
+        assertTrue(matchRepository.findById("t9m_1").isEmpty());
+    }
+
+    @Test
+    void testFailedBatchIsRolledBack() {
+        store.put("users", "p1", Map.of("name", "Roger"));
+        List<EmbeddedDocumentStore.Write> writes = List.of(
+                EmbeddedDocumentStore.Write.put("users", "p2", Map.of("name", "Rafael")),
+                // Not convertible to a stored value
+                EmbeddedDocumentStore.Write.update("users", "p1", Map.of("name", new Object())));
+
+        assertThrows(IllegalArgumentException.class, () -> store.writeAll(writes));
+        // A later commit does not persist the first write of the batch
+        store.put("users", "p3", Map.of("name", "Stan"));
+        assertFalse(store.exists("users", "p2"));
+        assertEquals("Roger", store.get("users", "p1").get("name"));
+    }
+
+    @Test
+    void testRecordMatchResultCountsEachMatchOnce() throws Exception {
+        saveRoundOfTwo("t1", new Round("Finals", List.of("t1m_1", "t1m_2")));
+
+        RoundProgress first = tournamentRepository.recordMatchResult("t1", "t1m_1", completedScore());
+        assertEquals(1, first.getCompletedMatches());
+        assertTrue(first.isNewlyCompleted());
+        assertTrue(matchRepository.findById("t1m_1").orElseThrow().isCompleted());
+
+        // Correcting the score of a completed match does not count it again
+        RoundProgress corrected = tournamentRepository.recordMatchResult("t1", "t1m_1", completedScore());
+        assertEquals(1, corrected.getCompletedMatches());
+        assertFalse(corrected.isNewlyCompleted());
+
+        RoundProgress last = tournamentRepository.recordMatchResult("t1", "t1m_2", completedScore());
+        assertEquals(2, last.getCompletedMatches());
+        assertTrue(last.isNewlyCompleted());
+        assertEquals(2, last.getTotalMatches());
+        assertEquals(2, tournamentRepository.findById("t1").orElseThrow().getRounds().get(0).getCompletedMatches());
+    }
+
+    @Test
+    void testRecordMatchResultCountsRoundWithoutStoredCount() throws Exception {
+        saveRoundOfTwo("t1", new Round("Finals", List.of("t1m_1", "t1m_2"), null));
+        matchRepository.update("t1m_1", completedScore());
+
+        RoundProgress progress = tournamentRepository.recordMatchResult("t1", "t1m_2", completedScore());
+
+        assertEquals(2, progress.getCompletedMatches());
+        assertEquals(2, progress.getTotalMatches());
+    }
+
+    @Test
+    void testAddBracketMatchCreatesNextRoundOnce() throws Exception {
+        saveRoundOfTwo("t1", new Round("Semi Finals", List.of("t1m_1", "t1m_2")));
+        Match finalMatch = new Match("t1m_3", "t1", "p1", "p4", 0, 0, 10.0, "TBC", "Finals", false);
+
+        assertTrue(tournamentRepository.addBracketMatch("t1", 1, "Finals", finalMatch));
+        assertFalse(tournamentRepository.addBracketMatch("t1", 1, "Finals", finalMatch));
+
+        Tournament saved = tournamentRepository.findById("t1").orElseThrow();
+        assertEquals(2, saved.getRounds().size());
+        assertEquals(List.of("t1m_3"), saved.getRounds().get(1).getMatches());
+        assertEquals(0, saved.getRounds().get(1).getCompletedMatches());
+        assertEquals("p4", matchRepository.findById("t1m_3").orElseThrow().getPlayer2Id());
+    }
+
+    private void saveRoundOfTwo(String tournamentId, Round round) throws Exception {
+        Tournament tournament = new Tournament();
+        tournament.setId(tournamentId);
+        tournament.setRounds(new ArrayList<>(List.of(round)));
+        tournamentRepository.save(tournament);
+        matchRepository.save(new Match("t1m_1", tournamentId, "p1", "p2", 0, 0, 10.0, "TBC", "Finals", false));
+        matchRepository.save(new Match("t1m_2", tournamentId, "p3", "p4", 0, 0, 10.0, "TBC", "Finals", false));
+    }
+
+    private static Map<String, Object> completedScore() {
+        return Map.of("player1Score", 2, "player2Score", 1, "completed", true);
+    }
+
+    private static UserDTO player(String email, double elo) {
+        UserDTO user = new UserDTO();
+        user.setEmail(email);
+        user.setRole("player");
+        Player player = new Player();
+        player.setElo(elo);
+        player.setCountry("Singapore");
+        user.setPlayerDetails(player);
+        return user;
+    }
+}
@@ -0,0 +1,103 @@
+package com.projectshowdown.repositories;
+
+import com.projectshowdown.entities.LedgerEvent;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchLedgerStoreTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void testEntriesReadBackInOrder() throws IOException {
+        MatchLedgerStore store = new MatchLedgerStore(dir.resolve("ledger.log").toString());
+        try {
+            Match match = new Match("m1", "t1", "p1", "p2", 3, 1, 1, "2024-03-20T10:00:00", "Round 1", true);
+            Player player = new Player(1, "2000-01-01", 1500, 24, 1600, "SG", "", "");
+            store.append(LedgerEvent.result(match));
+            long afterResult = store.end();
+            store.append(LedgerEvent.player("p1", player));
+            store.append(LedgerEvent.periodClosed());
+
+            List<LedgerEvent> events = new ArrayList<>();
+            assertEquals(store.end(), store.read(0, events::add));
+            assertEquals(3, events.size());
+            assertEquals(LedgerEvent.Type.RESULT, events.get(0).getType());
+            assertEquals("m1", events.get(0).getMatchId());
+            assertEquals("p2", events.get(0).getPlayer2Id());
+            assertEquals(3, events.get(0).getPlayer1Score());
+            assertEquals(1, events.get(0).getPlayer2Score());
+            assertFalse(events.get(0).isRated());
+            assertEquals("p1", events.get(1).getUserId());
+            assertEquals(1500, events.get(1).getElo());
+            assertEquals(1600, events.get(1).getPeakElo());
+            // An empty string is not read back as null
+            assertEquals("", events.get(1).getAchievements());
+            assertEquals(LedgerEvent.Type.PERIOD_CLOSED, events.get(2).getType());
+
+            List<LedgerEvent> rest = new ArrayList<>();
+            store.read(afterResult, rest::add);
+            assertEquals(List.of(LedgerEvent.Type.PLAYER, LedgerEvent.Type.PERIOD_CLOSED),
+                    rest.stream().map(LedgerEvent::getType).toList());
+        } finally {
+            store.destroy();
+        }
+    }
+
+    @Test
+    void testIncompleteEntryTruncatedOnOpen() throws IOException {
+        Path log = dir.resolve("ledger.log");
+        MatchLedgerStore store = new MatchLedgerStore(log.toString());
+        store.append(LedgerEvent.periodClosed());
+        long complete = store.append(LedgerEvent.periodClosed());
+        store.destroy();
+
+        // A crash while appending leaves part of an entry behind
+        try (FileChannel channel = FileChannel.open(log, StandardOpenOption.WRITE)) {
+            channel.truncate(complete - 3);
+        }
+
+        MatchLedgerStore reopened = new MatchLedgerStore(log.toString());
+        try {
+            List<LedgerEvent> events = new ArrayList<>();
+            reopened.read(0, events::add);
+            assertEquals(1, events.size());
+            assertEquals(reopened.end(), Files.size(log));
+            // Appends continue after the last complete entry
+            reopened.append(LedgerEvent.periodClosed());
+            events.clear();
+            reopened.read(0, events::add);
+            assertEquals(2, events.size());
+        } finally {
+            reopened.destroy();
+        }
+    }
+
+    @Test
+    void testSnapshotReplaced() throws IOException {
+        MatchLedgerStore store = new MatchLedgerStore(dir.resolve("ledger.log").toString());
+        try {
+            assertEquals(Optional.empty(), store.readSnapshot());
+            store.writeSnapshot(new byte[] { 1, 2 });
+            store.writeSnapshot(new byte[] { 3 });
+            assertArrayEquals(new byte[] { 3 }, store.readSnapshot().orElseThrow());
+            assertTrue(Files.exists(dir.resolve("ledger.log.snapshot")));
+        } finally {
+            store.destroy();
+        }
+    }
+}
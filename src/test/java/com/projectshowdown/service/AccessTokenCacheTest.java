@@ -0,0 +1,115 @@
+package com.projectshowdown.service;
+
+import com.google.auth.oauth2.AccessToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenCacheTest {
+
+    private static final Instant START = Instant.parse("2024-11-20T12:00:00Z");
+
+    private MutableClock clock;
+    private int fetches;
+    private boolean failing;
+    private AccessTokenCache accessTokens;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(START);
+        fetches = 0;
+        failing = false;
+        // Every token lives for an hour
+        accessTokens = new AccessTokenCache(() -> {
+            if (failing) {
+                throw new IOException("token endpoint unavailable");
+            }
+            fetches++;
+            return new AccessToken("token" + fetches, Date.from(clock.instant().plus(Duration.ofHours(1))));
+        }, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void testTokenIsReusedUntilItExpires() throws IOException {
+        assertEquals("token1", accessTokens.get());
+        clock.advance(Duration.ofMinutes(59));
+        assertEquals("token1", accessTokens.get());
+
+        clock.advance(Duration.ofMinutes(1));
+        assertEquals("token2", accessTokens.get());
+        assertEquals(2, fetches);
+    }
+
+    @Test
+    void testScheduledRefreshReplacesTheTokenBeforeItExpires() throws IOException {
+        // Nothing is fetched before the first request
+        accessTokens.refreshPeriodically();
+        assertEquals(0, fetches);
+
+        assertEquals("token1", accessTokens.get());
+        clock.advance(Duration.ofMinutes(50));
+        accessTokens.refreshPeriodically();
+        assertEquals(1, fetches);
+
+        clock.advance(Duration.ofMinutes(5));
+        accessTokens.refreshPeriodically();
+        assertEquals("token2", accessTokens.get());
+        assertEquals(2, fetches);
+    }
+
+    @Test
+    void testFailedRefreshKeepsTheValidToken() throws IOException {
+        assertEquals("token1", accessTokens.get());
+        clock.advance(Duration.ofMinutes(56));
+        failing = true;
+        accessTokens.refreshPeriodically();
+        assertEquals("token1", accessTokens.get());
+
+        clock.advance(Duration.ofMinutes(4));
+        assertThrows(IOException.class, accessTokens::get);
+    }
+
+    @Test
+    void testInvalidatedTokenIsFetchedAgain() throws IOException {
+        assertEquals("token1", accessTokens.get());
+        accessTokens.invalidate();
+        assertEquals("token2", accessTokens.get());
+        assertEquals("token2", accessTokens.get());
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        private void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.projectshowdown.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BracketTest {
+
+    @Test
+    void testStandardSeedLinesKeepTopSeedsApart() {
+        Bracket bracket = Bracket.of(8, 8, 1);
+
+        int[] expected = { 1, 8, 5, 4, 3, 6, 7, 2 };
+        for (int line = 0; line < expected.length; line++) {
+            assertEquals(expected[line], bracket.seedAt(line));
+            assertEquals(expected[line] - 1, bracket.entrantAt(line));
+        }
+    }
+
+    @Test
+    void testByesGoToTopSeeds() {
+        Bracket bracket = Bracket.of(5, 2, 7);
+
+        assertEquals(8, bracket.getDrawSize());
+        assertEquals(3, bracket.getByes());
+        // Seed 1 on line 0 and seed 2 on line 7 get byes, as does the entrant
+        // drawn opposite the third bye
+        assertEquals(0, bracket.entrant(0, 0));
+        assertEquals(Bracket.BYE, bracket.entrant(0, 1));
+        assertEquals(1, bracket.entrant(3, 1));
+        assertEquals(Bracket.BYE, bracket.entrant(3, 0));
+        assertTrue(bracket.isBye(2));
+        assertFalse(bracket.isBye(1));
+    }
+
+    @Test
+    void testEveryEntrantIsPlacedOnce() {
+        Bracket bracket = Bracket.of(3000, 32, 42);
+
+        BitSet placed = new BitSet();
+        int byes = 0;
+        for (int line = 0; line < bracket.getDrawSize(); line++) {
+            int entrant = bracket.entrantAt(line);
+            if (entrant == Bracket.BYE) {
+                byes++;
+            } else {
+                assertFalse(placed.get(entrant));
+                placed.set(entrant);
+            }
+        }
+        assertEquals(3000, placed.cardinality());
+        assertEquals(4096 - 3000, byes);
+        for (int match = 0; match < bracket.roundSize(0); match++) {
+            assertFalse(bracket.entrant(match, 0) == Bracket.BYE && bracket.entrant(match, 1) == Bracket.BYE);
+        }
+    }
+
+    @Test
+    void testLotIsRepeatableAndLeavesSeedsInPlace() {
+        Bracket first = Bracket.of(64, 16, 99);
+        Bracket again = Bracket.of(64, 16, 99);
+        Bracket other = Bracket.of(64, 16, 100);
+
+        boolean differs = false;
+        for (int line = 0; line < 64; line++) {
+            assertEquals(first.entrantAt(line), again.entrantAt(line));
+            if (first.seedAt(line) <= 16) {
+                assertEquals(first.entrantAt(line), other.entrantAt(line));
+            }
+            differs |= first.entrantAt(line) != other.entrantAt(line);
+        }
+        assertTrue(differs);
+    }
+
+    @Test
+    void testMatchTreeLinksFeedersAndNextMatches() {
+        Bracket bracket = Bracket.of(4096, 32, 1);
+
+        assertEquals(12, bracket.getRounds());
+        assertEquals(4095, bracket.getMatchCount());
+        for (int match = 0; match < bracket.getMatchCount(); match++) {
+            int next = bracket.nextMatch(match);
+            if (next == Bracket.NONE) {
+                assertEquals(bracket.getMatchCount() - 1, match);
+            } else {
+                assertEquals(match, bracket.feeder(next, bracket.nextSide(match)));
+                assertEquals(bracket.roundOf(match) + 1, bracket.roundOf(next));
+            }
+        }
+        assertEquals(Bracket.NONE, bracket.feeder(0, 0));
+        assertEquals(2048, bracket.match(1, 0));
+        assertEquals(5, bracket.slotOf(bracket.match(3, 5)));
+    }
+
+    @Test
+    void testRoundNamesCountBackFromTheFinal() {
+        assertEquals("Round 1", Bracket.roundName(32, 0));
+        assertEquals("Round 2", Bracket.roundName(32, 1));
+        assertEquals("QuarterFinals", Bracket.roundName(32, 2));
+        assertEquals("Semi Finals", Bracket.roundName(32, 3));
+        assertEquals("Finals", Bracket.roundName(32, 4));
+        assertEquals("Finals", Bracket.roundName(2, 0));
+    }
+
+    @Test
+    void testDrawSizeLimits() {
+        assertEquals(2, Bracket.of(2, 4, 0).getDrawSize());
+        assertEquals(2, Bracket.of(2, 4, 0).getSeeds());
+        assertThrows(IllegalArgumentException.class, () -> Bracket.of(1, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> Bracket.of(Bracket.MAX_DRAW_SIZE + 1, 0, 0));
+    }
+}
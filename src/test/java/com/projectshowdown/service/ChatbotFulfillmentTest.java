@@ -0,0 +1,161 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.LeaderboardEntryDTO;
+import com.projectshowdown.dto.SearchResultDTO;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.exceptions.PlayerNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ChatbotFulfillmentTest {
+
+    private static final String SESSION = "projects/showdown/agent/sessions/1234";
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private TournamentDirectory tournamentDirectory;
+
+    @Mock
+    private UserService userService;
+
+    @InjectMocks
+    private ChatbotFulfillment chatbotFulfillment;
+
+    @BeforeEach
+    void setUp() throws ExecutionException, InterruptedException {
+        // Not every question reaches every index
+        lenient().when(searchIndex.findByName(anyString(), anyString())).thenReturn(Optional.empty());
+        lenient().when(searchIndex.findByName("roger federer", SearchIndex.PLAYER_TYPE))
+                .thenReturn(Optional.of(new SearchResultDTO("player", "p1", "Roger Federer", "Switzerland", 2)));
+        lenient().when(searchIndex.findByName("swiss indoors", SearchIndex.TOURNAMENT_TYPE))
+                .thenReturn(Optional.of(new SearchResultDTO("tournament", "t1", "Swiss Indoors", "Basel", 2)));
+        lenient().when(leaderboard.rankOf("p1"))
+                .thenReturn(new LeaderboardEntryDTO(3, "p1", "Roger Federer", 1873.6));
+        lenient().when(leaderboard.rankOf("p2"))
+                .thenReturn(new LeaderboardEntryDTO(5, "p2", "Rafael Nadal", 1811));
+
+        Tournament tournament = new Tournament();
+        tournament.setId("t1");
+        tournament.setName("Swiss Indoors");
+        tournament.setVenue("St. Jakobshalle");
+        tournament.setDateTime("2019-10-21T12:00:00");
+        lenient().when(tournamentDirectory.find("t1")).thenReturn(Optional.of(tournament));
+        lenient().when(tournamentDirectory.finalOf("t1")).thenReturn(Optional.of(
+                new Match("t1m_7", "t1", "p1", "p2", 6, 3, 0, "2019-10-27T14:00:00", "Finals", true)));
+    }
+
+    @Test
+    void testAnswersIntentsFromTheIndexes() throws ExecutionException, InterruptedException {
+        assertEquals("Roger Federer has an elo rating of 1874.",
+                chatbotFulfillment.answer(ChatbotFulfillment.PLAYER_ELO, "roger federer"));
+        assertEquals("Roger Federer is rank 3.",
+                chatbotFulfillment.answer(ChatbotFulfillment.PLAYER_RANK, "roger federer"));
+        assertEquals("Swiss Indoors was held on 21 October 2019.",
+                chatbotFulfillment.answer(ChatbotFulfillment.TOURNAMENT_DATE, "swiss indoors"));
+        assertEquals("Swiss Indoors was held at St. Jakobshalle.",
+                chatbotFulfillment.answer(ChatbotFulfillment.TOURNAMENT_VENUE, "swiss indoors"));
+        assertEquals("The winner of the Swiss Indoors was Roger Federer!",
+                chatbotFulfillment.answer(ChatbotFulfillment.TOURNAMENT_WINNER, "swiss indoors"));
+        assertEquals("In the Swiss Indoors finals, Roger Federer scored 6 and Rafael Nadal scored 3. "
+                + "The winner was Roger Federer!",
+                chatbotFulfillment.answer(ChatbotFulfillment.MATCH_FINALS_SCORE, "swiss indoors"));
+        assertEquals("We couldn't find any tournament with the name: \"Nowhere Cup\". Please check the name "
+                + "and try again.", chatbotFulfillment.answer(ChatbotFulfillment.TOURNAMENT_WINNER, "Nowhere Cup"));
+
+        when(leaderboard.rankOf("p2")).thenThrow(new PlayerNotFoundException("p2"));
+        assertEquals("Could not retrieve all player names for the tournament finals: \"Swiss Indoors\".",
+                chatbotFulfillment.answer(ChatbotFulfillment.MATCH_FINALS_PLAYERS, "swiss indoors"));
+    }
+
+    @Test
+    void testWebhookKeepsContextsForFollowUps() throws ExecutionException, InterruptedException {
+        Map<String, Object> response = chatbotFulfillment.fulfil(Map.of("session", SESSION,
+                "queryResult", Map.of(
+                        "intent", Map.of("displayName", "PlayerElo"),
+                        "parameters", Map.of("name_elo", Map.of("name", "roger federer")))));
+        assertEquals("Roger Federer has an elo rating of 1874.", response.get("fulfillmentText"));
+        assertEquals(List.of(Map.of(
+                "name", SESSION + "/contexts/player_elo_context",
+                "lifespanCount", ChatbotFulfillment.CONTEXT_LIFESPAN,
+                "parameters", Map.of("player_name", Map.of("name", "roger federer")))),
+                response.get("outputContexts"));
+
+        // The follow-up takes the player from the context with the most questions left
+        response = chatbotFulfillment.fulfil(Map.of("session", SESSION,
+                "queryResult", Map.of(
+                        "intent", Map.of("displayName", "PlayerRank_Context"),
+                        "outputContexts", List.of(
+                                Map.of("name", SESSION + "/contexts/player_age_context", "lifespanCount", 2,
+                                        "parameters", Map.of("player_name", Map.of("name", "rafael nadal"))),
+                                Map.of("name", SESSION + "/contexts/player_elo_context", "lifespanCount", 4,
+                                        "parameters", Map.of("player_name", Map.of("name", "roger federer")))))));
+        assertEquals("Roger Federer is rank 3.", response.get("fulfillmentText"));
+
+        response = chatbotFulfillment.fulfil(Map.of("queryResult", Map.of(
+                "intent", Map.of("displayName", "TournamentDate"),
+                "parameters", Map.of("tournament_name", ""))));
+        assertEquals("Please provide a tournament name.", response.get("fulfillmentText"));
+
+        assertEquals(Map.of(), chatbotFulfillment.fulfil(Map.of("queryResult",
+                Map.of("intent", Map.of("displayName", "Default Welcome Intent")))));
+    }
+
+    @Test
+    void testRecognisedQuestionsAreAnsweredLocally() throws ExecutionException, InterruptedException {
+        assertEquals(Optional.of("Roger Federer has an elo rating of 1874."),
+                chatbotFulfillment.answerLocally("What is Roger Federer's Elo?"));
+        assertEquals(Optional.of("Roger Federer is rank 3."),
+                chatbotFulfillment.answerLocally("what is the rank of roger federer"));
+        assertEquals(Optional.of("The winner of the Swiss Indoors was Roger Federer!"),
+                chatbotFulfillment.answerLocally("Who won the Swiss Indoors?"));
+        assertEquals(Optional.of("Swiss Indoors was held at St. Jakobshalle."),
+                chatbotFulfillment.answerLocally("Where was the Swiss Indoors held?"));
+
+        // Left to Dialogflow: not recognised, or about an unknown tournament
+        assertEquals(Optional.empty(), chatbotFulfillment.answerLocally("hi"));
+        assertEquals(Optional.empty(), chatbotFulfillment.answerLocally("When is the next tournament?"));
+        verifyNoInteractions(userService);
+    }
+
+    @Test
+    void testQuestionsResolveToTheirSubject() throws ExecutionException, InterruptedException {
+        ChatbotFulfillment.Question question = chatbotFulfillment.recognise("Who is the winner of Swiss Indoors?")
+                .orElseThrow();
+        assertEquals(ChatbotFulfillment.TOURNAMENT_WINNER, question.getIntent());
+        assertEquals(SearchIndex.TOURNAMENT_TYPE, question.getType());
+        assertEquals("t1", question.getId());
+        assertEquals(Optional.of("The winner of the Swiss Indoors was Roger Federer!"),
+                chatbotFulfillment.answer(question));
+
+        // The agent's query results resolve the same way, except for follow-ups
+        question = chatbotFulfillment.recognise(Map.<String, Object>of(
+                "intent", Map.of("displayName", "PlayerRank"),
+                "parameters", Map.of("name_rank", Map.of("name", "roger federer")))).orElseThrow();
+        assertEquals(SearchIndex.PLAYER_TYPE, question.getType());
+        assertEquals("p1", question.getId());
+        assertEquals(Optional.empty(), chatbotFulfillment.recognise(Map.<String, Object>of(
+                "intent", Map.of("displayName", "PlayerRank_Context"),
+                "parameters", Map.of("name_rank", Map.of("name", "roger federer")))));
+        assertEquals(Optional.empty(), chatbotFulfillment.recognise(Map.<String, Object>of(
+                "intent", Map.of("displayName", "Default Fallback Intent"))));
+    }
+}
@@ -0,0 +1,136 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.events.MatchUpdatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChatbotResponseCacheTest {
+
+    private static final Match FINAL = new Match("t1m_7", "t1", "p1", "p2", 6, 3, 0, "2019-10-27T14:00:00",
+            "Finals", true);
+
+    private ChatbotResponseCache cache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ChatbotResponseCache(100, Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofMinutes(30));
+        loads = new AtomicInteger();
+    }
+
+    private CompletableFuture<ChatbotResponseCache.Entry> about(String type, String id) {
+        return CompletableFuture.completedFuture(
+                ChatbotResponseCache.Entry.about("answer " + loads.incrementAndGet(), type, id));
+    }
+
+    private CompletableFuture<ChatbotResponseCache.Entry> general() {
+        return CompletableFuture.completedFuture(
+                ChatbotResponseCache.Entry.general("answer " + loads.incrementAndGet()));
+    }
+
+    @Test
+    void testMessagesAreKeyedOnTheirWords() {
+        assertEquals("who won the swiss indoors", ChatbotResponseCache.keyOf("Who won the Swiss Indoors?!"));
+        assertEquals(ChatbotResponseCache.keyOf("where is the caja magica"),
+                ChatbotResponseCache.keyOf("  Where is the Caja Mágica? "));
+
+        assertEquals("answer 1", cache.get(ChatbotResponseCache.keyOf("Hi!"), this::general).join());
+        assertEquals("answer 1", cache.get(ChatbotResponseCache.keyOf("hi"), this::general).join());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFinalScoreInvalidatesTheTournamentOnly() {
+        cache.get("TournamentWinner tournament:t1", () -> about(SearchIndex.TOURNAMENT_TYPE, "t1")).join();
+        cache.get("TournamentWinner tournament:t2", () -> about(SearchIndex.TOURNAMENT_TYPE, "t2")).join();
+        cache.get("PlayerElo player:t1", () -> about(SearchIndex.PLAYER_TYPE, "t1")).join();
+
+        // A score outside the final leaves the answers cached
+        cache.onMatchUpdated(new MatchUpdatedEvent(this, "t1", FINAL, new RoundProgress(1, 1, 2, true)));
+        cache.onMatchUpdated(new MatchUpdatedEvent(this, "t1", FINAL));
+        assertEquals("answer 1",
+                cache.get("TournamentWinner tournament:t1", () -> about(SearchIndex.TOURNAMENT_TYPE, "t1")).join());
+
+        cache.onMatchUpdated(new MatchUpdatedEvent(this, "t1", FINAL, new RoundProgress(2, 1, 1, true)));
+        assertEquals("answer 4",
+                cache.get("TournamentWinner tournament:t1", () -> about(SearchIndex.TOURNAMENT_TYPE, "t1")).join());
+        assertEquals("answer 2",
+                cache.get("TournamentWinner tournament:t2", () -> about(SearchIndex.TOURNAMENT_TYPE, "t2")).join());
+        assertEquals("answer 3", cache.get("PlayerElo player:t1", () -> about(SearchIndex.PLAYER_TYPE, "t1")).join());
+    }
+
+    @Test
+    void testInvalidationDropsResponsesInFlight() {
+        CompletableFuture<ChatbotResponseCache.Entry> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.get("who won", () -> pending);
+
+        cache.invalidateTournament("t1");
+        pending.complete(ChatbotResponseCache.Entry.general("stale"));
+
+        // The caller still gets its response, but it is not kept
+        assertEquals("stale", first.join());
+        assertEquals("answer 1", cache.get("who won", this::general).join());
+    }
+
+    @Test
+    void testConcurrentMissesShareOneResponse() {
+        CompletableFuture<ChatbotResponseCache.Entry> pending = new CompletableFuture<>();
+        CompletableFuture<String> first = cache.get("hi", () -> pending);
+        CompletableFuture<String> second = cache.get("hi", this::general);
+
+        pending.complete(ChatbotResponseCache.Entry.uncached("hello"));
+        assertEquals("hello", first.join());
+        assertEquals("hello", second.join());
+        assertEquals(0, loads.get());
+
+        // Uncached responses are not kept once they are answered
+        assertEquals("answer 1", cache.get("hi", this::general).join());
+    }
+
+    @Test
+    void testFailedResponsesAreNotCached() {
+        CompletableFuture<String> failed = cache.get("hi",
+                () -> CompletableFuture.failedFuture(new IllegalStateException("Dialogflow answered 500")));
+
+        assertThrows(CompletionException.class, failed::join);
+        assertEquals("answer 1", cache.get("hi", this::general).join());
+    }
+
+    @Test
+    void testEntriesExpireByWhatTheyAreAbout() throws InterruptedException {
+        cache = new ChatbotResponseCache(100, Duration.ofMillis(50), Duration.ofMillis(50), Duration.ofMinutes(30));
+        cache.get("hi", this::general).join();
+        cache.get("PlayerElo player:p1", () -> about(SearchIndex.PLAYER_TYPE, "p1")).join();
+        cache.get("TournamentDate tournament:t1", () -> about(SearchIndex.TOURNAMENT_TYPE, "t1")).join();
+
+        Thread.sleep(100);
+        assertEquals("answer 4", cache.get("hi", this::general).join());
+        assertEquals("answer 5", cache.get("PlayerElo player:p1", () -> about(SearchIndex.PLAYER_TYPE, "p1")).join());
+        assertEquals("answer 3",
+                cache.get("TournamentDate tournament:t1", () -> about(SearchIndex.TOURNAMENT_TYPE, "t1")).join());
+    }
+
+    @Test
+    void testHitRatioIsPublished() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        cache.bindTo(meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            cache.get("hi", this::general).join();
+        }
+
+        assertEquals(0.75, meterRegistry.get(ChatbotResponseCache.HIT_RATIO_METRIC).gauge().value());
+        assertEquals(3.0, meterRegistry.get("cache.gets").tag("cache", ChatbotResponseCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+    }
+}
@@ -0,0 +1,167 @@
+package com.projectshowdown.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.auth.oauth2.AccessToken;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Calls a local stand-in for the Dialogflow API.
+ */
+class DialogflowClientTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String REPLY = "{\"queryResult\":{\"fulfillmentText\":\"Hello!\"}}";
+
+    private HttpServer server;
+    private List<String> paths;
+    private List<String> authorizations;
+    private List<String> bodies;
+    private volatile int status;
+    private volatile long delayMillis;
+    private int fetches;
+    private volatile Thread fetchThread;
+    private SimpleMeterRegistry meterRegistry;
+    private DialogflowClient dialogflowClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        paths = new CopyOnWriteArrayList<>();
+        authorizations = new CopyOnWriteArrayList<>();
+        bodies = new CopyOnWriteArrayList<>();
+        status = 200;
+        delayMillis = 0;
+        fetches = 0;
+
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        AccessTokenCache accessTokens = new AccessTokenCache(() -> {
+            fetchThread = Thread.currentThread();
+            return new AccessToken("token" + ++fetches, null);
+        }, Duration.ofMinutes(5), Clock.systemUTC());
+        meterRegistry = new SimpleMeterRegistry();
+        dialogflowClient = new DialogflowClient(accessTokens, meterRegistry,
+                "http://127.0.0.1:" + server.getAddress().getPort(), "showdown", "en",
+                Duration.ofSeconds(1), Duration.ofMillis(500), Executors.newCachedThreadPool());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testSendsTheMessageToTheAgentSession() throws Exception {
+        String response = dialogflowClient.detectIntent("1234", "Who won the \"Swiss Indoors\"?")
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(REPLY, response);
+        assertEquals(List.of("/v2/projects/showdown/agent/sessions/1234:detectIntent"), paths);
+        assertEquals(List.of("Bearer token1"), authorizations);
+        // The message is escaped as JSON
+        JsonNode text = OBJECT_MAPPER.readTree(bodies.get(0)).path("queryInput").path("text");
+        assertEquals("Who won the \"Swiss Indoors\"?", text.path("text").asText());
+        assertEquals("en", text.path("languageCode").asText());
+
+        // The token is reused
+        dialogflowClient.detectIntent("1234", "hi").get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("Bearer token1", "Bearer token1"), authorizations);
+        assertEquals(2, successes().count());
+    }
+
+    @Test
+    void testTokenIsFetchedOffTheCallingThread() throws Exception {
+        dialogflowClient.detectIntent("1234", "hi").get(5, TimeUnit.SECONDS);
+
+        assertNotNull(fetchThread);
+        assertNotSame(Thread.currentThread(), fetchThread);
+    }
+
+    @Test
+    void testErrorResponsesFail() throws Exception {
+        status = 500;
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> dialogflowClient.detectIntent("1234", "hi").join());
+        assertInstanceOf(IOException.class, failure.getCause());
+
+        // A rejected token is fetched again for the next request
+        status = 401;
+        assertThrows(CompletionException.class, () -> dialogflowClient.detectIntent("1234", "hi").join());
+        status = 200;
+        dialogflowClient.detectIntent("1234", "hi").get(5, TimeUnit.SECONDS);
+        assertEquals(List.of("Bearer token1", "Bearer token1", "Bearer token2"), authorizations);
+        assertEquals(2, failures().count());
+        assertEquals(1, successes().count());
+    }
+
+    @Test
+    void testSlowResponsesTimeOut() {
+        delayMillis = 2000;
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> dialogflowClient.detectIntent("1234", "hi").join());
+        assertInstanceOf(HttpTimeoutException.class, failure.getCause());
+        assertEquals(1, failures().count());
+    }
+
+    @Test
+    void testLatencyPercentilesArePublished() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            dialogflowClient.detectIntent("1234", "hi").get(5, TimeUnit.SECONDS);
+        }
+        List<Double> percentiles = Arrays.stream(successes().takeSnapshot().percentileValues())
+                .map(ValueAtPercentile::percentile)
+                .toList();
+        assertEquals(List.of(0.5, 0.99), percentiles);
+    }
+
+    private Timer successes() {
+        return meterRegistry.get(DialogflowClient.LATENCY_METRIC).tag("outcome", "success").timer();
+    }
+
+    private Timer failures() {
+        return meterRegistry.get(DialogflowClient.LATENCY_METRIC).tag("outcome", "failure").timer();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        paths.add(exchange.getRequestURI().getPath());
+        authorizations.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        bodies.add(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+        try {
+            Thread.sleep(delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        byte[] reply = REPLY.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, reply.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(reply);
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.projectshowdown.service;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.BodyPart;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailServiceTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private SmtpTransportPool transportPool;
+    private EmailService emailService;
+
+    @BeforeEach
+    void setUp() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        mailSender.setProtocol(ServerSetupTest.SMTP.getProtocol());
+
+        transportPool = new SmtpTransportPool(mailSender, 2);
+        emailService = new EmailService();
+        ReflectionTestUtils.setField(emailService, "emailSender", mailSender);
+        ReflectionTestUtils.setField(emailService, "transportPool", transportPool);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transportPool.destroy();
+    }
+
+    @Test
+    void testSendEmailIncludesHtmlAndInlineLogo() throws Exception {
+        emailService.sendEmail("player@example.com", "Match Assignment", "<h2>You have a match</h2>");
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("Match Assignment", received[0].getSubject());
+        assertEquals(EmailService.FROM_ADDRESS, received[0].getFrom()[0].toString());
+
+        MimeMultipart related = (MimeMultipart) received[0].getContent();
+        assertEquals(2, related.getCount());
+        assertTrue(((String) related.getBodyPart(0).getContent()).contains("<h2>You have a match</h2>"));
+
+        BodyPart logo = related.getBodyPart(1);
+        assertEquals("<" + EmailService.LOGO_CONTENT_ID + ">", logo.getHeader("Content-ID")[0]);
+        try (InputStream expected = new ClassPathResource(EmailService.LOGO_RESOURCE).getInputStream();
+                InputStream actual = logo.getInputStream()) {
+            assertArrayEquals(expected.readAllBytes(), actual.readAllBytes());
+        }
+    }
+
+    @Test
+    void testPoolConnectsWithoutAConfiguredProtocol() throws Exception {
+        // As configured by EmailConfiguration, which does not set the protocol
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+        SmtpTransportPool pool = new SmtpTransportPool(mailSender, 1);
+        try {
+            Transport transport = pool.borrow();
+            assertTrue(transport.isConnected());
+            pool.release(transport);
+        } finally {
+            pool.destroy();
+        }
+    }
+
+    @Test
+    void testSendBulkSendsOneMessagePerRecipient() throws Exception {
+        List<String> recipients = List.of("a@example.com", "b@example.com", "c@example.com");
+
+        Map<String, MessagingException> failures = emailService.sendBulk(recipients, "Cancelled", "<p>Sorry</p>");
+
+        assertTrue(failures.isEmpty());
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(3, received.length);
+        Set<String> to = new HashSet<>();
+        Set<String> messageIds = new HashSet<>();
+        for (MimeMessage message : received) {
+            assertEquals(1, message.getAllRecipients().length);
+            to.add(message.getAllRecipients()[0].toString());
+            messageIds.add(message.getMessageID());
+        }
+        assertEquals(Set.copyOf(recipients), to);
+        assertEquals(3, messageIds.size());
+    }
+
+    @Test
+    void testSendBulkReportsInvalidAddressAndContinues() throws Exception {
+        Map<String, MessagingException> failures = emailService.sendBulk(
+                List.of("a@example.com", "not an address", "b@example.com"), "Cancelled", "<p>Sorry</p>");
+
+        assertEquals(Set.of("not an address"), failures.keySet());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void testPooledConnectionIsReusedAcrossSends() throws Exception {
+        emailService.sendEmail("a@example.com", "First", "<p>1</p>");
+        emailService.sendEmail("b@example.com", "Second", "<p>2</p>");
+
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        // Both sends went over the one connection left idle in the pool
+        assertEquals(1, ((Collection<?>) ReflectionTestUtils.getField(transportPool, "idle")).size());
+    }
+
+    @Test
+    void testSendFailsWhenServerIsDown() {
+        greenMail.stop();
+
+        assertThrows(MessagingException.class,
+                () -> emailService.sendEmail("player@example.com", "Subject", "<p>Hi</p>"));
+    }
+}
@@ -0,0 +1,67 @@
+package com.projectshowdown.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    @Test
+    void testRenderSubstitutesVariables() {
+        EmailTemplate template = EmailTemplate.compile("test", "<h2>{{header}}</h2><p>{{ message }}</p>{{header}}");
+
+        assertEquals("<h2>Hello</h2><p>World</p>Hello",
+                template.render(Map.of("header", "Hello", "message", "World")));
+    }
+
+    @Test
+    void testRenderEscapesHtml() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{name}}</p><a href=\"{{link}}\">");
+
+        assertEquals("<p>&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt; &amp; co</p>"
+                + "<a href=\"http://x?a=1&amp;b=&quot;2&quot;\">",
+                template.render(Map.of("name", "<script>alert('x')</script> & co", "link", "http://x?a=1&b=\"2\"")));
+    }
+
+    @Test
+    void testRenderWithoutVariables() {
+        assertEquals("<p>static</p>", EmailTemplate.compile("test", "<p>static</p>").render(Map.of()));
+    }
+
+    @Test
+    void testMissingVariableIsRejected() {
+        EmailTemplate template = EmailTemplate.compile("test", "<p>{{name}}</p>");
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> template.render(Map.of("other", "x")));
+        assertTrue(exception.getMessage().contains("{{name}}"));
+    }
+
+    @Test
+    void testNullValueRendersAsNothing() {
+        Map<String, Object> values = new HashMap<>();
+        values.put("name", null);
+
+        assertEquals("<p></p>", EmailTemplate.compile("test", "<p>{{name}}</p>").render(values));
+    }
+
+    @Test
+    void testBundledTemplatesAreCompiled() {
+        EmailTemplates templates = new EmailTemplates();
+
+        String notification = templates.get(EmailTemplates.NOTIFICATION)
+                .render(Map.of("header", "Match Assignment", "message", "Dear <Ann>"));
+        assertTrue(notification.contains("Match Assignment"));
+        assertTrue(notification.contains("Dear &lt;Ann&gt;"));
+        assertTrue(notification.contains("cid:" + EmailService.LOGO_CONTENT_ID));
+
+        String verification = templates.get(EmailTemplates.VERIFICATION)
+                .render(Map.of("code", "123456", "link", "http://localhost:3000/verify?email=a&code=123456"));
+        assertTrue(verification.contains("123456"));
+        assertTrue(verification.contains("email=a&amp;code=123456"));
+        assertThrows(IllegalArgumentException.class, () -> templates.get("missing"));
+    }
+}
@@ -0,0 +1,59 @@
+package com.projectshowdown.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntervalTreeTest {
+
+    @Test
+    void testStabIncludesEnds() {
+        IntervalTree<String> tree = IntervalTree.of(List.of("a", "b", "c"),
+                item -> item.equals("a") ? 1000 : item.equals("b") ? 1500 : 2100,
+                item -> item.equals("a") ? 1500 : item.equals("b") ? 2000 : 2500);
+
+        assertEquals(List.of("a"), tree.stab(1000));
+        assertEquals(new HashSet<>(List.of("a", "b")), new HashSet<>(tree.stab(1500)));
+        assertEquals(List.of(), tree.stab(2050));
+        assertEquals(List.of("c"), tree.stab(2500));
+    }
+
+    @Test
+    void testEmptyIntervalsAreLeftOut() {
+        IntervalTree<double[]> tree = IntervalTree.of(List.of(new double[] { 2000, 1000 }, new double[] { 5, 5 }),
+                interval -> interval[0], interval -> interval[1]);
+
+        assertEquals(1, tree.size());
+        assertTrue(tree.stab(1500).isEmpty());
+        assertEquals(1, tree.stab(5).size());
+    }
+
+    @Test
+    void testStabMatchesScan() {
+        Random random = new Random(11);
+        List<double[]> intervals = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            double low = random.nextInt(3000);
+            intervals.add(new double[] { low, low + random.nextInt(800) });
+        }
+        IntervalTree<double[]> tree = IntervalTree.of(intervals, interval -> interval[0], interval -> interval[1]);
+
+        for (int query = 0; query < 500; query++) {
+            double point = random.nextInt(4000) + (query % 2 == 0 ? 0 : 0.5);
+            List<double[]> expected = new ArrayList<>();
+            for (double[] interval : intervals) {
+                if (interval[0] <= point && point <= interval[1]) {
+                    expected.add(interval);
+                }
+            }
+            List<double[]> found = tree.stab(point);
+            assertEquals(expected.size(), found.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(found));
+        }
+    }
+}
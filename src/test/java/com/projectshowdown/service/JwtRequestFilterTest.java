@@ -0,0 +1,121 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.configs.JwtUtil;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JwtRequestFilterTest {
+
+    // Base64 of a 32 byte key, long enough for HS256
+    private static final String SECRET = "c2hvd2Rvd24tdGVzdC1zZWNyZXQta2V5LTMyLWJ5dGVzISE=";
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Spy
+    private JwtUtil jwtUtil = new JwtUtil();
+
+    @InjectMocks
+    private JwtRequestFilter jwtRequestFilter;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtRequestFilter, "stateless", true);
+        SecurityContextHolder.clearContext();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private MockHttpServletRequest requestWithToken(String token) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return request;
+    }
+
+    @Test
+    void testValidToken_AuthenticatesFromClaimsWithoutLookup() throws Exception {
+        String token = jwtUtil.generateToken(User.withUsername("player@example.com")
+                .password("hashed").authorities("player").build());
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtRequestFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), chain);
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("player@example.com", authentication.getName());
+        assertEquals(List.of("player"), authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority).collect(Collectors.toList()));
+        assertNotNull(chain.getRequest());
+        // The token is parsed once and the datastore is never queried
+        verify(jwtUtil, times(1)).extractAllClaims(token);
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void testExpiredToken_LeavesRequestUnauthenticated() throws Exception {
+        String token = Jwts.builder()
+                .setClaims(Map.of(JwtUtil.ROLE_CLAIM, List.of("admin")))
+                .setSubject("admin@example.com")
+                .setIssuedAt(new Date(System.currentTimeMillis() - 20_000))
+                .setExpiration(new Date(System.currentTimeMillis() - 10_000))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)), SignatureAlgorithm.HS256)
+                .compact();
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtRequestFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+
+    @Test
+    void testTamperedToken_LeavesRequestUnauthenticated() throws Exception {
+        String token = jwtUtil.generateToken(User.withUsername("player@example.com")
+                .password("hashed").authorities("player").build());
+        String[] parts = token.split("\\.");
+        // Swap in a payload that claims the admin role, keeping the original signature
+        String forgedPayload = Jwts.builder()
+                .setClaims(Map.of(JwtUtil.ROLE_CLAIM, List.of("admin")))
+                .setSubject("player@example.com")
+                .compact().split("\\.")[1];
+        String forged = parts[0] + "." + forgedPayload + "." + parts[2];
+        MockFilterChain chain = new MockFilterChain();
+
+        jwtRequestFilter.doFilter(requestWithToken(forged), new MockHttpServletResponse(), chain);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+    }
+}
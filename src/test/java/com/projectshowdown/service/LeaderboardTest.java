@@ -0,0 +1,115 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.LeaderboardEntryDTO;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.exceptions.PlayerNotFoundException;
+import com.projectshowdown.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @InjectMocks
+    private Leaderboard leaderboard;
+
+    @BeforeEach
+    void setUp() throws ExecutionException, InterruptedException {
+        when(userRepository.findAllByRole("player")).thenReturn(List.of(
+                player("p1", 1500, 2),
+                player("p2", 1800, 1),
+                player("p3", 1200, 4),
+                player("p4", 1500, 0)));
+    }
+
+    @Test
+    void testTopRankAndAround() throws ExecutionException, InterruptedException {
+        assertEquals(List.of("p2", "p1"), ids(leaderboard.top(2)));
+        assertEquals(3, leaderboard.rankOf("p4").getRank());
+        assertEquals(List.of("p1", "p4", "p3"), ids(leaderboard.around(3, 1)));
+        assertEquals(List.of("p2", "p1"), ids(leaderboard.around(1, 1)));
+        assertThrows(PlayerNotFoundException.class, () -> leaderboard.rankOf("organizer1"));
+        assertThrows(ResponseStatusException.class, () -> leaderboard.top(0));
+        verify(userRepository, times(1)).findAllByRole("player");
+    }
+
+    @Test
+    void testEloChangeMovesPlayer() throws ExecutionException, InterruptedException {
+        leaderboard.top(1);
+
+        leaderboard.updateElo("p3", 1900);
+        leaderboard.put("p5", "Player p5", 1700);
+        leaderboard.remove("p2");
+
+        assertEquals(List.of("p3", "p5", "p1", "p4"), ids(leaderboard.top(10)));
+        LeaderboardEntryDTO entry = leaderboard.rankOf("p3");
+        assertEquals(1, entry.getRank());
+        assertEquals(1900, entry.getElo());
+        assertEquals("Player p3", entry.getName());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testFlushWritesOnlyChangedRanks() throws ExecutionException, InterruptedException {
+        leaderboard.top(1);
+
+        // p4 has never been ranked
+        assertEquals(1, leaderboard.flushRanks());
+        ArgumentCaptor<Map<String, Map<String, Object>>> written = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateAll(written.capture());
+        assertEquals(Map.of("p4", Map.of(Leaderboard.RANK_FIELD, 3)), written.getValue());
+        verify(userCache).invalidate("p4");
+
+        assertEquals(0, leaderboard.flushRanks());
+
+        leaderboard.updateElo("p3", 1600);
+        assertEquals(3, leaderboard.flushRanks());
+        verify(userRepository, times(2)).updateAll(written.capture());
+        assertEquals(Map.of("p3", Map.of(Leaderboard.RANK_FIELD, 2), "p1", Map.of(Leaderboard.RANK_FIELD, 3),
+                "p4", Map.of(Leaderboard.RANK_FIELD, 4)), written.getValue());
+    }
+
+    @Test
+    void testFailedFlushIsRetried() throws ExecutionException, InterruptedException {
+        leaderboard.top(1);
+        doThrow(new ExecutionException(new IllegalStateException("Unavailable"))).doNothing()
+                .when(userRepository).updateAll(anyMap());
+
+        assertThrows(ExecutionException.class, () -> leaderboard.flushRanks());
+        assertEquals(1, leaderboard.flushRanks());
+    }
+
+    private static UserDTO player(String id, double elo, int rank) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setName("Player " + id);
+        user.setRole("player");
+        user.setPlayerDetails(new Player(rank, "1999-01-01", elo, 27, elo, "SG", "", ""));
+        return user;
+    }
+
+    private static List<String> ids(List<LeaderboardEntryDTO> entries) {
+        return entries.stream().map(LeaderboardEntryDTO::getUserId).toList();
+    }
+}
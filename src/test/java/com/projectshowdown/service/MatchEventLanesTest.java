@@ -0,0 +1,139 @@
+package com.projectshowdown.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchEventLanesTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private MatchEventLanes lanes;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        lanes = new MatchEventLanes(meterRegistry, 4, false);
+    }
+
+    @AfterEach
+    void tearDown() {
+        lanes.stop();
+    }
+
+    @Test
+    void testTasksOfOneTournamentRunInOrderOneAtATime() throws Exception {
+        lanes.start();
+        List<Integer> handled = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(100);
+        int[] running = new int[1];
+        boolean[] overlapped = new boolean[1];
+
+        for (int i = 0; i < 100; i++) {
+            int order = i;
+            lanes.submit("tournament1", () -> {
+                synchronized (running) {
+                    overlapped[0] |= ++running[0] > 1;
+                }
+                handled.add(order);
+                synchronized (running) {
+                    running[0]--;
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertFalse(overlapped[0]);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, handled.get(i));
+        }
+        // The latency is recorded after each task, so wait for the lane to finish
+        lanes.stop();
+        assertEquals(100, meterRegistry.get(MatchEventLanes.LATENCY_METRIC).timer().count());
+    }
+
+    @Test
+    void testTournamentsOnDifferentLanesRunInParallel() throws Exception {
+        String blocked = "tournament1";
+        String other = "tournament2";
+        for (int i = 3; lanes.laneOf(other) == lanes.laneOf(blocked); i++) {
+            other = "tournament" + i;
+        }
+        lanes.start();
+
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch otherHandled = new CountDownLatch(1);
+        lanes.submit(blocked, () -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        lanes.submit(blocked, () -> {
+        });
+        lanes.submit(other, otherHandled::countDown);
+
+        // The other tournament is not held up by the blocked one
+        assertTrue(otherHandled.await(5, TimeUnit.SECONDS));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, meterRegistry.get(MatchEventLanes.BACKLOG_METRIC)
+                .tag("lane", String.valueOf(lanes.laneOf(blocked))).gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void testFailedTaskDoesNotStopTheLane() throws Exception {
+        lanes.start();
+        CountDownLatch handled = new CountDownLatch(1);
+
+        lanes.submit("tournament1", () -> {
+            throw new IllegalStateException("Broken bracket");
+        });
+        lanes.submit("tournament1", handled::countDown);
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testTaskRunsOnCallerWhenNotStarted() {
+        Thread[] handledOn = new Thread[1];
+
+        lanes.submit("tournament1", () -> handledOn[0] = Thread.currentThread());
+
+        assertSame(Thread.currentThread(), handledOn[0]);
+        assertEquals(1, meterRegistry.get(MatchEventLanes.PROCESSING_METRIC).timer().count());
+    }
+
+    @Test
+    void testStopFinishesQueuedTasks() throws Exception {
+        lanes.start();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = Collections.synchronizedList(new ArrayList<>());
+        lanes.submit("tournament1", () -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.add("first");
+        });
+        lanes.submit("tournament1", () -> handled.add("second"));
+
+        release.countDown();
+        lanes.stop();
+
+        assertEquals(List.of("first", "second"), handled);
+    }
+}
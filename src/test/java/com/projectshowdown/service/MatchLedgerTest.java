@@ -0,0 +1,165 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.repositories.MatchLedgerStore;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MatchLedgerTest {
+
+    @TempDir
+    Path dir;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Spy
+    private MmrIndex mmrIndex = new MmrIndex();
+
+    @InjectMocks
+    private MatchLedger matchLedger;
+
+    private MatchLedgerStore store;
+
+    @BeforeEach
+    void setUp() throws ExecutionException, InterruptedException {
+        store = new MatchLedgerStore(dir.resolve("ledger.log").toString());
+        ReflectionTestUtils.setField(matchLedger, "store", store);
+        when(userRepository.findAllByRole("player")).thenReturn(List.of(player("p1", 1500), player("p2", 1500)));
+        when(matchRepository.findAllUnrated()).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.destroy();
+    }
+
+    @Test
+    void testClosedPeriodRatesResultsSinceTheFirstSnapshot() throws ExecutionException, InterruptedException {
+        // The first replay reads the stored players
+        assertEquals(1500, matchLedger.replay().getPlayers().get("p1").getElo());
+
+        matchLedger.recordResult(match("m1", "p1", "p2"), 3, 1);
+        assertEquals(1, matchLedger.replay().pendingResults());
+        matchLedger.recordPeriodClosed();
+
+        LedgerState state = matchLedger.replay();
+        assertEquals(0, state.pendingResults());
+        assertEquals(1520, state.getPlayers().get("p1").getElo());
+        assertEquals(1520, state.getPlayers().get("p1").getPeakElo());
+        assertEquals(1480, state.getPlayers().get("p2").getElo());
+        assertEquals(1, state.getPlayers().get("p2").getRatedMatches());
+        // Later replays start from the snapshot instead
+        verify(userRepository, times(1)).findAllByRole("player");
+    }
+
+    @Test
+    void testPlayerEntriesAndCorrectionsOfRatedMatches() throws ExecutionException, InterruptedException {
+        matchLedger.replay();
+        Match rated = match("m0", "p1", "p2");
+        rated.setRated(true);
+        matchLedger.recordResult(match("m1", "p1", "p2"), 3, 1);
+        // The score of m1 is corrected after it was rated elsewhere
+        Match corrected = match("m1", "p1", "p2");
+        corrected.setRated(true);
+        matchLedger.recordResult(corrected, 1, 3);
+        matchLedger.recordResult(rated, 0, 3);
+        UserDTO edited = player("p2", 1700);
+        edited.getPlayerDetails().setAchievements("Champion");
+        matchLedger.recordPlayer(edited);
+        matchLedger.recordPeriodClosed();
+
+        LedgerState state = matchLedger.replay();
+        assertEquals(1500, state.getPlayers().get("p1").getElo());
+        assertEquals(1700, state.getPlayers().get("p2").getElo());
+        assertEquals("Champion", state.getPlayers().get("p2").getAchievements());
+    }
+
+    @Test
+    void testSnapshotKeepsPendingResults() throws ExecutionException, InterruptedException {
+        LedgerState first = matchLedger.snapshot();
+        matchLedger.recordResult(match("m1", "p1", "p2"), 3, 1);
+        matchLedger.recordResult(match("m2", "p1", "p2"), 3, 1);
+        LedgerState saved = matchLedger.snapshot();
+        assertEquals(2, saved.pendingResults());
+        assertEquals(store.end(), saved.getOffset());
+        assertTrue(first.getOffset() < saved.getOffset());
+
+        LedgerState decoded = LedgerState.fromSnapshot(saved.toSnapshot());
+        assertEquals(2, decoded.pendingResults());
+        assertEquals(saved.getOffset(), decoded.getOffset());
+        assertEquals(Set.of("p1", "p2"), decoded.getPlayers().keySet());
+        assertEquals(1500, decoded.getPlayers().get("p2").getPeakElo());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testRebuildCorrectsPlayersThatDiffer() throws ExecutionException, InterruptedException {
+        matchLedger.replay();
+        matchLedger.recordResult(match("m1", "p1", "p2"), 3, 1);
+        matchLedger.recordPeriodClosed();
+        UserDTO p1 = player("p1", 1520);
+        p1.getPlayerDetails().setRatedMatches(1);
+        // The write of p2's rating was lost
+        UserDTO p2 = player("p2", 1500);
+        when(userRepository.findAllById(Set.of("p1", "p2"))).thenReturn(Map.of("p1", p1, "p2", p2));
+
+        assertEquals(1, matchLedger.rebuild());
+
+        ArgumentCaptor<Map<String, Map<String, Object>>> updates = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateAll(updates.capture());
+        assertEquals(Set.of("p2"), updates.getValue().keySet());
+        assertEquals(1480.0, updates.getValue().get("p2").get(RatingService.ELO_FIELD));
+        assertEquals(1500.0, updates.getValue().get("p2").get(RatingService.PEAK_ELO_FIELD));
+        assertEquals(1, updates.getValue().get("p2").get(RatingService.RATED_MATCHES_FIELD));
+        assertNotNull(updates.getValue().get("p2").get("playerDetails.mmr"));
+        verify(userCache).invalidate("p2");
+        verify(userCache, never()).invalidate("p1");
+        verify(leaderboard).reload();
+    }
+
+    private static Match match(String id, String player1Id, String player2Id) {
+        return new Match(id, "t1", player1Id, player2Id, 0, 0, 0, "2024-03-20T10:00:00", "Round 1", true);
+    }
+
+    private static UserDTO player(String id, double elo) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setRole("player");
+        user.setPlayerDetails(new Player(0, "1999-01-01", elo, 27, elo, "SG", "", ""));
+        return user;
+    }
+}
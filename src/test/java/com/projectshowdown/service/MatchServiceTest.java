@@ -1,13 +1,17 @@
 package com.projectshowdown.service;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.Timestamp;
 import com.google.cloud.firestore.*;
 import com.google.firebase.cloud.FirestoreClient;
 import com.projectshowdown.dto.UserDTO;
 import com.projectshowdown.entities.Match;
-import com.projectshowdown.entities.Player;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.Tournament;
 import com.projectshowdown.events.MatchUpdatedEvent;
+import com.projectshowdown.repositories.FirestoreMatchRepository;
+import com.projectshowdown.repositories.FirestoreTournamentRepository;
 import jakarta.mail.MessagingException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,14 +19,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -58,6 +66,18 @@ class MatchServiceTest {
     @Mock
     private ApplicationEventPublisher eventPublisher;
 
+    @Mock
+    private MatchLedger matchLedger;
+
+    @Mock
+    private TournamentDirectory tournamentDirectory;
+
+    @Spy
+    private FirestoreMatchRepository matchRepository = new FirestoreMatchRepository();
+
+    @Spy
+    private FirestoreTournamentRepository tournamentRepository = new FirestoreTournamentRepository();
+
     @InjectMocks
     private MatchService matchService;
 
@@ -108,30 +128,25 @@ class MatchServiceTest {
             when(documentReference.get()).thenReturn(documentSnapshotFuture);
             when(documentSnapshotFuture.get()).thenReturn(documentSnapshot);
             when(documentSnapshot.exists()).thenReturn(true);
-            when(documentSnapshot.getString("tournamentId")).thenReturn("tournament1");
-            when(documentSnapshot.get("dateTime")).thenReturn("2024-03-20T14:00:00");
             when(documentSnapshot.toObject(Match.class)).thenReturn(testMatch);
-            when(documentReference.update(anyMap())).thenReturn(writeResultFuture);
-
-            // Mock WriteResult
-            WriteResult writeResult = mock(WriteResult.class);
-            when(writeResultFuture.get()).thenReturn(writeResult);
-            when(writeResult.getUpdateTime()).thenReturn(Timestamp.now());
 
-            // Mock user service for winner update
-            UserDTO winner = new UserDTO();
-            winner.setId("player1");
-            Player playerDetails = new Player();
-            playerDetails.setElo(1200.0);
-            playerDetails.setPeakElo(1200.0);
-            winner.setPlayerDetails(playerDetails);
-            when(userService.getUser(anyString())).thenReturn(winner);
+            // The final score is written together with the round's completed-match count,
+            // and the match is left for the rating period
+            RoundProgress roundProgress = new RoundProgress(0, 1, 2, true);
+            doReturn(roundProgress).when(tournamentRepository)
+                    .recordMatchResult(eq("tournament1"), eq("match1"), argThat(fields ->
+                            Boolean.TRUE.equals(fields.get("completed")) && Boolean.FALSE.equals(fields.get("rated"))));
 
             String result = matchService.updateMatch("match1", updateData);
 
             assertTrue(result.contains("Match with ID: match1 updated successfully"));
-            verify(eventPublisher).publishEvent(any(MatchUpdatedEvent.class));
-            verify(userService).updateUser(eq("player1"), anyMap());
+            verify(eventPublisher).publishEvent(argThat((MatchUpdatedEvent event) ->
+                    event.getRoundProgress() == roundProgress));
+            verify(documentReference, never()).update(anyMap());
+            // Elo is left to the rating period
+            verify(userService, never()).updateUser(anyString(), anyMap());
+            verify(matchLedger).recordResult(testMatch, 3, 1);
+            verify(tournamentDirectory).recordResult(testMatch, 3, 1);
         }
     }
 
@@ -151,7 +166,9 @@ class MatchServiceTest {
             when(tournamentDocRef.get()).thenReturn(tournamentFuture);
             when(tournamentFuture.get()).thenReturn(tournamentDocSnapshot);
             when(tournamentDocSnapshot.exists()).thenReturn(true);
-            when(tournamentDocSnapshot.getString("name")).thenReturn("Test Tournament");
+            Tournament tournament = new Tournament();
+            tournament.setName("Test Tournament");
+            when(tournamentDocSnapshot.toObject(Tournament.class)).thenReturn(tournament);
 
             Map<String, Object> updateData = new HashMap<>();
             updateData.put("dateTime", "2024-03-21T15:00:00");
@@ -159,10 +176,6 @@ class MatchServiceTest {
             when(documentReference.get()).thenReturn(documentSnapshotFuture);
             when(documentSnapshotFuture.get()).thenReturn(documentSnapshot);
             when(documentSnapshot.exists()).thenReturn(true);
-            when(documentSnapshot.getString("tournamentId")).thenReturn("tournament1");
-            when(documentSnapshot.getString("player1Id")).thenReturn("player1");
-            when(documentSnapshot.getString("player2Id")).thenReturn("player2");
-            when(documentSnapshot.get("dateTime")).thenReturn("2024-03-20T14:00:00");
             when(documentSnapshot.toObject(Match.class)).thenReturn(testMatch);
             when(documentReference.update(anyMap())).thenReturn(writeResultFuture);
 
@@ -190,6 +203,64 @@ class MatchServiceTest {
         }
     }
 
+    @Test
+    void testUpdateMatchDateTimeAsync_LoadsPlayersConcurrently()
+            throws ExecutionException, InterruptedException, MessagingException {
+        try (MockedStatic<FirestoreClient> mockedFirestore = mockStatic(FirestoreClient.class)) {
+            mockedFirestore.when(FirestoreClient::getFirestore).thenReturn(firestore);
+            ReflectionTestUtils.setField(matchService, "taskExecutor", (Executor) Runnable::run);
+
+            CollectionReference tournamentCollection = mock(CollectionReference.class);
+            DocumentReference tournamentDocRef = mock(DocumentReference.class);
+            DocumentSnapshot tournamentDocSnapshot = mock(DocumentSnapshot.class);
+            when(firestore.collection("tournaments")).thenReturn(tournamentCollection);
+            when(tournamentCollection.document(anyString())).thenReturn(tournamentDocRef);
+            when(tournamentDocRef.get()).thenReturn(ApiFutures.immediateFuture(tournamentDocSnapshot));
+            when(tournamentDocSnapshot.exists()).thenReturn(true);
+            Tournament tournament = new Tournament();
+            tournament.setName("Test Tournament");
+            when(tournamentDocSnapshot.toObject(Tournament.class)).thenReturn(tournament);
+
+            when(documentReference.get()).thenReturn(ApiFutures.immediateFuture(documentSnapshot));
+            when(documentSnapshot.exists()).thenReturn(true);
+            when(documentSnapshot.getId()).thenReturn("match1");
+            when(documentSnapshot.toObject(Match.class)).thenReturn(testMatch);
+            WriteResult writeResult = mock(WriteResult.class);
+            when(writeResult.getUpdateTime()).thenReturn(Timestamp.now());
+            when(documentReference.update(anyMap())).thenReturn(ApiFutures.immediateFuture(writeResult));
+
+            UserDTO user1 = new UserDTO();
+            user1.setEmail("player1@test.com");
+            user1.setName("Player 1");
+            UserDTO user2 = new UserDTO();
+            user2.setEmail("player2@test.com");
+            user2.setName("Player 2");
+            CompletableFuture<UserDTO> user1Load = new CompletableFuture<>();
+            CompletableFuture<UserDTO> user2Load = new CompletableFuture<>();
+            when(userService.getUserAsync("player1")).thenReturn(user1Load);
+            when(userService.getUserAsync("player2")).thenReturn(user2Load);
+
+            Map<String, Object> updateData = new HashMap<>();
+            updateData.put("dateTime", "2024-03-21T15:00:00");
+            CompletableFuture<String> result = matchService.updateMatchAsync("match1", updateData);
+
+            // Both players are requested before either has loaded, and nothing is written yet
+            verify(userService).getUserAsync("player1");
+            verify(userService).getUserAsync("player2");
+            verify(documentReference, never()).update(anyMap());
+            assertFalse(result.isDone());
+
+            user2Load.complete(user2);
+            user1Load.complete(user1);
+
+            assertTrue(result.join().contains("Match with ID: match1 updated successfully"));
+            verify(notificationService, times(2)).notifyMatchDetailsUpdated(
+                    anyString(), anyString(), anyString(), anyString(), anyString(), anyString());
+            verify(eventPublisher).publishEvent(any(MatchUpdatedEvent.class));
+            verify(userService, never()).getUser(anyString());
+        }
+    }
+
     @Test
     void testCheckCurrentRoundCompletion() throws ExecutionException, InterruptedException {
         try (MockedStatic<FirestoreClient> mockedFirestore = mockStatic(FirestoreClient.class)) {
@@ -201,14 +272,21 @@ class MatchServiceTest {
             Match match2 = new Match();
             match2.setCompleted(true);
 
-            when(documentReference.get()).thenReturn(documentSnapshotFuture);
-            when(documentSnapshotFuture.get()).thenReturn(documentSnapshot);
+            DocumentSnapshot match2Snapshot = mock(DocumentSnapshot.class);
             when(documentSnapshot.exists()).thenReturn(true);
-            when(documentSnapshot.toObject(Match.class)).thenReturn(match1, match2);
+            when(documentSnapshot.getId()).thenReturn("match1");
+            when(documentSnapshot.toObject(Match.class)).thenReturn(match1);
+            when(match2Snapshot.exists()).thenReturn(true);
+            when(match2Snapshot.getId()).thenReturn("match2");
+            when(match2Snapshot.toObject(Match.class)).thenReturn(match2);
+            when(firestore.getAll(any())).thenReturn(
+                    ApiFutures.immediateFuture(List.of(documentSnapshot, match2Snapshot)));
 
             boolean result = matchService.checkCurrentRoundCompletion(matchIds);
 
             assertTrue(result);
+            // Both matches are loaded in a single batched read
+            verify(firestore, times(1)).getAll(any());
         }
     }
 
@@ -0,0 +1,76 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Player;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class MmrIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    @Test
+    void testMmrIsCalculatedOnceUntilInvalidated() {
+        MmrIndex index = new MmrIndex();
+        index.rollOver(TODAY);
+        Player player = spy(playerBornOn(TODAY.minusYears(25).plusMonths(1)));
+
+        double first = index.mmrOf("player1", player);
+        double second = index.mmrOf("player1", player);
+
+        assertEquals(first, second);
+        verify(player, times(1)).refreshMMR(TODAY);
+
+        player.setElo(player.getElo() + 100);
+        index.invalidate("player1");
+        player.setMmr(null);
+        assertEquals(first + 100, index.mmrOf("player1", player), 0.0001);
+    }
+
+    @Test
+    void testStoredMmrIsUsedWhileValid() {
+        MmrIndex index = new MmrIndex();
+        index.rollOver(TODAY);
+        Player player = playerBornOn(TODAY.minusYears(25));
+        player.setMmr(1234.0);
+        player.setMmrValidUntil(TODAY.plusDays(1).toEpochDay());
+
+        assertEquals(1234.0, index.mmrOf("player1", player));
+    }
+
+    @Test
+    void testRollOverRecalculatesOnBirthday() {
+        MmrIndex index = new MmrIndex();
+        index.rollOver(TODAY);
+        Player player = playerBornOn(TODAY.minusYears(25).plusDays(1));
+        double before = index.mmrOf("player1", player);
+
+        index.rollOver(TODAY.plusDays(1));
+
+        assertEquals(0, index.size());
+        double after = index.mmrOf("player1", player);
+        assertNotEquals(before, after);
+        Player older = playerBornOn(TODAY.minusYears(25).plusDays(1));
+        older.refreshMMR(TODAY.plusDays(1));
+        assertEquals(older.getMmr(), after);
+    }
+
+    @Test
+    void testPlayersWithoutDateOfBirthAreNotIndexed() {
+        MmrIndex index = new MmrIndex();
+        Player player = mock(Player.class);
+        // Without a date of birth there is no stored MMR; a mock would return 0.0
+        when(player.storedMMR(anyLong())).thenReturn(null);
+        when(player.calculateMMR()).thenReturn(1500.0);
+
+        assertEquals(1500.0, index.mmrOf("player1", player));
+        assertEquals(0, index.size());
+    }
+
+    private static Player playerBornOn(LocalDate dob) {
+        return new Player(1, dob.toString(), 1500, 27, 1800, "SG", "", "");
+    }
+}
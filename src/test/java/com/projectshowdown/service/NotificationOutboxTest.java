@@ -0,0 +1,177 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.OutboundNotification;
+import com.projectshowdown.repositories.NotificationOutboxStore;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class NotificationOutboxTest {
+
+    private NotificationOutboxStore store;
+    private EmailService emailService;
+    private SimpleMeterRegistry meterRegistry;
+    private NotificationOutbox outbox;
+
+    @BeforeEach
+    void setUp() {
+        store = new NotificationOutboxStore("");
+        emailService = mock(EmailService.class);
+        meterRegistry = new SimpleMeterRegistry();
+        outbox = outbox(store);
+    }
+
+    @AfterEach
+    void tearDown() {
+        outbox.stop();
+        store.destroy();
+    }
+
+    private NotificationOutbox outbox(NotificationOutboxStore store) {
+        return new NotificationOutbox(store, emailService, meterRegistry, 2, 3,
+                Duration.ofMillis(10), Duration.ofMillis(40), false);
+    }
+
+    private static void awaitCount(int expected, IntSupplier count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (count.getAsInt() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count.getAsInt());
+    }
+
+    @Test
+    void testEnqueueReturnsBeforeSendAndWorkerDelivers() throws Exception {
+        outbox.enqueue("player@example.com", "Subject", "<p>Hi</p>");
+
+        verifyNoInteractions(emailService);
+        assertEquals(1, store.pendingCount());
+        assertEquals(1.0, meterRegistry.get(NotificationOutbox.QUEUE_DEPTH_METRIC).gauge().value());
+
+        outbox.start();
+
+        verify(emailService, timeout(5000)).sendEmail("player@example.com", "Subject", "<p>Hi</p>");
+        awaitCount(0, store::pendingCount);
+        assertEquals(1, meterRegistry.get(NotificationOutbox.SEND_METRIC).tag("result", "success").timer().count());
+        assertEquals(1, meterRegistry.get(NotificationOutbox.DELIVERY_METRIC).timer().count());
+    }
+
+    @Test
+    void testTransientFailureIsRetried() throws Exception {
+        doThrow(new MessagingException("Connection refused"))
+                .doNothing()
+                .when(emailService).sendEmail(anyString(), anyString(), anyString());
+        outbox.start();
+
+        outbox.enqueue("player@example.com", "Subject", "<p>Hi</p>");
+
+        verify(emailService, timeout(5000).times(2)).sendEmail("player@example.com", "Subject", "<p>Hi</p>");
+        awaitCount(0, store::pendingCount);
+        assertEquals(0, store.deadLetterCount());
+        assertEquals(1, meterRegistry.get(NotificationOutbox.SEND_METRIC).tag("result", "failure").timer().count());
+    }
+
+    @Test
+    void testNotificationIsDeadLetteredAfterMaxAttempts() throws Exception {
+        doThrow(new MessagingException("Connection refused"))
+                .when(emailService).sendEmail(anyString(), anyString(), anyString());
+        outbox.start();
+
+        outbox.enqueue("player@example.com", "Subject", "<p>Hi</p>");
+
+        awaitCount(1, store::deadLetterCount);
+        verify(emailService, times(3)).sendEmail("player@example.com", "Subject", "<p>Hi</p>");
+        assertEquals(0, store.pendingCount());
+
+        List<OutboundNotification> deadLetters = outbox.getDeadLetters();
+        assertEquals(3, deadLetters.get(0).getAttempts());
+        assertTrue(deadLetters.get(0).getLastError().contains("Connection refused"));
+        assertEquals(1.0, meterRegistry.get(NotificationOutbox.DEAD_LETTER_METRIC).gauge().value());
+    }
+
+    @Test
+    void testBulkSendRetriesOnlyFailedRecipients() throws Exception {
+        when(emailService.sendBulk(List.of("a@example.com", "b@example.com", "c@example.com"), "Subject", "<p>Hi</p>"))
+                .thenReturn(Map.of("b@example.com", new MessagingException("Mailbox unavailable")));
+        outbox.start();
+
+        outbox.enqueue(List.of("a@example.com", "b@example.com", "c@example.com"), "Subject", "<p>Hi</p>");
+
+        verify(emailService, timeout(5000)).sendEmail("b@example.com", "Subject", "<p>Hi</p>");
+        awaitCount(0, store::pendingCount);
+        assertEquals(0, store.deadLetterCount());
+    }
+
+    @Test
+    void testWorkerSurvivesStoreFailure() throws Exception {
+        NotificationOutboxStore failingStore = spy(new NotificationOutboxStore(""));
+        doThrow(new IllegalStateException("Store closed"))
+                .doCallRealMethod()
+                .when(failingStore).delete(anyLong());
+        // A single worker, which must keep polling after the failure
+        NotificationOutbox singleWorker = new NotificationOutbox(failingStore, emailService, meterRegistry, 1, 3,
+                Duration.ofMillis(10), Duration.ofMillis(40), false);
+        try {
+            singleWorker.enqueue("first@example.com", "Subject", "<p>1</p>");
+            singleWorker.enqueue("second@example.com", "Subject", "<p>2</p>");
+            singleWorker.start();
+
+            verify(emailService, timeout(5000)).sendEmail("first@example.com", "Subject", "<p>1</p>");
+            verify(emailService, timeout(5000)).sendEmail("second@example.com", "Subject", "<p>2</p>");
+            // The notification whose removal failed stays queued for the next start
+            awaitCount(1, failingStore::pendingCount);
+        } finally {
+            singleWorker.stop();
+            failingStore.destroy();
+        }
+    }
+
+    @Test
+    void testBackoffDoublesUpToMaximum() {
+        assertEquals(Duration.ofMillis(10), outbox.backoff(1));
+        assertEquals(Duration.ofMillis(20), outbox.backoff(2));
+        assertEquals(Duration.ofMillis(40), outbox.backoff(3));
+        assertEquals(Duration.ofMillis(40), outbox.backoff(10));
+        assertEquals(Duration.ofMillis(40), outbox.backoff(100));
+    }
+
+    @Test
+    void testQueuedNotificationsSurviveRestart(@TempDir Path dir) throws Exception {
+        String path = dir.resolve("outbox.mv").toString();
+        NotificationOutboxStore fileStore = new NotificationOutboxStore(path);
+        NotificationOutbox before = outbox(fileStore);
+        before.enqueue("first@example.com", "Subject", "<p>1</p>");
+        before.enqueue("second@example.com", "Subject", "<p>2</p>");
+        fileStore.destroy();
+
+        NotificationOutboxStore reopened = new NotificationOutboxStore(path);
+        NotificationOutbox after = outbox(reopened);
+        try {
+            assertEquals(2, reopened.pendingCount());
+            after.start();
+
+            verify(emailService, timeout(5000)).sendEmail("first@example.com", "Subject", "<p>1</p>");
+            verify(emailService, timeout(5000)).sendEmail("second@example.com", "Subject", "<p>2</p>");
+            awaitCount(0, reopened::pendingCount);
+            // IDs keep increasing after the restart
+            assertEquals(3, after.enqueue("third@example.com", "Subject", "<p>3</p>").getId());
+        } finally {
+            after.stop();
+            reopened.destroy();
+        }
+    }
+}
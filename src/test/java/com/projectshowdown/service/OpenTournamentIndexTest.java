@@ -0,0 +1,93 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.TournamentRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OpenTournamentIndexTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @InjectMocks
+    private OpenTournamentIndex index;
+
+    @Test
+    void testFindsOpenTournamentsByMmrWindow() throws ExecutionException, InterruptedException {
+        Tournament started = tournament("t4", 1000, 2000, START, "SG");
+        started.getRounds().add(new Round("Finals", new ArrayList<>(List.of("t4m_1"))));
+        Tournament cancelled = tournament("t5", 1000, 2000, START, "SG");
+        cancelled.setStatus("Cancelled");
+        when(tournamentRepository.findAll()).thenReturn(List.of(
+                tournament("t1", 1000, 1500, START.plusDays(2), "SG"),
+                tournament("t2", 1400, 1800, START, "Malaysia"),
+                tournament("t3", 1600, 2000, START, "SG"),
+                started,
+                cancelled));
+
+        assertEquals(List.of("t2", "t1"), ids(index.findEligible(1450, null, null, null)));
+        assertEquals(List.of("t1"), ids(index.findEligible(1450, null, null, "sg")));
+        assertEquals(List.of("t2"), ids(index.findEligible(1450, null, START.plusDays(1), null)));
+        assertEquals(List.of("t1"), ids(index.findEligible(1450, START.plusHours(1), null, null)));
+        assertEquals(3, index.size());
+        verify(tournamentRepository, times(1)).findAll();
+    }
+
+    @Test
+    void testPutAndRemoveKeepIndexCurrent() throws ExecutionException, InterruptedException {
+        when(tournamentRepository.findAll()).thenReturn(List.of(tournament("t1", 1000, 1500, START, "SG")));
+        assertEquals(List.of("t1"), ids(index.findEligible(1200, null, null, null)));
+
+        index.put(tournament("t2", 1100, 1300, START.plusDays(1), "SG"));
+        Tournament narrowed = tournament("t1", 1300, 1500, START, "SG");
+        index.put(narrowed);
+        assertEquals(List.of("t2"), ids(index.findEligible(1200, null, null, null)));
+
+        narrowed.setStatus("In Progress");
+        index.put(narrowed);
+        index.remove("t2");
+        assertEquals(List.of(), ids(index.findEligible(1400, null, null, null)));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void testWritesBeforeLoadingAreReadFromStorage() throws ExecutionException, InterruptedException {
+        Tournament created = tournament("t1", 1000, 1500, START, "SG");
+        index.put(created);
+        when(tournamentRepository.findAll()).thenReturn(List.of(created));
+
+        assertEquals(List.of("t1"), ids(index.findEligible(1200, null, null, null)));
+    }
+
+    private static Tournament tournament(String id, double minMMR, double maxMMR, LocalDateTime date,
+            String country) {
+        Tournament tournament = new Tournament();
+        tournament.setId(id);
+        tournament.setMinMMR(minMMR);
+        tournament.setMaxMMR(maxMMR);
+        tournament.setDateTime(date.toString());
+        tournament.setCountry(country);
+        tournament.setStatus("Upcoming");
+        return tournament;
+    }
+
+    private static List<String> ids(List<Tournament> tournaments) {
+        return tournaments.stream().map(Tournament::getId).toList();
+    }
+}
@@ -0,0 +1,58 @@
+package com.projectshowdown.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankTreeTest {
+
+    @Test
+    void testPositionsFollowOrder() {
+        RankTree<Integer> tree = new RankTree<>(Comparator.reverseOrder());
+        for (int value : new int[] { 1500, 1200, 1800, 1650 }) {
+            assertTrue(tree.add(value));
+        }
+
+        assertFalse(tree.add(1500));
+        assertEquals(4, tree.size());
+        assertEquals(1800, tree.get(0));
+        assertEquals(2, tree.indexOf(1500));
+        assertEquals(-1, tree.indexOf(1000));
+        assertEquals(List.of(1650, 1500), tree.range(1, 2));
+        assertEquals(List.of(1200), tree.range(3, 10));
+        assertEquals(List.of(), tree.range(4, 10));
+        assertThrows(IndexOutOfBoundsException.class, () -> tree.get(4));
+    }
+
+    @Test
+    void testMatchesSortedSet() {
+        Random random = new Random(9);
+        RankTree<Integer> tree = new RankTree<>(Comparator.naturalOrder());
+        TreeSet<Integer> expected = new TreeSet<>();
+
+        for (int step = 0; step < 20000; step++) {
+            int value = random.nextInt(2000);
+            if (random.nextInt(3) > 0) {
+                assertEquals(expected.add(value), tree.add(value));
+            } else {
+                assertEquals(expected.remove(value), tree.remove(value));
+            }
+
+            if (step % 500 == 0) {
+                List<Integer> sorted = new ArrayList<>(expected);
+                assertEquals(sorted.size(), tree.size());
+                assertEquals(sorted, tree.range(0, sorted.size()));
+                for (int i = 0; i < sorted.size(); i += 37) {
+                    assertEquals(sorted.get(i), tree.get(i));
+                    assertEquals(i, tree.indexOf(sorted.get(i)));
+                }
+            }
+        }
+    }
+}
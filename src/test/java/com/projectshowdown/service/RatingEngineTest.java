@@ -0,0 +1,100 @@
+package com.projectshowdown.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RatingEngineTest {
+
+    @Test
+    void testKFactorTiers() {
+        assertEquals(RatingEngine.PROVISIONAL_K, RatingEngine.kFactor(2500, 0));
+        assertEquals(RatingEngine.STANDARD_K, RatingEngine.kFactor(1800, RatingEngine.PROVISIONAL_MATCHES));
+        assertEquals(RatingEngine.TOP_K, RatingEngine.kFactor(RatingEngine.ESTABLISHED_ELO, 100));
+    }
+
+    @Test
+    void testExpectedScore() {
+        assertEquals(0.5, RatingEngine.expectedScore(1500, 1500));
+        assertEquals(10.0 / 11, RatingEngine.expectedScore(1900, 1500), 1e-12);
+        assertEquals(1.0, RatingEngine.expectedScore(1700, 1300) + RatingEngine.expectedScore(1300, 1700), 1e-12);
+    }
+
+    @Test
+    void testPeriodIsScoredFromStartingRatings() {
+        double[] ratings = { 1500, 1500, 1500 };
+        double[] peaks = { 1500, 1600, 1500 };
+        int[] played = new int[3];
+        RatingEngine.Results results = new RatingEngine.Results(2);
+        results.add(7, 0, 1, 1);
+        results.add(7, 0, 2, 1);
+
+        RatingEngine.rate(ratings, peaks, played, results, false);
+
+        // Both wins were expected at 0.5, as player 0 was still on 1500 when the period began
+        assertArrayEquals(new double[] { 1540, 1480, 1480 }, ratings);
+        assertArrayEquals(new double[] { 1540, 1600, 1500 }, peaks);
+        assertArrayEquals(new int[] { 2, 1, 1 }, played);
+    }
+
+    @Test
+    void testPeriodsAreRatedInOrder() {
+        double[] ratings = { 1500, 1500 };
+        double[] peaks = { 1500, 1500 };
+        int[] played = new int[2];
+        RatingEngine.Results results = new RatingEngine.Results(2);
+        results.add(2, 1, 0, 1);
+        results.add(1, 0, 1, 1);
+
+        RatingEngine.rate(ratings, peaks, played, results, false);
+
+        double rematch = RatingEngine.PROVISIONAL_K * RatingEngine.expectedScore(1520, 1480);
+        assertEquals(1520 - rematch, ratings[0], 1e-9);
+        assertEquals(1480 + rematch, ratings[1], 1e-9);
+        assertEquals(1520, peaks[0]);
+        assertEquals(1480 + rematch, peaks[1], 1e-9);
+    }
+
+    @Test
+    void testParallelMatchesSequential() {
+        Random random = new Random(3);
+        int players = 2000;
+        double[] ratings = new double[players];
+        int[] played = new int[players];
+        for (int i = 0; i < players; i++) {
+            ratings[i] = 1000 + random.nextInt(1500);
+            played[i] = random.nextInt(60);
+        }
+        RatingEngine.Results results = new RatingEngine.Results(0);
+        for (int i = 0; i < 20000; i++) {
+            // Players only meet within their club of 50, so there are many groups
+            int club = random.nextInt(players / 50) * 50;
+            int player1 = club + random.nextInt(50);
+            int player2 = club + (player1 - club + 1 + random.nextInt(49)) % 50;
+            results.add(random.nextInt(30), player1, player2, random.nextInt(3) / 2.0);
+        }
+
+        double[] sequential = ratings.clone();
+        double[] sequentialPeaks = ratings.clone();
+        int[] sequentialPlayed = played.clone();
+        RatingEngine.rate(sequential, sequentialPeaks, sequentialPlayed, results, false);
+        double[] parallel = ratings.clone();
+        double[] parallelPeaks = ratings.clone();
+        int[] parallelPlayed = played.clone();
+        RatingEngine.rate(parallel, parallelPeaks, parallelPlayed, results, true);
+
+        assertArrayEquals(sequential, parallel);
+        assertArrayEquals(sequentialPeaks, parallelPeaks);
+        assertArrayEquals(sequentialPlayed, parallelPlayed);
+        assertEquals(40000, Arrays.stream(parallelPlayed).sum() - Arrays.stream(played).sum());
+    }
+
+    @Test
+    void testPlayerCannotPlayThemselves() {
+        RatingEngine.Results results = new RatingEngine.Results(1);
+        assertThrows(IllegalArgumentException.class, () -> results.add(0, 3, 3, 1));
+    }
+}
@@ -0,0 +1,166 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RatingServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @Mock
+    private UserCache userCache;
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private MatchLedger matchLedger;
+
+    @Spy
+    private MmrIndex mmrIndex = new MmrIndex();
+
+    @InjectMocks
+    private RatingService ratingService;
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testCloseRatingPeriodRatesUnratedMatchesOnce() throws ExecutionException, InterruptedException {
+        Match bye = new Match("m3", "t1", "p3", null, 0, 0, 0, "TBC", "Round 1", true);
+        when(matchRepository.findAllUnrated()).thenReturn(List.of(bye,
+                match("m1", "p1", "p2", 3, 1, "2024-03-20T10:00:00"),
+                match("m2", "p2", "p3", 2, 2, "2024-03-20T12:00:00")));
+        when(userRepository.findAllById(Set.of("p1", "p2", "p3"))).thenReturn(Map.of(
+                "p1", player("p1", 1500), "p2", player("p2", 1500), "p3", player("p3", 1500)));
+
+        assertEquals(2, ratingService.closeRatingPeriod());
+
+        ArgumentCaptor<Map<String, Map<String, Object>>> users = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateAll(users.capture());
+        assertEquals(1520.0, users.getValue().get("p1").get(RatingService.ELO_FIELD));
+        assertEquals(1520.0, users.getValue().get("p1").get(RatingService.PEAK_ELO_FIELD));
+        assertEquals(1480.0, users.getValue().get("p2").get(RatingService.ELO_FIELD));
+        assertEquals(2, users.getValue().get("p2").get(RatingService.RATED_MATCHES_FIELD));
+        assertEquals(1500.0, users.getValue().get("p3").get(RatingService.ELO_FIELD));
+        assertEquals(1500.0, users.getValue().get("p3").get(RatingService.INITIAL_ELO_FIELD));
+        assertNotNull(users.getValue().get("p1").get("playerDetails.mmr"));
+        verify(leaderboard).updateElo("p1", 1520.0);
+        verify(userCache).invalidate("p2");
+        verify(mmrIndex).invalidate("p2");
+
+        ArgumentCaptor<Map<String, Map<String, Object>>> matches = ArgumentCaptor.forClass(Map.class);
+        verify(matchRepository).updateAll(matches.capture());
+        assertEquals(Set.of("m1", "m2", "m3"), matches.getValue().keySet());
+        assertEquals(Map.of(MatchRepository.RATED_FIELD, true), matches.getValue().get("m1"));
+        verify(matchLedger).recordPeriodClosed();
+    }
+
+    @Test
+    void testCloseRatingPeriodWithNothingToRate() throws ExecutionException, InterruptedException {
+        when(matchRepository.findAllUnrated()).thenReturn(List.of());
+
+        assertEquals(0, ratingService.closeRatingPeriod());
+
+        verify(userRepository, never()).updateAll(anyMap());
+        verify(matchRepository, never()).updateAll(anyMap());
+        verifyNoInteractions(matchLedger);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testRecalculateAllReplaysFromInitialElo() throws ExecutionException, InterruptedException {
+        UserDTO p1 = player("p1", 1600);
+        p1.getPlayerDetails().setInitialElo(1500.0);
+        p1.getPlayerDetails().setRatedMatches(5);
+        UserDTO p2 = player("p2", 1400);
+        p2.getPlayerDetails().setInitialElo(1500.0);
+        p2.getPlayerDetails().setRatedMatches(5);
+        Match first = match("m1", "p1", "p2", 3, 0, "2024-03-20T10:00:00");
+        first.setRated(true);
+        when(userRepository.findAllByRole("player")).thenReturn(List.of(p1, p2));
+        // Listed out of order: the rematch was played the next day
+        when(matchRepository.findAllCompleted()).thenReturn(List.of(
+                match("m2", "p1", "p2", 0, 3, "2024-03-21T10:00:00"), first));
+
+        assertEquals(2, ratingService.recalculateAll());
+
+        double rematch = RatingEngine.PROVISIONAL_K * RatingEngine.expectedScore(1520, 1480);
+        ArgumentCaptor<Map<String, Map<String, Object>>> users = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateAll(users.capture());
+        assertEquals(1520 - rematch, (double) users.getValue().get("p1").get(RatingService.ELO_FIELD), 1e-9);
+        assertEquals(1480 + rematch, (double) users.getValue().get("p2").get(RatingService.ELO_FIELD), 1e-9);
+        assertEquals(2, users.getValue().get("p1").get(RatingService.RATED_MATCHES_FIELD));
+        // Peaks are never lowered
+        assertEquals(1600.0, users.getValue().get("p1").get(RatingService.PEAK_ELO_FIELD));
+
+        ArgumentCaptor<Map<String, Map<String, Object>>> matches = ArgumentCaptor.forClass(Map.class);
+        verify(matchRepository).updateAll(matches.capture());
+        assertEquals(Set.of("m2"), matches.getValue().keySet());
+        verify(matchLedger).recordRecalculated(eq(List.of(p1, p2)),
+                argThat(marked -> marked.size() == 1 && marked.iterator().next().getId().equals("m2")));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testMigrateLegacyMatchesTakesTheirGainsOffTheInitialElo() throws ExecutionException, InterruptedException {
+        UserDTO p1 = player("p1", 1550);
+        UserDTO p2 = player("p2", 1525);
+        // Rated in a period before the migration, from an Elo that included a legacy win
+        p2.getPlayerDetails().setInitialElo(1525.0);
+        when(matchRepository.findAllLegacyCompleted()).thenReturn(List.of(
+                match("m1", "p1", "p2", 3, 1, "2024-03-20T10:00:00"),
+                match("m2", "p3", "p1", 0, 2, "2024-03-20T12:00:00"),
+                match("m3", "p2", "p3", 2, 0, "2024-03-21T10:00:00")));
+        when(userRepository.findAllById(Set.of("p1", "p2"))).thenReturn(Map.of("p1", p1, "p2", p2));
+
+        assertEquals(3, ratingService.migrateLegacyMatches());
+
+        ArgumentCaptor<Map<String, Map<String, Object>>> users = ArgumentCaptor.forClass(Map.class);
+        verify(userRepository).updateAll(users.capture());
+        assertEquals(Map.of(RatingService.INITIAL_ELO_FIELD, 1500.0), users.getValue().get("p1"));
+        assertEquals(Map.of(RatingService.INITIAL_ELO_FIELD, 1500.0), users.getValue().get("p2"));
+        verify(userCache).invalidate("p1");
+
+        ArgumentCaptor<Map<String, Map<String, Object>>> matches = ArgumentCaptor.forClass(Map.class);
+        verify(matchRepository).updateAll(matches.capture());
+        assertEquals(Set.of("m1", "m2", "m3"), matches.getValue().keySet());
+        assertEquals(Map.of(MatchRepository.RATED_FIELD, true), matches.getValue().get("m2"));
+        verifyNoInteractions(leaderboard, matchLedger);
+    }
+
+    private static Match match(String id, String player1Id, String player2Id, int player1Score, int player2Score,
+            String dateTime) {
+        return new Match(id, "t1", player1Id, player2Id, player1Score, player2Score, 0, dateTime, "Round 1", true);
+    }
+
+    private static UserDTO player(String id, double elo) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setRole("player");
+        user.setPlayerDetails(new Player(0, "1999-01-01", elo, 27, elo, "SG", "", ""));
+        return user;
+    }
+}
@@ -0,0 +1,139 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.SearchResultDTO;
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.TournamentRepository;
+import com.projectshowdown.repositories.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @InjectMocks
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() throws ExecutionException, InterruptedException {
+        // Invalid requests are rejected before the index is loaded
+        lenient().when(userRepository.findAllByRole("player")).thenReturn(List.of(
+                player("p1", "Roger Federer", "Switzerland"),
+                player("p2", "Rafael Nadal", "Spain"),
+                player("p3", "Stan Wawrinka", "Switzerland"),
+                player("p4", "José Sánchez", "Spain")));
+        lenient().when(tournamentRepository.findAll()).thenReturn(List.of(
+                tournament("t1", "Swiss Indoors", "St. Jakobshalle", "Switzerland"),
+                tournament("t2", "Madrid Open", "Caja Mágica", "Spain")));
+    }
+
+    @Test
+    void testExactPrefixAndTypoMatches() throws ExecutionException, InterruptedException {
+        assertEquals(List.of("p1"), ids(searchIndex.search("federer", null, 0, 20)));
+        assertEquals(List.of("p1"), ids(searchIndex.search("fede", null, 0, 20)));
+        assertEquals(List.of("p1"), ids(searchIndex.search("Fedrer", null, 0, 20)));
+        // Accents are ignored both ways
+        assertEquals(List.of("p4"), ids(searchIndex.search("sanchez", null, 0, 20)));
+        assertEquals(List.of("t2"), ids(searchIndex.search("magica", null, 0, 20)));
+        // Short words are not matched with typos
+        assertEquals(List.of(), searchIndex.search("stn", null, 0, 20));
+    }
+
+    @Test
+    void testEveryWordMustMatchAndNamesRankFirst() throws ExecutionException, InterruptedException {
+        assertEquals(List.of("p1"), ids(searchIndex.search("roger switzerland", null, 0, 20)));
+
+        List<SearchResultDTO> swiss = searchIndex.search("switzerland", null, 0, 20);
+        assertEquals(List.of("p1", "p3", "t1"), ids(swiss));
+        assertEquals("St. Jakobshalle, Switzerland", swiss.get(2).getDetail());
+
+        // A match in the name outranks a match in the country
+        assertEquals(List.of("t1", "p1", "p3"), ids(searchIndex.search("swi", null, 0, 20)));
+        assertEquals(List.of("p1", "p3"), ids(searchIndex.search("swi", "player", 0, 20)));
+        assertEquals(List.of("p3"), ids(searchIndex.search("swi", "player", 1, 1)));
+        assertEquals(List.of(), searchIndex.search("swi", "player", 5, 1));
+    }
+
+    @Test
+    void testWritesUpdateTheIndex() throws ExecutionException, InterruptedException {
+        searchIndex.search("nadal", null, 0, 20);
+
+        searchIndex.putPlayer(player("p2", "Rafa Nadal", "Spain"));
+        searchIndex.putTournament(tournament("t3", "Rafa Nadal Academy Cup", "Manacor", "Spain"));
+        assertEquals(List.of("p2", "t3"), ids(searchIndex.search("rafa", null, 0, 20)));
+        assertEquals(List.of(), searchIndex.search("rafael", null, 0, 20));
+
+        searchIndex.removePlayer("p2");
+        searchIndex.removeTournament("t3");
+        assertEquals(List.of(), searchIndex.search("nadal", null, 0, 20));
+
+        // A user who is no longer a player is removed
+        UserDTO organizer = player("p1", "Roger Federer", "Switzerland");
+        organizer.setRole("organizer");
+        searchIndex.putPlayer(organizer);
+        assertEquals(List.of(), searchIndex.search("federer", null, 0, 20));
+        assertEquals(4, searchIndex.size());
+        verify(userRepository, times(1)).findAllByRole("player");
+    }
+
+    @Test
+    void testFindByNamePrefersTheExactName() throws ExecutionException, InterruptedException {
+        assertEquals("p1", searchIndex.findByName("roger federer", "player").orElseThrow().getId());
+        searchIndex.putPlayer(player("p5", "Roger Federer Junior", "Switzerland"));
+        assertEquals("p1", searchIndex.findByName("Roger Federer", "player").orElseThrow().getId());
+        assertEquals("p5", searchIndex.findByName("roger federer jun", "player").orElseThrow().getId());
+
+        assertEquals("p4", searchIndex.findByName("Jose Sanchez", "player").orElseThrow().getId());
+        assertEquals("t2", searchIndex.findByName("madrd open", "tournament").orElseThrow().getId());
+        assertTrue(searchIndex.findByName("madrid open", "player").isEmpty());
+        assertTrue(searchIndex.findByName("?", "player").isEmpty());
+    }
+
+    @Test
+    void testInvalidRequestsRejected() {
+        assertThrows(ResponseStatusException.class, () -> searchIndex.search(" - ", null, 0, 20));
+        assertThrows(ResponseStatusException.class, () -> searchIndex.search("roger", "match", 0, 20));
+        assertThrows(ResponseStatusException.class, () -> searchIndex.search("roger", null, 0, 101));
+        assertThrows(ResponseStatusException.class, () -> searchIndex.search("roger", null, -1, 20));
+    }
+
+    private static List<String> ids(List<SearchResultDTO> results) {
+        return results.stream().map(SearchResultDTO::getId).toList();
+    }
+
+    private static UserDTO player(String id, String name, String country) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setName(name);
+        user.setRole("player");
+        user.setPlayerDetails(new Player(0, "1990-01-01", 1500, 27, 1500, country, "", ""));
+        return user;
+    }
+
+    private static Tournament tournament(String id, String name, String venue, String country) {
+        Tournament tournament = new Tournament();
+        tournament.setId(id);
+        tournament.setName(name);
+        tournament.setVenue(venue);
+        tournament.setCountry(country);
+        return tournament;
+    }
+}
@@ -0,0 +1,116 @@
+package com.projectshowdown.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchTrieTest {
+
+    @Test
+    void testPrefixMatches() {
+        SearchTrie<String> trie = new SearchTrie<>();
+        trie.add("roger", "p1");
+        trie.add("rogers", "p2");
+        trie.add("rafael", "p3");
+        trie.add("roger", "p4");
+
+        Map<String, Set<String>> found = new HashMap<>();
+        trie.forEachWithPrefix("rog", (word, items, distance) -> {
+            assertEquals(0, distance);
+            found.put(word, Set.copyOf(items));
+        });
+        assertEquals(Map.of("roger", Set.of("p1", "p4"), "rogers", Set.of("p2")), found);
+
+        found.clear();
+        trie.forEachWithPrefix("x", (word, items, distance) -> found.put(word, items));
+        assertTrue(found.isEmpty());
+        assertEquals(3, trie.size());
+    }
+
+    @Test
+    void testRemoveDropsEmptyWords() {
+        SearchTrie<String> trie = new SearchTrie<>();
+        trie.add("roger", "p1");
+        trie.add("rogers", "p2");
+        trie.remove("roger", "p1");
+        trie.remove("roger", "p9");
+
+        Set<String> words = new HashSet<>();
+        trie.forEachWithPrefix("", (word, items, distance) -> words.add(word));
+        assertEquals(Set.of("rogers"), words);
+        assertEquals(1, trie.size());
+
+        trie.remove("rogers", "p2");
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void testWithinMatchesEditDistance() {
+        Random random = new Random(5);
+        SearchTrie<Integer> trie = new SearchTrie<>();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            String word = randomWord(random);
+            words.add(word);
+            trie.add(word, i);
+        }
+
+        for (int query = 0; query < 200; query++) {
+            String word = query % 2 == 0 ? randomWord(random) : mutate(words.get(random.nextInt(words.size())), random);
+            int maxDistance = 1 + query % 2;
+            Map<String, Integer> expected = new HashMap<>();
+            for (String candidate : words) {
+                int distance = levenshtein(word, candidate);
+                if (distance <= maxDistance) {
+                    expected.put(candidate, distance);
+                }
+            }
+            Map<String, Integer> found = new HashMap<>();
+            trie.forEachWithin(word, maxDistance, (candidate, items, distance) -> found.put(candidate, distance));
+            assertEquals(expected, found, word);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 3 + random.nextInt(5);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(6)));
+        }
+        return word.toString();
+    }
+
+    private static String mutate(String word, Random random) {
+        StringBuilder mutated = new StringBuilder(word);
+        int at = random.nextInt(word.length());
+        switch (random.nextInt(3)) {
+            case 0 -> mutated.setCharAt(at, 'z');
+            case 1 -> mutated.deleteCharAt(at);
+            default -> mutated.insert(at, 'y');
+        }
+        return mutated.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[][] table = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    table[i][j] = i + j;
+                } else {
+                    int substitution = table[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                    table[i][j] = Math.min(substitution, Math.min(table[i - 1][j], table[i][j - 1]) + 1);
+                }
+            }
+        }
+        return table[a.length()][b.length()];
+    }
+}
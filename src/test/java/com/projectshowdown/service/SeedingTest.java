@@ -0,0 +1,86 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Player;
+import com.projectshowdown.entities.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SeedingTest {
+
+    @Test
+    void testRankOrdersByMmrHighestFirstAndKeepsTies() {
+        double[] mmr = { 1200, 1800, 1500, 1800, 900 };
+
+        assertArrayEquals(new int[] { 1, 3, 2, 0, 4 }, Seeding.rank(mmr));
+    }
+
+    @Test
+    void testRankMatchesSortOnLargeField() {
+        Random random = new Random(3);
+        double[] mmr = new double[3001];
+        for (int i = 0; i < mmr.length; i++) {
+            mmr[i] = random.nextInt(500);
+        }
+
+        int[] ranking = Seeding.rank(mmr);
+
+        for (int i = 1; i < ranking.length; i++) {
+            double previous = mmr[ranking[i - 1]];
+            double current = mmr[ranking[i]];
+            assertTrue(previous > current || (previous == current && ranking[i - 1] < ranking[i]));
+        }
+    }
+
+    @Test
+    void testMmrIsCalculatedOncePerPlayer() {
+        List<User> users = new ArrayList<>();
+        List<Player> details = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Player player = mock(Player.class);
+            // Without a date of birth there is no stored MMR; a mock would return 0.0
+            when(player.storedMMR(anyLong())).thenReturn(null);
+            when(player.calculateMMR()).thenReturn(1000.0 + i);
+            User user = new User();
+            user.setPlayerDetails(player);
+            users.add(user);
+            details.add(player);
+        }
+
+        double[] mmr = Seeding.mmrSnapshot(users, new MmrIndex());
+        Seeding.rank(mmr);
+
+        assertEquals(1007.0, mmr[7]);
+        for (Player player : details) {
+            verify(player, times(1)).calculateMMR();
+        }
+    }
+
+    @Test
+    void testSeedsAreTheStrongestPlayers() {
+        double[] mmr = { 1000, 1600, 1100, 1500, 1200, 1400 };
+        Bracket bracket = Bracket.of(mmr.length, 2, 5);
+
+        int[] lines = Seeding.placeOnLines(bracket, Seeding.rank(mmr));
+
+        // Seed 1 on the first line and seed 2 on the last, both with byes
+        assertEquals(1, lines[0]);
+        assertEquals(Bracket.BYE, lines[1]);
+        assertEquals(3, lines[7]);
+        assertEquals(Bracket.BYE, lines[6]);
+    }
+
+    @Test
+    void testPlaceOnLinesRejectsRankingThatDoesNotFit() {
+        Bracket bracket = Bracket.of(4, 2, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> Seeding.placeOnLines(bracket, new int[] { 0, 1, 2 }));
+        assertThrows(IllegalArgumentException.class,
+                () -> Seeding.placeOnLines(bracket, new int[] { 0, 1, 2, 1 }));
+    }
+}
@@ -0,0 +1,91 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.entities.Match;
+import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.Tournament;
+import com.projectshowdown.repositories.MatchRepository;
+import com.projectshowdown.repositories.TournamentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TournamentDirectoryTest {
+
+    @Mock
+    private TournamentRepository tournamentRepository;
+
+    @Mock
+    private MatchRepository matchRepository;
+
+    @InjectMocks
+    private TournamentDirectory tournamentDirectory;
+
+    @BeforeEach
+    void setUp() throws ExecutionException, InterruptedException {
+        Tournament ended = tournament("t1", "Swiss Indoors");
+        ended.getRounds().add(new Round("Semi Finals", new ArrayList<>(List.of("t1m_1", "t1m_2"))));
+        ended.getRounds().add(new Round(TournamentDirectory.FINALS_STAGE, new ArrayList<>(List.of("t1m_3"))));
+        Tournament started = tournament("t2", "Madrid Open");
+        started.getRounds().add(new Round("Semi Finals", new ArrayList<>(List.of("t2m_1", "t2m_2"))));
+        when(tournamentRepository.findAll()).thenReturn(List.of(ended, started));
+        when(matchRepository.findAllById(List.of("t1m_3"))).thenReturn(Map.of("t1m_3",
+                new Match("t1m_3", "t1", "p1", "p2", 6, 4, 0, "2024-10-27T14:00:00", "Finals", true)));
+    }
+
+    @Test
+    void testLoadsTournamentsAndFinalsOnce() throws ExecutionException, InterruptedException {
+        assertEquals("Swiss Indoors", tournamentDirectory.find("t1").orElseThrow().getName());
+        assertEquals("p1", tournamentDirectory.finalOf("t1").orElseThrow().winnerId());
+        assertTrue(tournamentDirectory.finalOf("t2").isEmpty());
+        assertTrue(tournamentDirectory.find("t3").isEmpty());
+        assertEquals(2, tournamentDirectory.size());
+
+        verify(tournamentRepository, times(1)).findAll();
+        verify(matchRepository, times(1)).findAllById(anyCollection());
+    }
+
+    @Test
+    void testWritesUpdateTheDirectory() throws ExecutionException, InterruptedException {
+        // Ignored before loading
+        tournamentDirectory.put(tournament("t9", "Ignored Cup"));
+        assertTrue(tournamentDirectory.find("t9").isEmpty());
+
+        tournamentDirectory.put(tournament("t2", "Mutua Madrid Open"));
+        assertEquals("Mutua Madrid Open", tournamentDirectory.find("t2").orElseThrow().getName());
+
+        Match semiFinal = new Match("t2m_1", "t2", "p3", "p4", 0, 0, 0, "TBC", "Semi Finals", false);
+        tournamentDirectory.putMatch(semiFinal);
+        tournamentDirectory.recordResult(semiFinal, 6, 2);
+        assertTrue(tournamentDirectory.finalOf("t2").isEmpty());
+
+        Match finals = new Match("t2m_3", "t2", "p3", "p5", 0, 0, 0, "TBC", "Finals", false);
+        tournamentDirectory.putMatch(finals);
+        assertFalse(tournamentDirectory.finalOf("t2").orElseThrow().isCompleted());
+
+        tournamentDirectory.recordResult(finals, 3, 6);
+        Match played = tournamentDirectory.finalOf("t2").orElseThrow();
+        assertTrue(played.isCompleted());
+        assertEquals("p5", played.winnerId());
+        // The match passed in is left as it was
+        assertFalse(finals.isCompleted());
+    }
+
+    private static Tournament tournament(String id, String name) {
+        Tournament tournament = new Tournament();
+        tournament.setId(id);
+        tournament.setName(name);
+        return tournament;
+    }
+}
@@ -3,10 +3,18 @@ package com.projectshowdown.service;
 import com.google.cloud.firestore.*;
 import com.google.firebase.cloud.FirestoreClient;
 import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Match;
 import com.projectshowdown.entities.Tournament;
 import com.projectshowdown.entities.Player;
 import com.projectshowdown.entities.Round;
+import com.projectshowdown.entities.RoundProgress;
+import com.projectshowdown.entities.User;
+import com.projectshowdown.events.MatchUpdatedEvent;
 import com.projectshowdown.exceptions.TournamentNotFoundException;
+import com.projectshowdown.repositories.FirestoreMatchRepository;
+import com.projectshowdown.repositories.FirestoreTournamentRepository;
+import com.projectshowdown.repositories.FirestoreUserRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,12 +23,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.*;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
 import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
 
 @ExtendWith(MockitoExtension.class)
 public class TournamentServiceTest {
@@ -31,6 +41,36 @@ public class TournamentServiceTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private MatchService matchService;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Spy
+    private MmrIndex mmrIndex = new MmrIndex();
+
+    @Mock
+    private OpenTournamentIndex openTournamentIndex;
+
+    @Mock
+    private SearchIndex searchIndex;
+
+    @Mock
+    private TournamentDirectory tournamentDirectory;
+
+    @Mock
+    private ChatbotResponseCache chatbotResponseCache;
+
+    @Spy
+    private FirestoreTournamentRepository tournamentRepository = new FirestoreTournamentRepository();
+
+    @Spy
+    private FirestoreMatchRepository matchRepository = new FirestoreMatchRepository();
+
+    @Spy
+    private FirestoreUserRepository userRepository = new FirestoreUserRepository();
+
     @Mock
     private CollectionReference tournamentsCollection;
 
@@ -69,15 +109,23 @@ public class TournamentServiceTest {
 
     private Tournament tournament;
 
+    private MockedStatic<FirestoreClient> firestoreClient;
+
     @BeforeEach
     public void setUp() {
 
         // Mock FirestoreClient to return mocked Firestore instance
-        mockStatic(FirestoreClient.class);
-        when(FirestoreClient.getFirestore()).thenReturn(firestore);
+        firestoreClient = mockStatic(FirestoreClient.class);
+        // Lenient, as tests that only go through mocked services never read Firestore
+        lenient().when(FirestoreClient.getFirestore()).thenReturn(firestore);
 
         // Set up Firestore collection and query mock behavior
-        when(firestore.collection("tournaments")).thenReturn(tournamentsCollection);
+        lenient().when(firestore.collection("tournaments")).thenReturn(tournamentsCollection);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        firestoreClient.close();
     }
 
     @Test
@@ -296,6 +344,7 @@ public class TournamentServiceTest {
         String tournamentId = "Tournament123";
         String organizerId = "organizer1";
         tournament.setId(tournamentId);
+        tournament.setOrganizerId(organizerId);
 
         // Mock the ApiFuture<DocumentSnapshot> and DocumentSnapshot
         when(docRef.get()).thenReturn(documentSnapshotFuture);  // Mock docRef.get() to return the future
@@ -306,8 +355,7 @@ public class TournamentServiceTest {
         when(docRef.get()).thenReturn(documentSnapshotFuture);
         when(documentSnapshotFuture.get()).thenReturn(documentSnapshot);
         when(documentSnapshot.exists()).thenReturn(true);  // Simulating that the document exists
-        when(documentSnapshot.getString("name")).thenReturn(tournament.getName());
-        when(documentSnapshot.get("organizerId")).thenReturn(tournament.getOrganizerId());
+        when(documentSnapshot.toObject(Tournament.class)).thenReturn(tournament);
 
         // Mock the userService (to simulate user role check)
         UserDTO user = new UserDTO();
@@ -336,6 +384,7 @@ public class TournamentServiceTest {
 
         // Verify userService call
         verify(userService).getUser(organizerId);  // Verify that getUser method was called with the organizerId
+        verify(chatbotResponseCache).invalidateTournament(tournamentId);
     }
 
     @Test
@@ -580,4 +629,173 @@ public class TournamentServiceTest {
         assertEquals("Tournament with ID: " + tournamentId + " not found", exception.getMessage());
     }
 
-}
\ No newline at end of file
+
+    @Test
+    void testDisplayTournament_BatchesMatchAndPlayerReads() throws ExecutionException, InterruptedException {
+        // One round with two matches that share a player
+        Map<String, Object> round = new HashMap<>();
+        round.put("name", "Initial");
+        round.put("matches", new ArrayList<>(Arrays.asList("m_1", "m_2")));
+        Map<String, Object> tournamentData = new HashMap<>();
+        tournamentData.put("name", "Summer Cup");
+        tournamentData.put("rounds", new ArrayList<>(Collections.singletonList(round)));
+        when(tournamentsCollection.document("Tournament1")).thenReturn(docRef);
+        when(docRef.get()).thenReturn(ApiFutures.immediateFuture(documentSnapshot));
+        when(documentSnapshot.exists()).thenReturn(true);
+        when(documentSnapshot.getData()).thenReturn(tournamentData);
+
+        Map<String, Map<String, Object>> matchDocuments = new HashMap<>();
+        matchDocuments.put("m_1", matchDocument("p1", "p2"));
+        matchDocuments.put("m_2", matchDocument("p1", "p3"));
+        doReturn(matchDocuments).when(matchRepository).findDocuments(Set.of("m_1", "m_2"));
+
+        Map<String, Map<String, Object>> playerDocuments = new HashMap<>();
+        for (String playerId : List.of("p1", "p2", "p3")) {
+            playerDocuments.put(playerId, new HashMap<>(Collections.singletonMap("name", playerId)));
+        }
+        doReturn(playerDocuments).when(userRepository).findDocuments(Set.of("p1", "p2", "p3"));
+
+        AtomicInteger reads = new AtomicInteger();
+        Map<String, Object> result = tournamentService.displayTournament("Tournament1", reads);
+
+        // 1 tournament + 2 matches + 3 distinct players, in one batched read per collection
+        assertEquals(6, reads.get());
+        verify(matchRepository).findDocuments(anyCollection());
+        verify(userRepository).findDocuments(anyCollection());
+        verify(matchRepository, never()).findById(anyString());
+        verify(userRepository, never()).findById(anyString());
+
+        List<Map<String, Object>> rounds = (List<Map<String, Object>>) result.get("rounds");
+        List<Map<String, Object>> matches = (List<Map<String, Object>>) rounds.get(0).get("matches");
+        assertEquals(2, matches.size());
+        assertEquals(Collections.singletonMap("name", "p1"), matches.get(1).get("player1"));
+        assertEquals(Collections.singletonMap("name", "p3"), matches.get(1).get("player2"));
+    }
+
+    @Test
+    void testHandleMatchUpdated_CreatesNextMatchOnceFeederPairCompletes() throws Exception {
+        Tournament started = startedTournament();
+        when(tournamentsCollection.document("t1")).thenReturn(docRef);
+        when(docRef.get()).thenReturn(ApiFutures.immediateFuture(documentSnapshot));
+        when(documentSnapshot.exists()).thenReturn(true);
+        when(documentSnapshot.toObject(Tournament.class)).thenReturn(started);
+
+        Match sibling = new Match("t1m_1", "t1", "p1", "p2", 2, 0, 10.0, "2024-11-01T10:00", "Initial", true);
+        Match completed = new Match("t1m_2", "t1", "p3", "p4", 0, 2, 10.0, "2024-11-01T10:00", "Initial", true);
+        doReturn(Map.of("t1m_1", sibling, "t1m_2", completed))
+                .when(matchRepository).findAllById(List.of("t1m_1", "t1m_2"));
+        // Built before stubbing, as player() stubs mocks of its own
+        List<User> players = List.of(player("p1", 1200.0), player("p4", 1150.0));
+        when(userService.getRegisteredUsers(List.of("p1", "p4"))).thenReturn(players);
+        doReturn(true).when(tournamentRepository).addBracketMatch(eq("t1"), eq(1), eq("Semi Finals"), any(Match.class));
+
+        tournamentService.handleMatchUpdated(
+                new MatchUpdatedEvent(this, "t1", completed, new RoundProgress(0, 2, 4, true)));
+
+        // Slots 0 and 1 of the first round feed slot 0 of the next, numbered after the 4 first-round matches
+        ArgumentCaptor<Match> created = ArgumentCaptor.forClass(Match.class);
+        verify(tournamentRepository).addBracketMatch(eq("t1"), eq(1), eq("Semi Finals"), created.capture());
+        assertEquals("t1m_5", created.getValue().getId());
+        assertEquals("p1", created.getValue().getPlayer1Id());
+        assertEquals("p4", created.getValue().getPlayer2Id());
+        assertEquals(50.0, created.getValue().getMmrDifference());
+        verify(notificationService, times(2)).notifyPlayerMatched(any(), any(), any(), any());
+        verify(chatbotResponseCache).invalidateTournament("t1");
+    }
+
+    @Test
+    void testHandleMatchUpdated_WaitsForSiblingMatch() throws Exception {
+        Tournament started = startedTournament();
+        when(tournamentsCollection.document("t1")).thenReturn(docRef);
+        when(docRef.get()).thenReturn(ApiFutures.immediateFuture(documentSnapshot));
+        when(documentSnapshot.exists()).thenReturn(true);
+        when(documentSnapshot.toObject(Tournament.class)).thenReturn(started);
+
+        Match completed = new Match("t1m_3", "t1", "p5", "p6", 2, 1, 10.0, "2024-11-01T10:00", "Initial", true);
+        Match sibling = new Match("t1m_4", "t1", "p7", "p8", 0, 0, 10.0, "2024-11-01T10:00", "Initial", false);
+        doReturn(Map.of("t1m_3", completed, "t1m_4", sibling))
+                .when(matchRepository).findAllById(List.of("t1m_3", "t1m_4"));
+
+        tournamentService.handleMatchUpdated(
+                new MatchUpdatedEvent(this, "t1", completed, new RoundProgress(0, 1, 4, true)));
+
+        verify(tournamentRepository, never()).addBracketMatch(anyString(), anyInt(), anyString(), any(Match.class));
+        verifyNoInteractions(userService, notificationService);
+    }
+
+    @Test
+    void testGenerateNextRound_WaitsForFeederOfUncreatedMatch() throws Exception {
+        Tournament started = startedTournament();
+        started.getRounds().add(new Round("Semi Finals", new ArrayList<>(List.of("t1m_5"))));
+
+        Match semi = new Match("t1m_5", "t1", "p1", "p4", 2, 0, 10.0, "2024-11-02T10:00", "Semi Finals", true);
+        Match completed = new Match("t1m_3", "t1", "p5", "p6", 2, 1, 10.0, "2024-11-01T10:00", "Initial", true);
+        Match pending = new Match("t1m_4", "t1", "p7", "p8", 0, 0, 10.0, "2024-11-01T10:00", "Initial", false);
+        doReturn(Map.of("t1m_3", completed, "t1m_4", pending))
+                .when(matchRepository).findAllById(List.of("t1m_3", "t1m_4"));
+        // The second semi final is not created until its own feeder pair completes
+        doReturn(Map.of("t1m_5", semi)).when(matchRepository).findAllById(List.of("t1m_5", "t1m_6"));
+
+        String result = tournamentService.generateNextRound(started);
+
+        assertEquals("0 matches have been generated for tournament id t1", result);
+        verify(tournamentRepository, never()).addBracketMatch(anyString(), anyInt(), anyString(), any(Match.class));
+        verifyNoInteractions(userService, notificationService);
+    }
+
+    @Test
+    void testHandleMatchUpdated_FinalEndsTournamentAndRefreshesIndexes() throws Exception {
+        Tournament started = startedTournament();
+        when(tournamentsCollection.document("t1")).thenReturn(docRef);
+        when(docRef.get()).thenReturn(ApiFutures.immediateFuture(documentSnapshot));
+        when(documentSnapshot.exists()).thenReturn(true);
+        when(documentSnapshot.toObject(Tournament.class)).thenReturn(started);
+        when(docRef.update(anyMap())).thenReturn(writeResultFuture);
+        when(writeResultFuture.get()).thenReturn(writeResult);
+        UserDTO winner = new UserDTO();
+        winner.setPlayerDetails(new Player());
+        when(userService.getUser(anyString())).thenReturn(winner);
+
+        Match finals = new Match("t1m_7", "t1", "p1", "p4", 2, 1, 10.0, "2024-11-03T10:00", "Finals", true);
+        tournamentService.handleMatchUpdated(
+                new MatchUpdatedEvent(this, "t1", finals, new RoundProgress(2, 1, 1, true)));
+
+        // The tournament is read again once it has ended
+        verify(docRef).update(Map.of("status", "Ended"));
+        verify(tournamentDirectory).put(started);
+        verify(searchIndex).putTournament(started);
+        verify(chatbotResponseCache).invalidateTournament("t1");
+        verify(tournamentRepository, never()).addBracketMatch(anyString(), anyInt(), anyString(), any(Match.class));
+    }
+
+    /**
+     * An 8-player tournament whose first round has 4 matches and no later round yet.
+     */
+    private static Tournament startedTournament() {
+        Tournament started = new Tournament();
+        started.setId("t1");
+        started.setName("Summer Cup");
+        started.setUsers(new ArrayList<>(List.of("p1", "p2", "p3", "p4", "p5", "p6", "p7", "p8")));
+        started.setRounds(new ArrayList<>(List.of(
+                new Round("Initial", new ArrayList<>(List.of("t1m_1", "t1m_2", "t1m_3", "t1m_4"))))));
+        return started;
+    }
+
+    private static User player(String id, double mmr) {
+        Player details = mock(Player.class);
+        // Without a date of birth there is no stored MMR; a mock would return 0.0
+        when(details.storedMMR(anyLong())).thenReturn(null);
+        when(details.calculateMMR()).thenReturn(mmr);
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(id);
+        when(user.getPlayerDetails()).thenReturn(details);
+        return user;
+    }
+
+    private static Map<String, Object> matchDocument(String player1Id, String player2Id) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("player1Id", player1Id);
+        data.put("player2Id", player2Id);
+        return data;
+    }
+}
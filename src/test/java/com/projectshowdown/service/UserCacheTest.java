@@ -0,0 +1,134 @@
+package com.projectshowdown.service;
+
+import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Player;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UserCacheTest {
+
+    private UserCache userCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        userCache = new UserCache(100, Duration.ofMinutes(5));
+        loads = new AtomicInteger();
+    }
+
+    private UserDTO load(String userId) {
+        loads.incrementAndGet();
+        if ("missing".equals(userId)) {
+            return null;
+        }
+        UserDTO user = new UserDTO();
+        user.setId(userId);
+        user.setName("Player " + loads.get());
+        Player player = new Player();
+        player.setElo(1500.0);
+        user.setPlayerDetails(player);
+        return user;
+    }
+
+    @Test
+    void testGetLoadsOnceThenHits() throws ExecutionException, InterruptedException {
+        UserDTO first = userCache.get("p1", this::load);
+        UserDTO second = userCache.get("p1", this::load);
+
+        assertEquals(1, loads.get());
+        assertEquals("Player 1", second.getName());
+        // Every caller gets its own copy
+        assertNotSame(first, second);
+        assertNotSame(first.getPlayerDetails(), second.getPlayerDetails());
+    }
+
+    @Test
+    void testChangesToReturnedUserAreNotCached() throws ExecutionException, InterruptedException {
+        userCache.get("p1", this::load).getPlayerDetails().setElo(9999.0);
+
+        assertEquals(1500.0, userCache.get("p1", this::load).getPlayerDetails().getElo());
+    }
+
+    @Test
+    void testInvalidateForcesReload() throws ExecutionException, InterruptedException {
+        userCache.get("p1", this::load);
+        userCache.get("p2", this::load);
+
+        userCache.invalidate("p1");
+
+        assertEquals("Player 3", userCache.get("p1", this::load).getName());
+        assertEquals("Player 2", userCache.get("p2", this::load).getName());
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testMissingUserIsNotCached() throws ExecutionException, InterruptedException {
+        assertNull(userCache.get("missing", this::load));
+        assertNull(userCache.get("missing", this::load));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoaderExceptionIsRethrown() {
+        ExecutionException failure = new ExecutionException(new RuntimeException("unavailable"));
+
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> userCache.get("p1", id -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+    }
+
+    @Test
+    void testGetAsyncSharesOneLoadBetweenCallers() {
+        CompletableFuture<UserDTO> load = new CompletableFuture<>();
+        CompletableFuture<UserDTO> first = userCache.getAsync("p1", id -> {
+            loads.incrementAndGet();
+            return load;
+        });
+        CompletableFuture<UserDTO> second = userCache.getAsync("p1", id -> CompletableFuture.completedFuture(null));
+
+        load.complete(load("p1"));
+
+        assertEquals(2, loads.get());
+        assertEquals("Player 2", first.join().getName());
+        assertNotSame(first.join(), second.join());
+    }
+
+    @Test
+    void testInvalidateDuringAsyncLoadDropsResult() throws ExecutionException, InterruptedException {
+        CompletableFuture<UserDTO> staleLoad = new CompletableFuture<>();
+        CompletableFuture<UserDTO> stale = userCache.getAsync("p1", id -> staleLoad);
+
+        userCache.invalidate("p1");
+        staleLoad.complete(load("p1"));
+
+        assertEquals("Player 1", stale.join().getName());
+        assertEquals("Player 2", userCache.get("p1", this::load).getName());
+    }
+
+    @Test
+    void testHitsAndMissesArePublished() throws ExecutionException, InterruptedException {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        userCache.bindTo(registry);
+
+        userCache.get("p1", this::load);
+        userCache.get("p1", this::load);
+        userCache.get("p1", this::load);
+
+        assertEquals(2.0, registry.get("cache.gets").tag("cache", "users").tag("result", "hit")
+                .functionCounter().count());
+        assertEquals(1.0, registry.get("cache.gets").tag("cache", "users").tag("result", "miss")
+                .functionCounter().count());
+    }
+}
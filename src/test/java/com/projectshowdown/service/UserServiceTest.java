@@ -1,9 +1,14 @@
 package com.projectshowdown.service;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Set;
+import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -15,6 +20,7 @@ import static org.mockito.ArgumentMatchers.any;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -30,8 +36,10 @@ import com.google.cloud.firestore.CollectionReference;
 import com.google.cloud.firestore.QueryDocumentSnapshot;
 import com.google.cloud.firestore.QuerySnapshot;
 import com.projectshowdown.dto.UserDTO;
+import com.projectshowdown.entities.Player;
 import com.projectshowdown.entities.User;
 import com.projectshowdown.exceptions.PlayerNotFoundException;
+import com.projectshowdown.repositories.FirestoreUserRepository;
 import com.google.cloud.firestore.WriteResult;
 
 @ExtendWith(MockitoExtension.class)
@@ -52,6 +60,24 @@ public class UserServiceTest {
     @Mock
     private DocumentReference documentReference;
 
+    @Spy
+    private FirestoreUserRepository userRepository = new FirestoreUserRepository();
+
+    @Spy
+    private UserCache userCache = new UserCache(100, Duration.ofMinutes(5));
+
+    @Spy
+    private MmrIndex mmrIndex = new MmrIndex();
+
+    @Mock
+    private Leaderboard leaderboard;
+
+    @Mock
+    private MatchLedger matchLedger;
+
+    @Mock
+    private SearchIndex searchIndex;
+
     @InjectMocks
     private UserService userService;
 
@@ -67,7 +93,7 @@ public class UserServiceTest {
         mockUserDTO = new UserDTO();
         mockUserDTO.setEmail("testuser@example.com");
         mockUserDTO.setRole("player");
-        when(firestore.collection("users")).thenReturn(collectionReference);
+        Mockito.lenient().when(firestore.collection("users")).thenReturn(collectionReference);
     }
 
     @Test
@@ -253,4 +279,74 @@ public class UserServiceTest {
             return updatedOrganizerDetails != null && updatedOrganizerDetails.get("verified").equals(false);
         }));
     }
+
+    @Test
+    public void testUpdateUser_EloChangeRecalculatesStoredMMR() throws ExecutionException, InterruptedException {
+        UserDTO player = new UserDTO();
+        player.setId("existingUserId");
+        player.setPlayerDetails(new Player(1, LocalDate.now().minusYears(25).toString(), 1500, 24, 2000, "SG", "", ""));
+        Mockito.doReturn(true).when(userRepository).existsById("existingUserId");
+        // Read once for the MMR inputs, and again once the new Elo is written
+        UserDTO updated = new UserDTO();
+        updated.setId("existingUserId");
+        updated.setPlayerDetails(new Player(1, LocalDate.now().minusYears(25).toString(), 1600, 24, 2000, "SG", "", ""));
+        Mockito.doReturn(Optional.of(player), Optional.of(updated)).when(userRepository).findById("existingUserId");
+        Mockito.doReturn(Instant.now()).when(userRepository).update(Mockito.eq("existingUserId"), any());
+
+        Map<String, Object> userData = new HashMap<>();
+        userData.put("playerDetails.elo", 1600.0);
+        userService.updateUser("existingUserId", userData);
+
+        double expectedMMR = 1600 + 2000 * Math.cos((25 - 24) * Math.PI / 10) + 1000;
+        Mockito.verify(userRepository).update(Mockito.eq("existingUserId"), Mockito.argThat(updates ->
+                Math.abs((Double) updates.get("playerDetails.mmr") - expectedMMR) < 0.0001
+                        && updates.get("playerDetails.mmrValidUntil") != null));
+        Mockito.verify(leaderboard).updateElo("existingUserId", 1600.0);
+        // The user cache hands out copies, so the recorded player is matched by its values
+        Mockito.verify(matchLedger).recordPlayer(Mockito.argThat(recorded ->
+                "existingUserId".equals(recorded.getId()) && recorded.getPlayerDetails().getElo() == 1600.0));
+    }
+
+    @Test
+    public void testUpdateUser_OtherFieldsKeepStoredMMR() throws ExecutionException, InterruptedException {
+        Mockito.doReturn(true).when(userRepository).existsById("existingUserId");
+        Mockito.doReturn(Instant.now()).when(userRepository).update(Mockito.eq("existingUserId"), any());
+
+        Map<String, Object> userData = new HashMap<>();
+        userData.put("playerDetails.bio", "Left-handed");
+        userService.updateUser("existingUserId", userData);
+
+        Mockito.verify(userRepository, Mockito.never()).findById(any());
+        Mockito.verify(userRepository).update(Mockito.eq("existingUserId"),
+                Mockito.argThat(updates -> !updates.containsKey("playerDetails.mmr")));
+        Mockito.verifyNoInteractions(matchLedger);
+    }
+
+    @Test
+    public void testRollOverMMR_RecalculatesOnlyStalePlayers() throws ExecutionException, InterruptedException {
+        LocalDate today = LocalDate.now();
+        UserDTO birthday = playerBornOn("birthday", today.minusYears(30));
+        birthday.getPlayerDetails().refreshMMR(today.minusDays(1));
+        UserDTO current = playerBornOn("current", today.minusYears(30).plusDays(10));
+        current.getPlayerDetails().refreshMMR(today);
+        Mockito.doReturn(List.of(birthday, current)).when(userRepository).findAllByRole("player");
+        Mockito.doNothing().when(userRepository).updateAll(any());
+
+        int refreshed = userService.rollOverMMR(today);
+
+        assertEquals(1, refreshed);
+        assertEquals(today, mmrIndex.today());
+        // One batched write holding only the stale player
+        Mockito.verify(userRepository).updateAll(Mockito.argThat(updates -> updates.keySet().equals(Set.of("birthday"))
+                && updates.get("birthday").get("playerDetails.mmrValidUntil").equals(today.plusYears(1).toEpochDay())));
+        Mockito.verify(userRepository, Mockito.never()).update(any(), any());
+    }
+
+    private static UserDTO playerBornOn(String id, LocalDate dob) {
+        UserDTO user = new UserDTO();
+        user.setId(id);
+        user.setRole("player");
+        user.setPlayerDetails(new Player(1, dob.toString(), 1500, 27, 1800, "SG", "", ""));
+        return user;
+    }
 }